@@ -5,26 +5,43 @@ import com.kaleidoscope.backend.posts.mapper.PostMapper;
 import com.kaleidoscope.backend.posts.model.Post;
 import com.kaleidoscope.backend.posts.repository.PostRepository;
 import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.shared.scheduler.SchedulerCoordinator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Re-indexes all posts from the database on startup when enabled. Nodes started together
+ * join the same run and split the posts by id partition instead of each re-indexing everything.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class PostSearchFullReindexJob implements CommandLineRunner {
 
+    private static final int BATCH_SIZE = 500;
+
     private final PostRepository postRepository;
     private final PostSearchRepository postSearchRepository;
     private final PostMapper postMapper;
+    private final SchedulerCoordinator schedulerCoordinator;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${async.stream.post-search-reindex-enabled:false}")
     private boolean enabled;
 
+    @Value("${async.stream.post-search-reindex-partitions:32}")
+    private int partitions;
+
     @Override
     public void run(String... args) {
         if (!enabled) {
@@ -32,23 +49,39 @@ public class PostSearchFullReindexJob implements CommandLineRunner {
         }
 
         log.info("Starting posts index full re-index from database...");
-        List<Post> posts = postRepository.findAll();
-        int success = 0;
-        int skipped = 0;
-
-        for (Post post : posts) {
-            try {
-                PostDocument doc = postMapper.toPostDocument(post);
-                postSearchRepository.save(doc);
-                success++;
-                log.debug("Re-indexed postId={} to posts index", post.getPostId());
-            } catch (Exception ex) {
-                skipped++;
-                log.warn("Re-index failed for postId={}: {}", post.getPostId(), ex.getMessage());
-            }
-        }
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+
+        SchedulerCoordinator.PartitionedRunResult result = schedulerCoordinator.runPartitioned(
+                "post-search-full-reindex", partitions, Duration.ofHours(1),
+                partition -> reindexPartition(partition, success, skipped));
 
-        log.info("Posts index full re-index completed: {}/{} succeeded, {} failed",
-                success, posts.size(), skipped);
+        log.info("Posts index full re-index finished on this node: {} partitions, {} succeeded, {} failed (run complete: {})",
+                result.processedHere(), success.get(), skipped.get(), result.complete());
+    }
+
+    private void reindexPartition(int partition, AtomicInteger success, AtomicInteger skipped) {
+        Long afterId = 0L;
+        while (afterId != null) {
+            Long cursor = afterId;
+            afterId = transactionTemplate.execute(status -> {
+                List<Post> posts = postRepository.findPartitionBatch(partitions, partition, cursor, PageRequest.of(0, BATCH_SIZE));
+                List<PostDocument> documents = new ArrayList<>(posts.size());
+                for (Post post : posts) {
+                    try {
+                        documents.add(postMapper.toPostDocument(post));
+                    } catch (Exception ex) {
+                        skipped.incrementAndGet();
+                        log.warn("Re-index failed for postId={}: {}", post.getPostId(), ex.getMessage());
+                    }
+                }
+                if (!documents.isEmpty()) {
+                    postSearchRepository.saveAll(documents);
+                    success.addAndGet(documents.size());
+                }
+                return posts.size() < BATCH_SIZE ? null : posts.get(posts.size() - 1).getPostId();
+            });
+        }
+        log.debug("Re-indexed partition {}/{} of posts index", partition, partitions);
     }
 }
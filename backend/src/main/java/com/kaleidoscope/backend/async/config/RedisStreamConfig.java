@@ -7,7 +7,10 @@ import com.kaleidoscope.backend.async.streaming.StreamingConfigConstants;
 import com.kaleidoscope.backend.blogs.consumer.BlogInteractionSyncConsumer;
 import com.kaleidoscope.backend.blogs.consumer.UserProfileBlogSyncConsumer;
 import com.kaleidoscope.backend.notifications.consumer.NotificationConsumer;
+import com.kaleidoscope.backend.posts.consumer.PostAnalyticsConsumer;
 import com.kaleidoscope.backend.posts.consumer.PostInteractionSyncConsumer;
+import com.kaleidoscope.backend.posts.consumer.PostSearchCacheInvalidationConsumer;
+import com.kaleidoscope.backend.posts.consumer.TimelineFanoutConsumer;
 import com.kaleidoscope.backend.posts.consumer.UserProfilePostSyncConsumer;
 import com.kaleidoscope.backend.users.consumer.UserProfileFaceEmbeddingConsumer;
 import lombok.RequiredArgsConstructor;
@@ -47,6 +50,9 @@ public class RedisStreamConfig {
     private final NotificationConsumer notificationConsumer;
     private final HashtagUsageSyncConsumer hashtagUsageSyncConsumer;
     private final PostInsightsEnrichedConsumer postInsightsEnrichedConsumer;
+    private final PostSearchCacheInvalidationConsumer postSearchCacheInvalidationConsumer;
+    private final TimelineFanoutConsumer timelineFanoutConsumer;
+    private final PostAnalyticsConsumer postAnalyticsConsumer;
 
     @Value("${spring.application.name:kaleidoscope}")
     private String applicationName;
@@ -84,6 +90,8 @@ public class RedisStreamConfig {
         ensureConsumerGroupExists(redisTemplate, ProducerStreamConstants.NOTIFICATION_EVENTS_STREAM, StreamingConfigConstants.BACKEND_CONSUMER_GROUP);
         ensureConsumerGroupExists(redisTemplate, ProducerStreamConstants.HASHTAG_USAGE_SYNC_STREAM, StreamingConfigConstants.BACKEND_CONSUMER_GROUP);
         ensureConsumerGroupExists(redisTemplate, ConsumerStreamConstants.POST_INSIGHTS_ENRICHED_STREAM, StreamingConfigConstants.BACKEND_CONSUMER_GROUP);
+        ensureConsumerGroupExists(redisTemplate, ProducerStreamConstants.TIMELINE_FANOUT_STREAM, StreamingConfigConstants.BACKEND_CONSUMER_GROUP);
+        ensureConsumerGroupExists(redisTemplate, ProducerStreamConstants.POST_ANALYTICS_STREAM, StreamingConfigConstants.BACKEND_CONSUMER_GROUP);
         log.info("✅ Consumer group initialization complete");
 
         // 3. Configure Container Options for Manual Acknowledgment
@@ -113,6 +121,11 @@ public class RedisStreamConfig {
         registerConsumer(container, consumerName, ProducerStreamConstants.NOTIFICATION_EVENTS_STREAM, notificationConsumer);
         registerConsumer(container, consumerName, ProducerStreamConstants.HASHTAG_USAGE_SYNC_STREAM, hashtagUsageSyncConsumer);
         registerConsumer(container, consumerName, ConsumerStreamConstants.POST_INSIGHTS_ENRICHED_STREAM, postInsightsEnrichedConsumer);
+        registerConsumer(container, consumerName, ProducerStreamConstants.TIMELINE_FANOUT_STREAM, timelineFanoutConsumer);
+        registerConsumer(container, consumerName, ProducerStreamConstants.POST_ANALYTICS_STREAM, postAnalyticsConsumer);
+
+        // Broadcast listeners: every instance reads every message (cache invalidation)
+        registerBroadcastListener(container, ProducerStreamConstants.POST_SEARCH_INVALIDATION_STREAM, postSearchCacheInvalidationConsumer);
 
         log.info("✅ Redis Stream Message Listener Container configured successfully with unique consumer name: {}", consumerName);
         log.info("⚠️ Container will be started manually by ElasticsearchStartupSyncService after data sync");
@@ -140,6 +153,17 @@ public class RedisStreamConfig {
                 fullConsumerName, streamName, StreamingConfigConstants.BACKEND_CONSUMER_GROUP);
     }
 
+    // Reads without a consumer group, starting from new messages, so each instance sees all events
+    private void registerBroadcastListener(
+            StreamMessageListenerContainer<String, MapRecord<String, String, String>> container,
+            String streamName,
+            StreamListener<String, MapRecord<String, String, String>> listener) {
+
+        container.receive(StreamOffset.create(streamName, ReadOffset.lastConsumed()), listener);
+        log.info("✅ Registered broadcast listener '{}' for stream '{}' (no consumer group, offset: $)",
+                listener.getClass().getSimpleName(), streamName);
+    }
+
     // Existing ensureConsumerGroupExists method (now private and cleaner)
     private void ensureConsumerGroupExists(RedisTemplate<String, String> redisTemplate, String streamName, String groupName) {
         try {
@@ -1,6 +1,8 @@
 package com.kaleidoscope.backend.async.consumer;
 
 import com.kaleidoscope.backend.shared.repository.HashtagRepository;
+import com.kaleidoscope.backend.shared.search.HashtagPrefixIndex;
+import com.kaleidoscope.backend.shared.search.TrendingHashtagEngine;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +11,8 @@ import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Map;
 
@@ -19,6 +23,8 @@ public class HashtagUsageSyncConsumer implements StreamListener<String, MapRecor
 
     private final HashtagRepository hashtagRepository;
     private final EntityManager entityManager;
+    private final HashtagPrefixIndex hashtagPrefixIndex;
+    private final TrendingHashtagEngine trendingHashtagEngine;
 
     @Override
     @Transactional
@@ -47,6 +53,16 @@ public class HashtagUsageSyncConsumer implements StreamListener<String, MapRecor
             entityManager.clear();
 
             if (rowsUpdated > 0) {
+                String timestamp = value.get("timestamp");
+                long occurredAt = timestamp != null ? Long.parseLong(timestamp) : 0L;
+                // The in-memory index and trending engine follow the database only once the update commits
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        hashtagPrefixIndex.applyUsageChange(hashtagName, change);
+                        trendingHashtagEngine.record(hashtagName, change, occurredAt);
+                    }
+                });
                 log.info("Successfully updated usage count for hashtag '{}' by {}", hashtagName, change);
             } else {
                 log.warn("No hashtag found with name '{}' or update would result in negative count", hashtagName);
@@ -0,0 +1,25 @@
+package com.kaleidoscope.backend.async.dto;
+
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event on the post analytics stream: a net change of one metric of a post.
+ * occurredAtMillis is taken when the change commits, so late consumption still lands in the
+ * right hourly bucket.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostAnalyticsEventDTO {
+
+    private Long postId;
+    private PostAnalyticsMetric metric;
+    private Long delta;
+    private Long occurredAtMillis;
+    private String correlationId;
+}
@@ -0,0 +1,31 @@
+package com.kaleidoscope.backend.async.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event on the timeline fan-out stream.
+ * For post events actorId is the author; for follow/unfollow the follower and targetId the
+ * followed user; for blocks the blocker and targetId the blocked user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEventDTO {
+
+    public static final String POST_PUBLISHED = "POST_PUBLISHED";
+    public static final String POST_REMOVED = "POST_REMOVED";
+    public static final String FOLLOW = "FOLLOW";
+    public static final String UNFOLLOW = "UNFOLLOW";
+    public static final String BLOCK = "BLOCK";
+
+    private String eventType;
+    private Long postId;
+    private Long actorId;
+    private Long targetId;
+    private Long createdAtMillis;
+    private String correlationId;
+}
@@ -20,6 +20,24 @@ public final class ProducerStreamConstants {
     public static final String USER_PROFILE_BLOG_SYNC_STREAM = "user-profile-blog-sync";
     public static final String HASHTAG_USAGE_SYNC_STREAM = "hashtag-usage-sync-stream";
 
+    /**
+     * Published on post create/update/delete -> Read by every backend instance (no consumer group)
+     * to drop cached post search results.
+     */
+    public static final String POST_SEARCH_INVALIDATION_STREAM = "post-search-invalidation";
+
+    /**
+     * Published on post publish/removal, follow, unfollow and block -> Consumed by the backend
+     * consumer group to maintain the materialized home timelines in Redis.
+     */
+    public static final String TIMELINE_FANOUT_STREAM = "timeline-fanout";
+
+    /**
+     * Published after post views, reactions, comments and saves commit -> Consumed by the backend
+     * consumer group, aggregated into hourly buckets and flushed to post_analytics_rollups.
+     */
+    public static final String POST_ANALYTICS_STREAM = "post-analytics-events";
+
     // Notification streams
     public static final String NOTIFICATION_EVENTS_STREAM = "notification-events";
 
@@ -3,14 +3,12 @@ package com.kaleidoscope.backend.blogs.consumer;
 import com.kaleidoscope.backend.blogs.document.BlogDocument;
 import com.kaleidoscope.backend.blogs.repository.search.BlogSearchRepository;
 import com.kaleidoscope.backend.shared.enums.ContentType;
-import com.kaleidoscope.backend.shared.repository.CommentRepository;
-import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Redis Stream consumer for synchronizing blog interaction counts to Elasticsearch
@@ -23,11 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class BlogInteractionSyncConsumer implements StreamListener<String, MapRecord<String, String, String>> {
 
     private final BlogSearchRepository blogSearchRepository;
-    private final ReactionRepository reactionRepository;
-    private final CommentRepository commentRepository;
+    private final ContentCounterService contentCounterService;
 
     @Override
-    @Transactional
     public void onMessage(MapRecord<String, String, String> record) {
         // Retrieve the message ID for logging/XACK reference
         String messageId = record.getId().getValue();
@@ -38,9 +34,9 @@ public class BlogInteractionSyncConsumer implements StreamListener<String, MapRe
             log.info("[BlogInteractionSyncConsumer] Processing interaction sync for blog {} - changeType: {}, messageId: {}",
                     contentId, changeType, messageId);
 
-            // Fetch current counts from database
-            long currentReactionCount = reactionRepository.countByContentIdAndContentType(contentId, ContentType.BLOG);
-            long currentCommentCount = commentRepository.countByContentIdAndContentType(contentId, ContentType.BLOG);
+            ContentCounterService.Counters counters = contentCounterService.getCounters(ContentType.BLOG, contentId);
+            long currentReactionCount = counters.reactions();
+            long currentCommentCount = counters.comments();
 
             log.debug("[BlogInteractionSyncConsumer] Current counts for blog {}: reactions={}, comments={}",
                      contentId, currentReactionCount, currentCommentCount);
@@ -147,14 +147,17 @@ public class BlogController implements BlogApi {
             @RequestParam(required = false) Long minReactions,
             @RequestParam(required = false) Long minComments,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean pit
     ) {
         log.info("Filtering blogs with params: userId={}, categoryId={}, status={}, locationId={}, nearbyLocationId={}, radiusKm={}, minReactions={}, minComments={}, startDate={}, endDate={}",
                 userId, categoryId, status, locationId, nearbyLocationId, radiusKm, minReactions, minComments, startDate, endDate);
         PaginatedResponse<BlogSummaryResponseDTO> response = blogService.filterBlogs(
                 pageable, userId, categoryId, status, visibility, q,
                 locationId, nearbyLocationId, radiusKm,
-                minReactions, minComments, startDate, endDate
+                minReactions, minComments, startDate, endDate,
+                cursor, pit
         );
         return ResponseEntity.ok(AppResponse.<PaginatedResponse<BlogSummaryResponseDTO>>builder()
                 .success(true)
@@ -153,7 +153,13 @@ public interface BlogApi {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
 
             @Parameter(description = "Filter for blogs created before this date (ISO 8601: YYYY-MM-DDTHH:MM:SS)")
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+
+            @Parameter(description = "Opaque nextCursor from a previous response; continues with search_after and ignores page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Open a point-in-time snapshot on the first cursor page so later pages stay consistent")
+            @RequestParam(required = false) Boolean pit
     );
 
     @Operation(
@@ -3,14 +3,13 @@ package com.kaleidoscope.backend.blogs.controller.api;
 import com.kaleidoscope.backend.shared.dto.request.ReactionRequestDTO;
 import com.kaleidoscope.backend.shared.dto.response.ReactionResponseDTO;
 import com.kaleidoscope.backend.shared.dto.request.CommentCreateRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.CommentPageResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.CommentResponseDTO;
 import com.kaleidoscope.backend.blogs.routes.BlogInteractionRoutes;
 import com.kaleidoscope.backend.shared.response.AppResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -39,10 +38,22 @@ public interface BlogInteractionApi {
     ResponseEntity<AppResponse<CommentResponseDTO>> addComment(@PathVariable Long blogId,
                                                                @Valid @RequestBody CommentCreateRequestDTO requestDTO);
 
-    @Operation(summary = "List comments for a blog")
+    @Operation(summary = "List comments for a blog",
+               description = "Keyset page of top-level comments, newest first, each with its reply count and first replies. Pass nextCursor from the previous page as cursor; there is no total count.")
     @GetMapping(BlogInteractionRoutes.COMMENTS)
     @PreAuthorize("isAuthenticated()")
-    ResponseEntity<AppResponse<Page<CommentResponseDTO>>> listComments(@PathVariable Long blogId, Pageable pageable);
+    ResponseEntity<AppResponse<CommentPageResponseDTO>> listComments(@PathVariable Long blogId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     @RequestParam(defaultValue = "3") int replies);
+
+    @Operation(summary = "List replies to a comment", description = "Keyset page of one thread's replies, oldest first.")
+    @GetMapping(BlogInteractionRoutes.COMMENT_REPLIES)
+    @PreAuthorize("isAuthenticated()")
+    ResponseEntity<AppResponse<CommentPageResponseDTO>> listReplies(@PathVariable Long blogId,
+                                                                    @PathVariable Long commentId,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "20") int size);
 
     @Operation(summary = "Delete a comment")
     @DeleteMapping(BlogInteractionRoutes.COMMENT_BY_ID)
@@ -36,6 +36,8 @@ public class BlogDetailResponseDTO {
     private long reactionCount;
     private long commentCount;
     private long viewCount;
+    private long rawViewCount;
+    private long uniqueViewerCount;
     private List<BlogTagResponseDTO> tags;
     private ReactionType currentUserReaction;
 }
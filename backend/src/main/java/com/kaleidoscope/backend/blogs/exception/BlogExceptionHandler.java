@@ -7,6 +7,7 @@ import com.kaleidoscope.backend.shared.exception.Comments.CommentPostMismatchExc
 import com.kaleidoscope.backend.shared.exception.Comments.CommentUnauthorizedException;
 import com.kaleidoscope.backend.shared.exception.categoryException.CategoryNotFoundException;
 import com.kaleidoscope.backend.shared.exception.locationException.LocationNotFoundException;
+import com.kaleidoscope.backend.shared.exception.other.InvalidCursorException;
 import com.kaleidoscope.backend.shared.response.AppResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -42,6 +43,13 @@ public class BlogExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<AppResponse<Object>> handleInvalidCursorException(InvalidCursorException ex) {
+        log.warn("Invalid blog search cursor: {}", ex.getMessage());
+        AppResponse<Object> response = AppResponse.error("Invalid cursor", ex.getMessage(), "");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @ExceptionHandler(CommentNotFoundException.class)
     public ResponseEntity<AppResponse<Object>> handleCommentNotFoundException(CommentNotFoundException ex) {
         log.error("Comment not found: {}", ex.getMessage());
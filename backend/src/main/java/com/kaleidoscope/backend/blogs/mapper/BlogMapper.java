@@ -20,8 +20,8 @@ import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.enums.ReactionType;
 import com.kaleidoscope.backend.shared.model.Category;
 import com.kaleidoscope.backend.shared.model.Location;
-import com.kaleidoscope.backend.shared.repository.CommentRepository;
-import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ContentViewTracker;
 import com.kaleidoscope.backend.users.model.User;
 import org.springframework.stereotype.Component;
 
@@ -33,17 +33,15 @@ import java.util.stream.Collectors;
 @Component
 public class BlogMapper {
 
-    private final CommentRepository commentRepository;
-    private final ReactionRepository reactionRepository;
     private final BlogRepository blogRepository;
     private final BlogViewService blogViewService;
+    private final ContentCounterService contentCounterService;
     private final com.kaleidoscope.backend.users.repository.FollowRepository followRepository;
 
-    public BlogMapper(CommentRepository commentRepository, ReactionRepository reactionRepository, BlogRepository blogRepository, BlogViewService blogViewService, com.kaleidoscope.backend.users.repository.FollowRepository followRepository) {
-        this.commentRepository = commentRepository;
-        this.reactionRepository = reactionRepository;
+    public BlogMapper(BlogRepository blogRepository, BlogViewService blogViewService, ContentCounterService contentCounterService, com.kaleidoscope.backend.users.repository.FollowRepository followRepository) {
         this.blogRepository = blogRepository;
         this.blogViewService = blogViewService;
+        this.contentCounterService = contentCounterService;
         this.followRepository = followRepository;
     }
 
@@ -102,9 +100,8 @@ public class BlogMapper {
         UserDetailsSummaryResponseDTO reviewerDto = toUserSummaryDTO(blog.getReviewer());
         LocationResponseDTO locationDto = toLocationResponseDTO(blog.getLocation());
 
-        long reactionCount = reactionRepository.countByContentIdAndContentType(blog.getBlogId(), ContentType.BLOG);
-        long commentCount = commentRepository.countByContentIdAndContentType(blog.getBlogId(), ContentType.BLOG);
-        long viewCount = blogViewService.getViewCount(blog.getBlogId());
+        ContentCounterService.Counters counters = contentCounterService.getCounters(ContentType.BLOG, blog.getBlogId());
+        ContentViewTracker.ViewCounts viewCounts = blogViewService.getViewCounts(blog.getBlogId());
 
         return BlogDetailResponseDTO.builder()
                 .blogId(blog.getBlogId())
@@ -122,9 +119,11 @@ public class BlogMapper {
                 .categories(mapCategories(blog))
                 .media(mapMedia(blog))
                 .location(locationDto)
-                .reactionCount(reactionCount)
-                .commentCount(commentCount)
-                .viewCount(viewCount)
+                .reactionCount(counters.reactions())
+                .commentCount(counters.comments())
+                .viewCount(counters.views())
+                .rawViewCount(viewCounts.rawViewCount())
+                .uniqueViewerCount(viewCounts.uniqueViewerCount())
                 .tags(mapBlogTags(blog))
                 .currentUserReaction(currentUserReaction)
                 .build();
@@ -138,9 +137,7 @@ public class BlogMapper {
         UserDetailsSummaryResponseDTO authorDto = toUserSummaryDTO(blog.getUser());
         String thumbnailUrl = getThumbnailUrl(blog);
 
-        long reactionCount = reactionRepository.countByContentIdAndContentType(blog.getBlogId(), ContentType.BLOG);
-        long commentCount = commentRepository.countByContentIdAndContentType(blog.getBlogId(), ContentType.BLOG);
-        long viewCount = blogViewService.getViewCount(blog.getBlogId());
+        ContentCounterService.Counters counters = contentCounterService.getCounters(ContentType.BLOG, blog.getBlogId());
 
         return BlogSummaryResponseDTO.builder()
                 .blogId(blog.getBlogId())
@@ -150,9 +147,9 @@ public class BlogMapper {
                 .author(authorDto)
                 .categories(mapCategories(blog))
                 .thumbnailUrl(thumbnailUrl)
-                .reactionCount(reactionCount)
-                .commentCount(commentCount)
-                .viewCount(viewCount)
+                .reactionCount(counters.reactions())
+                .commentCount(counters.comments())
+                .viewCount(counters.views())
                 .blogStatus(blog.getBlogStatus())
                 .build();
     }
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -38,6 +39,45 @@ public interface BlogRepository extends JpaRepository<Blog, Long>, JpaSpecificat
     @Query("UPDATE Blog b SET b.viewCount = b.viewCount + :increment WHERE b.blogId = :blogId")
     int incrementViewCount(@Param("blogId") Long blogId, @Param("increment") long increment);
 
+    /**
+     * Applies a batch of view count increments in one statement and returns (blog_id, view_count)
+     * for the blogs that still exist.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE blogs b SET view_count = b.view_count + d.delta
+            FROM unnest(CAST(:blogIds AS bigint[]), CAST(:deltas AS bigint[])) AS d(blog_id, delta)
+            WHERE b.blog_id = d.blog_id
+            RETURNING b.blog_id, b.view_count
+            """, nativeQuery = true)
+    List<Object[]> applyViewCountDeltas(@Param("blogIds") Long[] blogIds, @Param("deltas") Long[] deltas);
+
+    // Keyset batch of ids of one id-hash partition
+    @Query("SELECT b.blogId FROM Blog b WHERE MOD(b.blogId, :partitions) = :partition AND b.blogId > :afterId ORDER BY b.blogId")
+    List<Long> findPartitionIds(@Param("partitions") int partitions, @Param("partition") int partition,
+                                @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b.blogId, b.viewCount FROM Blog b WHERE b.blogId IN :blogIds")
+    List<Object[]> findViewCounts(@Param("blogIds") Collection<Long> blogIds);
+
+    // (id, comment_count, save_count) as last reconciled, to seed counters that are not dirty
+    @Query("SELECT b.blogId, b.commentCount, b.saveCount FROM Blog b WHERE b.blogId IN :blogIds")
+    List<Object[]> findCounterSnapshots(@Param("blogIds") Collection<Long> blogIds);
+
+    /**
+     * Writes a batch of counter snapshots into the denormalized count columns in one statement.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE blogs b SET reaction_count = d.reactions, comment_count = d.comments, save_count = d.saves
+            FROM unnest(CAST(:blogIds AS bigint[]), CAST(:reactions AS bigint[]), CAST(:comments AS bigint[]),
+                        CAST(:saves AS bigint[])) AS d(blog_id, reactions, comments, saves)
+            WHERE b.blog_id = d.blog_id
+            """, nativeQuery = true)
+    int applyCounterSnapshots(@Param("blogIds") Long[] blogIds, @Param("reactions") Long[] reactions,
+                              @Param("comments") Long[] comments, @Param("saves") Long[] saves);
+
     @Query("SELECT DISTINCT b FROM Blog b " +
             "LEFT JOIN FETCH b.user " +
             "LEFT JOIN FETCH b.reviewer " +
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,9 @@ public interface BlogSaveRepository extends JpaRepository<BlogSave, Long> {
     
     @Query("SELECT COUNT(bs) FROM BlogSave bs WHERE bs.blog = :blog")
     long countByBlog(@Param("blog") Blog blog);
+
+    @Query("SELECT bs.blog.blogId, COUNT(bs) FROM BlogSave bs WHERE bs.blog.blogId IN :blogIds GROUP BY bs.blog.blogId")
+    List<Object[]> countByBlogIds(@Param("blogIds") Collection<Long> blogIds);
     
     @Query("SELECT bs.blog FROM BlogSave bs WHERE bs.user = :user ORDER BY bs.createdAt DESC")
     List<Blog> findSavedBlogsByUser(@Param("user") User user);
@@ -1,7 +1,10 @@
 package com.kaleidoscope.backend.blogs.repository.search;
 
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import com.kaleidoscope.backend.blogs.document.BlogDocument;
 import com.kaleidoscope.backend.blogs.enums.BlogStatus;
+import com.kaleidoscope.backend.shared.search.GeoTile;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -29,7 +32,8 @@ public interface BlogSearchRepositoryCustom {
             Long minReactions,
             Long minComments,
             LocalDateTime startDate,
-            LocalDateTime endDate
+            LocalDateTime endDate,
+            SearchCursor cursor
     );
 
     Page<BlogDocument> findBlogsThatTag(
@@ -51,5 +55,16 @@ public interface BlogSearchRepositoryCustom {
     );
 
     List<Long> findBlogsThatTagAny(Set<Long> taggedBlogIds);
-}
 
+    /**
+     * Published blogs located inside the block of cells around a geo tile, newest first.
+     * Used as the shared candidate list for nearby searches; exact distance filtering is left to the caller.
+     */
+    List<BlogDocument> findPublishedBlogsInTile(GeoTile tile, int limit);
+
+    /**
+     * Build the text search query restricted to blogs the viewer may see, without executing it.
+     * Used by the federated search to batch several entity searches into one _msearch.
+     */
+    Query buildVisibleTextQuery(Long currentUserId, boolean isAdmin, String text);
+}
@@ -5,13 +5,19 @@ import co.elastic.clients.elasticsearch._types.Time;
 import co.elastic.clients.elasticsearch._types.query_dsl.*;
 import com.kaleidoscope.backend.blogs.document.BlogDocument;
 import com.kaleidoscope.backend.blogs.enums.BlogStatus;
+import com.kaleidoscope.backend.shared.search.GeoTile;
+import com.kaleidoscope.backend.shared.search.SearchAfterSupport;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.stereotype.Repository;
@@ -49,7 +55,8 @@ public class BlogSearchRepositoryImpl implements BlogSearchRepositoryCustom {
                                                           Long minReactions,
                                                           Long minComments,
                                                           LocalDateTime startDate,
-                                                          LocalDateTime endDate) {
+                                                          LocalDateTime endDate,
+                                                          SearchCursor cursor) {
         log.info("Elasticsearch blog query: authorUserId={}, categoryId={}, status={}, query={}, locationId={}, latitude={}, longitude={}, radiusKm={}, minReactions={}, minComments={}, startDate={}, endDate={}, isAdmin={}",
                 authorUserId, categoryId, status, query, locationId, latitude, longitude, radiusKm, minReactions, minComments, startDate, endDate, isAdmin);
 
@@ -85,13 +92,7 @@ public class BlogSearchRepositoryImpl implements BlogSearchRepositoryCustom {
         }
 
         if (query != null && !query.trim().isEmpty()) {
-            String q = query.trim().toLowerCase();
-            BoolQuery.Builder text = new BoolQuery.Builder();
-            text.should(MatchQuery.of(m -> m.field("title").query(q).boost(2.0f))._toQuery());
-            text.should(MatchQuery.of(m -> m.field("summary").query(q).boost(1.5f))._toQuery());
-            text.should(MatchQuery.of(m -> m.field("body").query(q))._toQuery());
-            text.minimumShouldMatch("1");
-            root.must(text.build()._toQuery());
+            root.must(textQuery(query));
         }
 
         // Filter by minimum reactions
@@ -136,24 +137,70 @@ public class BlogSearchRepositoryImpl implements BlogSearchRepositoryCustom {
 
         // Security clause for non-admins
         if (!isAdmin) {
-            BoolQuery.Builder security = new BoolQuery.Builder();
-            if (currentUserId != null) {
-                security.should(TermQuery.of(t -> t.field("author.userId").value(currentUserId))._toQuery());
-            }
-            security.should(TermQuery.of(t -> t.field("blogStatus").value(BlogStatus.PUBLISHED.toString()))._toQuery());
-            security.minimumShouldMatch("1");
-            root.must(security.build()._toQuery());
+            root.must(securityQuery(currentUserId));
+        }
+
+        String pitId = SearchAfterSupport.resolvePointInTime(elasticsearchTemplate, cursor, BlogDocument.class);
+        NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                .withQuery(root.build()._toQuery());
+        SearchAfterSupport.applyPaging(queryBuilder, pageable, cursor, "blogId", pitId);
+
+        SearchHits<BlogDocument> hits = elasticsearchTemplate.search(queryBuilder.build(), BlogDocument.class);
+        log.info("Blog ES query returned {} / {} hits", hits.getSearchHits().size(), hits.getTotalHits());
+        return SearchAfterSupport.toPage(hits, pageable, cursor, pitId);
+    }
+
+    @Override
+    public Query buildVisibleTextQuery(Long currentUserId, boolean isAdmin, String text) {
+        BoolQuery.Builder root = new BoolQuery.Builder().must(textQuery(text));
+        if (!isAdmin) {
+            root.must(securityQuery(currentUserId));
         }
+        return root.build()._toQuery();
+    }
+
+    private Query textQuery(String query) {
+        String q = query.trim().toLowerCase();
+        BoolQuery.Builder text = new BoolQuery.Builder();
+        text.should(MatchQuery.of(m -> m.field("title").query(q).boost(2.0f))._toQuery());
+        text.should(MatchQuery.of(m -> m.field("summary").query(q).boost(1.5f))._toQuery());
+        text.should(MatchQuery.of(m -> m.field("body").query(q))._toQuery());
+        text.minimumShouldMatch("1");
+        return text.build()._toQuery();
+    }
+
+    /** Non-admins see their own blogs or PUBLISHED ones. */
+    private Query securityQuery(Long currentUserId) {
+        BoolQuery.Builder security = new BoolQuery.Builder();
+        if (currentUserId != null) {
+            security.should(TermQuery.of(t -> t.field("author.userId").value(currentUserId))._toQuery());
+        }
+        security.should(TermQuery.of(t -> t.field("blogStatus").value(BlogStatus.PUBLISHED.toString()))._toQuery());
+        security.minimumShouldMatch("1");
+        return security.build()._toQuery();
+    }
+
+    @Override
+    public List<BlogDocument> findPublishedBlogsInTile(GeoTile tile, int limit) {
+        log.debug("Loading published blogs for geo tile {} (limit {})", tile.geohash(), limit);
+        BoolQuery.Builder root = new BoolQuery.Builder()
+                .filter(TermQuery.of(t -> t.field("blogStatus").value(BlogStatus.PUBLISHED.toString()))._toQuery())
+                .filter(GeoBoundingBoxQuery.of(g -> g
+                        .field("location.point")
+                        .boundingBox(b -> b.tlbr(box -> box
+                                .topLeft(tl -> tl.latlon(ll -> ll.lat(tile.blockTop()).lon(tile.blockLeft())))
+                                .bottomRight(br -> br.latlon(ll -> ll.lat(tile.blockBottom()).lon(tile.blockRight())))))
+                )._toQuery());
 
         NativeQuery nativeQuery = NativeQuery.builder()
                 .withQuery(root.build()._toQuery())
-                .withPageable(pageable)
+                .withSort(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .withPageable(PageRequest.of(0, limit))
+                .withTrackTotalHits(false)
                 .build();
 
         SearchHits<BlogDocument> hits = elasticsearchTemplate.search(nativeQuery, BlogDocument.class);
-        var docs = hits.getSearchHits().stream().map(SearchHit::getContent).toList();
-        log.info("Blog ES query returned {} / {} hits", docs.size(), hits.getTotalHits());
-        return new PageImpl<>(docs, pageable, hits.getTotalHits());
+        return hits.getSearchHits().stream().map(SearchHit::getContent).toList();
     }
 
     @Override
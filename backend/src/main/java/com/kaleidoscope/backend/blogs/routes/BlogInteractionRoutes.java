@@ -13,5 +13,6 @@ public class BlogInteractionRoutes {
     public static final String COMMENTS = BlogsRoutes.BLOGS + "/{blogId}/comments";
     public static final String COMMENT_BY_ID = COMMENTS + "/{commentId}";
     public static final String REACT_TO_COMMENT = COMMENT_BY_ID + "/reactions";
+    public static final String COMMENT_REPLIES = COMMENT_BY_ID + "/replies";
 }
 
@@ -20,7 +20,8 @@ public interface BlogService {
     PaginatedResponse<BlogSummaryResponseDTO> filterBlogs(
             Pageable pageable, Long userId, Long categoryId, String status, String visibility, String q,
             Long locationId, Long nearbyLocationId, Double radiusKm,
-            Long minReactions, Long minComments, LocalDateTime startDate, LocalDateTime endDate
+            Long minReactions, Long minComments, LocalDateTime startDate, LocalDateTime endDate,
+            String cursor, Boolean pointInTime
     );
     BlogCreationResponseDTO updateBlogStatus(Long blogId, BlogStatusUpdateRequestDTO requestDTO);
     PaginatedResponse<BlogSummaryResponseDTO> getBlogsThatTag(Long blogId, Pageable pageable);
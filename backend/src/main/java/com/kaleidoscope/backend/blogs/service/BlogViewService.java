@@ -2,19 +2,24 @@ package com.kaleidoscope.backend.blogs.service;
 
 import com.kaleidoscope.backend.blogs.document.BlogDocument;
 import com.kaleidoscope.backend.blogs.repository.BlogRepository;
-import com.kaleidoscope.backend.blogs.repository.search.BlogSearchRepository;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ContentViewTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,42 +27,51 @@ import java.util.concurrent.TimeUnit;
 public class BlogViewService {
 
     private final StringRedisTemplate redisTemplate;
+    private final ContentViewTracker contentViewTracker;
+    private final ContentCounterService contentCounterService;
     private final BlogRepository blogRepository;
-    private final BlogSearchRepository blogSearchRepository; // ES repository added
+    private final ElasticsearchOperations elasticsearchOperations;
 
     // Redis key patterns
-    private static final String VIEW_COUNT_KEY = "blog:views:%d"; // blog:views:123
-    private static final String USER_VIEW_KEY = "user:blog:view:%d:%d"; // user:blog:view:userId:blogId
+    private static final String VIEW_COUNT_KEY = "blog:views:%d"; // blog:views:123 (pending, de-duplicated)
+    private static final String RAW_VIEW_COUNT_KEY = "blog:views:raw:%d"; // every view, including repeats
+    private static final String DAILY_VIEWERS_KEY = "blog:viewers:%d:%d"; // HLL per blogId and epoch day
     private static final String PENDING_VIEWS_SET = "pending:blog:views";
-    private static final String VIEW_BATCH_LOCK = "blog:view:batch:lock";
+    public static final ContentViewTracker.Keys VIEW_KEYS = new ContentViewTracker.Keys(
+            VIEW_COUNT_KEY, RAW_VIEW_COUNT_KEY, DAILY_VIEWERS_KEY, PENDING_VIEWS_SET);
+
+    @Value("${app.views.flush.batch-size:5000}")
+    private int flushBatchSize;
+
+    @Value("${app.views.flush.min-interval-ms:10000}")
+    private long minFlushIntervalMs;
+
+    @Value("${app.views.flush.max-interval-ms:300000}")
+    private long maxFlushIntervalMs;
+
+    @Value("${app.views.flush.backlog-high-water:10000}")
+    private long backlogHighWater;
+
+    @Value("${app.views.flush.max-duration-ms:60000}")
+    private long maxFlushMillis;
+
+    private volatile long flushIntervalMs;
+    private volatile long nextFlushAt;
     
     /**
-     * Increment view count asynchronously with Redis optimization
-     * Prevents duplicate views from same user within 24 hours
+     * Record a view asynchronously in a single Redis round trip
+     * Counts at most one view per user per blog per UTC day; every view is also counted raw
      */
     @Async("viewCountExecutor")
     public void incrementViewAsync(Long blogId, Long userId) {
         try {
-            String userViewKey = String.format(USER_VIEW_KEY, userId, blogId);
-            
-            // Check if user already viewed this blog recently (24 hours)
-            if (Boolean.TRUE.equals(redisTemplate.hasKey(userViewKey))) {
-                log.debug("User {} already viewed blog {} recently, skipping", userId, blogId);
-                return;
+            boolean counted = contentViewTracker.recordView(VIEW_KEYS, blogId, userId);
+            if (counted) {
+                contentCounterService.recordViews(ContentType.BLOG, blogId, 1);
+                log.debug("View incremented for blog {} by user {}", blogId, userId);
+            } else {
+                log.debug("User {} already viewed blog {} today, counted as raw view only", userId, blogId);
             }
-            
-            // Mark user as having viewed this blog (expires in 24 hours)
-            redisTemplate.opsForValue().set(userViewKey, "1", 24, TimeUnit.HOURS);
-            
-            // Increment view count in Redis
-            String viewCountKey = String.format(VIEW_COUNT_KEY, blogId);
-            redisTemplate.opsForValue().increment(viewCountKey);
-            
-            // Add to pending views set for batch processing
-            redisTemplate.opsForSet().add(PENDING_VIEWS_SET, blogId.toString());
-            
-            log.debug("View incremented for blog {} by user {}", blogId, userId);
-            
         } catch (Exception e) {
             log.error("Failed to increment view for blog {} by user {}", blogId, userId, e);
         }
@@ -87,110 +101,101 @@ public class BlogViewService {
     }
     
     /**
-     * Batch sync Redis views to database every 5 minutes
-     * Uses distributed locking for multi-instance safety
-     * Processes updates in chunks to prevent long DB locks
+     * Get de-duplicated, raw and approximate unique-viewer counts with one Redis round trip
+     */
+    public ContentViewTracker.ViewCounts getViewCounts(Long blogId) {
+        Long dbViews = blogRepository.findViewCountByBlogId(blogId);
+        long dbViewCount = dbViews != null ? dbViews : 0;
+        try {
+            ContentViewTracker.RedisCounts redisCounts = contentViewTracker.readCounts(VIEW_KEYS, blogId);
+            return new ContentViewTracker.ViewCounts(dbViewCount + redisCounts.pendingViews(),
+                    redisCounts.rawViews(), redisCounts.uniqueViewers());
+        } catch (Exception e) {
+            log.error("Failed to get view counts for blog {}", blogId, e);
+            // Fallback to database only
+            return new ContentViewTracker.ViewCounts(dbViewCount, dbViewCount, 0);
+        }
+    }
+    
+    /**
+     * Flush pending views to the database and Elasticsearch
+     * Runs on a short tick but only flushes when due; the interval halves while the dirty
+     * backlog stays above the high-water mark and doubles back towards the maximum when idle
+     * Needs no lock: each node drains disjoint batches (SPOP), so nodes split the backlog
      */
-    @Scheduled(fixedRate = 300000) // 5 minutes
+    @Scheduled(fixedDelayString = "${app.views.flush.tick-ms:5000}")
     public void syncViewsToDatabase() {
+        long now = System.currentTimeMillis();
+        if (now < nextFlushAt) {
+            return;
+        }
+
         try {
-            // Acquire distributed lock to prevent multiple instances from syncing
-            Boolean lockAcquired = redisTemplate.opsForValue()
-                .setIfAbsent(VIEW_BATCH_LOCK, "locked", 10, TimeUnit.MINUTES);
-                
-            if (!Boolean.TRUE.equals(lockAcquired)) {
-                log.debug("Another instance is already syncing views, skipping");
-                return;
-            }
-            
-            log.info("Starting batch sync of views to database");
-            
-            Set<String> blogIds = redisTemplate.opsForSet().members(PENDING_VIEWS_SET);
-            if (blogIds == null || blogIds.isEmpty()) {
-                log.debug("No pending views to sync");
-                return;
-            }
-            
-            // Process in chunks of 500 to prevent locking DB for too long
-            final int CHUNK_SIZE = 500;
-            List<String> blogIdList = new ArrayList<>(blogIds);
             int totalSynced = 0;
-
-            for (int i = 0; i < blogIdList.size(); i += CHUNK_SIZE) {
-                int end = Math.min(i + CHUNK_SIZE, blogIdList.size());
-                List<String> chunk = blogIdList.subList(i, end);
-
-                int chunkSynced = syncViewsChunk(chunk);
-                totalSynced += chunkSynced;
-
-                log.debug("Synced chunk {}/{}: {} blogs",
-                    (i / CHUNK_SIZE) + 1,
-                    (blogIdList.size() + CHUNK_SIZE - 1) / CHUNK_SIZE,
-                    chunkSynced);
+            int batches = 0;
+            ContentViewTracker.Drained drained;
+            while ((drained = contentViewTracker.drainPending(VIEW_KEYS, flushBatchSize)).taken() > 0) {
+                if (!drained.deltas().isEmpty()) {
+                    totalSynced += flushBatch(drained.deltas());
+                }
+                batches++;
+                // A short batch means the dirty set is empty; zero counts dropped from the deltas do not
+                if (drained.taken() < flushBatchSize || System.currentTimeMillis() - now > maxFlushMillis) {
+                    break;
+                }
             }
 
-            log.info("Completed batch sync: {} blogs synced", totalSynced);
+            long backlog = contentViewTracker.pendingBacklog(VIEW_KEYS);
+            flushIntervalMs = backlog >= backlogHighWater
+                    ? Math.max(minFlushIntervalMs, flushIntervalMs / 2)
+                    : Math.min(maxFlushIntervalMs, Math.max(minFlushIntervalMs, flushIntervalMs * 2));
+            nextFlushAt = System.currentTimeMillis() + flushIntervalMs;
 
+            if (batches > 0) {
+                log.info("[BlogViewService] Flushed views for {} blogs in {} batches in {}ms; backlog {}, next flush in {}ms",
+                        totalSynced, batches, System.currentTimeMillis() - now, backlog, flushIntervalMs);
+            }
         } catch (Exception e) {
             log.error("Failed to sync views to database", e);
-        } finally {
-            // Release lock
-            redisTemplate.delete(VIEW_BATCH_LOCK);
         }
     }
 
     /**
-     * Process a chunk of view updates in a single transaction
+     * Apply one drained batch with a single UPDATE ... FROM unnest(...) and push the new
+     * totals to Elasticsearch as one _bulk of partial updates
      */
-    @Transactional
-    protected int syncViewsChunk(List<String> blogIds) {
-        int syncedCount = 0;
-
-        for (String blogIdStr : blogIds) {
-            try {
-                Long blogId = Long.parseLong(blogIdStr);
-                String viewCountKey = String.format(VIEW_COUNT_KEY, blogId);
-
-                String redisCountStr = redisTemplate.opsForValue().get(viewCountKey);
-                if (redisCountStr != null) {
-                    long redisCount = Long.parseLong(redisCountStr);
-
-                    // Update database with Redis view count
-                    int updatedRows = blogRepository.incrementViewCount(blogId, redisCount);
-
-                    if (updatedRows > 0) {
-                        // --- Elasticsearch viewCount sync ---
-                        try {
-                            Long currentDbViewCount = blogRepository.findViewCountByBlogId(blogId);
-                            long totalViewCount = currentDbViewCount != null ? currentDbViewCount : redisCount;
-                            blogSearchRepository.findById(blogIdStr).ifPresentOrElse(
-                                    document -> {
-                                        BlogDocument updatedDocument = document.toBuilder()
-                                                .viewCount(totalViewCount)
-                                                .build();
-                                        blogSearchRepository.save(updatedDocument);
-                                        log.debug("Updated Elasticsearch viewCount for blog {} to {}", blogIdStr, totalViewCount);
-                                    },
-                                    () -> log.warn("BlogDocument not found in Elasticsearch for blogId: {}", blogIdStr)
-                            );
-                        } catch (Exception esException) {
-                            log.error("Failed to sync viewCount to Elasticsearch for blog {}: {}", blogIdStr, esException.getMessage(), esException);
-                        }
-
-                        // Clear Redis count and remove from pending set
-                        redisTemplate.delete(viewCountKey);
-                        redisTemplate.opsForSet().remove(PENDING_VIEWS_SET, blogIdStr);
-
-                        syncedCount++;
-                        log.debug("Synced {} views for blog {}", redisCount, blogId);
-                    }
-                }
+    private int flushBatch(Map<Long, Long> deltas) {
+        Long[] blogIds = deltas.keySet().toArray(Long[]::new);
+        Long[] increments = Arrays.stream(blogIds).map(deltas::get).toArray(Long[]::new);
 
-            } catch (Exception e) {
-                log.error("Failed to sync views for blog {}", blogIdStr, e);
-            }
+        List<Object[]> totals;
+        try {
+            totals = blogRepository.applyViewCountDeltas(blogIds, increments);
+        } catch (Exception e) {
+            log.error("[BlogViewService] Failed to apply view counts for {} blogs, returning them to Redis: {}",
+                    deltas.size(), e.getMessage(), e);
+            contentViewTracker.restorePending(VIEW_KEYS, deltas);
+            return 0;
+        }
+        if (totals.isEmpty()) {
+            return 0;
         }
 
-        return syncedCount;
+        List<UpdateQuery> updates = totals.stream()
+                .map(row -> UpdateQuery.builder(String.valueOf(row[0]))
+                        .withDocument(Document.create().append("viewCount", ((Number) row[1]).longValue()))
+                        .build())
+                .toList();
+        try {
+            elasticsearchOperations.bulkUpdate(updates, elasticsearchOperations.getIndexCoordinatesFor(BlogDocument.class));
+        } catch (BulkFailureException e) {
+            // Typically documents not indexed yet; the startup sync and next flush reconcile them
+            log.warn("[BlogViewService] {} of {} Elasticsearch viewCount updates failed",
+                    e.getFailedDocuments().size(), updates.size());
+        } catch (Exception e) {
+            log.error("[BlogViewService] Failed to sync viewCount to Elasticsearch for {} blogs: {}",
+                    updates.size(), e.getMessage(), e);
+        }
+        return totals.size();
     }
 }
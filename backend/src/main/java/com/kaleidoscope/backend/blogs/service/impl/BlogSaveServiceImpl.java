@@ -11,7 +11,9 @@ import com.kaleidoscope.backend.blogs.model.BlogSave;
 import com.kaleidoscope.backend.blogs.repository.BlogRepository;
 import com.kaleidoscope.backend.blogs.repository.BlogSaveRepository;
 import com.kaleidoscope.backend.blogs.service.BlogSaveService;
+import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
 import com.kaleidoscope.backend.users.model.User;
 import com.kaleidoscope.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +36,7 @@ public class BlogSaveServiceImpl implements BlogSaveService {
     private final BlogRepository blogRepository;
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
+    private final ContentCounterService contentCounterService;
     private final BlogMapper blogMapper;
 
     @Override
@@ -51,10 +54,14 @@ public class BlogSaveServiceImpl implements BlogSaveService {
                 .orElseThrow(() -> new BlogNotFoundException(blogId));
 
         Optional<BlogSave> existingSave = blogSaveRepository.findByBlogAndUser(blog, currentUser);
+        // Read before this transaction's change; the counter is adjusted once it commits
+        long totalSaves = contentCounterService.getCounters(ContentType.BLOG, blogId).saves();
 
         if (unsave) {
             if (existingSave.isPresent()) {
                 blogSaveRepository.deleteByBlogAndUser(blog, currentUser);
+                contentCounterService.recordSaveChange(ContentType.BLOG, blogId, -1);
+                totalSaves--;
                 log.info("Blog unsaved successfully: blogId={}, userId={}", blogId, userId);
             } else {
                 log.warn("Attempting to unsave a blog that wasn't saved: blogId={}, userId={}", blogId, userId);
@@ -64,13 +71,15 @@ public class BlogSaveServiceImpl implements BlogSaveService {
                 // Use mapper to create BlogSave entity
                 BlogSave blogSave = BlogSaveMapper.toEntity(blog, currentUser);
                 blogSaveRepository.save(blogSave);
+                contentCounterService.recordSaveChange(ContentType.BLOG, blogId, 1);
+                totalSaves++;
                 log.info("Blog saved successfully: blogId={}, userId={}", blogId, userId);
             } else {
                 log.info("Blog already saved by user: blogId={}, userId={}", blogId, userId);
             }
         }
 
-        return buildResponse(blog, currentUser);
+        return buildResponse(blog, currentUser, Math.max(0, totalSaves));
     }
 
     @Override
@@ -86,7 +95,7 @@ public class BlogSaveServiceImpl implements BlogSaveService {
         Blog blog = blogRepository.findById(blogId)
                 .orElseThrow(() -> new BlogNotFoundException(blogId));
 
-        return buildResponse(blog, currentUser);
+        return buildResponse(blog, currentUser, contentCounterService.getCounters(ContentType.BLOG, blogId).saves());
     }
 
     @Override
@@ -121,9 +130,8 @@ public class BlogSaveServiceImpl implements BlogSaveService {
         return PaginatedResponse.fromPage(dtoPage);
     }
 
-    private BlogSaveResponseDTO buildResponse(Blog blog, User user) {
+    private BlogSaveResponseDTO buildResponse(Blog blog, User user, long totalSaves) {
         Optional<BlogSave> userSave = blogSaveRepository.findByBlogAndUser(blog, user);
-        long totalSaves = blogSaveRepository.countByBlog(blog);
 
         // Use mapper to create response DTO
         return BlogSaveMapper.toResponseDTO(userSave, totalSaves);
@@ -33,6 +33,13 @@ import com.kaleidoscope.backend.shared.model.Location;
 import com.kaleidoscope.backend.shared.model.MediaAssetTracker;
 import com.kaleidoscope.backend.shared.repository.*;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.shared.search.AfterCommitIndexer;
+import com.kaleidoscope.backend.shared.search.CursorPage;
+import com.kaleidoscope.backend.shared.search.LocationIndex;
+import com.kaleidoscope.backend.shared.search.NearbyTileSearch;
+import com.kaleidoscope.backend.shared.search.RecentWritesOverlay;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
+import com.kaleidoscope.backend.shared.search.SearchResultCache;
 import com.kaleidoscope.backend.shared.service.ImageStorageService;
 import com.kaleidoscope.backend.users.model.User;
 import com.kaleidoscope.backend.users.repository.UserRepository;
@@ -67,6 +74,10 @@ public class BlogServiceImpl implements BlogService {
     private final BlogSearchRepository blogSearchRepository; // ES repository injected
     private final RedisStreamPublisher redisStreamPublisher;
     private final com.kaleidoscope.backend.blogs.repository.BlogTagRepository blogTagRepository;
+    private final NearbyTileSearch nearbyTileSearch;
+    private final LocationIndex locationIndex;
+    private final RecentWritesOverlay recentWritesOverlay;
+    private final AfterCommitIndexer afterCommitIndexer;
 
     @Override
     @Transactional
@@ -169,10 +180,10 @@ public class BlogServiceImpl implements BlogService {
             savedBlog = blogRepository.save(savedBlog);
         }
 
-        // Index new blog in Elasticsearch
+        // Index new blog in Elasticsearch after commit; the author sees it through the overlay meanwhile
         BlogDocument blogDocument = blogMapper.toBlogDocument(savedBlog);
-        blogSearchRepository.save(blogDocument);
-        log.info("Indexed new blog {} to Elasticsearch", savedBlog.getBlogId());
+        recentWritesOverlay.recordBlog(blogDocument);
+        afterCommitIndexer.indexAfterCommit("new blog " + savedBlog.getBlogId(), () -> blogSearchRepository.save(blogDocument));
 
         log.info("User '{}' created new blog with ID: {}", currentUser.getUsername(), savedBlog.getBlogId());
         return blogMapper.toDTO(savedBlog);
@@ -230,6 +241,7 @@ public class BlogServiceImpl implements BlogService {
         // Sync updated blog to Elasticsearch
         BlogDocument blogDocument = blogMapper.toBlogDocument(savedBlog);
         blogSearchRepository.save(blogDocument);
+        recentWritesOverlay.refreshBlog(blogDocument);
         log.info("Updated blog {} in Elasticsearch", savedBlog.getBlogId());
         log.info("User '{}' updated blog with ID: {}", blog.getUser().getUsername(), savedBlog.getBlogId());
         return blogMapper.toDTO(savedBlog);
@@ -249,6 +261,7 @@ public class BlogServiceImpl implements BlogService {
         }
 
         // Remove from Elasticsearch before DB soft delete
+        recentWritesOverlay.forgetBlog(blog.getUser().getUserId(), blogId);
         blogSearchRepository.deleteById(blogId.toString());
         log.info("Removed blog {} from Elasticsearch index", blogId);
         blogRepository.delete(blog);
@@ -267,6 +280,7 @@ public class BlogServiceImpl implements BlogService {
                 .orElseThrow(() -> new BlogNotFoundException(blogId));
 
         // Delete ES document
+        recentWritesOverlay.forgetBlog(blog.getUser().getUserId(), blogId);
         blogSearchRepository.deleteById(blog.getBlogId().toString());
         // Delete associated comments and reactions
         commentRepository.softDeleteCommentsByContent(blogId, ContentType.BLOG, LocalDateTime.now());
@@ -318,7 +332,8 @@ public class BlogServiceImpl implements BlogService {
     public PaginatedResponse<BlogSummaryResponseDTO> filterBlogs(
             Pageable pageable, Long userId, Long categoryId, String status, String visibility, String q,
             Long locationId, Long nearbyLocationId, Double radiusKm,
-            Long minReactions, Long minComments, LocalDateTime startDate, LocalDateTime endDate) {
+            Long minReactions, Long minComments, LocalDateTime startDate, LocalDateTime endDate,
+            String cursor, Boolean pointInTime) {
         // Replace JPA specification with Elasticsearch query
         Long currentUserId = jwtUtils.getUserIdFromContext();
         boolean isAdmin = jwtUtils.isAdminFromContext();
@@ -332,38 +347,61 @@ public class BlogServiceImpl implements BlogService {
         Double longitude = null;
         if (nearbyLocationId != null) {
             log.debug("Fetching coordinates for nearbyLocationId: {}", nearbyLocationId);
-            Location location = locationRepository.findById(nearbyLocationId)
+            LocationIndex.IndexedLocation location = locationIndex.find(nearbyLocationId)
                     .orElseThrow(() -> new LocationNotFoundException("Location not found with ID: " + nearbyLocationId));
 
-            if (location.getLatitude() != null && location.getLongitude() != null) {
-                latitude = location.getLatitude().doubleValue();
-                longitude = location.getLongitude().doubleValue();
+            if (location.hasCoordinates()) {
+                latitude = location.latitude();
+                longitude = location.longitude();
                 log.info("Using geo-distance query for blogs: center=({}, {}), radius={}km", latitude, longitude, radiusKm);
             } else {
                 log.warn("Location {} exists but has no coordinates. Geo-distance query will be skipped.", nearbyLocationId);
             }
         }
 
-        Page<BlogDocument> docPage = blogSearchRepository.findVisibleAndFilteredBlogs(
-                currentUserId,
-                isAdmin,
-                userId,
-                categoryId,
-                statusEnum,
-                q,
-                locationId,
-                pageable,
-                latitude,
-                longitude,
-                radiusKm,
-                minReactions,
-                minComments,
-                startDate,
-                endDate
-        );
+        SearchCursor searchCursor = SearchCursor.of(cursor, pointInTime);
+        Page<BlogDocument> docPage = null;
+        // Pure nearby searches over PUBLISHED blogs are served from shared geo-tile candidates
+        if (latitude != null && longitude != null && radiusKm != null && radiusKm > 0
+                && statusEnum == BlogStatus.PUBLISHED && userId == null && categoryId == null
+                && (q == null || q.isBlank()) && minReactions == null && minComments == null
+                && startDate == null && endDate == null && searchCursor == null) {
+            docPage = nearbyTileSearch.search(SearchResultCache.NEARBY_BLOGS_NAMESPACE, latitude, longitude, radiusKm,
+                    pageable, blogSearchRepository::findPublishedBlogsInTile,
+                    doc -> doc.getLocation() != null ? doc.getLocation().getPoint() : null);
+        }
+        if (docPage == null) {
+            docPage = blogSearchRepository.findVisibleAndFilteredBlogs(
+                    currentUserId,
+                    isAdmin,
+                    userId,
+                    categoryId,
+                    statusEnum,
+                    q,
+                    locationId,
+                    pageable,
+                    latitude,
+                    longitude,
+                    radiusKm,
+                    minReactions,
+                    minComments,
+                    startDate,
+                    endDate,
+                    searchCursor
+            );
+        }
+        // The author's freshly created blogs are shown on plain listings until ES returns them
+        if (currentUserId != null && (userId == null || userId.equals(currentUserId)) && categoryId == null
+                && (q == null || q.isBlank()) && locationId == null && latitude == null && minReactions == null
+                && minComments == null && startDate == null && endDate == null
+                && recentWritesOverlay.appliesTo(pageable, searchCursor)) {
+            final BlogStatus statusFilter = statusEnum;
+            docPage = recentWritesOverlay.mergeBlogs(currentUserId, docPage, pageable,
+                    doc -> statusFilter == null || statusFilter == doc.getBlogStatus());
+        }
         Page<BlogSummaryResponseDTO> dtoPage = docPage.map(blogMapper::toBlogSummaryDTO);
         log.info("Blog filter returned {} of {} results via Elasticsearch", dtoPage.getNumberOfElements(), dtoPage.getTotalElements());
-        return PaginatedResponse.fromPage(dtoPage);
+        return PaginatedResponse.fromPage(dtoPage, CursorPage.nextCursorOf(docPage));
     }
 
     @Override
@@ -390,6 +428,7 @@ public class BlogServiceImpl implements BlogService {
         // Sync status update to Elasticsearch
         BlogDocument blogDocument = blogMapper.toBlogDocument(savedBlog);
         blogSearchRepository.save(blogDocument);
+        recentWritesOverlay.refreshBlog(blogDocument);
         log.info("Updated blog status {} in Elasticsearch", savedBlog.getBlogId());
         log.info("Blog {} status updated to {} by admin {}", blogId, requestDTO.status(), reviewerId);
 
@@ -1,13 +1,18 @@
 package com.kaleidoscope.backend.posts.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableAsync
@@ -25,4 +30,18 @@ public class PostAsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Bounded pool for the context lookups of suggestion building, so concurrent requests cannot
+     * queue unbounded work onto the small JDBC pool. When the queue is full the lookup runs on the
+     * request thread, which degrades to sequential lookups instead of failing.
+     */
+    @Bean(name = "suggestionContextExecutor", destroyMethod = "shutdown")
+    public ExecutorService suggestionContextExecutor(
+            @Value("${app.suggestions.context-executor.pool-size:4}") int poolSize,
+            @Value("${app.suggestions.context-executor.queue-capacity:100}") int queueCapacity) {
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("SuggestionContext-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
 }
@@ -0,0 +1,33 @@
+package com.kaleidoscope.backend.posts.consumer;
+
+import com.kaleidoscope.backend.posts.service.PostAnalyticsAggregator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis Stream consumer for post insights
+ * Listens to POST_ANALYTICS_STREAM and hands events to PostAnalyticsAggregator, which
+ * acknowledges them once their hourly buckets are flushed
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostAnalyticsConsumer implements StreamListener<String, MapRecord<String, String, String>> {
+
+    private final PostAnalyticsAggregator postAnalyticsAggregator;
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> record) {
+        String messageId = record.getId().getValue();
+        try {
+            postAnalyticsAggregator.accept(messageId, record.getValue());
+        } catch (Exception e) {
+            log.error("[PostAnalyticsConsumer] Error processing analytics event, messageId={}: {}",
+                    messageId, e.getMessage(), e);
+            throw e; // Re-throw to prevent XACK on failure
+        }
+    }
+}
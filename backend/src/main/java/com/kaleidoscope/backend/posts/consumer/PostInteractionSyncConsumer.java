@@ -3,14 +3,12 @@ package com.kaleidoscope.backend.posts.consumer;
 import com.kaleidoscope.backend.posts.document.PostDocument;
 import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
 import com.kaleidoscope.backend.shared.enums.ContentType;
-import com.kaleidoscope.backend.shared.repository.CommentRepository;
-import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Redis Stream consumer for synchronizing post interaction counts to Elasticsearch
@@ -23,11 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class PostInteractionSyncConsumer implements StreamListener<String, MapRecord<String, String, String>> {
 
     private final PostSearchRepository postSearchRepository;
-    private final ReactionRepository reactionRepository;
-    private final CommentRepository commentRepository;
+    private final ContentCounterService contentCounterService;
 
     @Override
-    @Transactional
     public void onMessage(MapRecord<String, String, String> record) {
         // Retrieve the message ID for logging/XACK reference
         String messageId = record.getId().getValue();
@@ -38,9 +34,9 @@ public class PostInteractionSyncConsumer implements StreamListener<String, MapRe
             log.info("[PostInteractionSyncConsumer] Processing interaction sync for post {} - changeType: {}, messageId: {}",
                     contentId, changeType, messageId);
 
-            // Fetch current counts from database
-            long currentReactionCount = reactionRepository.countByContentIdAndContentType(contentId, ContentType.POST);
-            long currentCommentCount = commentRepository.countByContentIdAndContentType(contentId, ContentType.POST);
+            ContentCounterService.Counters counters = contentCounterService.getCounters(ContentType.POST, contentId);
+            long currentReactionCount = counters.reactions();
+            long currentCommentCount = counters.comments();
 
             log.debug("[PostInteractionSyncConsumer] Current counts for post {}: reactions={}, comments={}", 
                      contentId, currentReactionCount, currentCommentCount);
@@ -0,0 +1,45 @@
+package com.kaleidoscope.backend.posts.consumer;
+
+import com.kaleidoscope.backend.shared.search.SearchResultCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Redis Stream listener that drops cached post search results when a post is created,
+ * updated or deleted. Registered without a consumer group so every backend instance
+ * receives every event and clears its own in-process cache. Only the entries scoped to the
+ * post's author, categories or hashtags and the unscoped ones are dropped; events without
+ * scopes drop the whole namespace.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchCacheInvalidationConsumer implements StreamListener<String, MapRecord<String, String, String>> {
+
+    private final SearchResultCache searchResultCache;
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> record) {
+        String messageId = record.getId().getValue();
+        if (record.getValue().containsKey("init")) {
+            return;
+        }
+        log.debug("[PostSearchCacheInvalidationConsumer] Post {} {}, invalidating post search cache, messageId: {}",
+                record.getValue().get("postId"), record.getValue().get("changeType"), messageId);
+        String scopes = record.getValue().get("scopes");
+        if (scopes == null) {
+            searchResultCache.invalidate(SearchResultCache.POST_SEARCH_NAMESPACE);
+        } else {
+            searchResultCache.invalidate(SearchResultCache.POST_SEARCH_NAMESPACE,
+                    Arrays.stream(scopes.split(",")).filter(scope -> !scope.isBlank()).toList());
+        }
+        if (!"false".equals(record.getValue().get("located"))) {
+            searchResultCache.invalidate(SearchResultCache.NEARBY_POSTS_NAMESPACE);
+        }
+    }
+}
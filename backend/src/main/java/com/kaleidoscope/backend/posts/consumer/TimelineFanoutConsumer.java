@@ -0,0 +1,58 @@
+package com.kaleidoscope.backend.posts.consumer;
+
+import com.kaleidoscope.backend.async.dto.TimelineEventDTO;
+import com.kaleidoscope.backend.posts.service.HomeTimelineService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Redis Stream consumer that maintains the materialized home timelines
+ * Listens to TIMELINE_FANOUT_STREAM and fans posts out, backfills on follow and evicts on
+ * unfollow/block
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineFanoutConsumer implements StreamListener<String, MapRecord<String, String, String>> {
+
+    private final HomeTimelineService homeTimelineService;
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> record) {
+        String messageId = record.getId().getValue();
+        Map<String, String> value = record.getValue();
+        if (value.containsKey("init")) {
+            return;
+        }
+        try {
+            String eventType = value.get("eventType");
+            Long actorId = parseLong(value.get("actorId"));
+            Long targetId = parseLong(value.get("targetId"));
+            Long postId = parseLong(value.get("postId"));
+            log.debug("[TimelineFanoutConsumer] Processing {} event, messageId: {}", eventType, messageId);
+
+            switch (eventType) {
+                case TimelineEventDTO.POST_PUBLISHED ->
+                        homeTimelineService.onPostPublished(postId, actorId, parseLong(value.get("createdAtMillis")));
+                case TimelineEventDTO.POST_REMOVED -> homeTimelineService.onPostRemoved(postId, actorId);
+                case TimelineEventDTO.FOLLOW -> homeTimelineService.onFollow(actorId, targetId);
+                case TimelineEventDTO.UNFOLLOW -> homeTimelineService.onUnfollow(actorId, targetId);
+                case TimelineEventDTO.BLOCK -> homeTimelineService.onBlock(actorId, targetId);
+                default -> log.warn("[TimelineFanoutConsumer] Unknown event type '{}', messageId: {}", eventType, messageId);
+            }
+        } catch (Exception e) {
+            log.error("[TimelineFanoutConsumer] Error processing timeline event for messageId={}: {}",
+                    messageId, e.getMessage(), e);
+            throw e; // Re-throw to prevent XACK on failure
+        }
+    }
+
+    private static Long parseLong(String value) {
+        return value != null && !value.isBlank() ? Long.valueOf(value) : null;
+    }
+}
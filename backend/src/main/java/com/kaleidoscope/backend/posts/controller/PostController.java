@@ -5,12 +5,18 @@ import com.kaleidoscope.backend.posts.dto.request.PostCreateRequestDTO;
 import com.kaleidoscope.backend.posts.dto.request.PostUpdateRequestDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostCreationResponseDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostDetailResponseDTO;
+import com.kaleidoscope.backend.posts.dto.response.PostInsightsResponseDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
 import com.kaleidoscope.backend.posts.enums.PostStatus;
 import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
 import com.kaleidoscope.backend.posts.routes.PostsRoutes;
+import com.kaleidoscope.backend.posts.service.HomeTimelineService;
+import com.kaleidoscope.backend.posts.service.PostAnalyticsService;
 import com.kaleidoscope.backend.posts.service.PostService;
+import com.kaleidoscope.backend.shared.dto.request.BatchIdsRequestDTO;
 import com.kaleidoscope.backend.shared.dto.request.GenerateUploadSignatureRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.UploadSignatureResponseDTO;
 import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.response.AppResponse;
@@ -20,11 +26,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @Slf4j
@@ -32,6 +42,8 @@ public class PostController implements PostApi {
     private final PostService postService;
     private final ImageStorageService imageStorageService;
     private final com.kaleidoscope.backend.posts.service.PostSuggestionService postSuggestionService;
+    private final HomeTimelineService homeTimelineService;
+    private final PostAnalyticsService postAnalyticsService;
 
     @Override
     @PostMapping(PostsRoutes.GENERATE_UPLOAD_SIGNATURES)
@@ -108,6 +120,19 @@ public class PostController implements PostApi {
                 .build());
     }
 
+    @Override
+    @PostMapping(PostsRoutes.GET_POSTS_BATCH)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<List<BatchItemResponseDTO<PostSummaryResponseDTO>>>> getPostsBatch(
+            @Valid @RequestBody BatchIdsRequestDTO requestDTO) {
+        List<BatchItemResponseDTO<PostSummaryResponseDTO>> posts = postService.getPostsByIds(requestDTO.ids());
+        return ResponseEntity.ok(AppResponse.<List<BatchItemResponseDTO<PostSummaryResponseDTO>>>builder()
+                .success(true)
+                .message("Posts retrieved successfully.")
+                .data(posts)
+                .build());
+    }
+
     @GetMapping(PostsRoutes.FILTER_POSTS)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<AppResponse<PaginatedResponse<PostSummaryResponseDTO>>> filterPosts(
@@ -120,10 +145,13 @@ public class PostController implements PostApi {
             @RequestParam(required = false) String hashtag,
             @RequestParam(required = false) Long locationId,
             @RequestParam(required = false) Long nearbyLocationId,
-            @RequestParam(required = false, defaultValue = "5.0") Double radiusKm
+            @RequestParam(required = false, defaultValue = "5.0") Double radiusKm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean pit
     ) {
         PaginatedResponse<PostSummaryResponseDTO> response = postService.filterPosts(
-                pageable, userId, categoryId, status, visibility, q, hashtag, locationId, nearbyLocationId, radiusKm
+                pageable, userId, categoryId, status, visibility, q, hashtag, locationId, nearbyLocationId, radiusKm,
+                cursor, pit
         );
         return ResponseEntity.ok(AppResponse.<PaginatedResponse<PostSummaryResponseDTO>>builder()
                 .success(true)
@@ -144,4 +172,34 @@ public class PostController implements PostApi {
                 .data(suggestions)
                 .build());
     }
-}
\ No newline at end of file
+
+    @Override
+    @GetMapping(PostsRoutes.TIMELINE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<PaginatedResponse<PostSummaryResponseDTO>>> getHomeTimeline(Pageable pageable) {
+        log.info("Fetching home timeline for current user");
+        PaginatedResponse<PostSummaryResponseDTO> timeline = homeTimelineService.getHomeTimeline(pageable);
+        return ResponseEntity.ok(AppResponse.<PaginatedResponse<PostSummaryResponseDTO>>builder()
+                .success(true)
+                .message("Home timeline retrieved successfully.")
+                .data(timeline)
+                .build());
+    }
+
+    @Override
+    @GetMapping(PostsRoutes.INSIGHTS)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<PostInsightsResponseDTO>> getPostInsights(
+            @PathVariable Long postId,
+            @RequestParam(required = false) RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Fetching insights for post {}", postId);
+        PostInsightsResponseDTO insights = postAnalyticsService.getPostInsights(postId, granularity, from, to);
+        return ResponseEntity.ok(AppResponse.<PostInsightsResponseDTO>builder()
+                .success(true)
+                .message("Post insights retrieved successfully.")
+                .data(insights)
+                .build());
+    }
+}
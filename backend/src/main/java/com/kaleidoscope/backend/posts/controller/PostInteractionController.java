@@ -4,6 +4,7 @@ import com.kaleidoscope.backend.posts.controller.api.PostInteractionApi;
 import com.kaleidoscope.backend.shared.dto.request.ReactionRequestDTO;
 import com.kaleidoscope.backend.shared.dto.response.ReactionResponseDTO;
 import com.kaleidoscope.backend.shared.dto.request.CommentCreateRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.CommentPageResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.CommentResponseDTO;
 import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.enums.ReactionType;
@@ -12,8 +13,6 @@ import com.kaleidoscope.backend.shared.service.InteractionService;
 import com.kaleidoscope.backend.shared.response.AppResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -76,15 +75,33 @@ public class PostInteractionController implements PostInteractionApi {
     @Override
     @GetMapping(PostInteractionRoutes.COMMENTS)
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<AppResponse<Page<CommentResponseDTO>>> listComments(@PathVariable Long postId, Pageable pageable) {
-        Page<CommentResponseDTO> page = interactionService.listComments(ContentType.POST, postId, pageable);
-        return ResponseEntity.ok(AppResponse.<Page<CommentResponseDTO>>builder()
+    public ResponseEntity<AppResponse<CommentPageResponseDTO>> listComments(@PathVariable Long postId,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "20") int size,
+                                                                            @RequestParam(defaultValue = "3") int replies) {
+        CommentPageResponseDTO page = interactionService.listComments(ContentType.POST, postId, cursor, size, replies);
+        return ResponseEntity.ok(AppResponse.<CommentPageResponseDTO>builder()
                 .success(true)
                 .message("Comments fetched")
                 .data(page)
                 .build());
     }
 
+    @Override
+    @GetMapping(PostInteractionRoutes.COMMENT_REPLIES)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<CommentPageResponseDTO>> listReplies(@PathVariable Long postId,
+                                                                           @PathVariable Long commentId,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = "20") int size) {
+        CommentPageResponseDTO page = interactionService.listReplies(ContentType.POST, postId, commentId, cursor, size);
+        return ResponseEntity.ok(AppResponse.<CommentPageResponseDTO>builder()
+                .success(true)
+                .message("Replies fetched")
+                .data(page)
+                .build());
+    }
+
     @Override
     @DeleteMapping(PostInteractionRoutes.COMMENT_BY_ID)
     @PreAuthorize("isAuthenticated()")
@@ -3,11 +3,15 @@ package com.kaleidoscope.backend.posts.controller.api;
 import com.kaleidoscope.backend.posts.dto.request.PostCreateRequestDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostCreationResponseDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostDetailResponseDTO;
+import com.kaleidoscope.backend.posts.dto.response.PostInsightsResponseDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
 import com.kaleidoscope.backend.posts.enums.PostStatus;
 import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
 import com.kaleidoscope.backend.posts.routes.PostsRoutes;
+import com.kaleidoscope.backend.shared.dto.request.BatchIdsRequestDTO;
 import com.kaleidoscope.backend.shared.dto.request.GenerateUploadSignatureRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.UploadSignatureResponseDTO;
 import com.kaleidoscope.backend.shared.response.AppResponse;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
@@ -20,10 +24,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Tag(name = "Post", description = "APIs for managing posts")
 public interface PostApi {
 
@@ -112,6 +120,19 @@ public interface PostApi {
     @PreAuthorize("isAuthenticated()")
     ResponseEntity<AppResponse<PostDetailResponseDTO>> getPostById(@PathVariable Long postId);
 
+    @Operation(summary = "Get posts by IDs", description = "Returns summaries of up to 100 posts in request order, each with its own status: OK, NOT_FOUND (missing, or hidden by a block) or FORBIDDEN.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posts retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AppResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(PostsRoutes.GET_POSTS_BATCH)
+    @PreAuthorize("isAuthenticated()")
+    ResponseEntity<AppResponse<List<BatchItemResponseDTO<PostSummaryResponseDTO>>>> getPostsBatch(
+            @Valid @RequestBody BatchIdsRequestDTO requestDTO);
+
     @Operation(summary = "Filter posts", description = "Returns paginated posts. Admins see all; users see PUBLISHED posts that are PUBLIC, their own, or from followings.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Posts retrieved successfully",
@@ -135,7 +156,11 @@ public interface PostApi {
             @Parameter(description = "Find posts near this location ID using geo-distance query")
             @RequestParam(required = false) Long nearbyLocationId,
             @Parameter(description = "Radius in kilometers for nearby location search (default: 5.0)", example = "5.0")
-            @RequestParam(required = false, defaultValue = "5.0") Double radiusKm
+            @RequestParam(required = false, defaultValue = "5.0") Double radiusKm,
+            @Parameter(description = "Opaque nextCursor from a previous response; continues with search_after and ignores page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Open a point-in-time snapshot on the first cursor page so later pages stay consistent")
+            @RequestParam(required = false) Boolean pit
     );
 
     @Operation(summary = "Get post suggestions",
@@ -151,4 +176,39 @@ public interface PostApi {
     ResponseEntity<AppResponse<PaginatedResponse<PostSummaryResponseDTO>>> getPostSuggestions(
             @Parameter(hidden = true) Pageable pageable
     );
+
+    @Operation(summary = "Get home timeline",
+               description = "Returns the current user's home timeline: newest posts from followed users and their own posts. Served from materialized Redis timelines, with high-follower authors merged in at read time.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Home timeline retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AppResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(PostsRoutes.TIMELINE)
+    @PreAuthorize("isAuthenticated()")
+    ResponseEntity<AppResponse<PaginatedResponse<PostSummaryResponseDTO>>> getHomeTimeline(
+            @Parameter(hidden = true) Pageable pageable
+    );
+
+    @Operation(summary = "Get post insights",
+               description = "Returns the post's views, reactions, comments and saves per UTC hour or day, as net changes. Only the author and admins may read them. Hourly data is kept for a limited period; older hours are only available by day.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Post insights retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AppResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Not the post's author"),
+            @ApiResponse(responseCode = "404", description = "Post not found")
+    })
+    @GetMapping(PostsRoutes.INSIGHTS)
+    @PreAuthorize("isAuthenticated()")
+    ResponseEntity<AppResponse<PostInsightsResponseDTO>> getPostInsights(
+            @Parameter(description = "ID of the post", required = true) @PathVariable Long postId,
+            @Parameter(description = "HOUR (default) or DAY") @RequestParam(required = false) RollupGranularity granularity,
+            @Parameter(description = "Inclusive UTC start (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive UTC end (ISO date-time), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    );
 }
@@ -11,7 +11,8 @@ import java.time.OffsetDateTime;
 
 @Data
 @Builder
-@Document(indexName = "feed_items")
+// feed_items is an alias over weekly partitions managed by FeedItemIndexLifecycleService
+@Document(indexName = "feed_items", createIndex = false)
 public class FeedItemDocument {
 
     @Id
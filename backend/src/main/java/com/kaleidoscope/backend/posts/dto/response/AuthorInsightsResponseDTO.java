@@ -0,0 +1,19 @@
+package com.kaleidoscope.backend.posts.dto.response;
+
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Insights of all posts of one author over [from, to) in UTC, with the most viewed posts.
+ */
+public record AuthorInsightsResponseDTO(
+        Long authorId,
+        RollupGranularity granularity,
+        LocalDateTime from,
+        LocalDateTime to,
+        InsightsMetricsDTO totals,
+        List<InsightsBucketDTO> series,
+        List<PostInsightsSummaryDTO> topPosts
+) {}
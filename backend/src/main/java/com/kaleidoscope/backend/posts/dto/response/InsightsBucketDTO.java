@@ -0,0 +1,5 @@
+package com.kaleidoscope.backend.posts.dto.response;
+
+import java.time.LocalDateTime;
+
+public record InsightsBucketDTO(LocalDateTime bucketStart, InsightsMetricsDTO metrics) {}
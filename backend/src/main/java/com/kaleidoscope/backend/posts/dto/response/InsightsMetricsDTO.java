@@ -0,0 +1,6 @@
+package com.kaleidoscope.backend.posts.dto.response;
+
+/**
+ * Net changes in a period: views counted, reactions added minus removed, and so on.
+ */
+public record InsightsMetricsDTO(long views, long reactions, long comments, long saves) {}
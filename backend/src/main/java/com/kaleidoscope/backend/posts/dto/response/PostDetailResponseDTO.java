@@ -38,5 +38,7 @@ public class PostDetailResponseDTO {
     private long reactionCount;
     private long commentCount;
     private long viewCount;
+    private long rawViewCount;
+    private long uniqueViewerCount;
     private ReactionType currentUserReaction;
 }
\ No newline at end of file
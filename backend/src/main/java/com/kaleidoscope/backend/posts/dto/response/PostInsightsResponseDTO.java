@@ -0,0 +1,18 @@
+package com.kaleidoscope.backend.posts.dto.response;
+
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Insights of one post over [from, to) in UTC; the series only holds buckets with activity.
+ */
+public record PostInsightsResponseDTO(
+        Long postId,
+        RollupGranularity granularity,
+        LocalDateTime from,
+        LocalDateTime to,
+        InsightsMetricsDTO totals,
+        List<InsightsBucketDTO> series
+) {}
@@ -0,0 +1,3 @@
+package com.kaleidoscope.backend.posts.dto.response;
+
+public record PostInsightsSummaryDTO(Long postId, InsightsMetricsDTO totals) {}
@@ -2,6 +2,7 @@ package com.kaleidoscope.backend.posts.dto.response;
 
 import com.kaleidoscope.backend.posts.enums.PostVisibility;
 import com.kaleidoscope.backend.shared.dto.response.CategorySummaryResponseDTO;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
 import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
 import lombok.Builder;
 import lombok.Data;
@@ -25,4 +26,8 @@ public class PostSummaryResponseDTO {
     private long reactionCount;
     private long commentCount;
     private long viewCount;
+
+    // Viewer state, filled by list endpoints that map posts in bulk
+    private ReactionType currentUserReaction;
+    private Boolean savedByCurrentUser;
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.kaleidoscope.backend.posts.enums;
+
+public enum PostAnalyticsMetric {
+    VIEWS,
+    REACTIONS,
+    COMMENTS,
+    SAVES
+}
@@ -0,0 +1,6 @@
+package com.kaleidoscope.backend.posts.enums;
+
+public enum RollupGranularity {
+    HOUR,
+    DAY
+}
@@ -1,6 +1,7 @@
 package com.kaleidoscope.backend.posts.exception;
 
 import com.kaleidoscope.backend.posts.exception.Posts.*;
+import com.kaleidoscope.backend.shared.exception.other.InvalidCursorException;
 import com.kaleidoscope.backend.shared.response.AppResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -88,4 +89,11 @@ public class PostExceptionHandler {
         AppResponse<Object> response = AppResponse.error("Content not found", ex.getMessage(), path);
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<AppResponse<Object>> handleInvalidCursor(InvalidCursorException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        AppResponse<Object> response = AppResponse.error("Invalid cursor", ex.getMessage(), path);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
 }
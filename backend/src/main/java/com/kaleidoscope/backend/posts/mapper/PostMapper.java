@@ -9,6 +9,8 @@ import com.kaleidoscope.backend.posts.dto.response.PostMediaResponseDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
 import com.kaleidoscope.backend.posts.model.Post;
 import com.kaleidoscope.backend.posts.model.PostMedia;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.repository.PostSaveRepository;
 import com.kaleidoscope.backend.posts.service.PostViewService;
 import com.kaleidoscope.backend.shared.dto.response.CategorySummaryResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.LocationResponseDTO;
@@ -19,17 +21,23 @@ import com.kaleidoscope.backend.shared.mapper.UserTagMapper;
 import com.kaleidoscope.backend.shared.model.Category;
 import com.kaleidoscope.backend.shared.model.Hashtag;
 import com.kaleidoscope.backend.shared.model.Location;
-import com.kaleidoscope.backend.shared.repository.CommentRepository;
 import com.kaleidoscope.backend.shared.repository.ReactionRepository;
 import com.kaleidoscope.backend.shared.repository.UserTagRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ContentViewTracker;
 import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
 import com.kaleidoscope.backend.users.model.User;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -38,9 +46,11 @@ import java.util.stream.Collectors;
 public class PostMapper {
         private final UserTagRepository userTagRepository;
         private final UserTagMapper userTagMapper;
-        private final CommentRepository commentRepository;
-        private final ReactionRepository reactionRepository;
         private final PostViewService postViewService;
+        private final ContentCounterService contentCounterService;
+        private final PostRepository postRepository;
+        private final ReactionRepository reactionRepository;
+        private final PostSaveRepository postSaveRepository;
 
         public Post toEntity(PostCreateRequestDTO dto) {
                 if (dto == null) {
@@ -177,12 +187,9 @@ public class PostMapper {
                                 .sorted()
                                 .collect(Collectors.toList());
 
-                // Get reaction and comment counts
-                long reactionCount = reactionRepository.countByContentIdAndContentType(post.getPostId(),
-                                ContentType.POST);
-                long commentCount = commentRepository.countByContentIdAndContentType(post.getPostId(),
-                                ContentType.POST);
-                long viewCount = postViewService.getViewCount(post.getPostId()); // Get Redis-optimized view count
+                ContentCounterService.Counters counters = contentCounterService.getCounters(ContentType.POST,
+                                post.getPostId());
+                ContentViewTracker.ViewCounts viewCounts = postViewService.getViewCounts(post.getPostId());
 
                 return PostDetailResponseDTO.builder()
                                 .postId(post.getPostId())
@@ -220,9 +227,11 @@ public class PostMapper {
                                 .location(locationDto)
                                 .taggedUsers(taggedUsers)
                                 .hashtags(hashtagNames)
-                                .reactionCount(reactionCount)
-                                .commentCount(commentCount)
-                                .viewCount(viewCount) // Add view count to response
+                                .reactionCount(counters.reactions())
+                                .commentCount(counters.comments())
+                                .viewCount(counters.views())
+                                .rawViewCount(viewCounts.rawViewCount())
+                                .uniqueViewerCount(viewCounts.uniqueViewerCount())
                                 .currentUserReaction(currentUserReaction)
                                 .build();
         }
@@ -231,7 +240,52 @@ public class PostMapper {
                 if (post == null) {
                         return null;
                 }
+                ContentCounterService.Counters counters = contentCounterService.getCounters(ContentType.POST,
+                                post.getPostId());
+                return toPostSummaryDTO(post, counters, null, null);
+        }
 
+        /**
+         * Maps a page of posts in bulk: one query per association the cards read (authors only
+         * when the caller has not fetched them with the posts), one pipelined counter read, and
+         * one each for the viewer's reactions and saves. Call inside a transaction so the
+         * association queries fill the given posts instead of copies.
+         */
+        public List<PostSummaryResponseDTO> toPostSummaryDTOs(List<Post> posts, Long viewerId) {
+                if (posts == null || posts.isEmpty()) {
+                        return List.of();
+                }
+                List<Long> postIds = posts.stream().map(Post::getPostId).toList();
+                if (posts.stream().allMatch(post -> Hibernate.isInitialized(post.getUser()))) {
+                        postRepository.fetchMedia(postIds);
+                } else {
+                        postRepository.fetchUsersAndMedia(postIds);
+                }
+                postRepository.fetchCategories(postIds);
+                postRepository.fetchHashtags(postIds);
+                Map<Long, ContentCounterService.Counters> counters = contentCounterService
+                                .getCounters(ContentType.POST, postIds);
+
+                Map<Long, ReactionType> reactions = new HashMap<>();
+                Set<Long> saved = new HashSet<>();
+                if (viewerId != null) {
+                        for (Object[] row : reactionRepository.findUserReactionsByContentIds(postIds, ContentType.POST,
+                                        viewerId)) {
+                                reactions.put((Long) row[0], (ReactionType) row[1]);
+                        }
+                        saved.addAll(postSaveRepository.findSavedPostIds(postIds, viewerId));
+                }
+
+                return posts.stream()
+                                .map(post -> toPostSummaryDTO(post,
+                                                counters.getOrDefault(post.getPostId(), ContentCounterService.Counters.EMPTY),
+                                                reactions.get(post.getPostId()),
+                                                viewerId != null ? saved.contains(post.getPostId()) : null))
+                                .toList();
+        }
+
+        private PostSummaryResponseDTO toPostSummaryDTO(Post post, ContentCounterService.Counters counters,
+                        ReactionType currentUserReaction, Boolean savedByCurrentUser) {
                 User user = post.getUser();
                 UserDetailsSummaryResponseDTO authorDto = user != null ? new UserDetailsSummaryResponseDTO(
                                 user.getUserId(),
@@ -252,13 +306,6 @@ public class PostMapper {
                                 .sorted()
                                 .collect(Collectors.toList());
 
-                // Get reaction and comment counts
-                long reactionCount = reactionRepository.countByContentIdAndContentType(post.getPostId(),
-                                ContentType.POST);
-                long commentCount = commentRepository.countByContentIdAndContentType(post.getPostId(),
-                                ContentType.POST);
-                long viewCount = postViewService.getViewCount(post.getPostId()); // Get Redis-optimized view count
-
                 return PostSummaryResponseDTO.builder()
                                 .postId(post.getPostId())
                                 .title(post.getTitle())
@@ -276,9 +323,11 @@ public class PostMapper {
                                                 .collect(Collectors.toList()))
                                 .thumbnailUrl(thumbnailUrl)
                                 .hashtags(hashtagNames)
-                                .reactionCount(reactionCount)
-                                .commentCount(commentCount)
-                                .viewCount(viewCount) // Add view count to response
+                                .reactionCount(counters.reactions())
+                                .commentCount(counters.comments())
+                                .viewCount(counters.views())
+                                .currentUserReaction(currentUserReaction)
+                                .savedByCurrentUser(savedByCurrentUser)
                                 .build();
         }
 
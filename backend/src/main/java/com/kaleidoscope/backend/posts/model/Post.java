@@ -57,6 +57,19 @@ public class Post {
     @Builder.Default
     private Long viewCount = 0L;
 
+    // Denormalized from the Redis counters by ContentCounterService; reads go through the counters
+    @Column(name = "reaction_count", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long reactionCount = 0L;
+
+    @Column(name = "comment_count", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long commentCount = 0L;
+
+    @Column(name = "save_count", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long saveCount = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id")
     private Location location;
@@ -0,0 +1,76 @@
+package com.kaleidoscope.backend.posts.model;
+
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Net views, reactions, comments and saves of one post in one UTC hour or day.
+ * Written only through the batch upserts in PostAnalyticsRollupRepository; hourly rows past the
+ * retention period are folded into daily rows.
+ */
+@Entity
+@Table(
+    name = "post_analytics_rollups",
+    uniqueConstraints = @UniqueConstraint(
+            name = "uk_post_analytics_rollups_post_bucket",
+            columnNames = {"post_id", "granularity", "bucket_start"}),
+    indexes = {
+            @Index(name = "idx_post_analytics_rollups_author_bucket", columnList = "author_id, granularity, bucket_start"),
+            @Index(name = "idx_post_analytics_rollups_granularity_bucket", columnList = "granularity, bucket_start")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostAnalyticsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    // Denormalized so an author's insights are read without joining posts
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    // Start of the UTC hour or day
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "views", nullable = false)
+    private Long views;
+
+    @Column(name = "reactions", nullable = false)
+    private Long reactions;
+
+    @Column(name = "comments", nullable = false)
+    private Long comments;
+
+    @Column(name = "saves", nullable = false)
+    private Long saves;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PostAnalyticsRollup that = (PostAnalyticsRollup) o;
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,118 @@
+package com.kaleidoscope.backend.posts.repository;
+
+import com.kaleidoscope.backend.posts.model.PostAnalyticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostAnalyticsRollupRepository extends JpaRepository<PostAnalyticsRollup, Long> {
+
+    /**
+     * Adds a batch of hourly deltas in one statement, looking up each post's author on the way.
+     * Bucket starts are epoch seconds of UTC hours; deltas of posts that no longer exist are dropped.
+     * The (post, bucket) pairs of one batch must be distinct.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO post_analytics_rollups (post_id, author_id, granularity, bucket_start, views, reactions, comments, saves)
+            SELECT d.post_id, p.user_id, 'HOUR', to_timestamp(d.bucket_epoch) AT TIME ZONE 'UTC',
+                   d.views, d.reactions, d.comments, d.saves
+            FROM unnest(CAST(:postIds AS bigint[]), CAST(:bucketEpochs AS bigint[]), CAST(:views AS bigint[]),
+                        CAST(:reactions AS bigint[]), CAST(:comments AS bigint[]), CAST(:saves AS bigint[]))
+                 AS d(post_id, bucket_epoch, views, reactions, comments, saves)
+            JOIN posts p ON p.post_id = d.post_id
+            ON CONFLICT (post_id, granularity, bucket_start) DO UPDATE SET
+                views = post_analytics_rollups.views + EXCLUDED.views,
+                reactions = post_analytics_rollups.reactions + EXCLUDED.reactions,
+                comments = post_analytics_rollups.comments + EXCLUDED.comments,
+                saves = post_analytics_rollups.saves + EXCLUDED.saves
+            """, nativeQuery = true)
+    int upsertHourly(@Param("postIds") Long[] postIds, @Param("bucketEpochs") Long[] bucketEpochs,
+                     @Param("views") Long[] views, @Param("reactions") Long[] reactions,
+                     @Param("comments") Long[] comments, @Param("saves") Long[] saves);
+
+    /**
+     * Moves up to batchSize hourly rows older than the cutoff into their daily rows in one
+     * statement and returns the number of daily rows written; zero once nothing is left to move.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM post_analytics_rollups
+                WHERE id IN (SELECT id FROM post_analytics_rollups
+                             WHERE granularity = 'HOUR' AND bucket_start < :cutoff
+                             LIMIT :batchSize)
+                RETURNING post_id, author_id, bucket_start, views, reactions, comments, saves
+            )
+            INSERT INTO post_analytics_rollups (post_id, author_id, granularity, bucket_start, views, reactions, comments, saves)
+            SELECT post_id, MAX(author_id), 'DAY', date_trunc('day', bucket_start),
+                   SUM(views), SUM(reactions), SUM(comments), SUM(saves)
+            FROM moved
+            GROUP BY post_id, date_trunc('day', bucket_start)
+            ON CONFLICT (post_id, granularity, bucket_start) DO UPDATE SET
+                views = post_analytics_rollups.views + EXCLUDED.views,
+                reactions = post_analytics_rollups.reactions + EXCLUDED.reactions,
+                comments = post_analytics_rollups.comments + EXCLUDED.comments,
+                saves = post_analytics_rollups.saves + EXCLUDED.saves
+            """, nativeQuery = true)
+    int compactHourlyBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    /**
+     * Returns (bucketStart, views, reactions, comments, saves) rows of one post, truncated to the
+     * given date_trunc unit and ordered by bucket.
+     */
+    @Query(value = """
+            SELECT date_trunc(:unit, r.bucket_start), SUM(r.views), SUM(r.reactions), SUM(r.comments), SUM(r.saves)
+            FROM post_analytics_rollups r
+            WHERE r.post_id = :postId AND r.granularity IN (:granularities)
+              AND r.bucket_start >= :from AND r.bucket_start < :to
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<Object[]> findPostSeries(@Param("postId") Long postId, @Param("unit") String unit,
+                                  @Param("granularities") Collection<String> granularities,
+                                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Same as findPostSeries, summed over all posts of one author.
+     */
+    @Query(value = """
+            SELECT date_trunc(:unit, r.bucket_start), SUM(r.views), SUM(r.reactions), SUM(r.comments), SUM(r.saves)
+            FROM post_analytics_rollups r
+            WHERE r.author_id = :authorId AND r.granularity IN (:granularities)
+              AND r.bucket_start >= :from AND r.bucket_start < :to
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<Object[]> findAuthorSeries(@Param("authorId") Long authorId, @Param("unit") String unit,
+                                    @Param("granularities") Collection<String> granularities,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Returns (postId, views, reactions, comments, saves) of an author's posts with the most views
+     * in the range.
+     */
+    @Query(value = """
+            SELECT r.post_id, SUM(r.views), SUM(r.reactions), SUM(r.comments), SUM(r.saves)
+            FROM post_analytics_rollups r
+            WHERE r.author_id = :authorId AND r.granularity IN (:granularities)
+              AND r.bucket_start >= :from AND r.bucket_start < :to
+            GROUP BY r.post_id
+            ORDER BY SUM(r.views) DESC, r.post_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Object[]> findAuthorTopPosts(@Param("authorId") Long authorId,
+                                      @Param("granularities") Collection<String> granularities,
+                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                      @Param("limit") int limit);
+}
@@ -1,5 +1,7 @@
 package com.kaleidoscope.backend.posts.repository;
 
+import com.kaleidoscope.backend.posts.enums.PostStatus;
+import com.kaleidoscope.backend.posts.enums.PostVisibility;
 import com.kaleidoscope.backend.posts.model.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,6 +23,11 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
     @Query("DELETE FROM Post p WHERE p.postId = :postId")
     void hardDeleteById(Long postId);
 
+    // Keyset batch of one id-hash partition, used by partitioned background jobs
+    @Query("SELECT p FROM Post p WHERE MOD(p.postId, :partitions) = :partition AND p.postId > :afterId ORDER BY p.postId")
+    List<Post> findPartitionBatch(@Param("partitions") int partitions, @Param("partition") int partition,
+                                  @Param("afterId") Long afterId, Pageable pageable);
+
     @Query("SELECT p.viewCount FROM Post p WHERE p.postId = :postId")
     Long findViewCountByPostId(@Param("postId") Long postId);
 
@@ -28,6 +36,61 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
     @Query("UPDATE Post p SET p.viewCount = p.viewCount + :increment WHERE p.postId = :postId")
     int incrementViewCount(@Param("postId") Long postId, @Param("increment") long increment);
 
+    /**
+     * Applies a batch of view count increments in one statement and returns (post_id, view_count)
+     * for the posts that still exist.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE posts p SET view_count = p.view_count + d.delta
+            FROM unnest(CAST(:postIds AS bigint[]), CAST(:deltas AS bigint[])) AS d(post_id, delta)
+            WHERE p.post_id = d.post_id
+            RETURNING p.post_id, p.view_count
+            """, nativeQuery = true)
+    List<Object[]> applyViewCountDeltas(@Param("postIds") Long[] postIds, @Param("deltas") Long[] deltas);
+
+    /*
+     * Initialise what summary cards read for a page of posts: one query per association, each
+     * filling the posts already loaded in the current persistence context.
+     */
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.user LEFT JOIN FETCH p.media WHERE p.postId IN :postIds")
+    List<Post> fetchUsersAndMedia(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.media WHERE p.postId IN :postIds")
+    List<Post> fetchMedia(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.categories pc LEFT JOIN FETCH pc.category WHERE p.postId IN :postIds")
+    List<Post> fetchCategories(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.postHashtags ph LEFT JOIN FETCH ph.hashtag WHERE p.postId IN :postIds")
+    List<Post> fetchHashtags(@Param("postIds") Collection<Long> postIds);
+
+    // Keyset batch of ids of one id-hash partition
+    @Query("SELECT p.postId FROM Post p WHERE MOD(p.postId, :partitions) = :partition AND p.postId > :afterId ORDER BY p.postId")
+    List<Long> findPartitionIds(@Param("partitions") int partitions, @Param("partition") int partition,
+                                @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.postId, p.viewCount FROM Post p WHERE p.postId IN :postIds")
+    List<Object[]> findViewCounts(@Param("postIds") Collection<Long> postIds);
+
+    // (id, comment_count, save_count) as last reconciled, to seed counters that are not dirty
+    @Query("SELECT p.postId, p.commentCount, p.saveCount FROM Post p WHERE p.postId IN :postIds")
+    List<Object[]> findCounterSnapshots(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * Writes a batch of counter snapshots into the denormalized count columns in one statement.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE posts p SET reaction_count = d.reactions, comment_count = d.comments, save_count = d.saves
+            FROM unnest(CAST(:postIds AS bigint[]), CAST(:reactions AS bigint[]), CAST(:comments AS bigint[]),
+                        CAST(:saves AS bigint[])) AS d(post_id, reactions, comments, saves)
+            WHERE p.post_id = d.post_id
+            """, nativeQuery = true)
+    int applyCounterSnapshots(@Param("postIds") Long[] postIds, @Param("reactions") Long[] reactions,
+                              @Param("comments") Long[] comments, @Param("saves") Long[] saves);
+
     @Query("SELECT DISTINCT p FROM Post p " +
            "LEFT JOIN FETCH p.user " +
            "LEFT JOIN FETCH p.media " +
@@ -52,4 +115,13 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
            "WHERE p.postId IN :postIds " +
            "ORDER BY p.postId ASC")
     List<Post> findByPostIdInWithRelations(@Param("postIds") List<Long> postIds);
+
+    // Newest timeline-eligible posts (postId, authorId, createdAt) for the given authors
+    @Query("SELECT p.postId, p.user.userId, p.createdAt FROM Post p " +
+           "WHERE p.user.userId IN :authorIds AND p.status = :status AND p.visibility IN :visibilities " +
+           "ORDER BY p.createdAt DESC")
+    List<Object[]> findTimelineEntriesByAuthors(@Param("authorIds") Collection<Long> authorIds,
+                                                @Param("status") PostStatus status,
+                                                @Param("visibilities") Collection<PostVisibility> visibilities,
+                                                Pageable pageable);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,7 +33,20 @@ public interface PostSaveRepository extends JpaRepository<PostSave, Long> {
     
     @Query("SELECT COUNT(ps) FROM PostSave ps WHERE ps.post = :post")
     long countByPost(@Param("post") Post post);
+
+    @Query("SELECT ps.post.postId, COUNT(ps) FROM PostSave ps WHERE ps.post.postId IN :postIds GROUP BY ps.post.postId")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
     
+    // One user's saves with their (not deleted) posts and authors, newest first
+    @Query(value = "SELECT ps FROM PostSave ps JOIN FETCH ps.post p JOIN FETCH p.user " +
+                   "WHERE ps.user = :user AND p.deletedAt IS NULL ORDER BY ps.createdAt DESC",
+           countQuery = "SELECT COUNT(ps) FROM PostSave ps JOIN ps.post p WHERE ps.user = :user AND p.deletedAt IS NULL")
+    Page<PostSave> findPageWithPostsByUser(@Param("user") User user, Pageable pageable);
+
+    // Which of the given posts one user has saved
+    @Query("SELECT ps.post.postId FROM PostSave ps WHERE ps.post.postId IN :postIds AND ps.user.userId = :userId")
+    List<Long> findSavedPostIds(@Param("postIds") Collection<Long> postIds, @Param("userId") Long userId);
+
     @Query("SELECT ps.post FROM PostSave ps WHERE ps.user = :user ORDER BY ps.createdAt DESC")
     List<Post> findSavedPostsByUser(@Param("user") User user);
 }
@@ -8,7 +8,7 @@ import java.time.OffsetDateTime;
 import java.util.List;
 
 @Repository
-public interface FeedItemSearchRepository extends ElasticsearchRepository<FeedItemDocument, String> {
+public interface FeedItemSearchRepository extends ElasticsearchRepository<FeedItemDocument, String>, FeedItemSearchRepositoryCustom {
     
     // Find feed items by uploader
     List<FeedItemDocument> findByUploaderId(Long uploaderId);
@@ -0,0 +1,25 @@
+package com.kaleidoscope.backend.posts.repository.search;
+
+import com.kaleidoscope.backend.posts.document.FeedItemDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * Custom repository interface for time-windowed feed item queries
+ */
+public interface FeedItemSearchRepositoryCustom {
+
+    /**
+     * Find feed items created since the given instant, newest first, searching only the
+     * weekly partitions that overlap the window
+     *
+     * @param uploaderIds Restrict to these uploaders (optional; null or empty for all)
+     * @param since Start of the time window (inclusive)
+     * @param pageable Pagination information
+     * @return Page of FeedItemDocument results
+     */
+    Page<FeedItemDocument> findRecentFeedItems(Collection<Long> uploaderIds, OffsetDateTime since, Pageable pageable);
+}
@@ -0,0 +1,61 @@
+package com.kaleidoscope.backend.posts.repository.search;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TermsQuery;
+import com.kaleidoscope.backend.posts.document.FeedItemDocument;
+import com.kaleidoscope.backend.shared.sync.FeedItemIndexLifecycleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class FeedItemSearchRepositoryImpl implements FeedItemSearchRepositoryCustom {
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+    private final FeedItemIndexLifecycleService feedItemIndexLifecycleService;
+
+    @Override
+    public Page<FeedItemDocument> findRecentFeedItems(Collection<Long> uploaderIds, OffsetDateTime since, Pageable pageable) {
+        List<String> indices = feedItemIndexLifecycleService.readIndicesFor(since, OffsetDateTime.now());
+        if (indices.isEmpty()) {
+            log.debug("No feed_items partitions cover the window since {}", since);
+            return Page.empty(pageable);
+        }
+
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+        bool.filter(RangeQuery.of(r -> r.date(d -> d.field("createdAt").gte(since.toString())))._toQuery());
+        if (uploaderIds != null && !uploaderIds.isEmpty()) {
+            List<FieldValue> values = uploaderIds.stream().map(FieldValue::of).toList();
+            bool.filter(TermsQuery.of(t -> t.field("uploaderId").terms(v -> v.value(values)))._toQuery());
+        }
+
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.bool(bool.build()))
+                .withSort(s -> s.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                .withPageable(pageable)
+                .build();
+
+        log.debug("Executing recent feed items query over partitions {}", indices);
+        SearchHits<FeedItemDocument> searchHits = elasticsearchTemplate.search(query, FeedItemDocument.class,
+                IndexCoordinates.of(indices.toArray(String[]::new)));
+        List<FeedItemDocument> documents = searchHits.getSearchHits().stream().map(SearchHit::getContent).toList();
+        return new PageImpl<>(documents, pageable, searchHits.getTotalHits());
+    }
+}
@@ -1,8 +1,11 @@
 package com.kaleidoscope.backend.posts.repository.search;
 
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import com.kaleidoscope.backend.posts.document.PostDocument;
 import com.kaleidoscope.backend.posts.enums.PostStatus;
 import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.shared.search.GeoTile;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -32,7 +35,8 @@ public interface PostSearchRepositoryCustom {
      * @param longitude Longitude for geo-distance query (optional)
      * @param radiusKm Radius in kilometers for geo-distance query (optional)
      * @param pageable Pagination and sorting parameters
-     * @return Page of PostDocument matching the criteria and visible to the user
+     * @param cursor search_after cursor from a previous page (null for offset paging)
+     * @return Page of PostDocument matching the criteria and visible to the user, carrying the next cursor
      */
     Page<PostDocument> findVisibleAndFilteredPosts(
             Long currentUserId,
@@ -47,7 +51,29 @@ public interface PostSearchRepositoryCustom {
             Double latitude,
             Double longitude,
             Double radiusKm,
-            Pageable pageable
+            Pageable pageable,
+            SearchCursor cursor
+    );
+
+    /**
+     * Whether the filters match any post the current user can see beyond the PUBLISHED + PUBLIC
+     * ones (their own unpublished or non-public posts, FOLLOWERS posts of authors they follow).
+     * When none match, the user's results equal the shared public results for the filters.
+     * Reads at most one hit without scoring.
+     */
+    boolean hasViewerOnlyPosts(
+            Long currentUserId,
+            Set<Long> followingIds,
+            Long userId,
+            Long categoryId,
+            PostStatus status,
+            PostVisibility visibility,
+            String query,
+            String hashtag,
+            Long locationId,
+            Double latitude,
+            Double longitude,
+            Double radiusKm
     );
 
     /**
@@ -59,7 +85,7 @@ public interface PostSearchRepositoryCustom {
      * @param interestIds List of category IDs the user is interested in
      * @param blockedUserIds List of user IDs blocked by the current user
      * @param blockedByUserIds List of user IDs who blocked the current user
-     * @param viewedPostIds Set of post IDs already viewed by the user (for filtering)
+     * @param recentlyViewedPostIds Bounded window of the user's most recently viewed post IDs to exclude
      * @param trendingHashtagNames List of trending hashtag names to boost in scoring
      * @param pageable Pagination and sorting parameters
      * @return Page of PostDocument ordered by personalized scoring
@@ -70,8 +96,29 @@ public interface PostSearchRepositoryCustom {
             List<Long> interestIds,
             List<Long> blockedUserIds,
             List<Long> blockedByUserIds,
-            Set<String> viewedPostIds,
+            List<Long> recentlyViewedPostIds,
             List<String> trendingHashtagNames,
             Pageable pageable
     );
+
+    /**
+     * Published public posts located inside the block of cells around a geo tile,
+     * newest first. Used as the shared candidate list for nearby searches.
+     *
+     * @param tile Tile whose surrounding block bounds the search
+     * @param limit Maximum number of candidates
+     * @return Candidate posts (exact distance filtering is left to the caller)
+     */
+    List<PostDocument> findPublicPostsInTile(GeoTile tile, int limit);
+
+    /**
+     * Build the text search query restricted to posts the viewer may see, without executing it.
+     * Used by the federated search to batch several entity searches into one _msearch.
+     *
+     * @param currentUserId ID of the authenticated user
+     * @param followingIds Set of user IDs that the current user follows (null for admins)
+     * @param text Text search query
+     * @return Query combining the text match and the visibility rules
+     */
+    Query buildVisibleTextQuery(Long currentUserId, Set<Long> followingIds, String text);
 }
@@ -5,20 +5,25 @@ import co.elastic.clients.elasticsearch._types.query_dsl.*;
 import com.kaleidoscope.backend.posts.document.PostDocument;
 import com.kaleidoscope.backend.posts.enums.PostStatus;
 import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.shared.search.GeoTile;
+import com.kaleidoscope.backend.shared.search.SearchAfterSupport;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -48,7 +53,8 @@ public class PostSearchRepositoryImpl implements PostSearchRepositoryCustom {
                         Double latitude,
                         Double longitude,
                         Double radiusKm,
-                        Pageable pageable) {
+                        Pageable pageable,
+                        SearchCursor cursor) {
 
                 log.info("Executing Elasticsearch query for posts with filters: userId={}, categoryId={}, status={}, visibility={}, query={}, hashtag={}, locationId={}, lat={}, lon={}, radiusKm={}",
                                 userId, categoryId, status, visibility, query, hashtag, locationId, latitude, longitude,
@@ -66,26 +72,57 @@ public class PostSearchRepositoryImpl implements PostSearchRepositoryCustom {
                 // Add security clauses based on user role and visibility rules
                 addSecurityClauses(mainQueryBuilder, currentUserId, followingIds);
 
-                // Build the native query with pagination and sorting
-                NativeQuery nativeQuery = NativeQuery.builder()
-                                .withQuery(mainQueryBuilder.build()._toQuery())
-                                .withPageable(pageable)
-                                .build();
-
-                log.debug("Executing Elasticsearch query with pagination: page={}, size={}, sort={}",
-                                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+                // Build the native query with offset or search_after pagination on a stable sort
+                String pitId = SearchAfterSupport.resolvePointInTime(elasticsearchTemplate, cursor, PostDocument.class);
+                NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                                .withQuery(mainQueryBuilder.build()._toQuery());
+                SearchAfterSupport.applyPaging(queryBuilder, pageable, cursor, "postId", pitId);
 
-                SearchHits<PostDocument> searchHits = elasticsearchTemplate.search(nativeQuery, PostDocument.class);
+                log.debug("Executing Elasticsearch query with pagination: page={}, size={}, sort={}, cursor={}, pit={}",
+                                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), cursor != null,
+                                pitId != null);
 
-                List<PostDocument> postDocuments = searchHits.getSearchHits()
-                                .stream()
-                                .map(SearchHit::getContent)
-                                .toList();
+                SearchHits<PostDocument> searchHits = elasticsearchTemplate.search(queryBuilder.build(), PostDocument.class);
 
                 log.info("Elasticsearch query returned {} results out of {} total hits",
-                                postDocuments.size(), searchHits.getTotalHits());
+                                searchHits.getSearchHits().size(), searchHits.getTotalHits());
 
-                return new PageImpl<>(postDocuments, pageable, searchHits.getTotalHits());
+                return SearchAfterSupport.toPage(searchHits, pageable, cursor, pitId);
+        }
+
+        @Override
+        public boolean hasViewerOnlyPosts(
+                        Long currentUserId,
+                        Set<Long> followingIds,
+                        Long userId,
+                        Long categoryId,
+                        PostStatus status,
+                        PostVisibility visibility,
+                        String query,
+                        String hashtag,
+                        Long locationId,
+                        Double latitude,
+                        Double longitude,
+                        Double radiusKm) {
+
+                BoolQuery.Builder queryBuilder = new BoolQuery.Builder();
+                addFilterClauses(queryBuilder, userId, categoryId, status, visibility, query, hashtag);
+                addLocationFilterClauses(queryBuilder, locationId, latitude, longitude, radiusKm);
+                addSecurityClauses(queryBuilder, currentUserId, followingIds);
+                queryBuilder.mustNot(BoolQuery.of(b -> b
+                                .must(TermQuery.of(t -> t.field("status").value(PostStatus.PUBLISHED.toString()))._toQuery())
+                                .must(TermQuery.of(t -> t.field("visibility").value(PostVisibility.PUBLIC.toString()))._toQuery()))
+                                ._toQuery());
+
+                NativeQuery nativeQuery = NativeQuery.builder()
+                                .withQuery(ConstantScoreQuery.of(c -> c.filter(queryBuilder.build()._toQuery()))._toQuery())
+                                .withMaxResults(1)
+                                .withTrackTotalHits(false)
+                                .build();
+
+                boolean found = elasticsearchTemplate.search(nativeQuery, PostDocument.class).hasSearchHits();
+                log.debug("Viewer-only posts for user {} under the current filters: {}", currentUserId, found);
+                return found;
         }
 
         @Override
@@ -95,20 +132,20 @@ public class PostSearchRepositoryImpl implements PostSearchRepositoryCustom {
                         List<Long> interestIds,
                         List<Long> blockedUserIds,
                         List<Long> blockedByUserIds,
-                        Set<String> viewedPostIds,
+                        List<Long> recentlyViewedPostIds,
                         List<String> trendingHashtagNames,
                         Pageable pageable) {
 
                 log.info("Executing post suggestions query for user: {}", currentUserId);
                 log.debug("Context - Following: {}, Interests: {}, Blocked: {}, BlockedBy: {}, ViewedPosts: {}, TrendingHashtags: {}",
                                 followingIds.size(), interestIds.size(), blockedUserIds.size(), blockedByUserIds.size(),
-                                viewedPostIds != null ? viewedPostIds.size() : 0,
+                                recentlyViewedPostIds != null ? recentlyViewedPostIds.size() : 0,
                                 trendingHashtagNames != null ? trendingHashtagNames.size() : 0);
 
                 // Build filter query (must_not and must conditions) - now includes viewed posts
                 // and followingIds for visibility
                 BoolQuery filterQuery = buildSuggestionFilters(currentUserId, blockedUserIds, blockedByUserIds,
-                                viewedPostIds, followingIds);
+                                recentlyViewedPostIds, followingIds);
 
                 // Build scoring functions
                 List<co.elastic.clients.elasticsearch._types.query_dsl.FunctionScore> scoringFunctions = buildScoringFunctions(
@@ -154,7 +191,7 @@ public class PostSearchRepositoryImpl implements PostSearchRepositoryCustom {
          * blocked users, etc.)
          */
         private BoolQuery buildSuggestionFilters(Long currentUserId, List<Long> blockedUserIds,
-                        List<Long> blockedByUserIds, Set<String> viewedPostIds, Set<Long> followingIds) {
+                        List<Long> blockedByUserIds, List<Long> recentlyViewedPostIds, Set<Long> followingIds) {
                 BoolQuery.Builder filterBuilder = new BoolQuery.Builder();
 
                 // Must NOT be the current user's own posts
@@ -184,29 +221,16 @@ public class PostSearchRepositoryImpl implements PostSearchRepositoryCustom {
                                         ._toQuery());
                 }
 
-                // Must NOT be recently viewed posts (NEW: filter out viewed posts)
-                if (viewedPostIds != null && !viewedPostIds.isEmpty()) {
-                        log.debug("Adding filter to exclude {} recently viewed post IDs", viewedPostIds.size());
-                        // Convert String IDs from Redis to Long for the query
-                        List<FieldValue> viewedIdsAsFieldValue = viewedPostIds.stream()
-                                        .map(idStr -> {
-                                                try {
-                                                        return FieldValue.of(Long.parseLong(idStr));
-                                                } catch (NumberFormatException e) {
-                                                        log.warn("Invalid post ID in viewed set: {}", idStr);
-                                                        return null;
-                                                }
-                                        })
-                                        .filter(Objects::nonNull)
-                                        .toList();
-
-                        if (!viewedIdsAsFieldValue.isEmpty()) {
-                                filterBuilder.mustNot(TermsQuery.of(ts -> ts
-                                                .field("postId") // Use postId field from PostDocument
-                                                .terms(t -> t.value(viewedIdsAsFieldValue)))._toQuery());
-                                log.debug("Successfully added filter for {} valid viewed post IDs",
-                                                viewedIdsAsFieldValue.size());
-                        }
+                // Must NOT be recently viewed posts. Only the bounded recency window is sent here;
+                // older views are filtered from the returned candidates by the service layer.
+                if (recentlyViewedPostIds != null && !recentlyViewedPostIds.isEmpty()) {
+                        log.debug("Adding filter to exclude {} recently viewed post IDs", recentlyViewedPostIds.size());
+                        filterBuilder.mustNot(TermsQuery.of(ts -> ts
+                                        .field("postId")
+                                        .terms(t -> t.value(recentlyViewedPostIds.stream()
+                                                        .map(FieldValue::of)
+                                                        .toList())))
+                                        ._toQuery());
                 }
 
                 // Must be PUBLISHED
@@ -511,4 +535,40 @@ public class PostSearchRepositoryImpl implements PostSearchRepositoryCustom {
                                         .value(locationId))._toQuery());
                 }
         }
+
+        @Override
+        public Query buildVisibleTextQuery(Long currentUserId, Set<Long> followingIds, String text) {
+                BoolQuery.Builder queryBuilder = new BoolQuery.Builder();
+                addFilterClauses(queryBuilder, null, null, null, null, text, null);
+                addSecurityClauses(queryBuilder, currentUserId, followingIds);
+                return queryBuilder.build()._toQuery();
+        }
+
+        @Override
+        public List<PostDocument> findPublicPostsInTile(GeoTile tile, int limit) {
+                log.debug("Loading public posts for geo tile {} (limit {})", tile.geohash(), limit);
+                BoolQuery.Builder queryBuilder = new BoolQuery.Builder()
+                                .filter(TermQuery.of(t -> t.field("status").value(PostStatus.PUBLISHED.name()))._toQuery())
+                                .filter(TermQuery.of(t -> t.field("visibility").value(PostVisibility.PUBLIC.name()))._toQuery())
+                                .filter(tileBlockQuery(tile));
+
+                NativeQuery nativeQuery = NativeQuery.builder()
+                                .withQuery(queryBuilder.build()._toQuery())
+                                .withSort(Sort.by(Sort.Direction.DESC, "createdAt"))
+                                .withPageable(PageRequest.of(0, limit))
+                                .withTrackTotalHits(false)
+                                .build();
+
+                SearchHits<PostDocument> searchHits = elasticsearchTemplate.search(nativeQuery, PostDocument.class);
+                return searchHits.getSearchHits().stream().map(SearchHit::getContent).toList();
+        }
+
+        private Query tileBlockQuery(GeoTile tile) {
+                return GeoBoundingBoxQuery.of(g -> g
+                                .field("location.point")
+                                .boundingBox(b -> b.tlbr(box -> box
+                                                .topLeft(tl -> tl.latlon(ll -> ll.lat(tile.blockTop()).lon(tile.blockLeft())))
+                                                .bottomRight(br -> br.latlon(ll -> ll.lat(tile.blockBottom()).lon(tile.blockRight()))))))
+                                ._toQuery();
+        }
 }
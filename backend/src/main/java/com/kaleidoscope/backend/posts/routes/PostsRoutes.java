@@ -15,6 +15,9 @@ public class PostsRoutes {
     public static final String DELETE_POST = POSTS + "/{postId}";
     public static final String HARD_DELETE_POST = POSTS + "/{postId}/hard";
     public static final String GET_POST_BY_ID = POSTS + "/{postId}";
+    public static final String GET_POSTS_BATCH = POSTS + "/batch";
     public static final String FILTER_POSTS = POSTS;
     public static final String SUGGESTIONS = POSTS + "/suggestions";
+    public static final String TIMELINE = POSTS + "/timeline";
+    public static final String INSIGHTS = POSTS + "/{postId}/insights";
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.kaleidoscope.backend.posts.service;
+
+import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
+import com.kaleidoscope.backend.posts.model.Post;
+import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Materialized home timelines kept in Redis.
+ *
+ * Posts are pushed into followers' capped timelines on write; authors at or above the
+ * celebrity follower threshold are not fanned out and are merged in from their outbox at
+ * read time. Follow, unfollow and block events backfill or evict timeline entries, and
+ * reads re-check follows and blocks against a short-lived per-viewer snapshot that those
+ * events evict, so stale entries are not shown.
+ */
+public interface HomeTimelineService {
+
+    /**
+     * Get the current user's home timeline, newest first
+     *
+     * @param pageable Pagination parameters
+     * @return Paginated response of post summaries from followed authors and the user
+     */
+    PaginatedResponse<PostSummaryResponseDTO> getHomeTimeline(Pageable pageable);
+
+    /**
+     * Publish a fan-out event for the post if it is published and visible to followers,
+     * otherwise a removal event
+     */
+    void publishPostChange(Post post);
+
+    void publishPostRemoved(Long postId, Long authorId);
+
+    void publishFollowChange(Long followerId, Long followingId, boolean followed);
+
+    void publishBlock(Long blockerId, Long blockedId);
+
+    // Applied by the timeline fan-out consumer
+
+    void onPostPublished(Long postId, Long authorId, long createdAtMillis);
+
+    void onPostRemoved(Long postId, Long authorId);
+
+    void onFollow(Long followerId, Long followingId);
+
+    void onUnfollow(Long followerId, Long followingId);
+
+    void onBlock(Long blockerId, Long blockedId);
+}
@@ -0,0 +1,87 @@
+package com.kaleidoscope.backend.posts.service;
+
+import com.kaleidoscope.backend.posts.enums.PostStatus;
+import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.posts.model.Post;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.shared.enums.BatchItemStatus;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import com.kaleidoscope.backend.users.repository.UserBlockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the single-post view rules of PostService.getPostById to a set of posts at once:
+ * one IN query for the posts, one for the viewer's block relationships and one for the
+ * followed authors of FOLLOWERS posts. Posts by users in a block relationship with the viewer
+ * are reported as not found.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostAccessResolver {
+
+    private final PostRepository postRepository;
+    private final FollowRepository followRepository;
+    private final UserBlockRepository userBlockRepository;
+
+    /**
+     * @param statuses one status per requested id, in request order
+     * @param visible the posts the viewer may see, in request order
+     */
+    public record Resolution(Map<Long, BatchItemStatus> statuses, List<Post> visible) {
+    }
+
+    public Resolution resolve(Collection<Long> postIds, Long viewerId, boolean isAdmin) {
+        Map<Long, Post> posts = new HashMap<>();
+        for (Post post : postRepository.findAllById(postIds)) {
+            posts.put(post.getPostId(), post);
+        }
+        Set<Long> blocked = isAdmin || posts.isEmpty() ? Set.of() : userBlockRepository.findBlockRelatedUserIds(viewerId);
+        Set<Long> followersOnlyAuthors = isAdmin ? Set.of() : posts.values().stream()
+                .filter(post -> post.getVisibility() == PostVisibility.FOLLOWERS)
+                .map(post -> post.getUser().getUserId())
+                .filter(authorId -> !authorId.equals(viewerId))
+                .collect(Collectors.toSet());
+        Set<Long> followed = followersOnlyAuthors.isEmpty()
+                ? Set.of()
+                : followRepository.findFollowedAmong(viewerId, followersOnlyAuthors);
+
+        Map<Long, BatchItemStatus> statuses = new LinkedHashMap<>();
+        List<Post> visible = new ArrayList<>();
+        for (Long postId : postIds) {
+            Post post = posts.get(postId);
+            BatchItemStatus status = post == null ? BatchItemStatus.NOT_FOUND : access(post, viewerId, isAdmin, blocked, followed);
+            statuses.put(postId, status);
+            if (status == BatchItemStatus.OK) {
+                visible.add(post);
+            }
+        }
+        return new Resolution(statuses, visible);
+    }
+
+    private static BatchItemStatus access(Post post, Long viewerId, boolean isAdmin, Set<Long> blocked, Set<Long> followed) {
+        Long authorId = post.getUser().getUserId();
+        if (isAdmin || authorId.equals(viewerId)) {
+            return BatchItemStatus.OK;
+        }
+        if (blocked.contains(authorId)) {
+            return BatchItemStatus.NOT_FOUND;
+        }
+        if (post.getStatus() != PostStatus.PUBLISHED) {
+            return BatchItemStatus.FORBIDDEN;
+        }
+        if (post.getVisibility() == PostVisibility.FOLLOWERS && !followed.contains(authorId)) {
+            return BatchItemStatus.FORBIDDEN;
+        }
+        return BatchItemStatus.OK;
+    }
+}
@@ -0,0 +1,182 @@
+package com.kaleidoscope.backend.posts.service;
+
+import com.kaleidoscope.backend.async.streaming.ProducerStreamConstants;
+import com.kaleidoscope.backend.async.streaming.StreamingConfigConstants;
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
+import com.kaleidoscope.backend.posts.repository.PostAnalyticsRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sums post analytics events in memory per post and UTC hour and flushes the sums to
+ * post_analytics_rollups with one upsert per batch, so the database sees one row write per
+ * active post and hour per flush instead of one per event.
+ *
+ * Stream messages are acknowledged only after the flush that contains them commits. If a flush
+ * fails its sums are dropped and the messages stay pending; pending messages idle for longer
+ * than app.analytics.recovery.min-idle-ms (a failed flush, or a node that died before flushing)
+ * are claimed and replayed. A node dying between the upsert and the XACK replays that flush,
+ * so counts are at-least-once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostAnalyticsAggregator {
+
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+    private static final int METRICS = PostAnalyticsMetric.values().length;
+
+    private final PostAnalyticsRollupRepository rollupRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${spring.application.name:kaleidoscope}")
+    private String applicationName;
+
+    @Value("${app.analytics.flush-batch-size:2000}")
+    private int flushBatchSize;
+
+    @Value("${app.analytics.recovery.min-idle-ms:600000}")
+    private long recoveryMinIdleMs;
+
+    @Value("${app.analytics.recovery.batch-size:500}")
+    private int recoveryBatchSize;
+
+    private final String recoveryConsumerId = UUID.randomUUID().toString().substring(0, 8);
+
+    // Guarded by this; swapped out whole on flush
+    private Map<BucketKey, long[]> buckets = new HashMap<>();
+    private List<String> messageIds = new ArrayList<>();
+
+    /**
+     * Add one stream message to the current buckets; the message is acknowledged with the next
+     * successful flush. Messages without a post (stream init markers) are only acknowledged.
+     */
+    public void accept(String messageId, Map<?, ?> value) {
+        Object postId = value.get("postId");
+        if (postId == null) {
+            synchronized (this) {
+                messageIds.add(messageId);
+            }
+            return;
+        }
+        PostAnalyticsMetric metric = PostAnalyticsMetric.valueOf(value.get("metric").toString());
+        long delta = Long.parseLong(value.get("delta").toString());
+        Object occurredAt = value.get("occurredAtMillis");
+        long occurredAtMillis = occurredAt != null ? Long.parseLong(occurredAt.toString()) : System.currentTimeMillis();
+        BucketKey key = new BucketKey(Long.valueOf(postId.toString()), occurredAtMillis - Math.floorMod(occurredAtMillis, HOUR_MILLIS));
+        synchronized (this) {
+            buckets.computeIfAbsent(key, k -> new long[METRICS])[metric.ordinal()] += delta;
+            messageIds.add(messageId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval-ms:30000}")
+    public void flush() {
+        Map<BucketKey, long[]> flushing;
+        List<String> acknowledging;
+        synchronized (this) {
+            if (messageIds.isEmpty()) {
+                return;
+            }
+            flushing = buckets;
+            acknowledging = messageIds;
+            buckets = new HashMap<>();
+            messageIds = new ArrayList<>();
+        }
+
+        long started = System.currentTimeMillis();
+        try {
+            List<Map.Entry<BucketKey, long[]>> entries = new ArrayList<>(flushing.entrySet());
+            for (int from = 0; from < entries.size(); from += flushBatchSize) {
+                upsert(entries.subList(from, Math.min(entries.size(), from + flushBatchSize)));
+            }
+        } catch (Exception e) {
+            log.error("[PostAnalyticsAggregator] Failed to flush {} hourly buckets, {} messages left pending for recovery: {}",
+                    flushing.size(), acknowledging.size(), e.getMessage(), e);
+            return;
+        }
+
+        try {
+            for (int from = 0; from < acknowledging.size(); from += flushBatchSize) {
+                redisTemplate.opsForStream().acknowledge(ProducerStreamConstants.POST_ANALYTICS_STREAM,
+                        StreamingConfigConstants.BACKEND_CONSUMER_GROUP,
+                        acknowledging.subList(from, Math.min(acknowledging.size(), from + flushBatchSize)).toArray(String[]::new));
+            }
+        } catch (Exception e) {
+            log.error("[PostAnalyticsAggregator] Flushed {} hourly buckets but failed to acknowledge their messages: {}",
+                    flushing.size(), e.getMessage(), e);
+            return;
+        }
+        log.debug("[PostAnalyticsAggregator] Flushed {} messages into {} hourly buckets in {}ms",
+                acknowledging.size(), flushing.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Claim messages left pending past the idle threshold by any consumer and add them to this
+     * node's buckets.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.recovery.interval-ms:60000}")
+    public void recoverStalePending() {
+        try {
+            PendingMessages pending = redisTemplate.opsForStream().pending(ProducerStreamConstants.POST_ANALYTICS_STREAM,
+                    StreamingConfigConstants.BACKEND_CONSUMER_GROUP, Range.unbounded(), recoveryBatchSize);
+            Duration minIdle = Duration.ofMillis(recoveryMinIdleMs);
+            RecordId[] stale = pending.stream()
+                    .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0)
+                    .map(PendingMessage::getId)
+                    .toArray(RecordId[]::new);
+            if (stale.length == 0) {
+                return;
+            }
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                    ProducerStreamConstants.POST_ANALYTICS_STREAM, StreamingConfigConstants.BACKEND_CONSUMER_GROUP,
+                    applicationName + "-" + recoveryConsumerId + "-" + getClass().getSimpleName(), minIdle, stale);
+            for (MapRecord<String, Object, Object> record : claimed) {
+                accept(record.getId().getValue(), record.getValue());
+            }
+            log.info("[PostAnalyticsAggregator] Claimed {} stale pending analytics messages", claimed.size());
+        } catch (Exception e) {
+            log.warn("[PostAnalyticsAggregator] Failed to recover pending analytics messages: {}", e.getMessage());
+        }
+    }
+
+    private void upsert(List<Map.Entry<BucketKey, long[]>> entries) {
+        int size = entries.size();
+        Long[] postIds = new Long[size];
+        Long[] bucketEpochs = new Long[size];
+        Long[] views = new Long[size];
+        Long[] reactions = new Long[size];
+        Long[] comments = new Long[size];
+        Long[] saves = new Long[size];
+        for (int i = 0; i < size; i++) {
+            BucketKey key = entries.get(i).getKey();
+            long[] sums = entries.get(i).getValue();
+            postIds[i] = key.postId();
+            bucketEpochs[i] = key.bucketStartMillis() / 1000;
+            views[i] = sums[PostAnalyticsMetric.VIEWS.ordinal()];
+            reactions[i] = sums[PostAnalyticsMetric.REACTIONS.ordinal()];
+            comments[i] = sums[PostAnalyticsMetric.COMMENTS.ordinal()];
+            saves[i] = sums[PostAnalyticsMetric.SAVES.ordinal()];
+        }
+        rollupRepository.upsertHourly(postIds, bucketEpochs, views, reactions, comments, saves);
+    }
+
+    private record BucketKey(Long postId, long bucketStartMillis) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.kaleidoscope.backend.posts.service;
+
+import com.kaleidoscope.backend.posts.dto.response.AuthorInsightsResponseDTO;
+import com.kaleidoscope.backend.posts.dto.response.PostInsightsResponseDTO;
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-post insights for authors: views, reactions, comments and saves by UTC hour and day.
+ *
+ * Changes are published on the post analytics stream, summed in memory per post and hour by
+ * PostAnalyticsAggregator and upserted into post_analytics_rollups; reads only touch the rollups.
+ */
+public interface PostAnalyticsService {
+
+    /**
+     * Publish a net change of one metric of a post once the current transaction commits, or
+     * right away outside a transaction
+     */
+    void recordEvent(Long postId, PostAnalyticsMetric metric, long delta);
+
+    /**
+     * Insights of one post; only its author and admins may read them
+     * @param granularity HOUR (default) or DAY
+     * @param from Inclusive UTC start, defaults to one range length before to
+     * @param to Exclusive UTC end, defaults to now
+     */
+    PostInsightsResponseDTO getPostInsights(Long postId, RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Insights of all posts of the current user, with their most viewed posts in the range
+     */
+    AuthorInsightsResponseDTO getMyInsights(RollupGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
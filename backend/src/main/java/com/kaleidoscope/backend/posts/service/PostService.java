@@ -7,15 +7,19 @@ import com.kaleidoscope.backend.posts.dto.response.PostDetailResponseDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
 import com.kaleidoscope.backend.posts.enums.PostStatus;
 import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface PostService {
     PostCreationResponseDTO createPost(PostCreateRequestDTO postCreateRequestDTO);
     PostCreationResponseDTO updatePost(Long postId, PostUpdateRequestDTO dto);
     void softDeletePost(Long postId);
     void hardDeletePost(Long postId);
     PostDetailResponseDTO getPostById(Long postId);
+    List<BatchItemResponseDTO<PostSummaryResponseDTO>> getPostsByIds(List<Long> postIds);
     PaginatedResponse<PostSummaryResponseDTO> filterPosts(Pageable pageable,
                                                            Long userId,
                                                            Long categoryId,
@@ -25,5 +29,7 @@ public interface PostService {
                                                            String hashtag,
                                                            Long locationId,
                                                            Long nearbyLocationId,
-                                                           Double radiusKm);
+                                                           Double radiusKm,
+                                                           String cursor,
+                                                           Boolean pointInTime);
 }
\ No newline at end of file
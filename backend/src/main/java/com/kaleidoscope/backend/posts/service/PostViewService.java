@@ -1,20 +1,26 @@
 package com.kaleidoscope.backend.posts.service;
 
 import com.kaleidoscope.backend.posts.document.PostDocument;
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
 import com.kaleidoscope.backend.posts.repository.PostRepository;
-import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ContentViewTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,42 +28,53 @@ import java.util.concurrent.TimeUnit;
 public class PostViewService {
 
     private final StringRedisTemplate redisTemplate;
+    private final ContentViewTracker contentViewTracker;
+    private final ContentCounterService contentCounterService;
     private final PostRepository postRepository;
-    private final PostSearchRepository postSearchRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final PostAnalyticsService postAnalyticsService;
 
     // Redis key patterns
-    private static final String VIEW_COUNT_KEY = "post:views:%d"; // post:views:123
-    private static final String USER_VIEW_KEY = "user:view:%d:%d"; // user:view:userId:postId
+    private static final String VIEW_COUNT_KEY = "post:views:%d"; // post:views:123 (pending, de-duplicated)
+    private static final String RAW_VIEW_COUNT_KEY = "post:views:raw:%d"; // every view, including repeats
+    private static final String DAILY_VIEWERS_KEY = "post:viewers:%d:%d"; // HLL per postId and epoch day
     private static final String PENDING_VIEWS_SET = "pending:views";
-    private static final String VIEW_BATCH_LOCK = "view:batch:lock";
+    public static final ContentViewTracker.Keys VIEW_KEYS = new ContentViewTracker.Keys(
+            VIEW_COUNT_KEY, RAW_VIEW_COUNT_KEY, DAILY_VIEWERS_KEY, PENDING_VIEWS_SET);
+
+    @Value("${app.views.flush.batch-size:5000}")
+    private int flushBatchSize;
+
+    @Value("${app.views.flush.min-interval-ms:10000}")
+    private long minFlushIntervalMs;
+
+    @Value("${app.views.flush.max-interval-ms:300000}")
+    private long maxFlushIntervalMs;
+
+    @Value("${app.views.flush.backlog-high-water:10000}")
+    private long backlogHighWater;
+
+    @Value("${app.views.flush.max-duration-ms:60000}")
+    private long maxFlushMillis;
+
+    private volatile long flushIntervalMs;
+    private volatile long nextFlushAt;
     
     /**
-     * Increment view count asynchronously with Redis optimization
-     * Prevents duplicate views from same user within 24 hours
+     * Record a view asynchronously in a single Redis round trip
+     * Counts at most one view per user per post per UTC day; every view is also counted raw
      */
     @Async("viewCountExecutor")
     public void incrementViewAsync(Long postId, Long userId) {
         try {
-            String userViewKey = String.format(USER_VIEW_KEY, userId, postId);
-            
-            // Check if user already viewed this post recently (24 hours)
-            if (Boolean.TRUE.equals(redisTemplate.hasKey(userViewKey))) {
-                log.debug("User {} already viewed post {} recently, skipping", userId, postId);
-                return;
+            boolean counted = contentViewTracker.recordView(VIEW_KEYS, postId, userId);
+            if (counted) {
+                contentCounterService.recordViews(ContentType.POST, postId, 1);
+                postAnalyticsService.recordEvent(postId, PostAnalyticsMetric.VIEWS, 1);
+                log.debug("View incremented for post {} by user {}", postId, userId);
+            } else {
+                log.debug("User {} already viewed post {} today, counted as raw view only", userId, postId);
             }
-            
-            // Mark user as having viewed this post (expires in 24 hours)
-            redisTemplate.opsForValue().set(userViewKey, "1", 24, TimeUnit.HOURS);
-            
-            // Increment view count in Redis
-            String viewCountKey = String.format(VIEW_COUNT_KEY, postId);
-            redisTemplate.opsForValue().increment(viewCountKey);
-            
-            // Add to pending views set for batch processing
-            redisTemplate.opsForSet().add(PENDING_VIEWS_SET, postId.toString());
-            
-            log.debug("View incremented for post {} by user {}", postId, userId);
-            
         } catch (Exception e) {
             log.error("Failed to increment view for post {} by user {}", postId, userId, e);
         }
@@ -87,117 +104,101 @@ public class PostViewService {
     }
     
     /**
-     * Batch sync Redis views to database every 5 minutes
-     * Uses distributed locking for multi-instance safety
-     * Processes updates in chunks to prevent long DB locks
+     * Get de-duplicated, raw and approximate unique-viewer counts with one Redis round trip
+     */
+    public ContentViewTracker.ViewCounts getViewCounts(Long postId) {
+        Long dbViews = postRepository.findViewCountByPostId(postId);
+        long dbViewCount = dbViews != null ? dbViews : 0;
+        try {
+            ContentViewTracker.RedisCounts redisCounts = contentViewTracker.readCounts(VIEW_KEYS, postId);
+            return new ContentViewTracker.ViewCounts(dbViewCount + redisCounts.pendingViews(),
+                    redisCounts.rawViews(), redisCounts.uniqueViewers());
+        } catch (Exception e) {
+            log.error("Failed to get view counts for post {}", postId, e);
+            // Fallback to database only
+            return new ContentViewTracker.ViewCounts(dbViewCount, dbViewCount, 0);
+        }
+    }
+    
+    /**
+     * Flush pending views to the database and Elasticsearch
+     * Runs on a short tick but only flushes when due; the interval halves while the dirty
+     * backlog stays above the high-water mark and doubles back towards the maximum when idle
+     * Needs no lock: each node drains disjoint batches (SPOP), so nodes split the backlog
      */
-    @Scheduled(fixedRate = 300000) // 5 minutes
+    @Scheduled(fixedDelayString = "${app.views.flush.tick-ms:5000}")
     public void syncViewsToDatabase() {
+        long now = System.currentTimeMillis();
+        if (now < nextFlushAt) {
+            return;
+        }
+
         try {
-            // Acquire distributed lock to prevent multiple instances from syncing
-            Boolean lockAcquired = redisTemplate.opsForValue()
-                .setIfAbsent(VIEW_BATCH_LOCK, "locked", 10, TimeUnit.MINUTES);
-                
-            if (!Boolean.TRUE.equals(lockAcquired)) {
-                log.debug("Another instance is already syncing views, skipping");
-                return;
-            }
-            
-            log.info("Starting batch sync of views to database");
-            
-            Set<String> postIds = redisTemplate.opsForSet().members(PENDING_VIEWS_SET);
-            if (postIds == null || postIds.isEmpty()) {
-                log.debug("No pending views to sync");
-                return;
-            }
-            
-            // Process in chunks of 500 to prevent locking DB for too long
-            final int CHUNK_SIZE = 500;
-            List<String> postIdList = new ArrayList<>(postIds);
             int totalSynced = 0;
-
-            for (int i = 0; i < postIdList.size(); i += CHUNK_SIZE) {
-                int end = Math.min(i + CHUNK_SIZE, postIdList.size());
-                List<String> chunk = postIdList.subList(i, end);
-
-                int chunkSynced = syncViewsChunk(chunk);
-                totalSynced += chunkSynced;
-
-                log.debug("Synced chunk {}/{}: {} posts",
-                    (i / CHUNK_SIZE) + 1,
-                    (postIdList.size() + CHUNK_SIZE - 1) / CHUNK_SIZE,
-                    chunkSynced);
+            int batches = 0;
+            ContentViewTracker.Drained drained;
+            while ((drained = contentViewTracker.drainPending(VIEW_KEYS, flushBatchSize)).taken() > 0) {
+                if (!drained.deltas().isEmpty()) {
+                    totalSynced += flushBatch(drained.deltas());
+                }
+                batches++;
+                // A short batch means the dirty set is empty; zero counts dropped from the deltas do not
+                if (drained.taken() < flushBatchSize || System.currentTimeMillis() - now > maxFlushMillis) {
+                    break;
+                }
             }
 
-            log.info("Completed batch sync: {} posts synced", totalSynced);
+            long backlog = contentViewTracker.pendingBacklog(VIEW_KEYS);
+            flushIntervalMs = backlog >= backlogHighWater
+                    ? Math.max(minFlushIntervalMs, flushIntervalMs / 2)
+                    : Math.min(maxFlushIntervalMs, Math.max(minFlushIntervalMs, flushIntervalMs * 2));
+            nextFlushAt = System.currentTimeMillis() + flushIntervalMs;
 
+            if (batches > 0) {
+                log.info("[PostViewService] Flushed views for {} posts in {} batches in {}ms; backlog {}, next flush in {}ms",
+                        totalSynced, batches, System.currentTimeMillis() - now, backlog, flushIntervalMs);
+            }
         } catch (Exception e) {
             log.error("Failed to sync views to database", e);
-        } finally {
-            // Release lock
-            redisTemplate.delete(VIEW_BATCH_LOCK);
         }
     }
 
     /**
-     * Process a chunk of view updates in a single transaction
+     * Apply one drained batch with a single UPDATE ... FROM unnest(...) and push the new
+     * totals to Elasticsearch as one _bulk of partial updates
      */
-    @Transactional
-    protected int syncViewsChunk(List<String> postIds) {
-        int syncedCount = 0;
-
-        for (String postIdStr : postIds) {
-            try {
-                Long postId = Long.parseLong(postIdStr);
-                String viewCountKey = String.format(VIEW_COUNT_KEY, postId);
-
-                String redisCountStr = redisTemplate.opsForValue().get(viewCountKey);
-                if (redisCountStr != null) {
-                    long redisCount = Long.parseLong(redisCountStr);
-
-                    // Update database with Redis view count
-                    int updatedRows = postRepository.incrementViewCount(postId, redisCount);
-
-                    if (updatedRows > 0) {
-                        // CRUCIAL: Synchronously update Elasticsearch with the new view count
-                        try {
-                            // Get current DB view count after increment
-                            Long currentDbViewCount = postRepository.findViewCountByPostId(postId);
-                            long totalViewCount = currentDbViewCount != null ? currentDbViewCount : redisCount;
-
-                            // Find and update the PostDocument in Elasticsearch
-                            postSearchRepository.findById(postId.toString()).ifPresentOrElse(
-                                document -> {
-                                    // Update the viewCount field
-                                    PostDocument updatedDocument = document.toBuilder()
-                                            .viewCount(totalViewCount)
-                                            .build();
-                                    postSearchRepository.save(updatedDocument);
-                                    log.debug("Updated Elasticsearch viewCount for post {} to {}", postId, totalViewCount);
-                                },
-                                () -> log.warn("PostDocument not found in Elasticsearch for postId: {}", postId)
-                            );
-
-                        } catch (Exception esException) {
-                            log.error("Failed to sync viewCount to Elasticsearch for post {}: {}",
-                                     postId, esException.getMessage(), esException);
-                            // Continue processing other posts even if ES sync fails
-                        }
-
-                        // Clear Redis count and remove from pending set
-                        redisTemplate.delete(viewCountKey);
-                        redisTemplate.opsForSet().remove(PENDING_VIEWS_SET, postIdStr);
-
-                        syncedCount++;
-                        log.debug("Synced {} views for post {}", redisCount, postId);
-                    }
-                }
+    private int flushBatch(Map<Long, Long> deltas) {
+        Long[] postIds = deltas.keySet().toArray(Long[]::new);
+        Long[] increments = Arrays.stream(postIds).map(deltas::get).toArray(Long[]::new);
 
-            } catch (Exception e) {
-                log.error("Failed to sync views for post {}", postIdStr, e);
-            }
+        List<Object[]> totals;
+        try {
+            totals = postRepository.applyViewCountDeltas(postIds, increments);
+        } catch (Exception e) {
+            log.error("[PostViewService] Failed to apply view counts for {} posts, returning them to Redis: {}",
+                    deltas.size(), e.getMessage(), e);
+            contentViewTracker.restorePending(VIEW_KEYS, deltas);
+            return 0;
+        }
+        if (totals.isEmpty()) {
+            return 0;
         }
 
-        return syncedCount;
+        List<UpdateQuery> updates = totals.stream()
+                .map(row -> UpdateQuery.builder(String.valueOf(row[0]))
+                        .withDocument(Document.create().append("viewCount", ((Number) row[1]).longValue()))
+                        .build())
+                .toList();
+        try {
+            elasticsearchOperations.bulkUpdate(updates, elasticsearchOperations.getIndexCoordinatesFor(PostDocument.class));
+        } catch (BulkFailureException e) {
+            // Typically documents not indexed yet; the startup sync and next flush reconcile them
+            log.warn("[PostViewService] {} of {} Elasticsearch viewCount updates failed",
+                    e.getFailedDocuments().size(), updates.size());
+        } catch (Exception e) {
+            log.error("[PostViewService] Failed to sync viewCount to Elasticsearch for {} posts: {}",
+                    updates.size(), e.getMessage(), e);
+        }
+        return totals.size();
     }
 }
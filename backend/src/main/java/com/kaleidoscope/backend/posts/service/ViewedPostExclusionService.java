@@ -0,0 +1,272 @@
+package com.kaleidoscope.backend.posts.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks which posts a user has viewed so suggestions can exclude them without
+ * shipping the whole viewed set to Elasticsearch.
+ *
+ * Redis structures kept per user:
+ * - viewed_posts:bloom:{userId}:{day}:{slice} Bloom filter bitmap (membership checks)
+ * - viewed_posts:bloom:counts:{userId}        HASH day -> views recorded that day
+ * - viewed_posts:recent:{userId}              ZSET scored by view time, trimmed to a fixed window
+ *
+ * Membership is a time-rotated, scalable Bloom filter: each UTC day gets its own slices, a new
+ * slice is started whenever the current one reaches its capacity, and whole days expire with
+ * their keys. Each slice is sized so that the retention period stays under the target
+ * false-positive rate, which means a small fraction of unseen posts may be dropped from
+ * suggestions but a viewed post is never shown again within the retention period. Memory is
+ * a fixed number of bytes per slice instead of one set member per view.
+ *
+ * The suggestion query only carries the recent window as a must_not terms clause; older
+ * views are removed from the returned candidates by one MGET of the user's slices.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewedPostExclusionService {
+
+    private static final String BLOOM_KEY = "viewed_posts:bloom:%d:%d:%d";
+    private static final String BLOOM_COUNTS_KEY = "viewed_posts:bloom:counts:%d";
+    private static final String RECENT_VIEWED_POSTS_KEY = "viewed_posts:recent:%d";
+
+    /**
+     * Size and estimated accuracy of one user's viewed-posts filter.
+     */
+    public record FilterStats(int slices, long memoryBytes, long viewsRecorded, double estimatedFalsePositiveRate) {
+    }
+
+    private record Slice(String key, long inserted) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.suggestions.viewed-exclusion.query-window:500}")
+    private int queryWindow;
+
+    @Value("${app.suggestions.viewed-exclusion.bloom.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${app.suggestions.viewed-exclusion.bloom.slice-capacity:1000}")
+    private int sliceCapacity;
+
+    @Value("${app.suggestions.viewed-exclusion.bloom.target-false-positive-rate:0.01}")
+    private double targetFalsePositiveRate;
+
+    private long sliceBits;
+    private int hashCount;
+
+    @PostConstruct
+    void sizeFilter() {
+        // Budget the target rate across the retained days so a full week of slices stays under it
+        double perSliceRate = targetFalsePositiveRate / retentionDays;
+        sliceBits = (long) Math.ceil(-sliceCapacity * Math.log(perSliceRate) / (Math.log(2) * Math.log(2)));
+        hashCount = Math.max(1, (int) Math.round((double) sliceBits / sliceCapacity * Math.log(2)));
+        log.info("[ViewedPostExclusionService] Bloom slices: {} views, {} bytes, {} hashes, {} false-positive rate per slice; "
+                        + "{} bytes per user for {} views/day over {} days",
+                sliceCapacity, sliceBytes(), hashCount, String.format("%.5f", perSliceRate),
+                sliceBytes() * retentionDays, sliceCapacity, retentionDays);
+    }
+
+    /**
+     * Record a post view in the membership filter and the recency window.
+     */
+    public void recordView(Long userId, Long postId) {
+        long day = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        String countsKey = String.format(BLOOM_COUNTS_KEY, userId);
+        String recentKey = String.format(RECENT_VIEWED_POSTS_KEY, userId);
+        long ttlSeconds = TimeUnit.DAYS.toSeconds(retentionDays + 1L);
+
+        Long inserted = redisTemplate.opsForHash().increment(countsKey, String.valueOf(day), 1);
+        long slice = inserted != null ? (inserted - 1) / sliceCapacity : 0;
+        String bloomKey = String.format(BLOOM_KEY, userId, day, slice);
+        long[] bits = bitOffsets(postId);
+        String member = postId.toString();
+        long now = System.currentTimeMillis();
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (long bit : bits) {
+                stringConnection.setBit(bloomKey, bit, true);
+            }
+            stringConnection.expire(bloomKey, ttlSeconds);
+            stringConnection.expire(countsKey, ttlSeconds);
+
+            stringConnection.zAdd(recentKey, now, member);
+            // Keep only the newest queryWindow entries (ranks are ascending by view time)
+            stringConnection.zRemRange(recentKey, 0, -(queryWindow + 1L));
+            stringConnection.expire(recentKey, ttlSeconds);
+            return null;
+        });
+
+        if (inserted != null && inserted == 1) {
+            pruneExpiredDays(countsKey, day);
+        }
+    }
+
+    /**
+     * Most recently viewed post IDs, newest first, capped at the configured query window.
+     * These are small enough to send to Elasticsearch as a must_not terms clause.
+     */
+    public List<Long> getRecentlyViewedPostIds(Long userId) {
+        Set<String> members = redisTemplate.opsForZSet()
+                .reverseRange(String.format(RECENT_VIEWED_POSTS_KEY, userId), 0, queryWindow - 1L);
+        if (members == null || members.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = new ArrayList<>(members.size());
+        for (String member : members) {
+            try {
+                ids.add(Long.parseLong(member));
+            } catch (NumberFormatException e) {
+                log.warn("Invalid post ID in recent viewed window for user {}: {}", userId, member);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Return the subset of candidate post IDs the user has (probably) already viewed.
+     * The user's filter slices are fetched once and every candidate is checked locally,
+     * so the cost is two round trips regardless of the size of the view history.
+     */
+    public Set<Long> findViewed(Long userId, Collection<Long> candidatePostIds) {
+        if (candidatePostIds == null || candidatePostIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Slice> slices = liveSlices(userId);
+        if (slices.isEmpty()) {
+            return Collections.emptySet();
+        }
+        byte[][] keys = slices.stream()
+                .map(slice -> slice.key().getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        List<byte[]> bitmaps = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(keys));
+        if (bitmaps == null) {
+            return Collections.emptySet();
+        }
+
+        Set<Long> viewed = new HashSet<>();
+        for (Long postId : candidatePostIds) {
+            long[] bits = bitOffsets(postId);
+            for (byte[] bitmap : bitmaps) {
+                if (bitmap != null && containsAll(bitmap, bits)) {
+                    viewed.add(postId);
+                    break;
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            FilterStats stats = stats(slices);
+            log.debug("[ViewedPostExclusionService] User {} filter: {} slices, {} bytes, {} views, ~{} false-positive rate; {} of {} candidates viewed",
+                    userId, stats.slices(), stats.memoryBytes(), stats.viewsRecorded(),
+                    String.format("%.5f", stats.estimatedFalsePositiveRate()), viewed.size(), candidatePostIds.size());
+        }
+        return viewed;
+    }
+
+    /**
+     * Memory used by the user's filter and its estimated false-positive rate, derived from
+     * how many views each live slice holds.
+     */
+    public FilterStats stats(Long userId) {
+        return stats(liveSlices(userId));
+    }
+
+    private FilterStats stats(List<Slice> slices) {
+        double notFalsePositive = 1.0;
+        long views = 0;
+        for (Slice slice : slices) {
+            double fill = 1 - Math.exp(-(double) hashCount * slice.inserted() / sliceBits);
+            notFalsePositive *= 1 - Math.pow(fill, hashCount);
+            views += slice.inserted();
+        }
+        return new FilterStats(slices.size(), slices.size() * sliceBytes(), views, 1 - notFalsePositive);
+    }
+
+    private List<Slice> liveSlices(Long userId) {
+        Map<Object, Object> counts = redisTemplate.opsForHash().entries(String.format(BLOOM_COUNTS_KEY, userId));
+        if (counts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long oldestDay = LocalDate.now(ZoneOffset.UTC).toEpochDay() - retentionDays + 1;
+        List<Slice> slices = new ArrayList<>();
+        counts.forEach((field, value) -> {
+            long day = Long.parseLong(field.toString());
+            long inserted = Long.parseLong(value.toString());
+            if (day < oldestDay || inserted <= 0) {
+                return;
+            }
+            long fullSlices = inserted / sliceCapacity;
+            for (long slice = 0; slice * sliceCapacity < inserted; slice++) {
+                long sliceInserted = slice < fullSlices ? sliceCapacity : inserted % sliceCapacity;
+                slices.add(new Slice(String.format(BLOOM_KEY, userId, day, slice), sliceInserted));
+            }
+        });
+        return slices;
+    }
+
+    private void pruneExpiredDays(String countsKey, long today) {
+        long oldestDay = today - retentionDays + 1;
+        Object[] expired = redisTemplate.opsForHash().keys(countsKey).stream()
+                .filter(field -> Long.parseLong(field.toString()) < oldestDay)
+                .toArray();
+        if (expired.length > 0) {
+            redisTemplate.opsForHash().delete(countsKey, expired);
+        }
+    }
+
+    private long sliceBytes() {
+        return (sliceBits + 7) / 8;
+    }
+
+    /**
+     * Kirsch-Mitzenmacher double hashing: k offsets from two 64-bit hashes of the post ID.
+     */
+    private long[] bitOffsets(Long postId) {
+        long h1 = mix(postId);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        long[] offsets = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            offsets[i] = Long.remainderUnsigned(h1 + i * h2, sliceBits);
+        }
+        return offsets;
+    }
+
+    private static boolean containsAll(byte[] bitmap, long[] offsets) {
+        for (long offset : offsets) {
+            int index = (int) (offset >>> 3);
+            // Redis bitmaps are big-endian within each byte, and trailing zero bytes are not stored
+            if (index >= bitmap.length || (bitmap[index] & (0x80 >>> (offset & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
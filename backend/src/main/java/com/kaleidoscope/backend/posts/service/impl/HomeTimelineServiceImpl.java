@@ -0,0 +1,520 @@
+package com.kaleidoscope.backend.posts.service.impl;
+
+import com.kaleidoscope.backend.async.dto.TimelineEventDTO;
+import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
+import com.kaleidoscope.backend.async.streaming.ProducerStreamConstants;
+import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.document.PostDocument;
+import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
+import com.kaleidoscope.backend.posts.enums.PostStatus;
+import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.posts.mapper.PostMapper;
+import com.kaleidoscope.backend.posts.model.Post;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.posts.service.HomeTimelineService;
+import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import com.kaleidoscope.backend.users.repository.UserBlockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HomeTimelineServiceImpl implements HomeTimelineService {
+
+    // Members are "postId:authorId" so follows and blocks can be re-checked without hydration
+    private static final String HOME_TIMELINE_KEY = "timeline:home:%d";
+    // Members are postIds; each author's recent timeline-eligible posts
+    private static final String OUTBOX_KEY = "timeline:outbox:%d";
+    private static final String CELEBRITIES_KEY = "timeline:celebrities";
+    // Short-lived snapshot of the viewer's followed and block-related user ids, so reads skip both queries
+    private static final String RELATIONS_KEY = "timeline:relations:%d";
+    private static final String FOLLOWING_FIELD = "following";
+    private static final String BLOCKED_FIELD = "blocked";
+    // Marks a rebuilt timeline that has no entries so it is not rebuilt on every read
+    private static final String EMPTY_MARKER = "0:0";
+    private static final List<PostVisibility> TIMELINE_VISIBILITIES = List.of(PostVisibility.PUBLIC, PostVisibility.FOLLOWERS);
+
+    /**
+     * KEYS[1] home timeline; ARGV[1] score, ARGV[2] member, ARGV[3] max entries, ARGV[4] ttl seconds.
+     * Adds the entry only to a timeline that has been built: a missing one must stay missing so
+     * the next read rebuilds it in full instead of serving just the entries fanned out since.
+     */
+    private static final RedisScript<Long> APPEND_IF_BUILT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1))
+            redis.call('EXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisStreamPublisher redisStreamPublisher;
+    private final JwtUtils jwtUtils;
+    private final FollowRepository followRepository;
+    private final UserBlockRepository userBlockRepository;
+    private final PostRepository postRepository;
+    private final PostSearchRepository postSearchRepository;
+    private final PostMapper postMapper;
+
+    @Value("${app.timeline.celebrity-follower-threshold:10000}")
+    private long celebrityFollowerThreshold;
+
+    @Value("${app.timeline.max-entries:800}")
+    private int maxTimelineEntries;
+
+    @Value("${app.timeline.outbox-max-entries:200}")
+    private int maxOutboxEntries;
+
+    @Value("${app.timeline.follow-backfill-entries:50}")
+    private int followBackfillEntries;
+
+    @Value("${app.timeline.fanout-batch-size:1000}")
+    private int fanoutBatchSize;
+
+    @Value("${app.timeline.ttl-days:14}")
+    private long timelineTtlDays;
+
+    @Value("${app.timeline.relations-ttl-seconds:60}")
+    private long relationsTtlSeconds;
+
+    @Override
+    public PaginatedResponse<PostSummaryResponseDTO> getHomeTimeline(Pageable pageable) {
+        Long viewerId = jwtUtils.getUserIdFromContext();
+        Relations relations = relations(viewerId);
+        String homeKey = homeKey(viewerId);
+
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(homeKey))) {
+            rebuildTimeline(viewerId, relations.followingIds());
+        }
+
+        List<Long> celebrities = celebrities(relations.followingIds());
+        long wanted = pageable.getOffset() + pageable.getPageSize();
+        // Over-read to leave room for entries dropped by the follow/block re-check and by hydration,
+        // doubling the window until the page is filled or every source is exhausted
+        long window = pageable.getOffset() + 2L * pageable.getPageSize();
+        Map<Long, PostDocument> documents = new HashMap<>();
+        while (true) {
+            Map<Long, TimelineEntry> candidates = new HashMap<>();
+            boolean exhausted = readHome(homeKey, window, candidates);
+            exhausted &= readCelebrityPosts(celebrities, window, candidates);
+
+            List<TimelineEntry> sorted = candidates.values().stream()
+                    .sorted(Comparator.comparingDouble(TimelineEntry::score).reversed())
+                    .toList();
+            List<TimelineEntry> kept = hydrate(sorted.stream()
+                    .filter(entry -> (entry.authorId().equals(viewerId) || relations.followingIds().contains(entry.authorId()))
+                            && !relations.blockedIds().contains(entry.authorId()))
+                    .toList(), documents);
+            if (kept.size() < wanted && !exhausted) {
+                window *= 2;
+                continue;
+            }
+
+            long total = exhausted
+                    ? kept.size()
+                    : Math.max(kept.size(), countCandidates(homeKey, celebrities) - (sorted.size() - kept.size()));
+            int from = (int) Math.min(pageable.getOffset(), kept.size());
+            int to = (int) Math.min(wanted, kept.size());
+            List<PostSummaryResponseDTO> content = kept.subList(from, to).stream()
+                    .map(entry -> postMapper.toPostSummaryDTO(documents.get(entry.postId())))
+                    .toList();
+            stringRedisTemplate.expire(homeKey, Duration.ofDays(timelineTtlDays));
+
+            log.debug("[HomeTimelineService] Served {} timeline posts for user {} from a window of {} candidates",
+                    content.size(), viewerId, window);
+            return PaginatedResponse.fromPage(new PageImpl<>(content, pageable, total));
+        }
+    }
+
+    @Override
+    public void publishPostChange(Post post) {
+        if (post.getStatus() == PostStatus.PUBLISHED && TIMELINE_VISIBILITIES.contains(post.getVisibility())) {
+            publish(TimelineEventDTO.builder()
+                    .eventType(TimelineEventDTO.POST_PUBLISHED)
+                    .postId(post.getPostId())
+                    .actorId(post.getUser().getUserId())
+                    .createdAtMillis(toMillis(post.getCreatedAt() != null ? post.getCreatedAt() : LocalDateTime.now()))
+                    .build());
+        } else {
+            publishPostRemoved(post.getPostId(), post.getUser().getUserId());
+        }
+    }
+
+    @Override
+    public void publishPostRemoved(Long postId, Long authorId) {
+        publish(TimelineEventDTO.builder()
+                .eventType(TimelineEventDTO.POST_REMOVED)
+                .postId(postId)
+                .actorId(authorId)
+                .build());
+    }
+
+    @Override
+    public void publishFollowChange(Long followerId, Long followingId, boolean followed) {
+        publish(TimelineEventDTO.builder()
+                .eventType(followed ? TimelineEventDTO.FOLLOW : TimelineEventDTO.UNFOLLOW)
+                .actorId(followerId)
+                .targetId(followingId)
+                .build());
+    }
+
+    @Override
+    public void publishBlock(Long blockerId, Long blockedId) {
+        publish(TimelineEventDTO.builder()
+                .eventType(TimelineEventDTO.BLOCK)
+                .actorId(blockerId)
+                .targetId(blockedId)
+                .build());
+    }
+
+    @Override
+    public void onPostPublished(Long postId, Long authorId, long createdAtMillis) {
+        String member = postId + ":" + authorId;
+        String outboxKey = outboxKey(authorId);
+        stringRedisTemplate.opsForZSet().add(outboxKey, postId.toString(), createdAtMillis);
+        stringRedisTemplate.opsForZSet().removeRange(outboxKey, 0, -(maxOutboxEntries + 1L));
+        pipelinedAppends(connection -> appendIfBuilt(connection, homeKey(authorId), member, createdAtMillis));
+
+        long followerCount = followRepository.countByFollowing_UserId(authorId);
+        if (followerCount >= celebrityFollowerThreshold) {
+            // Pulled and merged at read time instead of written to every follower
+            stringRedisTemplate.opsForSet().add(CELEBRITIES_KEY, authorId.toString());
+            log.debug("[HomeTimelineService] Author {} has {} followers, skipping fan-out for post {}",
+                    authorId, followerCount, postId);
+            return;
+        }
+        stringRedisTemplate.opsForSet().remove(CELEBRITIES_KEY, authorId.toString());
+
+        int fannedOut = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> followerIds = followRepository.findFollowerIdsAfter(authorId, afterId, PageRequest.of(0, fanoutBatchSize));
+            if (followerIds.isEmpty()) {
+                break;
+            }
+            pipelinedAppends(connection -> followerIds.forEach(followerId ->
+                    appendIfBuilt(connection, homeKey(followerId), member, createdAtMillis)));
+            fannedOut += followerIds.size();
+            afterId = followerIds.get(followerIds.size() - 1);
+        }
+        log.debug("[HomeTimelineService] Fanned out post {} by author {} to {} followers", postId, authorId, fannedOut);
+    }
+
+    @Override
+    public void onPostRemoved(Long postId, Long authorId) {
+        stringRedisTemplate.opsForZSet().remove(outboxKey(authorId), postId.toString());
+        // Followers' copies are dropped lazily: hydration skips posts that are gone or no longer visible
+        stringRedisTemplate.opsForZSet().remove(homeKey(authorId), postId + ":" + authorId);
+    }
+
+    @Override
+    public void onFollow(Long followerId, Long followingId) {
+        evictRelations(followerId);
+        String homeKey = homeKey(followerId);
+        if (isCelebrity(followingId) || !Boolean.TRUE.equals(stringRedisTemplate.hasKey(homeKey))) {
+            // Celebrities are merged at read time; missing timelines are rebuilt on the next read
+            return;
+        }
+        Set<TypedTuple<String>> recent = outbox(followingId, followBackfillEntries);
+        pipelinedAppends(connection -> recent.forEach(tuple -> appendIfBuilt(connection, homeKey,
+                tuple.getValue() + ":" + followingId, Objects.requireNonNull(tuple.getScore()))));
+        log.debug("[HomeTimelineService] Backfilled {} posts of user {} into timeline of {}", recent.size(), followingId, followerId);
+    }
+
+    @Override
+    public void onUnfollow(Long followerId, Long followingId) {
+        evictRelations(followerId);
+        evictAuthor(followerId, followingId);
+    }
+
+    @Override
+    public void onBlock(Long blockerId, Long blockedId) {
+        evictRelations(blockerId, blockedId);
+        evictAuthor(blockerId, blockedId);
+        evictAuthor(blockedId, blockerId);
+    }
+
+    private void evictAuthor(Long timelineOwnerId, Long authorId) {
+        Set<TypedTuple<String>> posts = outbox(authorId, maxOutboxEntries);
+        if (posts.isEmpty()) {
+            return;
+        }
+        Object[] members = posts.stream().map(tuple -> tuple.getValue() + ":" + authorId).toArray();
+        Long removed = stringRedisTemplate.opsForZSet().remove(homeKey(timelineOwnerId), members);
+        log.debug("[HomeTimelineService] Evicted {} posts of user {} from timeline of {}", removed, authorId, timelineOwnerId);
+    }
+
+    /**
+     * Reads the newest window entries of the home timeline.
+     *
+     * @return whether the timeline has no entries beyond the window
+     */
+    private boolean readHome(String homeKey, long window, Map<Long, TimelineEntry> candidates) {
+        Set<TypedTuple<String>> home = stringRedisTemplate.opsForZSet().reverseRangeWithScores(homeKey, 0, window - 1);
+        if (home == null) {
+            return true;
+        }
+        for (TypedTuple<String> tuple : home) {
+            TimelineEntry entry = TimelineEntry.parse(tuple.getValue(), tuple.getScore());
+            if (entry != null) {
+                candidates.putIfAbsent(entry.postId(), entry);
+            }
+        }
+        return home.size() < window;
+    }
+
+    private List<Long> celebrities(Set<Long> followingIds) {
+        if (followingIds.isEmpty()) {
+            return List.of();
+        }
+        List<Long> followed = new ArrayList<>(followingIds);
+        // One SMISMEMBER for every followed author
+        Map<Object, Boolean> membership = stringRedisTemplate.opsForSet()
+                .isMember(CELEBRITIES_KEY, followed.stream().map(String::valueOf).toArray());
+        return followed.stream()
+                .filter(id -> Boolean.TRUE.equals(membership.get(String.valueOf(id))))
+                .toList();
+    }
+
+    /**
+     * Merges the newest window posts of each followed celebrity from their outboxes.
+     *
+     * @return whether no outbox has posts beyond the window
+     */
+    private boolean readCelebrityPosts(List<Long> celebrities, long window, Map<Long, TimelineEntry> candidates) {
+        if (celebrities.isEmpty()) {
+            return true;
+        }
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            celebrities.forEach(id -> stringConnection.zRevRangeWithScores(outboxKey(id), 0, window - 1));
+            return null;
+        });
+        boolean exhausted = true;
+        for (int i = 0; i < celebrities.size(); i++) {
+            Long authorId = celebrities.get(i);
+            if (!(results.get(i) instanceof Set<?> tuples)) {
+                continue;
+            }
+            exhausted &= tuples.size() < window;
+            for (Object item : tuples) {
+                if (item instanceof TypedTuple<?> tuple && tuple.getValue() != null) {
+                    Long postId = Long.valueOf(tuple.getValue().toString());
+                    candidates.putIfAbsent(postId, new TimelineEntry(postId, authorId, Objects.requireNonNull(tuple.getScore())));
+                }
+            }
+        }
+        return exhausted;
+    }
+
+    private long countCandidates(String homeKey, List<Long> celebrities) {
+        List<Object> sizes = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.zCard(homeKey);
+            celebrities.forEach(id -> stringConnection.zCard(outboxKey(id)));
+            return null;
+        });
+        // The home timeline holds the empty marker next to its entries
+        long count = -1;
+        for (Object size : sizes) {
+            if (size instanceof Long value) {
+                count += value;
+            }
+        }
+        return Math.max(count, 0);
+    }
+
+    /**
+     * Keeps the entries whose post is still published and visible to followers, fetching only
+     * the documents not already loaded by an earlier window.
+     */
+    private List<TimelineEntry> hydrate(List<TimelineEntry> entries, Map<Long, PostDocument> documents) {
+        List<String> missing = entries.stream()
+                .map(TimelineEntry::postId)
+                .filter(postId -> !documents.containsKey(postId))
+                .map(String::valueOf)
+                .toList();
+        if (!missing.isEmpty()) {
+            postSearchRepository.findAllById(missing).forEach(document -> documents.put(document.getPostId(), document));
+        }
+        List<TimelineEntry> result = new ArrayList<>(entries.size());
+        for (TimelineEntry entry : entries) {
+            PostDocument document = documents.get(entry.postId());
+            if (document != null && document.getStatus() == PostStatus.PUBLISHED
+                    && TIMELINE_VISIBILITIES.contains(document.getVisibility())) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private Relations relations(Long viewerId) {
+        String key = relationsKey(viewerId);
+        List<Object> cached = stringRedisTemplate.opsForHash().multiGet(key, List.of(FOLLOWING_FIELD, BLOCKED_FIELD));
+        if (cached.size() == 2 && cached.get(0) != null && cached.get(1) != null) {
+            return new Relations(parseIds(cached.get(0).toString()), parseIds(cached.get(1).toString()));
+        }
+        Relations relations = new Relations(followRepository.findFollowingIdsByFollowerId(viewerId),
+                userBlockRepository.findBlockRelatedUserIds(viewerId));
+        pipelined(connection -> {
+            connection.hMSet(key, Map.of(FOLLOWING_FIELD, joinIds(relations.followingIds()),
+                    BLOCKED_FIELD, joinIds(relations.blockedIds())));
+            connection.expire(key, relationsTtlSeconds);
+        });
+        return relations;
+    }
+
+    private void evictRelations(Long... userIds) {
+        stringRedisTemplate.delete(Arrays.stream(userIds).map(HomeTimelineServiceImpl::relationsKey).toList());
+    }
+
+    private void rebuildTimeline(Long viewerId, Set<Long> followingIds) {
+        Set<Long> authors = new HashSet<>(followingIds);
+        authors.add(viewerId);
+        Set<String> celebrities = stringRedisTemplate.opsForSet().members(CELEBRITIES_KEY);
+        if (celebrities != null) {
+            celebrities.forEach(id -> authors.remove(Long.valueOf(id)));
+        }
+        List<Object[]> rows = postRepository.findTimelineEntriesByAuthors(authors, PostStatus.PUBLISHED,
+                TIMELINE_VISIBILITIES, PageRequest.of(0, maxTimelineEntries));
+        String homeKey = homeKey(viewerId);
+        pipelined(connection -> {
+            connection.zAdd(homeKey, 0, EMPTY_MARKER);
+            for (Object[] row : rows) {
+                addToTimeline(connection, homeKey, row[0] + ":" + row[1], toMillis((LocalDateTime) row[2]));
+            }
+        });
+        log.info("[HomeTimelineService] Rebuilt timeline for user {} with {} posts", viewerId, rows.size());
+    }
+
+    private Set<TypedTuple<String>> outbox(Long authorId, int limit) {
+        String outboxKey = outboxKey(authorId);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(outboxKey))) {
+            List<Object[]> rows = postRepository.findTimelineEntriesByAuthors(List.of(authorId), PostStatus.PUBLISHED,
+                    TIMELINE_VISIBILITIES, PageRequest.of(0, maxOutboxEntries));
+            if (!rows.isEmpty()) {
+                pipelined(connection -> rows.forEach(row ->
+                        connection.zAdd(outboxKey, toMillis((LocalDateTime) row[2]), row[0].toString())));
+            }
+        }
+        Set<TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet().reverseRangeWithScores(outboxKey, 0, limit - 1L);
+        return tuples != null ? tuples : Set.of();
+    }
+
+    private boolean isCelebrity(Long userId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(CELEBRITIES_KEY, userId.toString()))
+                || followRepository.countByFollowing_UserId(userId) >= celebrityFollowerThreshold;
+    }
+
+    private void addToTimeline(StringRedisConnection connection, String key, String member, double score) {
+        connection.zAdd(key, score, member);
+        connection.zRemRange(key, 0, -(maxTimelineEntries + 1L));
+        connection.expire(key, timelineTtlDays * 24 * 3600);
+    }
+
+    private void appendIfBuilt(StringRedisConnection connection, String key, String member, double score) {
+        connection.evalSha(APPEND_IF_BUILT_SCRIPT.getSha1(), ReturnType.INTEGER, 1, key, String.valueOf((long) score), member,
+                String.valueOf(maxTimelineEntries), String.valueOf(timelineTtlDays * 24 * 3600));
+    }
+
+    /**
+     * Runs appends in one pipeline, loading the script first so every append is sent as EVALSHA
+     * even after a Redis restart has flushed the script cache
+     */
+    private void pipelinedAppends(Consumer<StringRedisConnection> appends) {
+        pipelined(connection -> {
+            connection.scriptLoad(APPEND_IF_BUILT_SCRIPT.getScriptAsString());
+            appends.accept(connection);
+        });
+    }
+
+    private void pipelined(Consumer<StringRedisConnection> commands) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            commands.accept((StringRedisConnection) connection);
+            return null;
+        });
+    }
+
+    private void publish(TimelineEventDTO event) {
+        event.setCorrelationId(MDC.get("correlationId"));
+        redisStreamPublisher.publish(ProducerStreamConstants.TIMELINE_FANOUT_STREAM, event);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String homeKey(Long userId) {
+        return String.format(HOME_TIMELINE_KEY, userId);
+    }
+
+    private static String outboxKey(Long userId) {
+        return String.format(OUTBOX_KEY, userId);
+    }
+
+    private static String relationsKey(Long userId) {
+        return String.format(RELATIONS_KEY, userId);
+    }
+
+    private static String joinIds(Set<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static Set<Long> parseIds(String ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    private record Relations(Set<Long> followingIds, Set<Long> blockedIds) {
+    }
+
+    private record TimelineEntry(Long postId, Long authorId, double score) {
+        static TimelineEntry parse(String member, Double score) {
+            if (member == null || score == null || EMPTY_MARKER.equals(member)) {
+                return null;
+            }
+            int separator = member.indexOf(':');
+            if (separator < 0) {
+                return null;
+            }
+            return new TimelineEntry(Long.valueOf(member.substring(0, separator)),
+                    Long.valueOf(member.substring(separator + 1)), score);
+        }
+    }
+}
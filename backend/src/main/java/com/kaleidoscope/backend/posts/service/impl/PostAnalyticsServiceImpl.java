@@ -0,0 +1,179 @@
+package com.kaleidoscope.backend.posts.service.impl;
+
+import com.kaleidoscope.backend.async.dto.PostAnalyticsEventDTO;
+import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
+import com.kaleidoscope.backend.async.streaming.ProducerStreamConstants;
+import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.dto.response.AuthorInsightsResponseDTO;
+import com.kaleidoscope.backend.posts.dto.response.InsightsBucketDTO;
+import com.kaleidoscope.backend.posts.dto.response.InsightsMetricsDTO;
+import com.kaleidoscope.backend.posts.dto.response.PostInsightsResponseDTO;
+import com.kaleidoscope.backend.posts.dto.response.PostInsightsSummaryDTO;
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
+import com.kaleidoscope.backend.posts.exception.Posts.PostNotFoundException;
+import com.kaleidoscope.backend.posts.exception.Posts.UnauthorizedActionException;
+import com.kaleidoscope.backend.posts.model.Post;
+import com.kaleidoscope.backend.posts.repository.PostAnalyticsRollupRepository;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.service.PostAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostAnalyticsServiceImpl implements PostAnalyticsService {
+
+    // Daily series also cover hourly rows not yet compacted
+    private static final List<String> HOURLY_ROWS = List.of(RollupGranularity.HOUR.name());
+    private static final List<String> ALL_ROWS = List.of(RollupGranularity.HOUR.name(), RollupGranularity.DAY.name());
+
+    private final RedisStreamPublisher redisStreamPublisher;
+    private final PostAnalyticsRollupRepository rollupRepository;
+    private final PostRepository postRepository;
+    private final JwtUtils jwtUtils;
+
+    @Value("${app.analytics.query.max-hourly-range-days:7}")
+    private int maxHourlyRangeDays;
+
+    @Value("${app.analytics.query.max-daily-range-days:366}")
+    private int maxDailyRangeDays;
+
+    @Value("${app.analytics.query.top-posts:10}")
+    private int topPosts;
+
+    @Override
+    public void recordEvent(Long postId, PostAnalyticsMetric metric, long delta) {
+        if (postId == null || delta == 0) {
+            return;
+        }
+        PostAnalyticsEventDTO event = PostAnalyticsEventDTO.builder()
+                .postId(postId)
+                .metric(metric)
+                .delta(delta)
+                .occurredAtMillis(System.currentTimeMillis())
+                .correlationId(MDC.get("correlationId"))
+                .build();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                event.setOccurredAtMillis(System.currentTimeMillis());
+                publish(event);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostInsightsResponseDTO getPostInsights(Long postId, RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new PostNotFoundException(postId));
+        Long currentUserId = jwtUtils.getUserIdFromContext();
+        if (!jwtUtils.isAdminFromContext() && !post.getUser().getUserId().equals(currentUserId)) {
+            log.warn("[PostAnalyticsService] User {} denied insights of post {}", currentUserId, postId);
+            throw new UnauthorizedActionException("Only the author can view this post's insights.");
+        }
+        Range range = resolveRange(granularity, from, to);
+        List<InsightsBucketDTO> series = toSeries(rollupRepository.findPostSeries(
+                postId, range.unit(), range.rows(), range.from(), range.to()));
+        return new PostInsightsResponseDTO(postId, range.granularity(), range.from(), range.to(), sum(series), series);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AuthorInsightsResponseDTO getMyInsights(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        Long authorId = jwtUtils.getUserIdFromContext();
+        Range range = resolveRange(granularity, from, to);
+        List<InsightsBucketDTO> series = toSeries(rollupRepository.findAuthorSeries(
+                authorId, range.unit(), range.rows(), range.from(), range.to()));
+        List<PostInsightsSummaryDTO> top = rollupRepository.findAuthorTopPosts(
+                        authorId, range.rows(), range.from(), range.to(), topPosts).stream()
+                .map(row -> new PostInsightsSummaryDTO(((Number) row[0]).longValue(), toMetrics(row)))
+                .toList();
+        return new AuthorInsightsResponseDTO(authorId, range.granularity(), range.from(), range.to(), sum(series), series, top);
+    }
+
+    private void publish(PostAnalyticsEventDTO event) {
+        try {
+            redisStreamPublisher.publish(ProducerStreamConstants.POST_ANALYTICS_STREAM, event);
+        } catch (Exception e) {
+            log.error("[PostAnalyticsService] Failed to publish {} event for post {}: {}",
+                    event.getMetric(), event.getPostId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Aligns the range to whole buckets and caps its length; hourly ranges read only hourly
+     * rows, so hours already compacted into days come back empty.
+     */
+    private Range resolveRange(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        RollupGranularity resolved = granularity != null ? granularity : RollupGranularity.HOUR;
+        boolean hourly = resolved == RollupGranularity.HOUR;
+        ChronoUnit unit = hourly ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        int maxDays = hourly ? maxHourlyRangeDays : maxDailyRangeDays;
+
+        // The end is exclusive: round it up to a bucket boundary, and include the current bucket by default
+        LocalDateTime end = to != null ? to.truncatedTo(unit) : LocalDateTime.now(ZoneOffset.UTC).truncatedTo(unit).plus(1, unit);
+        if (to != null && end.isBefore(to)) {
+            end = end.plus(1, unit);
+        }
+        LocalDateTime earliest = end.minusDays(maxDays);
+        LocalDateTime start = from != null ? from.truncatedTo(unit) : earliest;
+        if (start.isBefore(earliest)) {
+            start = earliest;
+        }
+        if (start.isAfter(end)) {
+            start = end;
+        }
+        return new Range(resolved, start, end, hourly ? "hour" : "day", hourly ? HOURLY_ROWS : ALL_ROWS);
+    }
+
+    private static List<InsightsBucketDTO> toSeries(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new InsightsBucketDTO(toLocalDateTime(row[0]), toMetrics(row)))
+                .toList();
+    }
+
+    private static InsightsMetricsDTO toMetrics(Object[] row) {
+        return new InsightsMetricsDTO(toLong(row[1]), toLong(row[2]), toLong(row[3]), toLong(row[4]));
+    }
+
+    private static InsightsMetricsDTO sum(List<InsightsBucketDTO> series) {
+        long views = 0, reactions = 0, comments = 0, saves = 0;
+        for (InsightsBucketDTO bucket : series) {
+            views += bucket.metrics().views();
+            reactions += bucket.metrics().reactions();
+            comments += bucket.metrics().comments();
+            saves += bucket.metrics().saves();
+        }
+        return new InsightsMetricsDTO(views, reactions, comments, saves);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private record Range(RollupGranularity granularity, LocalDateTime from, LocalDateTime to, String unit, List<String> rows) {
+    }
+}
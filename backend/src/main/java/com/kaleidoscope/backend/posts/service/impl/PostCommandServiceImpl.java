@@ -17,6 +17,7 @@ import com.kaleidoscope.backend.posts.model.Post;
 import com.kaleidoscope.backend.posts.model.PostMedia;
 import com.kaleidoscope.backend.posts.repository.PostRepository;
 import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.posts.service.HomeTimelineService;
 import com.kaleidoscope.backend.posts.service.PostCommandService;
 import com.kaleidoscope.backend.shared.dto.request.CreateUserTagRequestDTO;
 import com.kaleidoscope.backend.shared.enums.ContentType;
@@ -25,6 +26,9 @@ import com.kaleidoscope.backend.shared.exception.categoryException.CategoryNotFo
 import com.kaleidoscope.backend.shared.exception.locationException.LocationNotFoundException;
 import com.kaleidoscope.backend.shared.model.*;
 import com.kaleidoscope.backend.shared.repository.*;
+import com.kaleidoscope.backend.shared.search.AfterCommitIndexer;
+import com.kaleidoscope.backend.shared.search.RecentWritesOverlay;
+import com.kaleidoscope.backend.shared.search.SearchResultCache;
 import com.kaleidoscope.backend.shared.service.HashtagService;
 import com.kaleidoscope.backend.shared.service.ImageStorageService;
 import com.kaleidoscope.backend.shared.service.UserTagService;
@@ -64,6 +68,9 @@ public class PostCommandServiceImpl implements PostCommandService {
     private final StringRedisTemplate stringRedisTemplate;
     private final HashtagService hashtagService;
     private final JdbcTemplate jdbcTemplate;
+    private final RecentWritesOverlay recentWritesOverlay;
+    private final AfterCommitIndexer afterCommitIndexer;
+    private final HomeTimelineService homeTimelineService;
 
     @Override
     @Transactional
@@ -218,19 +225,28 @@ public class PostCommandServiceImpl implements PostCommandService {
             log.debug("No user tags to process for this post");
         }
 
+        final Long createdPostId = savedPost.getPostId();
+        final Set<String> createdScopes = searchScopes(savedPost);
+        final boolean createdLocated = savedPost.getLocation() != null;
         try {
             PostDocument postDocument = postMapper.toPostDocument(savedPost);
             if (postDocument.getLocation() != null) {
                 log.debug("Including location in ES index for post {}: locationId={}, name={}, hasCoordinates={}",
-                        savedPost.getPostId(), postDocument.getLocation().getId(),
+                        createdPostId, postDocument.getLocation().getId(),
                         postDocument.getLocation().getName(), postDocument.getLocation().getPoint() != null);
             }
 
-            postSearchRepository.save(postDocument);
-            log.info("Successfully indexed new post {} to Elasticsearch", savedPost.getPostId());
-
+            // Once committed, the author sees the post through the overlay until the index write is searchable
+            recentWritesOverlay.recordPost(postDocument);
+            final Post createdPost = savedPost;
+            afterCommitIndexer.indexAfterCommit("new post " + createdPostId, () -> {
+                postSearchRepository.save(postDocument);
+                publishSearchInvalidation(createdPostId, "CREATE", createdScopes, createdLocated);
+                homeTimelineService.publishPostChange(createdPost);
+            });
         } catch (Exception e) {
-            log.error("Failed to index post {} to Elasticsearch: {}", savedPost.getPostId(), e.getMessage(), e);
+            log.error("Failed to prepare ES document for post {}: {}", createdPostId, e.getMessage(), e);
+            publishSearchInvalidation(createdPostId, "CREATE", createdScopes, createdLocated);
         }
 
         log.info("Post creation completed successfully: postId={}, userId={}, username='{}', title='{}'",
@@ -253,6 +269,8 @@ public class PostCommandServiceImpl implements PostCommandService {
             log.error("User {} not authorized to edit post {}", currentUserId, postId);
             throw new UnauthorizedActionException("User is not authorized to edit this post.");
         }
+        Set<String> previousScopes = searchScopes(post);
+        boolean previouslyLocated = post.getLocation() != null;
 
         log.debug("Updating post fields");
         post.setTitle(requestDTO.title());
@@ -310,6 +328,14 @@ public class PostCommandServiceImpl implements PostCommandService {
         } else {
             log.debug("Skipping Redis Stream publishing for post update {} - no media present", savedPost.getPostId());
         }
+        Set<String> updatedScopes = new HashSet<>(previousScopes);
+        updatedScopes.addAll(searchScopes(savedPost));
+        publishSearchInvalidation(savedPost.getPostId(), "UPDATE", updatedScopes,
+                previouslyLocated || savedPost.getLocation() != null);
+        homeTimelineService.publishPostChange(savedPost);
+        if (recentWritesOverlay.holdsPost(savedPost.getUser().getUserId(), savedPost.getPostId())) {
+            recentWritesOverlay.refreshPost(postMapper.toPostDocument(savedPost));
+        }
 
         return postMapper.toDTO(savedPost);
     }
@@ -343,6 +369,8 @@ public class PostCommandServiceImpl implements PostCommandService {
             userTagRepository.deleteAll(tagsToDelete);
         }
 
+        recentWritesOverlay.forgetPost(post.getUser().getUserId(), postId);
+        homeTimelineService.publishPostRemoved(postId, post.getUser().getUserId());
         try {
             postSearchRepository.deleteById(String.valueOf(postId));
             log.info("Removed post {} from Elasticsearch index", postId);
@@ -362,7 +390,9 @@ public class PostCommandServiceImpl implements PostCommandService {
             log.error("Failed to clean up Read Models for post {} during soft delete: {}", postId, e.getMessage());
         }
 
+        Set<String> deletedScopes = searchScopes(post);
         postRepository.delete(post);
+        publishSearchInvalidation(postId, "DELETE", deletedScopes, post.getLocation() != null);
         log.info("Post {} soft-deleted by user {} (admin? {})", postId, currentUserId, isAdmin);
     }
 
@@ -389,6 +419,8 @@ public class PostCommandServiceImpl implements PostCommandService {
             userTagRepository.deleteAll(tagsToDelete);
         }
 
+        recentWritesOverlay.forgetPost(post.getUser().getUserId(), postId);
+        homeTimelineService.publishPostRemoved(postId, post.getUser().getUserId());
         try {
             postSearchRepository.deleteById(String.valueOf(postId));
             log.info("Removed post {} from Elasticsearch index during hard delete", postId);
@@ -417,12 +449,43 @@ public class PostCommandServiceImpl implements PostCommandService {
             imageStorageService.deleteImageByPublicId(imageStorageService.extractPublicIdFromUrl(media.getMediaUrl()));
         }
 
+        Set<String> deletedScopes = searchScopes(post);
+        boolean located = post.getLocation() != null;
         post.getMedia().clear();
         post.getCategories().clear();
         postRepository.hardDeleteById(post.getPostId());
+        publishSearchInvalidation(postId, "DELETE", deletedScopes, located);
         log.info("Post {} hard-deleted by admin", postId);
     }
 
+    /**
+     * Tell every backend instance to drop the cached post search results the change can affect:
+     * those scoped to the post's author, categories or hashtags (before and after an update)
+     * and unscoped ones, plus nearby tiles when the post has or had a location.
+     * Failures are logged only; cached entries still expire on their short TTL.
+     */
+    private void publishSearchInvalidation(Long postId, String changeType, Set<String> scopes, boolean located) {
+        try {
+            Map<String, Object> eventPayload = new HashMap<>();
+            eventPayload.put("postId", postId);
+            eventPayload.put("changeType", changeType);
+            eventPayload.put("scopes", String.join(",", scopes));
+            eventPayload.put("located", located);
+            eventPayload.put("correlationId", MDC.get("correlationId"));
+            redisStreamPublisher.publish(ProducerStreamConstants.POST_SEARCH_INVALIDATION_STREAM, eventPayload);
+        } catch (Exception e) {
+            log.error("Failed to publish search invalidation event for post {}: {}", postId, e.getMessage(), e);
+        }
+    }
+
+    private static Set<String> searchScopes(Post post) {
+        Set<String> scopes = new HashSet<>();
+        scopes.add(SearchResultCache.authorScope(post.getUser().getUserId()));
+        post.getCategories().forEach(category -> scopes.add(SearchResultCache.categoryScope(category.getCategory().getCategoryId())));
+        post.getHashtags().forEach(hashtag -> scopes.add(SearchResultCache.hashtagScope(hashtag.getName())));
+        return scopes;
+    }
+
     private void updatePostTags(Post post, Set<Long> incomingTaggedUserIds) {
         log.debug("Updating tags for postId: {}", post.getPostId());
         Set<Long> incomingIds = (incomingTaggedUserIds != null) ? incomingTaggedUserIds : Collections.emptySet();
@@ -4,14 +4,18 @@ import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
 import com.kaleidoscope.backend.posts.dto.response.PostSaveResponseDTO;
 import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
 import com.kaleidoscope.backend.posts.exception.Posts.PostNotFoundException;
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
 import com.kaleidoscope.backend.posts.mapper.PostMapper;
 import com.kaleidoscope.backend.posts.mapper.PostSaveMapper;
 import com.kaleidoscope.backend.posts.model.Post;
 import com.kaleidoscope.backend.posts.model.PostSave;
 import com.kaleidoscope.backend.posts.repository.PostRepository;
 import com.kaleidoscope.backend.posts.repository.PostSaveRepository;
+import com.kaleidoscope.backend.posts.service.PostAnalyticsService;
 import com.kaleidoscope.backend.posts.service.PostSaveService;
+import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
 import com.kaleidoscope.backend.users.model.User;
 import com.kaleidoscope.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -34,7 +38,9 @@ public class PostSaveServiceImpl implements PostSaveService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
+    private final ContentCounterService contentCounterService;
     private final PostMapper postMapper;
+    private final PostAnalyticsService postAnalyticsService;
 
     @Override
     @Transactional
@@ -51,10 +57,15 @@ public class PostSaveServiceImpl implements PostSaveService {
                 .orElseThrow(() -> new PostNotFoundException(postId));
 
         Optional<PostSave> existingSave = postSaveRepository.findByPostAndUser(post, currentUser);
+        // Read before this transaction's change; the counter is adjusted once it commits
+        long totalSaves = contentCounterService.getCounters(ContentType.POST, postId).saves();
 
         if (unsave) {
             if (existingSave.isPresent()) {
                 postSaveRepository.deleteByPostAndUser(post, currentUser);
+                contentCounterService.recordSaveChange(ContentType.POST, postId, -1);
+                postAnalyticsService.recordEvent(postId, PostAnalyticsMetric.SAVES, -1);
+                totalSaves--;
                 log.info("Post unsaved successfully: postId={}, userId={}", postId, userId);
             } else {
                 log.warn("Attempting to unsave a post that wasn't saved: postId={}, userId={}", postId, userId);
@@ -64,13 +75,16 @@ public class PostSaveServiceImpl implements PostSaveService {
                 // Use mapper to create PostSave entity
                 PostSave postSave = PostSaveMapper.toEntity(post, currentUser);
                 postSaveRepository.save(postSave);
+                contentCounterService.recordSaveChange(ContentType.POST, postId, 1);
+                postAnalyticsService.recordEvent(postId, PostAnalyticsMetric.SAVES, 1);
+                totalSaves++;
                 log.info("Post saved successfully: postId={}, userId={}", postId, userId);
             } else {
                 log.info("Post already saved by user: postId={}, userId={}", postId, userId);
             }
         }
 
-        return buildResponse(post, currentUser);
+        return buildResponse(post, currentUser, Math.max(0, totalSaves));
     }
 
     @Override
@@ -86,7 +100,7 @@ public class PostSaveServiceImpl implements PostSaveService {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
 
-        return buildResponse(post, currentUser);
+        return buildResponse(post, currentUser, contentCounterService.getCounters(ContentType.POST, postId).saves());
     }
 
     @Override
@@ -101,15 +115,14 @@ public class PostSaveServiceImpl implements PostSaveService {
             throw new IllegalArgumentException("Authenticated user not found for ID: " + userId);
         }
 
-        // Get saved posts with pagination
-        Page<PostSave> savedPostsPage = postSaveRepository.findByUserOrderByCreatedAtDesc(currentUser, pageable);
+        // Get saved posts with pagination, posts and authors joined in
+        Page<PostSave> savedPostsPage = postSaveRepository.findPageWithPostsByUser(currentUser, pageable);
 
-        // Extract posts and map to PostSummaryResponseDTO
-        List<PostSummaryResponseDTO> postSummaries = savedPostsPage.getContent()
-                .stream()
+        // Map the page in bulk; the authors fetched above are not loaded again
+        List<Post> posts = savedPostsPage.getContent().stream()
                 .map(PostSave::getPost)
-                .map(postMapper::toPostSummaryDTO)
                 .toList();
+        List<PostSummaryResponseDTO> postSummaries = postMapper.toPostSummaryDTOs(posts, userId);
 
         Page<PostSummaryResponseDTO> dtoPage = new PageImpl<>(
                 postSummaries,
@@ -121,9 +134,8 @@ public class PostSaveServiceImpl implements PostSaveService {
         return PaginatedResponse.fromPage(dtoPage);
     }
 
-    private PostSaveResponseDTO buildResponse(Post post, User user) {
+    private PostSaveResponseDTO buildResponse(Post post, User user, long totalSaves) {
         Optional<PostSave> userSave = postSaveRepository.findByPostAndUser(post, user);
-        long totalSaves = postSaveRepository.countByPost(post);
 
         // Use mapper to create response DTO
         return PostSaveMapper.toResponseDTO(userSave, totalSaves);
@@ -15,34 +15,48 @@ import com.kaleidoscope.backend.posts.mapper.PostMapper;
 import com.kaleidoscope.backend.posts.model.Post;
 import com.kaleidoscope.backend.posts.repository.PostRepository;
 import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.posts.service.PostAccessResolver;
 import com.kaleidoscope.backend.posts.service.PostCommandService;
 import com.kaleidoscope.backend.posts.service.PostService;
 import com.kaleidoscope.backend.posts.service.PostViewService;
+import com.kaleidoscope.backend.posts.service.ViewedPostExclusionService;
+import com.kaleidoscope.backend.readmodels.service.ReadModelFallbackService;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
 import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.exception.locationException.LocationNotFoundException;
-import com.kaleidoscope.backend.shared.model.Location;
-import com.kaleidoscope.backend.shared.repository.LocationRepository;
 import com.kaleidoscope.backend.shared.repository.ReactionRepository;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.shared.search.CursorPage;
+import com.kaleidoscope.backend.shared.search.ElasticsearchCircuitBreaker;
+import com.kaleidoscope.backend.shared.search.LocationIndex;
+import com.kaleidoscope.backend.shared.search.NearbyTileSearch;
+import com.kaleidoscope.backend.shared.search.RecentWritesOverlay;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
+import com.kaleidoscope.backend.shared.search.SearchResultCache;
 import com.kaleidoscope.backend.users.repository.FollowRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PostServiceImpl implements PostService {
 
+    private static final String POST_SEARCH_OPERATION = "post-search";
+
     private final PostRepository postRepository;
-    private final LocationRepository locationRepository;
     private final PostMapper postMapper;
     private final ReactionRepository reactionRepository;
     private final JwtUtils jwtUtils;
@@ -50,7 +64,20 @@ public class PostServiceImpl implements PostService {
     private final PostCommandService postCommandService;
     private final PostViewService postViewService;
     private final PostSearchRepository postSearchRepository;
-    private final StringRedisTemplate stringRedisTemplate;
+    private final ViewedPostExclusionService viewedPostExclusionService;
+    private final SearchResultCache searchResultCache;
+    private final NearbyTileSearch nearbyTileSearch;
+    private final LocationIndex locationIndex;
+    private final ElasticsearchCircuitBreaker elasticsearchCircuitBreaker;
+    private final ReadModelFallbackService readModelFallbackService;
+    private final RecentWritesOverlay recentWritesOverlay;
+    private final PostAccessResolver postAccessResolver;
+
+    @Value("${app.search-cache.post-search.ttl-seconds:30}")
+    private long postSearchCacheTtlSeconds;
+
+    @Value("${app.search-cache.post-search.max-pages:3}")
+    private int postSearchCacheMaxPages;
 
     @Override
     public PostCreationResponseDTO createPost(PostCreateRequestDTO postCreateRequestDTO) {
@@ -123,9 +150,33 @@ public class PostServiceImpl implements PostService {
         return postMapper.toPostDetailDTO(post, currentUserReaction);
     }
 
+    /**
+     * Summaries of several posts for clients rehydrating cached feeds, with the same access
+     * rules as getPostById applied to the whole set and a fixed number of queries. Unlike
+     * getPostById this does not count views.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BatchItemResponseDTO<PostSummaryResponseDTO>> getPostsByIds(List<Long> postIds) {
+        List<Long> ids = postIds.stream().distinct().toList();
+        Long currentUserId = jwtUtils.getUserIdFromContext();
+        PostAccessResolver.Resolution resolution = postAccessResolver.resolve(ids, currentUserId, jwtUtils.isAdminFromContext());
+
+        Map<Long, PostSummaryResponseDTO> summaries = new HashMap<>();
+        for (PostSummaryResponseDTO summary : postMapper.toPostSummaryDTOs(resolution.visible(), currentUserId)) {
+            summaries.put(summary.getPostId(), summary);
+        }
+        log.debug("Batch get of {} posts by user {}: {} visible", ids.size(), currentUserId, summaries.size());
+        return ids.stream()
+                .map(id -> summaries.containsKey(id)
+                        ? BatchItemResponseDTO.ok(id, summaries.get(id))
+                        : BatchItemResponseDTO.<PostSummaryResponseDTO>of(id, resolution.statuses().get(id)))
+                .toList();
+    }
+
     /**
      * Asynchronously track a post view for filtering in suggestions
-     * Stores the viewed post ID in a Redis Set with 7-day expiry
+     * Adds the viewed post ID to the user's day-rotated Bloom filter and recent-view window
      *
      * @param userId The ID of the user who viewed the post
      * @param postId The ID of the post that was viewed
@@ -133,10 +184,8 @@ public class PostServiceImpl implements PostService {
     @org.springframework.scheduling.annotation.Async("taskExecutor")
     public void trackPostViewAsync(Long userId, Long postId) {
         try {
-            String viewedKey = "viewed_posts:" + userId;
-            stringRedisTemplate.opsForSet().add(viewedKey, postId.toString());
-            stringRedisTemplate.expire(viewedKey, 7, TimeUnit.DAYS);
-            log.debug("Tracked viewed post {} for user {} in Redis with 7-day expiry", postId, userId);
+            viewedPostExclusionService.recordView(userId, postId);
+            log.debug("Tracked viewed post {} for user {} in Redis", postId, userId);
         } catch (Exception e) {
             log.error("Failed to track viewed post {} for user {} in Redis: {}", postId, userId, e.getMessage());
             // Don't throw - this is a non-critical feature
@@ -154,13 +203,16 @@ public class PostServiceImpl implements PostService {
             String hashtag,
             Long locationId,
             Long nearbyLocationId,
-            Double radiusKm) {
+            Double radiusKm,
+            String cursor,
+            Boolean pointInTime) {
         log.info(
                 "Filtering posts with Elasticsearch: userId={}, categoryId={}, status={}, visibility={}, query={}, hashtag={}, locationId={}, nearbyLocationId={}, radiusKm={}",
                 userId, categoryId, status, visibility, query, hashtag, locationId, nearbyLocationId, radiusKm);
 
         Long currentUserId = jwtUtils.getUserIdFromContext();
         boolean isAdmin = jwtUtils.isAdminFromContext();
+        SearchCursor searchCursor = SearchCursor.of(cursor, pointInTime);
 
         // For non-admin users, get following IDs for visibility rules
         Set<Long> followingIds = null;
@@ -174,13 +226,13 @@ public class PostServiceImpl implements PostService {
         Double longitude = null;
         if (nearbyLocationId != null) {
             log.debug("Fetching coordinates for nearbyLocationId: {}", nearbyLocationId);
-            Location location = locationRepository.findById(nearbyLocationId)
+            LocationIndex.IndexedLocation location = locationIndex.find(nearbyLocationId)
                     .orElseThrow(
                             () -> new LocationNotFoundException("Location not found with ID: " + nearbyLocationId));
 
-            if (location.getLatitude() != null && location.getLongitude() != null) {
-                latitude = location.getLatitude().doubleValue();
-                longitude = location.getLongitude().doubleValue();
+            if (location.hasCoordinates()) {
+                latitude = location.latitude();
+                longitude = location.longitude();
                 log.info("Using geo-distance query: center=({}, {}), radius={}km", latitude, longitude, radiusKm);
             } else {
                 log.warn("Location {} exists but has no coordinates. Geo-distance query will be skipped.",
@@ -189,27 +241,75 @@ public class PostServiceImpl implements PostService {
         }
 
         // Use the custom Elasticsearch repository method
-        Page<PostDocument> documentPage;
-        try {
-            documentPage = postSearchRepository.findVisibleAndFilteredPosts(
-                    currentUserId,
-                    followingIds,
-                    userId,
-                    categoryId,
-                    status,
-                    visibility,
-                    query,
-                    hashtag,
-                    locationId,
-                    latitude,
-                    longitude,
-                    radiusKm,
-                    pageable);
-        } catch (org.springframework.dao.DataAccessException ex) {
-            log.warn("Post filter ES query failed, returning empty page. reason={}", ex.getMessage());
-            documentPage = org.springframework.data.domain.Page.empty(pageable);
-        }
+        final Set<Long> visibleFollowingIds = followingIds;
+        final Double lat = latitude;
+        final Double lon = longitude;
+        Supplier<Page<PostDocument>> search = () -> postSearchRepository.findVisibleAndFilteredPosts(
+                currentUserId,
+                visibleFollowingIds,
+                userId,
+                categoryId,
+                status,
+                visibility,
+                query,
+                hashtag,
+                locationId,
+                lat,
+                lon,
+                radiusKm,
+                pageable,
+                searchCursor);
 
+        // While Elasticsearch is slow or unavailable, basic text/author searches are served from the read model
+        Page<PostDocument> documentPage = elasticsearchCircuitBreaker.call(POST_SEARCH_OPERATION, () -> {
+            // Pure nearby searches over PUBLISHED + PUBLIC posts are served from shared geo-tile candidates
+            if (lat != null && lon != null && radiusKm != null && radiusKm > 0
+                    && isPureNearbySearch(status, visibility, userId, categoryId, query, hashtag, locationId, searchCursor)) {
+                Page<PostDocument> nearbyPage = nearbyTileSearch.search(SearchResultCache.NEARBY_POSTS_NAMESPACE, lat, lon,
+                        radiusKm, pageable, postSearchRepository::findPublicPostsInTile,
+                        doc -> doc.getLocation() != null ? doc.getLocation().getPoint() : null);
+                if (nearbyPage != null) {
+                    log.debug("Served nearby post search from geo tile cache");
+                    return nearbyPage;
+                }
+            }
+            if (isSharedVisibilityClass(currentUserId, visibleFollowingIds, userId, categoryId, status, visibility,
+                    query, hashtag, locationId, lat, lon, radiusKm, searchCursor, pageable)) {
+                // These results equal the PUBLISHED + PUBLIC results for the filters, so the first pages
+                // are shared by every viewer and loaded with the normalized public filter
+                String cacheKey = String.join("|", "public",
+                        String.valueOf(userId), String.valueOf(categoryId),
+                        query != null ? query.trim().toLowerCase() : "",
+                        hashtag != null ? hashtag.trim() : "",
+                        String.valueOf(locationId), String.valueOf(lat), String.valueOf(lon), String.valueOf(radiusKm),
+                        String.valueOf(pageable.getPageNumber()), String.valueOf(pageable.getPageSize()),
+                        pageable.getSort().toString());
+                return searchResultCache.getOrLoad(SearchResultCache.POST_SEARCH_NAMESPACE, cacheKey,
+                        Set.of(cacheScope(userId, categoryId, hashtag)), Duration.ofSeconds(postSearchCacheTtlSeconds),
+                        () -> postSearchRepository.findVisibleAndFilteredPosts(null, null, userId, categoryId,
+                                PostStatus.PUBLISHED, PostVisibility.PUBLIC, query, hashtag, locationId, lat, lon,
+                                radiusKm, pageable, null));
+            }
+            return search.get();
+        }, () -> {
+            // The read model only filters by author and text; other filters would be silently dropped
+            if (status != null || visibility != null || categoryId != null || (hashtag != null && !hashtag.isBlank())
+                    || locationId != null || lat != null) {
+                log.warn("Elasticsearch unavailable and filters are not supported by the read model, returning an empty page");
+                return Page.<PostDocument>empty(pageable);
+            }
+            return readModelFallbackService.searchPosts(currentUserId, isAdmin, userId, query, pageable);
+        });
+
+
+        // The viewer's freshly created posts are shown on plain listings until ES returns them
+        if (currentUserId != null && (userId == null || userId.equals(currentUserId)) && categoryId == null
+                && (query == null || query.isBlank()) && (hashtag == null || hashtag.isBlank())
+                && locationId == null && lat == null && recentWritesOverlay.appliesTo(pageable, searchCursor)) {
+            documentPage = recentWritesOverlay.mergePosts(currentUserId, documentPage, pageable,
+                    doc -> (status == null || status == doc.getStatus())
+                            && (visibility == null || visibility == doc.getVisibility()));
+        }
 
         // Map PostDocument to PostSummaryResponseDTO using the new overloaded mapper
         // method
@@ -218,6 +318,61 @@ public class PostServiceImpl implements PostService {
         log.info("Elasticsearch query returned {} posts out of {} total",
                 dtoPage.getNumberOfElements(), dtoPage.getTotalElements());
 
-        return PaginatedResponse.fromPage(dtoPage);
+        return PaginatedResponse.fromPage(dtoPage, CursorPage.nextCursorOf(documentPage));
+    }
+
+    private boolean isPureNearbySearch(PostStatus status, PostVisibility visibility, Long userId, Long categoryId,
+                                       String query, String hashtag, Long locationId, SearchCursor searchCursor) {
+        return status == PostStatus.PUBLISHED
+                && visibility == PostVisibility.PUBLIC
+                && userId == null
+                && categoryId == null
+                && (query == null || query.isBlank())
+                && (hashtag == null || hashtag.isBlank())
+                && locationId == null
+                && searchCursor == null;
+    }
+
+    /**
+     * Whether the viewer's results equal the PUBLISHED + PUBLIC results for the filters. Explicit
+     * public filters and anonymous viewers always qualify. Otherwise the default filters qualify
+     * when the viewer's own posts and followed authors' FOLLOWERS posts cannot match, or a
+     * one-hit probe finds none that do.
+     */
+    private boolean isSharedVisibilityClass(Long currentUserId, Set<Long> followingIds, Long userId, Long categoryId,
+                                            PostStatus status, PostVisibility visibility, String query, String hashtag,
+                                            Long locationId, Double lat, Double lon, Double radiusKm,
+                                            SearchCursor searchCursor, Pageable pageable) {
+        if (searchCursor != null || pageable.getPageNumber() >= postSearchCacheMaxPages) {
+            return false;
+        }
+        if ((status != null && status != PostStatus.PUBLISHED) || (visibility != null && visibility != PostVisibility.PUBLIC)) {
+            return false;
+        }
+        if ((status == PostStatus.PUBLISHED && visibility == PostVisibility.PUBLIC) || currentUserId == null) {
+            return true;
+        }
+        boolean ownPostsMatch = userId == null || userId.equals(currentUserId);
+        boolean followedPostsMatch = visibility == null && followingIds != null
+                && (userId == null ? !followingIds.isEmpty() : followingIds.contains(userId));
+        if (!ownPostsMatch && !followedPostsMatch) {
+            return true;
+        }
+        return !postSearchRepository.hasViewerOnlyPosts(currentUserId, followingIds, userId, categoryId, status,
+                visibility, query, hashtag, locationId, lat, lon, radiusKm);
+    }
+
+    // The narrowest filter bounds which post changes can affect a shared page
+    private static String cacheScope(Long userId, Long categoryId, String hashtag) {
+        if (userId != null) {
+            return SearchResultCache.authorScope(userId);
+        }
+        if (categoryId != null) {
+            return SearchResultCache.categoryScope(categoryId);
+        }
+        if (hashtag != null && !hashtag.isBlank()) {
+            return SearchResultCache.hashtagScope(hashtag);
+        }
+        return SearchResultCache.ANY_SCOPE;
     }
 }
@@ -6,21 +6,37 @@ import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
 import com.kaleidoscope.backend.posts.mapper.PostMapper;
 import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
 import com.kaleidoscope.backend.posts.service.PostSuggestionService;
+import com.kaleidoscope.backend.posts.service.ViewedPostExclusionService;
+import com.kaleidoscope.backend.readmodels.service.ReadModelFallbackService;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.shared.search.ElasticsearchCircuitBreaker;
 import com.kaleidoscope.backend.users.document.UserDocument;
 import com.kaleidoscope.backend.users.repository.FollowRepository;
 import com.kaleidoscope.backend.users.repository.search.UserSearchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementation of PostSuggestionService
@@ -31,13 +47,37 @@ import java.util.Set;
 @Slf4j
 public class PostSuggestionServiceImpl implements PostSuggestionService {
 
+    private static final String POST_SUGGESTIONS_OPERATION = "post-suggestions";
+
     private final JwtUtils jwtUtils;
     private final UserSearchRepository userSearchRepository;
     private final FollowRepository followRepository;
     private final PostSearchRepository postSearchRepository;
     private final PostMapper postMapper;
-    private final StringRedisTemplate stringRedisTemplate;
+    private final ViewedPostExclusionService viewedPostExclusionService;
     private final com.kaleidoscope.backend.shared.service.HashtagService hashtagService;
+    private final ElasticsearchCircuitBreaker elasticsearchCircuitBreaker;
+    private final ReadModelFallbackService readModelFallbackService;
+
+    private final ExecutorService suggestionContextExecutor;
+
+    @Value("${app.suggestions.viewed-exclusion.over-fetch-factor:3}")
+    private int overFetchFactor;
+
+    @Value("${app.suggestions.viewed-exclusion.max-candidates:500}")
+    private int maxCandidates;
+
+    @Value("${app.suggestions.context-timeouts.user-document-ms:2500}")
+    private long userDocumentTimeoutMs;
+
+    @Value("${app.suggestions.context-timeouts.following-ms:500}")
+    private long followingTimeoutMs;
+
+    @Value("${app.suggestions.context-timeouts.recently-viewed-ms:200}")
+    private long recentlyViewedTimeoutMs;
+
+    @Value("${app.suggestions.context-timeouts.trending-hashtags-ms:300}")
+    private long trendingHashtagsTimeoutMs;
 
     @Override
     public PaginatedResponse<PostSummaryResponseDTO> getPostSuggestions(Pageable pageable) {
@@ -45,80 +85,185 @@ public class PostSuggestionServiceImpl implements PostSuggestionService {
         Long currentUserId = jwtUtils.getUserIdFromContext();
         log.info("Generating post suggestions for user: {}", currentUserId);
 
-        // 2. Fetch UserDocument for current user to get interests and blocked users
-        Optional<UserDocument> userDocumentOpt = userSearchRepository.findById(String.valueOf(currentUserId));
-        
-        if (userDocumentOpt.isEmpty()) {
+        // 2. Load the independent context lookups concurrently on the bounded context executor; each
+        // falls back to a default on failure or timeout and is cancelled once its budget is spent
+        // A null UserDocument result means Elasticsearch is unavailable; the feed read model stands in
+        long startedAt = System.nanoTime();
+        Lookup<Optional<UserDocument>> userDocumentLookup = fetch("user document", startedAt, userDocumentTimeoutMs, null,
+                () -> elasticsearchCircuitBreaker.call(POST_SUGGESTIONS_OPERATION,
+                        () -> userSearchRepository.findById(String.valueOf(currentUserId)), () -> null));
+        Lookup<Set<Long>> followingIdsLookup = fetch("following ids", startedAt, followingTimeoutMs, Collections.emptySet(),
+                () -> followRepository.findFollowingIdsByFollowerId(currentUserId));
+        Lookup<List<Long>> recentlyViewedLookup = fetch("recently viewed posts", startedAt, recentlyViewedTimeoutMs,
+                Collections.emptyList(), () -> viewedPostExclusionService.getRecentlyViewedPostIds(currentUserId));
+        Lookup<List<String>> trendingHashtagsLookup = fetch("trending hashtags", startedAt, trendingHashtagsTimeoutMs,
+                Collections.emptyList(), this::loadTrendingHashtagNames);
+
+        Optional<UserDocument> userDocumentOpt = userDocumentLookup.join();
+        if (userDocumentOpt == null || userDocumentOpt.isEmpty()) {
+            followingIdsLookup.cancel();
+            recentlyViewedLookup.cancel();
+            trendingHashtagsLookup.cancel();
+            if (userDocumentOpt == null) {
+                return toResponse(fillPage(currentUserId, pageable,
+                        candidates -> readModelFallbackService.feed(currentUserId, candidates)));
+            }
             log.warn("UserDocument not found for userId: {}. Returning empty suggestions.", currentUserId);
             return PaginatedResponse.fromPage(Page.empty(pageable));
         }
 
         UserDocument userDocument = userDocumentOpt.get();
-        
+
         // 3. Extract user context data
         List<Long> interestIds = userDocument.getInterests() != null ? userDocument.getInterests() : Collections.emptyList();
         List<Long> blockedUserIds = userDocument.getBlockedUserIds() != null ? userDocument.getBlockedUserIds() : Collections.emptyList();
         List<Long> blockedByUserIds = userDocument.getBlockedByUserIds() != null ? userDocument.getBlockedByUserIds() : Collections.emptyList();
-        
-        log.debug("User context - Interests: {}, Blocked users: {}, Blocked by: {}", 
+
+        log.debug("User context - Interests: {}, Blocked users: {}, Blocked by: {}",
                   interestIds.size(), blockedUserIds.size(), blockedByUserIds.size());
 
-        // 4. Get following IDs from FollowRepository
-        Set<Long> followingIds = followRepository.findFollowingIdsByFollowerId(currentUserId);
-        log.debug("User is following {} users", followingIds.size());
+        // 4. Following IDs, the bounded recent-view window and trending hashtags (already in flight)
+        Set<Long> followingIds = followingIdsLookup.join();
+        List<Long> excludedPostIds = recentlyViewedLookup.join();
+        List<String> boostedHashtags = trendingHashtagsLookup.join();
+        log.debug("User {} context - following: {}, recently viewed: {}, trending hashtags: {}",
+                currentUserId, followingIds.size(), excludedPostIds.size(), boostedHashtags.size());
 
-        // 5. Fetch viewed post IDs from Redis to filter them out of suggestions
-        Set<String> viewedPostIds;
-        try {
-            String viewedKey = "viewed_posts:" + currentUserId;
-            viewedPostIds = stringRedisTemplate.opsForSet().members(viewedKey);
-            if (viewedPostIds == null) {
-                viewedPostIds = Collections.emptySet();
+        // 5. Query suggestions with the recent views as must_not and the trending hashtags boosted,
+        // refilling the page from further candidates when older views are filtered out
+        Page<PostDocument> postDocuments = fillPage(currentUserId, pageable,
+                candidates -> elasticsearchCircuitBreaker.call(POST_SUGGESTIONS_OPERATION,
+                        () -> postSearchRepository.findPostSuggestions(
+                                currentUserId,
+                                followingIds,
+                                interestIds,
+                                blockedUserIds,
+                                blockedByUserIds,
+                                excludedPostIds,
+                                boostedHashtags,
+                                candidates
+                        ),
+                        () -> readModelFallbackService.feed(currentUserId, candidates)));
+
+        log.info("Found {} post suggestions for user {}", postDocuments.getTotalElements(), currentUserId);
+
+        return toResponse(postDocuments);
+    }
+
+    /**
+     * Trending hashtags are served from the in-memory trending engine.
+     */
+    private List<String> loadTrendingHashtagNames() {
+        return hashtagService.getTrendingHashtags(PageRequest.of(0, 10))
+                .stream()
+                .map(com.kaleidoscope.backend.shared.model.Hashtag::getName)
+                .toList();
+    }
+
+    private <T> Lookup<T> fetch(String dependency, long startedAt, long timeoutMs, T defaultValue, Supplier<T> loader) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Future<T> future = suggestionContextExecutor.submit(() -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
             }
-            log.info("Retrieved {} viewed post IDs from Redis for user {}", viewedPostIds.size(), currentUserId);
-        } catch (Exception e) {
-            log.error("Failed to fetch viewed post IDs from Redis for user {}: {}", currentUserId, e.getMessage());
-            viewedPostIds = Collections.emptySet();
-        }
+            try {
+                return loader.get();
+            } finally {
+                MDC.clear();
+            }
+        });
+        return new Lookup<>(dependency, future, startedAt + TimeUnit.MILLISECONDS.toNanos(timeoutMs), timeoutMs, defaultValue);
+    }
 
-        // 6. Fetch trending hashtags to boost in suggestions
-        List<String> trendingHashtagNames;
-        try {
-            trendingHashtagNames = hashtagService.getTrendingHashtags(org.springframework.data.domain.PageRequest.of(0, 10))
-                    .stream()
-                    .map(com.kaleidoscope.backend.shared.model.Hashtag::getName)
-                    .collect(java.util.stream.Collectors.toList());
-            log.info("Retrieved {} trending hashtags for boosting suggestions", trendingHashtagNames.size());
-        } catch (Exception e) {
-            log.error("Failed to fetch trending hashtags: {}", e.getMessage());
-            trendingHashtagNames = Collections.emptyList();
-        }
+    /**
+     * A context lookup in flight. The budget runs from the start of the request, so lookups
+     * joined one after another still wait at most as long as the slowest budget; a lookup that
+     * misses it is cancelled with an interrupt rather than left running.
+     */
+    private record Lookup<T>(String dependency, Future<T> future, long deadline, long timeoutMs, T defaultValue) {
 
-        // 7. Call repository method to find post suggestions with viewed posts filter and trending hashtags
-        Page<PostDocument> postDocuments;
-        try {
-            postDocuments = postSearchRepository.findPostSuggestions(
-                    currentUserId,
-                    followingIds,
-                    interestIds,
-                    blockedUserIds,
-                    blockedByUserIds,
-                    viewedPostIds,
-                    trendingHashtagNames,
-                    pageable
-            );
-        } catch (org.springframework.dao.DataAccessException ex) {
-            log.warn("Post suggestions query failed, returning empty page. userId={}, reason={}",
-                    currentUserId, ex.getMessage());
-            postDocuments = Page.empty(pageable);
+        T join() {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("[PostSuggestionService] Timed out after {}ms loading {}, using default", timeoutMs, dependency);
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("[PostSuggestionService] Failed to load {}, using default: {}", dependency, cause.getMessage());
+            }
+            return defaultValue;
         }
 
-        log.info("Found {} post suggestions for user {}", postDocuments.getTotalElements(), currentUserId);
+        void cancel() {
+            future.cancel(true);
+        }
+    }
 
-        // 8. Map PostDocument to PostSummaryResponseDTO
+    private PaginatedResponse<PostSummaryResponseDTO> toResponse(Page<PostDocument> postDocuments) {
+        // 6. Map PostDocument to PostSummaryResponseDTO
         Page<PostSummaryResponseDTO> postSummaries = postDocuments.map(postMapper::toPostSummaryDTO);
 
-        // 9. Return paginated response
+        // 7. Return paginated response
         return PaginatedResponse.fromPage(postSummaries);
     }
+
+    /**
+     * Builds the requested page from candidates with posts viewed outside the recent window
+     * removed (one SMISMEMBER per candidate chunk). Candidates are read from the top in chunks of
+     * over-fetch-factor pages until the page is filled, the source is exhausted or max-candidates
+     * were scanned. The total is exact once the source is exhausted; otherwise it is the source
+     * total minus the views found so far.
+     */
+    private Page<PostDocument> fillPage(Long userId, Pageable pageable, Function<Pageable, Page<PostDocument>> source) {
+        int chunkSize = pageable.getPageSize() * Math.max(1, overFetchFactor);
+        long wanted = pageable.getOffset() + pageable.getPageSize();
+        Map<Long, PostDocument> kept = new LinkedHashMap<>();
+        long excluded = 0;
+        long sourceTotal = 0;
+        boolean exhausted = false;
+        for (int chunk = 0; kept.size() < wanted; chunk++) {
+            if ((long) chunk * chunkSize >= maxCandidates) {
+                break;
+            }
+            Page<PostDocument> candidates = source.apply(PageRequest.of(chunk, chunkSize, pageable.getSort()));
+            sourceTotal = candidates.getTotalElements();
+            Set<Long> viewed = findOlderViews(userId, candidates.getContent());
+            for (PostDocument candidate : candidates.getContent()) {
+                if (viewed.contains(candidate.getPostId())) {
+                    excluded++;
+                } else {
+                    kept.putIfAbsent(candidate.getPostId(), candidate);
+                }
+            }
+            if (!candidates.hasNext()) {
+                exhausted = true;
+                break;
+            }
+        }
+        if (excluded > 0) {
+            log.debug("Excluded {} previously viewed posts from suggestions for user {}", excluded, userId);
+        }
+
+        List<PostDocument> ordered = new ArrayList<>(kept.values());
+        int from = (int) Math.min(pageable.getOffset(), ordered.size());
+        int to = (int) Math.min(wanted, ordered.size());
+        long total = exhausted ? ordered.size() : Math.max(ordered.size(), sourceTotal - excluded);
+        return new PageImpl<>(ordered.subList(from, to), pageable, total);
+    }
+
+    private Set<Long> findOlderViews(Long userId, List<PostDocument> candidates) {
+        if (candidates.isEmpty()) {
+            return Collections.emptySet();
+        }
+        try {
+            return viewedPostExclusionService.findViewed(userId, candidates.stream().map(PostDocument::getPostId).toList());
+        } catch (Exception e) {
+            log.error("Failed to check viewed posts in Redis for user {}: {}", userId, e.getMessage());
+            return Collections.emptySet();
+        }
+    }
 }
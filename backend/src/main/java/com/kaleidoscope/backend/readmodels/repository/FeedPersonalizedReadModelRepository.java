@@ -2,6 +2,8 @@ package com.kaleidoscope.backend.readmodels.repository;
 
 import com.kaleidoscope.backend.readmodels.model.FeedPersonalizedReadModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,5 +15,36 @@ public interface FeedPersonalizedReadModelRepository extends JpaRepository<FeedP
     Optional<FeedPersonalizedReadModel> findByMediaId(Long mediaId);
 
     List<FeedPersonalizedReadModel> findByPostId(Long postId);
-}
 
+    /**
+     * Degraded-mode feed used while Elasticsearch is unavailable: one row per published post the
+     * viewer may see, excluding their own posts and blocks in either direction, ranked by the
+     * best media score and then recency.
+     * Columns: post_id, title, summary, visibility, uploader_id, uploader_username,
+     * reaction_count, comment_count, created_at, status, thumbnail_url
+     */
+    @Query(value = """
+            SELECT p.post_id, p.title, p.summary, p.visibility, f.uploader_id, f.uploader_username,
+                   MAX(f.reaction_count), MAX(f.comment_count), p.created_at, p.status, MIN(f.media_url)
+            FROM read_model_feed_personalized f
+            JOIN posts p ON p.post_id = f.post_id
+            WHERE p.deleted_at IS NULL
+              AND p.status = 'PUBLISHED'
+              AND p.user_id <> :viewerId
+              AND (f.expires_at IS NULL OR f.expires_at > NOW())
+              AND (f.target_user_id IS NULL OR f.target_user_id = :viewerId)
+              AND (p.visibility = 'PUBLIC'
+                   OR (p.visibility = 'FOLLOWERS' AND EXISTS (
+                       SELECT 1 FROM follows fo WHERE fo.follower_id = :viewerId AND fo.following_id = p.user_id)))
+              AND NOT EXISTS (
+                  SELECT 1 FROM user_blocks ub
+                  WHERE (ub.blocker_id = :viewerId AND ub.blocked_id = p.user_id)
+                     OR (ub.blocker_id = p.user_id AND ub.blocked_id = :viewerId))
+            GROUP BY p.post_id, p.title, p.summary, p.visibility, f.uploader_id, f.uploader_username, p.created_at, p.status
+            ORDER BY MAX(f.combined_score) DESC NULLS LAST, p.created_at DESC
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Object[]> findFeedForViewer(@Param("viewerId") Long viewerId,
+                                     @Param("limit") int limit,
+                                     @Param("offset") long offset);
+}
@@ -2,9 +2,46 @@ package com.kaleidoscope.backend.readmodels.repository;
 
 import com.kaleidoscope.backend.readmodels.model.PostSearchReadModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface PostSearchReadModelRepository extends JpaRepository<PostSearchReadModel, Long> {
-}
 
+    /**
+     * Degraded-mode post search used while Elasticsearch is unavailable. Matches the text against
+     * the denormalized read model and applies the same owner/public/followers visibility rules as
+     * the ES query by joining posts and follows.
+     * Columns: post_id, title, summary, visibility, author_id, author_username,
+     * total_reactions, total_comments, created_at, status
+     */
+    @Query(value = """
+            SELECT r.post_id, r.title, p.summary, p.visibility, r.author_id, r.author_username,
+                   r.total_reactions, r.total_comments, p.created_at, p.status
+            FROM read_model_post_search r
+            JOIN posts p ON p.post_id = r.post_id
+            WHERE p.deleted_at IS NULL
+              AND (CAST(:authorId AS BIGINT) IS NULL OR r.author_id = :authorId)
+              AND (CAST(:query AS TEXT) IS NULL
+                   OR r.title ILIKE CONCAT('%', CAST(:query AS TEXT), '%')
+                   OR r.body ILIKE CONCAT('%', CAST(:query AS TEXT), '%')
+                   OR r.all_ai_tags ILIKE CONCAT('%', CAST(:query AS TEXT), '%')
+                   OR r.inferred_tags ILIKE CONCAT('%', CAST(:query AS TEXT), '%'))
+              AND (:isAdmin = TRUE
+                   OR p.user_id = :viewerId
+                   OR (p.status = 'PUBLISHED' AND (p.visibility = 'PUBLIC'
+                       OR (p.visibility = 'FOLLOWERS' AND EXISTS (
+                           SELECT 1 FROM follows f WHERE f.follower_id = :viewerId AND f.following_id = p.user_id)))))
+            ORDER BY p.created_at DESC, r.post_id DESC
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Object[]> searchVisiblePosts(@Param("viewerId") Long viewerId,
+                                      @Param("isAdmin") boolean isAdmin,
+                                      @Param("authorId") Long authorId,
+                                      @Param("query") String query,
+                                      @Param("limit") int limit,
+                                      @Param("offset") long offset);
+}
@@ -0,0 +1,95 @@
+package com.kaleidoscope.backend.readmodels.service;
+
+import com.kaleidoscope.backend.posts.document.PostDocument;
+import com.kaleidoscope.backend.posts.enums.PostStatus;
+import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.readmodels.repository.FeedPersonalizedReadModelRepository;
+import com.kaleidoscope.backend.readmodels.repository.PostSearchReadModelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Degraded-mode reads served from the PostgreSQL read models while Elasticsearch is
+ * unavailable. Results are shaped as PostDocuments so callers can keep their regular
+ * mapping; only basic text/author filtering is supported and totals are approximate
+ * (one past the current page when more results exist).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReadModelFallbackService {
+
+    private final PostSearchReadModelRepository postSearchReadModelRepository;
+    private final FeedPersonalizedReadModelRepository feedPersonalizedReadModelRepository;
+
+    @Transactional(readOnly = true)
+    public Page<PostDocument> searchPosts(Long currentUserId, boolean isAdmin, Long authorId, String query,
+                                          Pageable pageable) {
+        String text = query != null && !query.isBlank() ? query.trim() : null;
+        List<Object[]> rows = postSearchReadModelRepository.searchVisiblePosts(
+                currentUserId, isAdmin, authorId, text, pageable.getPageSize() + 1, pageable.getOffset());
+        log.info("[ReadModelFallbackService] Served post search from read_model_post_search: {} rows for query '{}'",
+                Math.min(rows.size(), pageable.getPageSize()), text);
+        return toPage(rows, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PostDocument> feed(Long currentUserId, Pageable pageable) {
+        List<Object[]> rows = feedPersonalizedReadModelRepository.findFeedForViewer(
+                currentUserId, pageable.getPageSize() + 1, pageable.getOffset());
+        log.info("[ReadModelFallbackService] Served feed from read_model_feed_personalized: {} rows for user {}",
+                Math.min(rows.size(), pageable.getPageSize()), currentUserId);
+        return toPage(rows, pageable);
+    }
+
+    private Page<PostDocument> toPage(List<Object[]> rows, Pageable pageable) {
+        boolean hasMore = rows.size() > pageable.getPageSize();
+        List<PostDocument> documents = new ArrayList<>(Math.min(rows.size(), pageable.getPageSize()));
+        for (Object[] row : rows.subList(0, Math.min(rows.size(), pageable.getPageSize()))) {
+            Long postId = ((Number) row[0]).longValue();
+            documents.add(PostDocument.builder()
+                    .id(postId.toString())
+                    .postId(postId)
+                    .title((String) row[1])
+                    .summary((String) row[2])
+                    .visibility(row[3] != null ? PostVisibility.valueOf(row[3].toString()) : null)
+                    .status(row[9] != null ? PostStatus.valueOf(row[9].toString()) : null)
+                    .author(PostDocument.Author.builder()
+                            .userId(((Number) row[4]).longValue())
+                            .username((String) row[5])
+                            .build())
+                    .reactionCount(row[6] != null ? ((Number) row[6]).longValue() : 0L)
+                    .commentCount(row[7] != null ? ((Number) row[7]).longValue() : 0L)
+                    .createdAt(toLocalDateTime(row[8]))
+                    .thumbnailUrl(row.length > 10 ? (String) row[10] : null)
+                    .build());
+        }
+        long total = pageable.getOffset() + documents.size() + (hasMore ? 1 : 0);
+        return new PageImpl<>(documents, pageable, total);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof Instant instant) {
+            return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        return null;
+    }
+}
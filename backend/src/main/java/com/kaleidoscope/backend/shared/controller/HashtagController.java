@@ -31,11 +31,12 @@ public class HashtagController implements HashtagApi {
     @Override
     @GetMapping(HashtagRoutes.TRENDING)
     public ResponseEntity<AppResponse<PaginatedResponse<HashtagResponseDTO>>> getTrendingHashtags(
+            @RequestParam(defaultValue = "1h") String window,
             @PageableDefault(size = 20) Pageable pageable) {
         
-        log.info("Fetching trending hashtags with pagination: {}", pageable);
+        log.info("Fetching trending hashtags for window {} with pagination: {}", window, pageable);
 
-        Page<Hashtag> trendingHashtagsPage = hashtagService.getTrendingHashtags(pageable);
+        Page<Hashtag> trendingHashtagsPage = hashtagService.getTrendingHashtags(window, pageable);
         Page<HashtagResponseDTO> responseDTOPage = trendingHashtagsPage.map(hashtagMapper::toResponseDTO);
         PaginatedResponse<HashtagResponseDTO> paginatedResponse = PaginatedResponse.fromPage(responseDTOPage);
 
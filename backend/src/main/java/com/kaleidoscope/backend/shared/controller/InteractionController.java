@@ -0,0 +1,42 @@
+package com.kaleidoscope.backend.shared.controller;
+
+import com.kaleidoscope.backend.shared.controller.api.InteractionApi;
+import com.kaleidoscope.backend.shared.dto.request.ReactionSummaryBatchRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
+import com.kaleidoscope.backend.shared.dto.response.ReactionResponseDTO;
+import com.kaleidoscope.backend.shared.response.AppResponse;
+import com.kaleidoscope.backend.shared.routes.InteractionRoutes;
+import com.kaleidoscope.backend.shared.service.InteractionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class InteractionController implements InteractionApi {
+
+    private final InteractionService interactionService;
+
+    @Override
+    @PostMapping(InteractionRoutes.REACTION_SUMMARIES_BATCH)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<List<BatchItemResponseDTO<ReactionResponseDTO>>>> getReactionSummaries(
+            @Valid @RequestBody ReactionSummaryBatchRequestDTO requestDTO) {
+        log.debug("Batch reaction summaries for {} {} items", requestDTO.ids().size(), requestDTO.contentType());
+        List<BatchItemResponseDTO<ReactionResponseDTO>> summaries =
+                interactionService.getReactionSummaries(requestDTO.contentType(), requestDTO.ids());
+        return ResponseEntity.ok(AppResponse.<List<BatchItemResponseDTO<ReactionResponseDTO>>>builder()
+                .success(true)
+                .message("Reaction summaries retrieved successfully")
+                .data(summaries)
+                .build());
+    }
+}
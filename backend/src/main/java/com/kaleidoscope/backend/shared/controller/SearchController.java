@@ -0,0 +1,40 @@
+package com.kaleidoscope.backend.shared.controller;
+
+import com.kaleidoscope.backend.shared.controller.api.SearchApi;
+import com.kaleidoscope.backend.shared.dto.response.FederatedSearchResponseDTO;
+import com.kaleidoscope.backend.shared.response.AppResponse;
+import com.kaleidoscope.backend.shared.routes.SearchRoutes;
+import com.kaleidoscope.backend.shared.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController implements SearchApi {
+
+    private final SearchService searchService;
+
+    @Override
+    @GetMapping(SearchRoutes.FEDERATED_SEARCH)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<FederatedSearchResponseDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer postsLimit,
+            @RequestParam(required = false) Integer blogsLimit,
+            @RequestParam(required = false) Integer usersLimit,
+            @RequestParam(required = false) Integer hashtagsLimit) {
+        log.debug("Federated search for query: {}", q);
+        FederatedSearchResponseDTO response = searchService.search(q, postsLimit, blogsLimit, usersLimit, hashtagsLimit);
+        return ResponseEntity.ok(AppResponse.<FederatedSearchResponseDTO>builder()
+                .success(true)
+                .message(response.partial() ? "Search results retrieved partially" : "Search results retrieved successfully")
+                .data(response)
+                .build());
+    }
+}
@@ -18,6 +18,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @Slf4j
@@ -30,9 +32,11 @@ public class UserTagController implements UserTagApi {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<AppResponse<PaginatedResponse<UserDetailsSummaryResponseDTO>>> getTaggableUsers(
             @RequestParam(required = false) String q,
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean pit) {
         log.info("Getting taggable users with query: {}", q);
-        PaginatedResponse<UserDetailsSummaryResponseDTO> response = userTagService.findTaggableUsers(q, pageable);
+        PaginatedResponse<UserDetailsSummaryResponseDTO> response = userTagService.findTaggableUsers(q, pageable, cursor, pit);
         return ResponseEntity.ok(AppResponse.<PaginatedResponse<UserDetailsSummaryResponseDTO>>builder()
                 .success(true)
                 .message("Taggable users retrieved successfully")
@@ -40,6 +44,21 @@ public class UserTagController implements UserTagApi {
                 .build());
     }
 
+    @Override
+    @GetMapping(UserTagRoutes.TYPEAHEAD_USERS)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<List<UserDetailsSummaryResponseDTO>>> getTypeaheadUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Getting typeahead users for prefix: {}", q);
+        List<UserDetailsSummaryResponseDTO> response = userTagService.getTypeaheadUsers(q, limit);
+        return ResponseEntity.ok(AppResponse.<List<UserDetailsSummaryResponseDTO>>builder()
+                .success(true)
+                .message("Typeahead users retrieved successfully")
+                .data(response)
+                .build());
+    }
+
     @Override
     @PostMapping(UserTagRoutes.CREATE_TAG)
     @PreAuthorize("isAuthenticated()")
@@ -16,14 +16,17 @@ public interface HashtagApi {
 
     @Operation(
             summary = "Get trending hashtags",
-            description = "Retrieves a list of hashtags ordered by usage count (most popular first). " +
+            description = "Retrieves hashtags ordered by time-decayed recent usage within the window " +
+                    "(fastest rising first). Falls back to all-time usage count when there is no recent usage. " +
                     "Supports pagination to limit the number of results returned."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Trending hashtags retrieved successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid pagination parameters")
+            @ApiResponse(responseCode = "400", description = "Invalid window or pagination parameters")
     })
     ResponseEntity<AppResponse<PaginatedResponse<HashtagResponseDTO>>> getTrendingHashtags(
+            @Parameter(description = "Trending window: '1h' (default) or '24h'")
+            String window,
             @Parameter(hidden = true) Pageable pageable
     );
 
@@ -0,0 +1,32 @@
+package com.kaleidoscope.backend.shared.controller.api;
+
+import com.kaleidoscope.backend.shared.dto.request.ReactionSummaryBatchRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
+import com.kaleidoscope.backend.shared.dto.response.ReactionResponseDTO;
+import com.kaleidoscope.backend.shared.response.AppResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+@Tag(name = "Interactions", description = "Interaction reads across content types")
+public interface InteractionApi {
+
+    @Operation(
+            summary = "Get reaction summaries by IDs",
+            description = "Returns the reaction counts and the viewer's reaction for up to 100 posts, blogs or comments " +
+                    "in request order, each with its own status: OK, NOT_FOUND (missing, or hidden by a block) or FORBIDDEN."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reaction summaries retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    ResponseEntity<AppResponse<List<BatchItemResponseDTO<ReactionResponseDTO>>>> getReactionSummaries(
+            @Valid @RequestBody ReactionSummaryBatchRequestDTO requestDTO);
+}
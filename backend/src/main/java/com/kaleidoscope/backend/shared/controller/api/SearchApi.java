@@ -0,0 +1,32 @@
+package com.kaleidoscope.backend.shared.controller.api;
+
+import com.kaleidoscope.backend.shared.dto.response.FederatedSearchResponseDTO;
+import com.kaleidoscope.backend.shared.response.AppResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Tag(name = "Search", description = "Global search across posts, blogs, users and hashtags")
+public interface SearchApi {
+
+    @Operation(
+            summary = "Federated search",
+            description = "Searches posts, blogs, users and hashtags in one request. " +
+                    "Results are grouped per section; partial is true when a section failed or timed out."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    ResponseEntity<AppResponse<FederatedSearchResponseDTO>> search(
+            @Parameter(description = "Search text", required = true) @RequestParam String q,
+            @Parameter(description = "Maximum posts (0 skips the section)") @RequestParam(required = false) Integer postsLimit,
+            @Parameter(description = "Maximum blogs (0 skips the section)") @RequestParam(required = false) Integer blogsLimit,
+            @Parameter(description = "Maximum users (0 skips the section)") @RequestParam(required = false) Integer usersLimit,
+            @Parameter(description = "Maximum hashtags (0 skips the section)") @RequestParam(required = false) Integer hashtagsLimit
+    );
+}
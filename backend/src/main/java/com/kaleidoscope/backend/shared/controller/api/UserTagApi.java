@@ -18,6 +18,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 @Tag(name = "User Tagging", description = "User tagging management APIs")
 public interface UserTagApi {
 
@@ -28,7 +30,19 @@ public interface UserTagApi {
     })
     ResponseEntity<AppResponse<PaginatedResponse<UserDetailsSummaryResponseDTO>>> getTaggableUsers(
             @Parameter(description = "Search query for username/email") @RequestParam(required = false) String q,
-            Pageable pageable
+            Pageable pageable,
+            @Parameter(description = "Opaque nextCursor from a previous response; continues with search_after") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Pin cursor pagination to a point-in-time snapshot") @RequestParam(required = false) Boolean pit
+    );
+
+    @Operation(summary = "User typeahead", description = "Prefix suggestions for mentions, ranked by follow proximity and follower count")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    ResponseEntity<AppResponse<List<UserDetailsSummaryResponseDTO>>> getTypeaheadUsers(
+            @Parameter(description = "Username prefix typed so far") @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") int limit
     );
 
     @Operation(summary = "Create user tag", description = "Tag a user in specific content")
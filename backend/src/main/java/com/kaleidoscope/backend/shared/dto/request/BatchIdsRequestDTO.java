@@ -0,0 +1,14 @@
+package com.kaleidoscope.backend.shared.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchIdsRequestDTO(
+    @NotEmpty
+    @Size(max = 100, message = "At most 100 ids per batch")
+    List<@NotNull Long> ids
+) {
+}
@@ -8,6 +8,9 @@ public record CommentCreateRequestDTO(
     @NotBlank
     String body,
 
-    Set<Long> taggedUserIds
+    Set<Long> taggedUserIds,
+
+    // Comment to reply to; replies to a reply join the top-level comment's thread
+    Long parentCommentId
 ) {
 }
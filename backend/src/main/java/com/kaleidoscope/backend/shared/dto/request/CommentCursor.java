@@ -0,0 +1,36 @@
+package com.kaleidoscope.backend.shared.dto.request;
+
+import com.kaleidoscope.backend.shared.exception.other.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in a comment listing: the (createdAt, commentId) of the last comment of the
+ * previous page, handed to clients as an opaque URL-safe token.
+ */
+public record CommentCursor(LocalDateTime createdAt, Long commentId) {
+
+    /**
+     * @return the decoded cursor, or null for the first page
+     */
+    public static CommentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new CommentCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (Exception e) {
+            throw new InvalidCursorException("Malformed comment cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + commentId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,17 @@
+package com.kaleidoscope.backend.shared.dto.response;
+
+import com.kaleidoscope.backend.shared.enums.BatchItemStatus;
+
+/**
+ * One entry of a batch read, in request order; data is set only when the status is OK.
+ */
+public record BatchItemResponseDTO<T>(Long id, BatchItemStatus status, T data) {
+
+    public static <T> BatchItemResponseDTO<T> ok(Long id, T data) {
+        return new BatchItemResponseDTO<>(id, BatchItemStatus.OK, data);
+    }
+
+    public static <T> BatchItemResponseDTO<T> of(Long id, BatchItemStatus status) {
+        return new BatchItemResponseDTO<>(id, status, null);
+    }
+}
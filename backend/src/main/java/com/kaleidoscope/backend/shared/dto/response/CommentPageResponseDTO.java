@@ -0,0 +1,8 @@
+package com.kaleidoscope.backend.shared.dto.response;
+
+import java.util.List;
+
+/**
+ * One keyset page of comments; there is no total count. nextCursor is null when hasMore is false.
+ */
+public record CommentPageResponseDTO(List<CommentResponseDTO> content, String nextCursor, boolean hasMore) {}
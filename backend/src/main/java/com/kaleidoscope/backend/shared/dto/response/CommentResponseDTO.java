@@ -3,10 +3,12 @@ package com.kaleidoscope.backend.shared.dto.response;
 import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
 import com.kaleidoscope.backend.shared.enums.CommentStatus;
 import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 @Data
@@ -21,4 +23,10 @@ public class CommentResponseDTO {
     private LocalDateTime updatedAt;
     private UserDetailsSummaryResponseDTO author;
     private Set<UserTagResponseDTO> tags;
+    private Long parentCommentId;
+    private long reactionCount;
+    private ReactionType currentUserReaction;
+    // Top-level comments in thread listings only
+    private Long replyCount;
+    private List<CommentResponseDTO> replies;
 }
\ No newline at end of file
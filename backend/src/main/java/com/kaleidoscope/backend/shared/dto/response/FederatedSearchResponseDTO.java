@@ -0,0 +1,21 @@
+package com.kaleidoscope.backend.shared.dto.response;
+
+import com.kaleidoscope.backend.blogs.dto.response.BlogSummaryResponseDTO;
+import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
+import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
+
+import java.util.List;
+
+/**
+ * Grouped results of the global search box. When partial is true the sections named in
+ * incompleteSections failed or timed out and may be empty or truncated.
+ */
+public record FederatedSearchResponseDTO(
+        List<PostSummaryResponseDTO> posts,
+        List<BlogSummaryResponseDTO> blogs,
+        List<UserDetailsSummaryResponseDTO> users,
+        List<HashtagResponseDTO> hashtags,
+        boolean partial,
+        List<String> incompleteSections
+) {
+}
@@ -0,0 +1,11 @@
+package com.kaleidoscope.backend.shared.enums;
+
+/**
+ * Outcome of one id in a batch read. Items hidden by a block relationship are reported as
+ * NOT_FOUND, the same as missing ones.
+ */
+public enum BatchItemStatus {
+    OK,
+    NOT_FOUND,
+    FORBIDDEN
+}
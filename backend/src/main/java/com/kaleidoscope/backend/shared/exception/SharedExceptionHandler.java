@@ -5,22 +5,63 @@ import com.kaleidoscope.backend.shared.exception.Image.SignatureGenerationExcept
 import com.kaleidoscope.backend.shared.exception.categoryException.CategoryAlreadyExistsException;
 import com.kaleidoscope.backend.shared.exception.categoryException.CategoryNotFoundException;
 import com.kaleidoscope.backend.shared.exception.other.HashTagNotFoundException;
+import com.kaleidoscope.backend.shared.exception.other.InvalidCursorException;
+import com.kaleidoscope.backend.shared.exception.other.InvalidTrendingWindowException;
+import com.kaleidoscope.backend.shared.exception.other.UnsupportedContentTypeException;
 import com.kaleidoscope.backend.shared.exception.userTags.TagNotFoundException;
 import com.kaleidoscope.backend.shared.exception.userTags.UserTaggingException;
 import com.kaleidoscope.backend.shared.response.AppResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @RestControllerAdvice(basePackages = "com.kaleidoscope.backend.shared")
 @Component("sharedExceptionHandler")
 public class SharedExceptionHandler {
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<AppResponse<Object>> handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        AppResponse<Object> response = AppResponse.error(
+                "Invalid cursor",
+                ex.getMessage(),
+                path
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidTrendingWindowException.class)
+    public ResponseEntity<AppResponse<Object>> handleInvalidTrendingWindowException(InvalidTrendingWindowException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        AppResponse<Object> response = AppResponse.error(
+                "Invalid trending window",
+                ex.getMessage(),
+                path
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UnsupportedContentTypeException.class)
+    public ResponseEntity<AppResponse<Object>> handleUnsupportedContentTypeException(UnsupportedContentTypeException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        AppResponse<Object> response = AppResponse.error(
+                "Unsupported content type",
+                ex.getMessage(),
+                path
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ImageStorageException.class)
     public ResponseEntity<AppResponse<Object>> handleImageStorageException(ImageStorageException ex, WebRequest request) {
         String path = ((ServletWebRequest) request).getRequest().getRequestURI();
@@ -101,6 +142,32 @@ public class SharedExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.METHOD_NOT_ALLOWED);
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<AppResponse<Object>> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        AppResponse<Object> response = AppResponse.error(
+                "Invalid request format",
+                "Request body is missing or malformed JSON",
+                path
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<AppResponse<Object>> handleValidationException(MethodArgumentNotValidException ex, WebRequest request) {
+        String path = ((ServletWebRequest) request).getRequest().getRequestURI();
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+        );
+        AppResponse<Object> response = AppResponse.error(
+                "Validation failed",
+                "Validation failed: " + errors,
+                path
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<AppResponse<Object>> handleGenericException(Exception ex, WebRequest request) {
         String path = ((ServletWebRequest) request).getRequest().getRequestURI();
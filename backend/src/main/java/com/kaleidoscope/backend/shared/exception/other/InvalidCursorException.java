@@ -0,0 +1,8 @@
+package com.kaleidoscope.backend.shared.exception.other;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
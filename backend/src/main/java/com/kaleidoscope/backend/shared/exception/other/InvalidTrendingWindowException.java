@@ -0,0 +1,8 @@
+package com.kaleidoscope.backend.shared.exception.other;
+
+public class InvalidTrendingWindowException extends RuntimeException {
+
+    public InvalidTrendingWindowException(String message) {
+        super(message);
+    }
+}
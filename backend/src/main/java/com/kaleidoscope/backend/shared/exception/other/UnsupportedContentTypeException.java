@@ -0,0 +1,8 @@
+package com.kaleidoscope.backend.shared.exception.other;
+
+public class UnsupportedContentTypeException extends RuntimeException {
+
+    public UnsupportedContentTypeException(String message) {
+        super(message);
+    }
+}
@@ -11,13 +11,17 @@ import org.springframework.stereotype.Component;
 import com.kaleidoscope.backend.shared.dto.response.UserTagResponseDTO;
 
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 @Component
 public class InteractionMapper {
     public CommentResponseDTO toCommentDTO(Comment comment, Set<UserTagResponseDTO> tags) {
+        return toCommentDTO(comment, tags, 0L, null);
+    }
+
+    public CommentResponseDTO toCommentDTO(Comment comment, Set<UserTagResponseDTO> tags,
+                                           long reactionCount, ReactionType currentUserReaction) {
         return CommentResponseDTO.builder()
                 .commentId(comment.getCommentId())
                 .contentId(comment.getContentId())
@@ -28,6 +32,9 @@ public class InteractionMapper {
                 .updatedAt(comment.getUpdatedAt())
                 .author(toUserDTO(comment.getUser()))
                 .tags(tags)
+                .parentCommentId(comment.getParentCommentId())
+                .reactionCount(reactionCount)
+                .currentUserReaction(currentUserReaction)
                 .build();
     }
     private UserDetailsSummaryResponseDTO toUserDTO(User user) {
@@ -41,15 +48,15 @@ public class InteractionMapper {
         );
     }
 
-    public ReactionResponseDTO toReactionSummary(Long contentId, ContentType contentType, ReactionType currentUserReaction, List<Object[]> countsRaw) {
+    public ReactionResponseDTO toReactionSummary(Long contentId, ContentType contentType, ReactionType currentUserReaction, Map<ReactionType, Long> counts) {
         Map<ReactionType, Long> countsByType = new EnumMap<>(ReactionType.class);
         long total = 0L;
-        if (countsRaw != null) {
-            for (Object[] row : countsRaw) {
-                ReactionType type = (ReactionType) row[0];
-                Long count = (Long) row[1];
-                countsByType.put(type, count);
-                total += count;
+        if (counts != null) {
+            for (Map.Entry<ReactionType, Long> entry : counts.entrySet()) {
+                if (entry.getValue() > 0) {
+                    countsByType.put(entry.getKey(), entry.getValue());
+                    total += entry.getValue();
+                }
             }
         }
         return new ReactionResponseDTO(
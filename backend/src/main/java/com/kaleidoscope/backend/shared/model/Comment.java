@@ -17,7 +17,10 @@ import java.time.LocalDateTime;
 @Table(name = "comments", indexes = {
         @Index(name = "idx_comment_user_id", columnList = "user_id"),
         @Index(name = "idx_comment_content", columnList = "content_type, content_id"),
-        @Index(name = "idx_comment_created_at", columnList = "created_at")
+        @Index(name = "idx_comment_created_at", columnList = "created_at"),
+        // Keyset pages of top-level comments and of each thread's replies
+        @Index(name = "idx_comment_content_thread_keyset", columnList = "content_type, content_id, parent_comment_id, created_at, comment_id"),
+        @Index(name = "idx_comment_parent_keyset", columnList = "parent_comment_id, created_at, comment_id")
 })
 @EntityListeners(AuditingEntityListener.class)
 @SQLDelete(sql = "UPDATE comments SET deleted_at = NOW() WHERE comment_id = ?")
@@ -45,6 +48,10 @@ public class Comment {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Top-level comment this one replies to; null for top-level comments. Threads are one level deep
+    @Column(name = "parent_comment_id")
+    private Long parentCommentId;
+
     @Column(columnDefinition = "TEXT", nullable = false)
     private String body;
 
@@ -0,0 +1,62 @@
+package com.kaleidoscope.backend.shared.model;
+
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running count of one reaction type on one content item, maintained in the same transaction as
+ * the reaction itself. Each count is split over a few slots that writers pick at random, so
+ * concurrent reactions on a hot item do not all queue on one row lock; readers sum the slots.
+ */
+@Entity
+@Table(
+    name = "reaction_counts",
+    uniqueConstraints = @UniqueConstraint(
+            name = "uk_reaction_counts_content_type_slot",
+            columnNames = {"content_type", "content_id", "reaction_type", "slot"})
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReactionCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", nullable = false)
+    private ContentType contentType;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reaction_type", nullable = false)
+    private ReactionType reactionType;
+
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    // A single slot can go negative when an unreact lands on another slot than its react
+    @Column(name = "total", nullable = false)
+    private Long total;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReactionCount that = (ReactionCount) o;
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
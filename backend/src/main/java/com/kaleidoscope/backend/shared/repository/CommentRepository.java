@@ -2,6 +2,7 @@ package com.kaleidoscope.backend.shared.repository;
 
 import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -40,6 +42,89 @@ public interface CommentRepository extends JpaRepository<Comment, Long>, JpaSpec
      */
     long countByContentIdAndContentType(Long contentId, ContentType contentType);
 
+    @Query("SELECT c.contentId, COUNT(c) FROM Comment c WHERE c.contentType = :contentType AND c.contentId IN :contentIds GROUP BY c.contentId")
+    List<Object[]> countByContentIdsGrouped(@Param("contentIds") Collection<Long> contentIds, @Param("contentType") ContentType contentType);
+
+    // Keyset batch of ids of one id-hash partition
+    @Query("SELECT c.commentId FROM Comment c WHERE MOD(c.commentId, :partitions) = :partition AND c.commentId > :afterId ORDER BY c.commentId")
+    List<Long> findPartitionIds(@Param("partitions") int partitions, @Param("partition") int partition,
+                                @Param("afterId") Long afterId, Pageable pageable);
+
     @Query("SELECT c.contentId FROM Comment c WHERE c.user.userId = :userId AND c.contentType = :contentType")
     List<Long> findContentIdsByUserIdAndContentType(@Param("userId") Long userId, @Param("contentType") ContentType contentType);
-}
\ No newline at end of file
+
+    // Keyset pages of top-level comments, newest first: ids only, hydrated with findAllWithUserByIdIn
+    @Query(value = """
+            SELECT c.comment_id FROM comments c
+            WHERE c.content_type = :contentType AND c.content_id = :contentId
+              AND c.parent_comment_id IS NULL AND c.deleted_at IS NULL
+            ORDER BY c.created_at DESC, c.comment_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findTopLevelIds(@Param("contentType") String contentType, @Param("contentId") Long contentId,
+                               @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT c.comment_id FROM comments c
+            WHERE c.content_type = :contentType AND c.content_id = :contentId
+              AND c.parent_comment_id IS NULL AND c.deleted_at IS NULL
+              AND (c.created_at, c.comment_id) < (:createdAt, :commentId)
+            ORDER BY c.created_at DESC, c.comment_id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findTopLevelIdsBefore(@Param("contentType") String contentType, @Param("contentId") Long contentId,
+                                     @Param("createdAt") LocalDateTime createdAt, @Param("commentId") Long commentId,
+                                     @Param("limit") int limit);
+
+    // Keyset pages of one thread's replies, oldest first
+    @Query(value = """
+            SELECT c.comment_id FROM comments c
+            WHERE c.parent_comment_id = :parentId AND c.deleted_at IS NULL
+            ORDER BY c.created_at, c.comment_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findReplyIds(@Param("parentId") Long parentId, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT c.comment_id FROM comments c
+            WHERE c.parent_comment_id = :parentId AND c.deleted_at IS NULL
+              AND (c.created_at, c.comment_id) > (:createdAt, :commentId)
+            ORDER BY c.created_at, c.comment_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> findReplyIdsAfter(@Param("parentId") Long parentId, @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("commentId") Long commentId, @Param("limit") int limit);
+
+    /**
+     * Ids of the first replies (oldest first) of each of the given threads, one index range scan
+     * per thread.
+     */
+    @Query(value = """
+            SELECT r.comment_id
+            FROM unnest(CAST(:parentIds AS bigint[])) AS p(parent_id)
+            CROSS JOIN LATERAL (
+                SELECT c.comment_id FROM comments c
+                WHERE c.parent_comment_id = p.parent_id AND c.deleted_at IS NULL
+                ORDER BY c.created_at, c.comment_id
+                LIMIT :perThread
+            ) r
+            """, nativeQuery = true)
+    List<Long> findFirstReplyIds(@Param("parentIds") Long[] parentIds, @Param("perThread") int perThread);
+
+    // Ids of every live reply in a thread; threads are one level deep
+    @Query("SELECT c.commentId FROM Comment c WHERE c.parentCommentId = :parentId")
+    List<Long> findAllReplyIds(@Param("parentId") Long parentId);
+
+    /**
+     * Soft-deletes the given live comments in one statement.
+     */
+    @Modifying
+    @Query("UPDATE Comment c SET c.deletedAt = :deletedAt WHERE c.commentId IN :commentIds AND c.deletedAt IS NULL")
+    int softDeleteByIds(@Param("commentIds") Collection<Long> commentIds, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query("SELECT c.parentCommentId, COUNT(c) FROM Comment c WHERE c.parentCommentId IN :parentIds GROUP BY c.parentCommentId")
+    List<Object[]> countRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.commentId IN :commentIds")
+    List<Comment> findAllWithUserByIdIn(@Param("commentIds") Collection<Long> commentIds);
+}
@@ -1,6 +1,7 @@
 package com.kaleidoscope.backend.shared.repository;
 
 import com.kaleidoscope.backend.shared.model.Hashtag;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -23,6 +24,9 @@ public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
     
     @Query("SELECT h FROM Hashtag h ORDER BY h.usageCount DESC")
     List<Hashtag> findAllOrderByUsageCountDesc();
+
+    // All-time ranking, used for trending until the streaming engine has seen recent usage
+    Page<Hashtag> findAllByOrderByUsageCountDescNameAsc(Pageable pageable);
     
     @Query("SELECT h FROM Hashtag h WHERE h.usageCount > :minCount ORDER BY h.usageCount DESC")
     List<Hashtag> findPopularHashtags(@Param("minCount") Integer minCount);
@@ -33,6 +37,10 @@ public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
     // New method for hashtag suggestions
     List<Hashtag> findByNameStartingWithIgnoreCaseOrderByUsageCountDesc(String prefix, Pageable pageable);
 
+    // Lightweight projection (id, name, usageCount) for building the in-memory prefix index
+    @Query("SELECT h.hashtagId, h.name, h.usageCount FROM Hashtag h")
+    List<Object[]> findAllIdNameAndUsageCount();
+
     // New method for async bulk updates
     @Modifying
     @Query("UPDATE Hashtag h SET h.usageCount = h.usageCount + :change WHERE h.name = :name AND h.usageCount + :change >= 0")
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,6 +17,9 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
 
     Optional<Location> findByPlaceId(String placeId);
 
+    @Query("SELECT l.locationId, l.name, l.latitude, l.longitude FROM Location l")
+    List<Object[]> findAllIdNameAndCoordinates();
+
     @Query("SELECT l FROM Location l WHERE l.latitude = :latitude AND l.longitude = :longitude")
     Optional<Location> findByCoordinates(@Param("latitude") BigDecimal latitude, @Param("longitude") BigDecimal longitude);
 
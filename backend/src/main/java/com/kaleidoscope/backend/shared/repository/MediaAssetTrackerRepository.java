@@ -33,4 +33,20 @@ public interface MediaAssetTrackerRepository extends JpaRepository<MediaAssetTra
             MediaAssetStatus pendingStatus,
             LocalDateTime cutoff
     );
+
+    /**
+     * Same as {@link #findOrphanedAssets} restricted to one hash partition of asset ids, so
+     * nodes can split the cleanup.
+     */
+    @Query("SELECT t FROM MediaAssetTracker t WHERE " +
+            "(t.status = :markForDeleteStatus OR " +
+            "(t.status = :pendingStatus AND t.createdAt < :cutoff)) AND " +
+            "MOD(t.assetId, :partitions) = :partition")
+    List<MediaAssetTracker> findOrphanedAssetsInPartition(
+            MediaAssetStatus markForDeleteStatus,
+            MediaAssetStatus pendingStatus,
+            LocalDateTime cutoff,
+            int partitions,
+            int partition
+    );
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.kaleidoscope.backend.shared.repository;
+
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.model.ReactionCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReactionCountRepository extends JpaRepository<ReactionCount, Long> {
+
+    /**
+     * Takes a transaction-scoped shared advisory lock per content item, in id order. Count writers
+     * hold it until they commit, so a rebuild never deletes and recounts an item between a
+     * writer's reaction change and its delta.
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT pg_advisory_xact_lock_shared(hashtextextended(:contentType || ':' || l.content_id, 0))
+                FROM (SELECT DISTINCT d.content_id FROM unnest(CAST(:contentIds AS bigint[])) AS d(content_id)
+                      ORDER BY d.content_id) l
+            ) locked
+            """, nativeQuery = true)
+    long lockForWrite(@Param("contentType") String contentType, @Param("contentIds") Long[] contentIds);
+
+    /**
+     * Exclusive form of lockForWrite, taken by rebuilds before deleteByContentIds: waits for
+     * in-flight count writers of the items and holds off new ones until the rebuild commits.
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM (
+                SELECT pg_advisory_xact_lock(hashtextextended(:contentType || ':' || l.content_id, 0))
+                FROM (SELECT DISTINCT d.content_id FROM unnest(CAST(:contentIds AS bigint[])) AS d(content_id)
+                      ORDER BY d.content_id) l
+            ) locked
+            """, nativeQuery = true)
+    long lockForRebuild(@Param("contentType") String contentType, @Param("contentIds") Long[] contentIds);
+
+    /**
+     * Adds the delta to one slot of a content item's reaction type count, creating the slot on
+     * first use. Joins the caller's transaction, so the count commits with the reaction.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO reaction_counts (content_type, content_id, reaction_type, slot, total)
+            VALUES (:contentType, :contentId, :reactionType, :slot, :delta)
+            ON CONFLICT (content_type, content_id, reaction_type, slot)
+            DO UPDATE SET total = reaction_counts.total + EXCLUDED.total
+            """, nativeQuery = true)
+    int applyDelta(@Param("contentType") String contentType, @Param("contentId") Long contentId,
+                   @Param("reactionType") String reactionType, @Param("slot") int slot, @Param("delta") long delta);
+
+    /**
+     * Batch form of applyDelta; each (content_type, content_id, reaction_type, slot) may appear
+     * only once per call.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO reaction_counts (content_type, content_id, reaction_type, slot, total)
+            SELECT d.content_type, d.content_id, d.reaction_type, d.slot, d.delta
+            FROM unnest(CAST(:contentTypes AS varchar[]), CAST(:contentIds AS bigint[]), CAST(:reactionTypes AS varchar[]),
+                        CAST(:slots AS int[]), CAST(:deltas AS bigint[]))
+                 AS d(content_type, content_id, reaction_type, slot, delta)
+            ON CONFLICT (content_type, content_id, reaction_type, slot)
+            DO UPDATE SET total = reaction_counts.total + EXCLUDED.total
+            """, nativeQuery = true)
+    int applyDeltas(@Param("contentTypes") String[] contentTypes, @Param("contentIds") Long[] contentIds,
+                    @Param("reactionTypes") String[] reactionTypes, @Param("slots") Integer[] slots,
+                    @Param("deltas") Long[] deltas);
+
+    /**
+     * Returns (contentId, reactionType, count) rows with the slots summed.
+     */
+    @Query("SELECT rc.contentId, rc.reactionType, SUM(rc.total) FROM ReactionCount rc " +
+           "WHERE rc.contentType = :contentType AND rc.contentId IN :contentIds " +
+           "GROUP BY rc.contentId, rc.reactionType")
+    List<Object[]> sumByContentIds(@Param("contentIds") Collection<Long> contentIds, @Param("contentType") ContentType contentType);
+
+    @Modifying
+    @Query(value = "DELETE FROM reaction_counts WHERE content_type = :contentType AND content_id IN (:contentIds)", nativeQuery = true)
+    int deleteByContentIds(@Param("contentIds") Collection<Long> contentIds, @Param("contentType") String contentType);
+
+    /**
+     * Recounts the active reactions of the given items into slot 0; run after deleteByContentIds
+     * in the same transaction.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO reaction_counts (content_type, content_id, reaction_type, slot, total)
+            SELECT r.content_type, r.content_id, r.reaction_type, 0, COUNT(*)
+            FROM reactions r
+            WHERE r.content_type = :contentType AND r.content_id IN (:contentIds) AND r.deleted_at IS NULL
+            GROUP BY r.content_type, r.content_id, r.reaction_type
+            """, nativeQuery = true)
+    int recountFromReactions(@Param("contentIds") Collection<Long> contentIds, @Param("contentType") String contentType);
+}
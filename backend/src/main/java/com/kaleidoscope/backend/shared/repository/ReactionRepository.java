@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +28,10 @@ public interface ReactionRepository extends JpaRepository<Reaction, Long> {
      */
     long countByContentIdAndContentType(Long contentId, ContentType contentType);
 
+    // Read path for reaction counts until the reaction_counts backfill has completed
+    @Query("SELECT r.contentId, r.reactionType, COUNT(r) FROM Reaction r WHERE r.contentType = :contentType AND r.contentId IN :contentIds GROUP BY r.contentId, r.reactionType")
+    List<Object[]> countReactionsByContentIdsGroupedByType(@Param("contentIds") Collection<Long> contentIds, @Param("contentType") ContentType contentType);
+
     @Modifying
     @Query("UPDATE Reaction r SET r.deletedAt = :deletedAt WHERE r.contentId = :contentId AND r.contentType = :contentType")
     void softDeleteReactionsByContent(@Param("contentId") Long contentId, @Param("contentType") ContentType contentType, @Param("deletedAt") LocalDateTime deletedAt);
@@ -39,4 +44,61 @@ public interface ReactionRepository extends JpaRepository<Reaction, Long> {
 
     @Query("SELECT r.contentId FROM Reaction r WHERE r.user.userId = :userId AND r.contentType = :contentType")
     List<Long> findContentIdsByUserIdAndContentType(@Param("userId") Long userId, @Param("contentType") ContentType contentType);
-}
\ No newline at end of file
+
+    // (contentId, reactionType) of one user's active reactions on several content items
+    @Query("SELECT r.contentId, r.reactionType FROM Reaction r " +
+           "WHERE r.contentType = :contentType AND r.contentId IN :contentIds AND r.user.userId = :userId")
+    List<Object[]> findUserReactionsByContentIds(@Param("contentIds") Collection<Long> contentIds,
+                                                 @Param("contentType") ContentType contentType,
+                                                 @Param("userId") Long userId);
+
+    /**
+     * Latest row, deleted or not, of each (content_type, content_id, user_id) key as
+     * (reaction_id, content_type, content_id, user_id, reaction_type, deleted_at).
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (r.content_type, r.content_id, r.user_id)
+                   r.reaction_id, r.content_type, r.content_id, r.user_id, r.reaction_type, r.deleted_at
+            FROM reactions r
+            JOIN unnest(CAST(:contentTypes AS varchar[]), CAST(:contentIds AS bigint[]), CAST(:userIds AS bigint[]))
+                 AS k(content_type, content_id, user_id)
+              ON r.content_type = k.content_type AND r.content_id = k.content_id AND r.user_id = k.user_id
+            ORDER BY r.content_type, r.content_id, r.user_id, r.reaction_id DESC
+            """, nativeQuery = true)
+    List<Object[]> findLatestByContentAndUsers(@Param("contentTypes") String[] contentTypes,
+                                               @Param("contentIds") Long[] contentIds,
+                                               @Param("userIds") Long[] userIds);
+
+    /**
+     * Sets existing rows to their final buffered state in one statement; a null reaction type
+     * soft-deletes the row and keeps its last type. Times are epoch milliseconds.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE reactions r
+            SET reaction_type = COALESCE(d.reaction_type, r.reaction_type),
+                deleted_at = CASE WHEN d.reaction_type IS NULL THEN CAST(to_timestamp(d.changed_at / 1000.0) AS timestamp) END,
+                updated_at = CAST(to_timestamp(d.changed_at / 1000.0) AS timestamp)
+            FROM unnest(CAST(:reactionIds AS bigint[]), CAST(:reactionTypes AS varchar[]), CAST(:changedAts AS bigint[]))
+                 AS d(reaction_id, reaction_type, changed_at)
+            WHERE r.reaction_id = d.reaction_id
+            """, nativeQuery = true)
+    int applyBufferedUpdates(@Param("reactionIds") Long[] reactionIds, @Param("reactionTypes") String[] reactionTypes,
+                             @Param("changedAts") Long[] changedAts);
+
+    /**
+     * Inserts first-time reactions in one statement. Times are epoch milliseconds.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO reactions (content_type, content_id, user_id, reaction_type, created_at, updated_at)
+            SELECT d.content_type, d.content_id, d.user_id, d.reaction_type,
+                   CAST(to_timestamp(d.changed_at / 1000.0) AS timestamp), CAST(to_timestamp(d.changed_at / 1000.0) AS timestamp)
+            FROM unnest(CAST(:contentTypes AS varchar[]), CAST(:contentIds AS bigint[]), CAST(:userIds AS bigint[]),
+                        CAST(:reactionTypes AS varchar[]), CAST(:changedAts AS bigint[]))
+                 AS d(content_type, content_id, user_id, reaction_type, changed_at)
+            """, nativeQuery = true)
+    int insertBuffered(@Param("contentTypes") String[] contentTypes, @Param("contentIds") Long[] contentIds,
+                       @Param("userIds") Long[] userIds, @Param("reactionTypes") String[] reactionTypes,
+                       @Param("changedAts") Long[] changedAts);
+}
@@ -7,8 +7,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserTagRepository extends JpaRepository<UserTag, Long>, JpaSpecificationExecutor<UserTag> {
 
@@ -26,4 +31,12 @@ public interface UserTagRepository extends JpaRepository<UserTag, Long>, JpaSpec
      * Find all tags where a specific user is tagged
      */
     Page<UserTag> findByTaggedUserUserId(Long userId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Find the tags of several content items of one type, with both users loaded
+     */
+    @Query("SELECT t FROM UserTag t JOIN FETCH t.taggedUser JOIN FETCH t.taggerUser " +
+           "WHERE t.contentType = :contentType AND t.contentId IN :contentIds")
+    List<UserTag> findAllByContentTypeAndContentIdIn(@Param("contentType") ContentType contentType,
+                                                      @Param("contentIds") Collection<Long> contentIds);
+}
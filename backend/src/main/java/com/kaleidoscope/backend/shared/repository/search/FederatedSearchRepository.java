@@ -0,0 +1,117 @@
+package com.kaleidoscope.backend.shared.repository.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs several independent entity searches as one _msearch round trip.
+ *
+ * Each section carries its own index, query and size. A section that fails or hits its
+ * timeout is returned as incomplete (with whatever hits ES produced) instead of failing the
+ * whole request; if the round trip itself fails every section comes back empty and incomplete.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class FederatedSearchRepository {
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+
+    public record Section<T>(String name, Class<T> documentClass, Query query, int size) {
+    }
+
+    public record SectionResult<T>(String name, List<T> documents, boolean complete) {
+        static <T> SectionResult<T> failed(String name) {
+            return new SectionResult<>(name, List.of(), false);
+        }
+    }
+
+    public static final class Results {
+        private final Map<Section<?>, SectionResult<?>> bySection = new IdentityHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        public <T> SectionResult<T> get(Section<T> section) {
+            SectionResult<?> result = bySection.get(section);
+            return result != null ? (SectionResult<T>) result : SectionResult.failed(section.name());
+        }
+
+        public List<String> incompleteSections() {
+            return bySection.values().stream().filter(r -> !r.complete()).map(SectionResult::name).toList();
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Results multiSearch(List<Section<?>> sections, String timeout) {
+        Results results = new Results();
+        if (sections.isEmpty()) {
+            return results;
+        }
+
+        MsearchRequest request = MsearchRequest.of(m -> {
+            for (Section<?> section : sections) {
+                String index = elasticsearchTemplate.getIndexCoordinatesFor(section.documentClass()).getIndexName();
+                m.searches(s -> s
+                        .header(h -> h.index(index))
+                        .body(b -> b
+                                .query(section.query())
+                                .size(section.size())
+                                .timeout(timeout)
+                                .trackTotalHits(t -> t.enabled(false))));
+            }
+            return m;
+        });
+
+        MsearchResponse<Map> response;
+        try {
+            response = elasticsearchTemplate.execute(client -> client.msearch(request, Map.class));
+        } catch (Exception e) {
+            log.warn("[FederatedSearchRepository] _msearch failed, returning all sections as incomplete: {}", e.getMessage());
+            sections.forEach(section -> results.bySection.put(section, SectionResult.failed(section.name())));
+            return results;
+        }
+
+        ElasticsearchConverter converter = elasticsearchTemplate.getElasticsearchConverter();
+        List<MultiSearchResponseItem<Map>> items = response.responses();
+        for (int i = 0; i < sections.size(); i++) {
+            Section<?> section = sections.get(i);
+            MultiSearchResponseItem<Map> item = i < items.size() ? items.get(i) : null;
+            if (item == null || item.isFailure()) {
+                log.warn("[FederatedSearchRepository] Section {} failed: {}", section.name(),
+                        item != null ? item.failure().error().reason() : "missing response");
+                results.bySection.put(section, SectionResult.failed(section.name()));
+                continue;
+            }
+
+            List<Object> documents = new ArrayList<>();
+            for (Hit<Map> hit : item.result().hits().hits()) {
+                if (hit.source() == null) {
+                    continue;
+                }
+                Document document = Document.from(hit.source());
+                document.setId(hit.id());
+                documents.add(converter.read(section.documentClass(), document));
+            }
+            boolean complete = !item.result().timedOut();
+            if (!complete) {
+                log.warn("[FederatedSearchRepository] Section {} timed out after {}, returning {} partial hits",
+                        section.name(), timeout, documents.size());
+            }
+            results.bySection.put(section, new SectionResult(section.name(), documents, complete));
+        }
+        return results;
+    }
+}
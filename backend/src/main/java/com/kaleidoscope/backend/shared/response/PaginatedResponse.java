@@ -20,8 +20,14 @@ public class PaginatedResponse<T> {
     private long totalElements;
     private boolean first;
     private boolean last;
+    // Opaque search_after token for the next page (search endpoints only, null when exhausted)
+    private String nextCursor;
 
     public static <T> PaginatedResponse<T> fromPage(Page<T> page) {
+        return fromPage(page, null);
+    }
+
+    public static <T> PaginatedResponse<T> fromPage(Page<T> page, String nextCursor) {
         return PaginatedResponse.<T>builder()
             .content(page.getContent())
             .page(page.getNumber())
@@ -30,6 +36,7 @@ public class PaginatedResponse<T> {
             .totalElements(page.getTotalElements())
             .first(page.isFirst())
             .last(page.isLast())
+            .nextCursor(nextCursor)
             .build();
     }
 }
@@ -0,0 +1,12 @@
+package com.kaleidoscope.backend.shared.routes;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class InteractionRoutes {
+
+    private static final String BASE_API = "/api/interactions";
+
+    public static final String REACTION_SUMMARIES_BATCH = BASE_API + "/summary/batch";
+}
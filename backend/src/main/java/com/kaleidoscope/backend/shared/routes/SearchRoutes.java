@@ -0,0 +1,12 @@
+package com.kaleidoscope.backend.shared.routes;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchRoutes {
+
+    private static final String BASE_API = "/api/search";
+
+    public static final String FEDERATED_SEARCH = BASE_API;
+}
@@ -5,6 +5,7 @@ public class UserTagRoutes {
     
     // User tagging endpoints
     public static final String TAGGABLE_USERS = BASE_PATH + "/taggable-users";
+    public static final String TYPEAHEAD_USERS = BASE_PATH + "/typeahead";
     public static final String CREATE_TAG = BASE_PATH + "/tags";
     public static final String DELETE_TAG = BASE_PATH + "/tags/{tagId}";
     public static final String CONTENT_TAGS = "/api/content/{contentType}/{contentId}/tags";
@@ -0,0 +1,83 @@
+package com.kaleidoscope.backend.shared.scheduler;
+
+import com.kaleidoscope.backend.blogs.repository.BlogRepository;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.repository.CommentRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomputes every post, blog and comment counter from the source tables on startup when enabled
+ * (app.counters.repair.enabled), including the reaction_counts rows. Nodes started together split
+ * the work by id partition. The initial reaction_counts backfill is ReactionCountBackfillJob.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentCounterRepairJob implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ContentCounterService contentCounterService;
+    private final PostRepository postRepository;
+    private final BlogRepository blogRepository;
+    private final CommentRepository commentRepository;
+    private final SchedulerCoordinator schedulerCoordinator;
+
+    @Value("${app.counters.repair.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.counters.repair.partitions:16}")
+    private int partitions;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        repair(ContentType.POST);
+        repair(ContentType.BLOG);
+        repair(ContentType.COMMENT);
+    }
+
+    private void repair(ContentType contentType) {
+        log.info("Starting {} counter repair from source tables...", contentType);
+        AtomicInteger repaired = new AtomicInteger();
+        SchedulerCoordinator.PartitionedRunResult result = schedulerCoordinator.runPartitioned(
+                "content-counter-repair-" + contentType.name().toLowerCase(), partitions, Duration.ofHours(1),
+                partition -> repaired.addAndGet(repairPartition(contentType, partition)));
+        log.info("{} counter repair finished on this node: {} partitions, {} items (run complete: {})",
+                contentType, result.processedHere(), repaired.get(), result.complete());
+    }
+
+    private int repairPartition(ContentType contentType, int partition) {
+        int repaired = 0;
+        Long afterId = 0L;
+        List<Long> ids;
+        do {
+            PageRequest page = PageRequest.of(0, BATCH_SIZE);
+            ids = switch (contentType) {
+                case POST -> postRepository.findPartitionIds(partitions, partition, afterId, page);
+                case BLOG -> blogRepository.findPartitionIds(partitions, partition, afterId, page);
+                case COMMENT -> commentRepository.findPartitionIds(partitions, partition, afterId, page);
+                default -> List.of();
+            };
+            if (!ids.isEmpty()) {
+                repaired += contentCounterService.repair(contentType, ids);
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == BATCH_SIZE);
+        log.debug("Repaired {} {} counters in partition {}/{}", repaired, contentType, partition, partitions);
+        return repaired;
+    }
+}
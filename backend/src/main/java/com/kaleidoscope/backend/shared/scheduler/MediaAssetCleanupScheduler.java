@@ -6,10 +6,11 @@ import com.kaleidoscope.backend.shared.repository.MediaAssetTrackerRepository;
 import com.kaleidoscope.backend.shared.service.ImageStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -20,26 +21,40 @@ public class MediaAssetCleanupScheduler {
     private final MediaAssetTrackerRepository trackerRepository;
     private final ImageStorageService imageStorageService;
 
-    // Runs once every hour.
-    @Scheduled(fixedRate = 60 * 60 * 1000)
-    @Transactional
+    private final SchedulerCoordinator schedulerCoordinator;
+
+    @Value("${app.scheduler.media-cleanup.partitions:16}")
+    private int partitions;
+
+    // Runs at the top of every hour on every node; nodes split the orphans by asset id partition.
+    @Scheduled(cron = "${app.scheduler.media-cleanup.cron:0 0 * * * *}")
     public void cleanupOrphanedMediaAssets() {
         log.info("Starting orphaned media asset cleanup job...");
 
         LocalDateTime cutoff = LocalDateTime.now().minusMinutes(60);
+        SchedulerCoordinator.PartitionedRunResult result = schedulerCoordinator.runPartitioned(
+                "media-asset-cleanup", partitions, Duration.ofMinutes(50),
+                partition -> cleanupPartition(partition, cutoff));
+
+        log.info("Orphaned media asset cleanup job finished: {} of {} partitions processed on this node (run complete: {}).",
+                result.processedHere(), result.partitions(), result.complete());
+    }
 
-        List<MediaAssetTracker> orphans = trackerRepository.findOrphanedAssets(
+    private void cleanupPartition(int partition, LocalDateTime cutoff) {
+        List<MediaAssetTracker> orphans = trackerRepository.findOrphanedAssetsInPartition(
                 MediaAssetStatus.MARKED_FOR_DELETE,
                 MediaAssetStatus.PENDING,
-                cutoff
+                cutoff,
+                partitions,
+                partition
         );
 
         if (orphans.isEmpty()) {
-            log.info("No orphaned media assets found to clean up.");
+            log.debug("No orphaned media assets found in partition {}.", partition);
             return;
         }
 
-        log.info("Found {} orphaned media assets to clean up.", orphans.size());
+        log.info("Found {} orphaned media assets to clean up in partition {}.", orphans.size(), partition);
         for (MediaAssetTracker tracker : orphans) {
             try {
                 String associationType = tracker.getContentType() + " (ID: " + tracker.getContentId() + ")";
@@ -51,6 +66,5 @@ public class MediaAssetCleanupScheduler {
                 log.error("Failed to clean up media asset {}: {}", tracker.getPublicId(), e.getMessage());
             }
         }
-        log.info("Orphaned media asset cleanup job finished.");
     }
-}
\ No newline at end of file
+}
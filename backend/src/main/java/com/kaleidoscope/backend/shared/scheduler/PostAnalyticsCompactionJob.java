@@ -0,0 +1,52 @@
+package com.kaleidoscope.backend.shared.scheduler;
+
+import com.kaleidoscope.backend.posts.repository.PostAnalyticsRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Folds hourly post analytics rollups older than app.analytics.hourly-retention-days into daily
+ * rows. Each batch deletes hourly rows and adds them to their day in one statement, so readers
+ * never see an hour both ways; one node runs it at a time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostAnalyticsCompactionJob {
+
+    private final PostAnalyticsRollupRepository rollupRepository;
+    private final SchedulerCoordinator schedulerCoordinator;
+
+    @Value("${app.analytics.hourly-retention-days:7}")
+    private int hourlyRetentionDays;
+
+    @Value("${app.analytics.compaction.batch-size:5000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.analytics.compaction.cron:0 30 3 * * *}")
+    public void compactHourlyRollups() {
+        schedulerCoordinator.runExclusive("post-analytics-compaction", Duration.ofMinutes(30), this::compact);
+    }
+
+    private void compact() {
+        // Whole UTC days only, so each day is folded from all of its hours
+        LocalDateTime cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(hourlyRetentionDays).atStartOfDay();
+        log.info("Starting post analytics compaction of hourly rollups before {}...", cutoff);
+        long started = System.currentTimeMillis();
+        int dailyRows = 0;
+        int written;
+        while ((written = rollupRepository.compactHourlyBefore(cutoff, batchSize)) > 0) {
+            dailyRows += written;
+        }
+        log.info("Post analytics compaction finished: {} daily rows written in {}ms.",
+                dailyRows, System.currentTimeMillis() - started);
+    }
+}
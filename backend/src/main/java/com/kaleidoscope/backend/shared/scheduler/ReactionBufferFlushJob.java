@@ -0,0 +1,382 @@
+package com.kaleidoscope.backend.shared.scheduler;
+
+import com.kaleidoscope.backend.async.dto.NotificationEventDTO;
+import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
+import com.kaleidoscope.backend.async.streaming.ProducerStreamConstants;
+import com.kaleidoscope.backend.blogs.repository.BlogRepository;
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.service.PostAnalyticsService;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.NotificationType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
+import com.kaleidoscope.backend.shared.repository.CommentRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionCountRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ReactionWriteBuffer;
+import com.kaleidoscope.backend.shared.service.ReactionWriteBuffer.BufferedReaction;
+import com.kaleidoscope.backend.users.model.User;
+import com.kaleidoscope.backend.users.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Persists buffered reaction toggles (see {@link ReactionWriteBuffer}) when
+ * app.reactions.buffer.enabled. Each batch is one transaction: one lookup of the current rows,
+ * one batched UPDATE and one batched INSERT of the final states, and one batched reaction_counts
+ * upsert. Toggles that end where they started write nothing. Notifications go out after commit
+ * and only for reactions this flush created; search sync events go out once per content item.
+ * One node flushes at a time, so batches are applied in buffer order.
+ *
+ * Taken toggles are acknowledged after their batch commits. A batch failing on a connection or
+ * other transient error goes back to the buffer whole; otherwise its toggles are retried one
+ * per transaction so one bad toggle cannot hold back the rest, and a toggle failing
+ * max-attempts flushes in a row is dead-lettered. Re-persisting a toggle whose acknowledgement
+ * was lost writes nothing, as its row already holds that state.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactionBufferFlushJob {
+
+    private final ReactionWriteBuffer reactionWriteBuffer;
+    private final ReactionRepository reactionRepository;
+    private final ReactionCountRepository reactionCountRepository;
+    private final ContentCounterService contentCounterService;
+    private final PostAnalyticsService postAnalyticsService;
+    private final PostRepository postRepository;
+    private final BlogRepository blogRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final RedisStreamPublisher redisStreamPublisher;
+    private final SchedulerCoordinator schedulerCoordinator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.reactions.buffer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.reactions.buffer.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.reactions.buffer.max-duration-ms:10000}")
+    private long maxFlushMillis;
+
+    @Value("${app.reactions.buffer.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.reactions.count-slots:8}")
+    private int reactionCountSlots;
+
+    private record Transition(BufferedReaction change, ReactionType previous) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.reactions.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        schedulerCoordinator.runExclusive("reaction-buffer-flush", Duration.ofMillis(maxFlushMillis * 3), this::drain);
+    }
+
+    private void drain() {
+        long recovered = reactionWriteBuffer.recoverInFlight();
+        if (recovered > 0) {
+            log.warn("[ReactionBufferFlushJob] Returned {} reaction changes left in flight by an unfinished flush to the buffer",
+                    recovered);
+        }
+        long started = System.currentTimeMillis();
+        int persisted = 0;
+        int batches = 0;
+        List<BufferedReaction> batch;
+        do {
+            batch = reactionWriteBuffer.take(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<BufferedReaction> taken = batch;
+            try {
+                Integer written = transactionTemplate.execute(status -> persist(taken));
+                persisted += written != null ? written : 0;
+                batches++;
+            } catch (Exception e) {
+                if (isTransient(e)) {
+                    log.error("[ReactionBufferFlushJob] Failed to persist {} buffered reactions, returning them to the buffer: {}",
+                            taken.size(), e.getMessage(), e);
+                    reactionWriteBuffer.restore(taken);
+                    return;
+                }
+                log.error("[ReactionBufferFlushJob] Failed to persist {} buffered reactions, retrying them one by one: {}",
+                        taken.size(), e.getMessage(), e);
+                persistIndividually(taken);
+                return;
+            }
+            acknowledge(taken);
+        } while (batch.size() == batchSize && System.currentTimeMillis() - started < maxFlushMillis);
+
+        if (batches > 0) {
+            log.info("[ReactionBufferFlushJob] Persisted {} reaction changes in {} batches in {}ms; backlog {}",
+                    persisted, batches, System.currentTimeMillis() - started, reactionWriteBuffer.pendingBacklog());
+        }
+    }
+
+    /**
+     * Persists a failed batch one toggle per transaction. Toggles failing on their own data are
+     * returned with their attempt counted; a transient failure returns the rest uncounted.
+     */
+    private void persistIndividually(List<BufferedReaction> batch) {
+        List<BufferedReaction> failed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            List<BufferedReaction> single = List.of(batch.get(i));
+            try {
+                transactionTemplate.execute(status -> persist(single));
+            } catch (Exception e) {
+                if (isTransient(e)) {
+                    reactionWriteBuffer.restore(batch.subList(i, batch.size()));
+                    break;
+                }
+                log.error("[ReactionBufferFlushJob] Failed to persist buffered reaction {}: {}",
+                        single.get(0).key(), e.getMessage(), e);
+                failed.add(single.get(0));
+                continue;
+            }
+            acknowledge(single);
+        }
+        int deadLettered = reactionWriteBuffer.restore(failed, maxAttempts);
+        if (deadLettered > 0) {
+            log.error("[ReactionBufferFlushJob] Dead-lettered {} buffered reactions after {} failed attempts",
+                    deadLettered, maxAttempts);
+        }
+    }
+
+    /**
+     * A lost acknowledgement only means the toggles are persisted again, as no-ops, after the
+     * next flush recovers them.
+     */
+    private void acknowledge(List<BufferedReaction> changes) {
+        try {
+            reactionWriteBuffer.acknowledge(changes);
+        } catch (Exception e) {
+            log.warn("[ReactionBufferFlushJob] Failed to acknowledge {} persisted reaction changes: {}",
+                    changes.size(), e.getMessage());
+        }
+    }
+
+    private static boolean isTransient(Exception e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException;
+    }
+
+    private int persist(List<BufferedReaction> batch) {
+        int size = batch.size();
+        String[] contentTypes = new String[size];
+        Long[] contentIds = new Long[size];
+        Long[] userIds = new Long[size];
+        for (int i = 0; i < size; i++) {
+            contentTypes[i] = batch.get(i).contentType().name();
+            contentIds[i] = batch.get(i).contentId();
+            userIds[i] = batch.get(i).userId();
+        }
+        Map<String, Object[]> existing = new HashMap<>();
+        for (Object[] row : reactionRepository.findLatestByContentAndUsers(contentTypes, contentIds, userIds)) {
+            existing.put(BufferedReaction.key((String) row[1], toLong(row[2]), toLong(row[3])), row);
+        }
+
+        List<Transition> transitions = new ArrayList<>();
+        List<Long> updateIds = new ArrayList<>();
+        List<String> updateTypes = new ArrayList<>();
+        List<Long> updateTimes = new ArrayList<>();
+        List<BufferedReaction> inserts = new ArrayList<>();
+        for (BufferedReaction change : batch) {
+            Object[] row = existing.get(change.key());
+            ReactionType previous = row != null && row[5] == null ? ReactionType.valueOf((String) row[4]) : null;
+            if (previous == change.reactionType()) {
+                continue;
+            }
+            if (row != null) {
+                updateIds.add(toLong(row[0]));
+                updateTypes.add(change.reactionType() != null ? change.reactionType().name() : null);
+                updateTimes.add(change.changedAtMillis());
+            } else {
+                inserts.add(change);
+            }
+            transitions.add(new Transition(change, previous));
+        }
+        if (transitions.isEmpty()) {
+            return 0;
+        }
+
+        if (!updateIds.isEmpty()) {
+            reactionRepository.applyBufferedUpdates(updateIds.toArray(Long[]::new), updateTypes.toArray(String[]::new),
+                    updateTimes.toArray(Long[]::new));
+        }
+        if (!inserts.isEmpty()) {
+            reactionRepository.insertBuffered(
+                    inserts.stream().map(change -> change.contentType().name()).toArray(String[]::new),
+                    inserts.stream().map(BufferedReaction::contentId).toArray(Long[]::new),
+                    inserts.stream().map(BufferedReaction::userId).toArray(Long[]::new),
+                    inserts.stream().map(change -> change.reactionType().name()).toArray(String[]::new),
+                    inserts.stream().map(BufferedReaction::changedAtMillis).toArray(Long[]::new));
+        }
+        applyCountDeltas(transitions);
+
+        Map<ContentType, Set<Long>> changedContent = new LinkedHashMap<>();
+        for (Transition transition : transitions) {
+            BufferedReaction change = transition.change();
+            contentCounterService.recordReactionChange(change.contentType(), change.contentId(),
+                    transition.previous(), change.reactionType());
+            // Changing the reaction type is not a net change for insights
+            if (change.contentType() == ContentType.POST && (transition.previous() == null || change.reactionType() == null)) {
+                postAnalyticsService.recordEvent(change.contentId(), PostAnalyticsMetric.REACTIONS, change.reactionType() != null ? 1 : -1);
+            }
+            changedContent.computeIfAbsent(change.contentType(), type -> new LinkedHashSet<>()).add(change.contentId());
+        }
+        List<NotificationEventDTO> notifications = buildNotifications(inserts);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changedContent.forEach((type, ids) -> ids.forEach(id -> publishSync(type, id)));
+                notifications.forEach(ReactionBufferFlushJob.this::publishNotification);
+            }
+        });
+        return transitions.size();
+    }
+
+    /**
+     * Nets the batch's count changes per (content, reaction type) and applies them in one
+     * upsert, each on one random slot.
+     */
+    private void applyCountDeltas(List<Transition> transitions) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        for (Transition transition : transitions) {
+            BufferedReaction change = transition.change();
+            String content = change.contentType().name() + ":" + change.contentId() + ":";
+            if (transition.previous() != null) {
+                deltas.merge(content + transition.previous().name(), -1L, Long::sum);
+            }
+            if (change.reactionType() != null) {
+                deltas.merge(content + change.reactionType().name(), 1L, Long::sum);
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<String[]> keys = deltas.keySet().stream().map(key -> key.split(":")).toList();
+        // Content types in name order, each item in id order, as rebuilds lock one type at a time
+        keys.stream()
+                .collect(Collectors.groupingBy(key -> key[0], TreeMap::new,
+                        Collectors.mapping(key -> Long.parseLong(key[1]), Collectors.toList())))
+                .forEach((type, ids) -> reactionCountRepository.lockForWrite(type, ids.toArray(Long[]::new)));
+        reactionCountRepository.applyDeltas(
+                keys.stream().map(key -> key[0]).toArray(String[]::new),
+                keys.stream().map(key -> Long.parseLong(key[1])).toArray(Long[]::new),
+                keys.stream().map(key -> key[2]).toArray(String[]::new),
+                keys.stream().map(key -> ThreadLocalRandom.current().nextInt(reactionCountSlots)).toArray(Integer[]::new),
+                deltas.values().toArray(Long[]::new));
+    }
+
+    /**
+     * NEW_REACTION notifications for reactions created by this flush, with owners and reactor
+     * names loaded in one query per content type and one for users.
+     */
+    private List<NotificationEventDTO> buildNotifications(List<BufferedReaction> created) {
+        if (created.isEmpty()) {
+            return List.of();
+        }
+        Map<ContentType, Set<Long>> idsByType = new HashMap<>();
+        Set<Long> reactorIds = new LinkedHashSet<>();
+        for (BufferedReaction change : created) {
+            idsByType.computeIfAbsent(change.contentType(), type -> new LinkedHashSet<>()).add(change.contentId());
+            reactorIds.add(change.userId());
+        }
+        Map<String, Long> owners = new HashMap<>();
+        idsByType.forEach((type, ids) -> {
+            switch (type) {
+                case POST -> postRepository.findAllById(ids)
+                        .forEach(post -> owners.put(type.name() + ":" + post.getPostId(), post.getUser().getUserId()));
+                case BLOG -> blogRepository.findAllById(ids)
+                        .forEach(blog -> owners.put(type.name() + ":" + blog.getBlogId(), blog.getUser().getUserId()));
+                case COMMENT -> commentRepository.findAllById(ids)
+                        .forEach(comment -> owners.put(type.name() + ":" + comment.getCommentId(), comment.getUser().getUserId()));
+                default -> {
+                }
+            }
+        });
+        Map<Long, String> usernames = new HashMap<>();
+        for (User user : userRepository.findAllById(reactorIds)) {
+            usernames.put(user.getUserId(), user.getUsername());
+        }
+
+        List<NotificationEventDTO> notifications = new ArrayList<>();
+        for (BufferedReaction change : created) {
+            Long ownerId = owners.get(change.contentType().name() + ":" + change.contentId());
+            String reactorUsername = usernames.get(change.userId());
+            // Only notify if the content owner exists and is not the reactor
+            if (ownerId == null || ownerId.equals(change.userId()) || reactorUsername == null) {
+                continue;
+            }
+            NotificationType type = change.contentType() == ContentType.COMMENT
+                    ? NotificationType.NEW_REACTION_COMMENT
+                    : NotificationType.NEW_REACTION_POST;
+            notifications.add(new NotificationEventDTO(type, ownerId, change.userId(), change.contentId(), change.contentType(),
+                    Map.of("reactorUsername", reactorUsername, "reactionType", change.reactionType().name()), null));
+        }
+        return notifications;
+    }
+
+    private void publishNotification(NotificationEventDTO notification) {
+        try {
+            redisStreamPublisher.publish("notification-events", notification);
+        } catch (Exception e) {
+            log.error("[ReactionBufferFlushJob] Failed to publish {} notification for content {}:{}: {}",
+                    notification.type(), notification.contentType(), notification.contentId(), e.getMessage(), e);
+        }
+    }
+
+    private void publishSync(ContentType contentType, Long contentId) {
+        String stream = switch (contentType) {
+            case POST -> ProducerStreamConstants.POST_INTERACTION_SYNC_STREAM;
+            case BLOG -> ProducerStreamConstants.BLOG_INTERACTION_SYNC_STREAM;
+            default -> null;
+        };
+        if (stream == null) {
+            return;
+        }
+        try {
+            Map<String, Object> eventPayload = new HashMap<>();
+            eventPayload.put("contentId", contentId);
+            eventPayload.put("changeType", "REACT");
+            redisStreamPublisher.publish(stream, eventPayload);
+        } catch (Exception e) {
+            log.error("[ReactionBufferFlushJob] Failed to publish interaction sync event for {} {}: {}",
+                    contentType, contentId, e.getMessage(), e);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,131 @@
+package com.kaleidoscope.backend.shared.scheduler;
+
+import com.kaleidoscope.backend.blogs.repository.BlogRepository;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.repository.CommentRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionCountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-shot backfill of reaction_counts from the reactions table.
+ *
+ * Runs in the background until it has completed once: nodes split posts, blogs and comments by
+ * id partition through a partitioned run, and each batch of items has its reaction_counts rows
+ * rebuilt from reactions in one transaction under the items' exclusive count locks. Reactions
+ * written meanwhile take the shared lock before applying their delta, so each one either commits
+ * before the rebuild reads reactions or applies its delta onto the rebuilt rows. A
+ * completion marker in Redis then stops the job on every node. Until it is set, reaction counts
+ * are read from reactions with a GROUP BY (see {@link #isComplete()}), since reaction_counts
+ * only holds the deltas written since it was created.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactionCountBackfillJob {
+
+    private static final String JOB = "reaction-counts-backfill";
+    private static final String COMPLETE_KEY = "reaction-counts:backfill:complete";
+    private static final List<ContentType> CONTENT_TYPES = List.of(ContentType.POST, ContentType.BLOG, ContentType.COMMENT);
+    private static final long MARKER_CHECK_INTERVAL_MS = 30_000;
+
+    private final ReactionCountRepository reactionCountRepository;
+    private final PostRepository postRepository;
+    private final BlogRepository blogRepository;
+    private final CommentRepository commentRepository;
+    private final SchedulerCoordinator schedulerCoordinator;
+    private final StringRedisTemplate redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.reactions.backfill.partitions:16}")
+    private int partitions;
+
+    @Value("${app.reactions.backfill.batch-size:500}")
+    private int batchSize;
+
+    private volatile boolean complete;
+    private volatile long nextMarkerCheckAt;
+
+    /**
+     * Whether reaction_counts holds the full counts. Once true it stays true; until then the
+     * marker is re-checked at most every 30 seconds.
+     */
+    public boolean isComplete() {
+        if (complete) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now >= nextMarkerCheckAt) {
+            nextMarkerCheckAt = now + MARKER_CHECK_INTERVAL_MS;
+            try {
+                complete = Boolean.TRUE.equals(redisTemplate.hasKey(COMPLETE_KEY));
+            } catch (Exception e) {
+                log.warn("[ReactionCountBackfillJob] Failed to read the completion marker: {}", e.getMessage());
+            }
+        }
+        return complete;
+    }
+
+    @Scheduled(initialDelayString = "${app.reactions.backfill.initial-delay-ms:60000}",
+            fixedDelayString = "${app.reactions.backfill.retry-interval-ms:600000}")
+    public void backfill() {
+        if (isComplete()) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        AtomicInteger rebuilt = new AtomicInteger();
+        try {
+            SchedulerCoordinator.PartitionedRunResult result = schedulerCoordinator.runPartitioned(
+                    JOB, partitions, Duration.ofHours(6),
+                    partition -> CONTENT_TYPES.forEach(contentType ->
+                            rebuilt.addAndGet(backfillPartition(contentType, partition))));
+            log.info("[ReactionCountBackfillJob] Rebuilt reaction_counts of {} items in {} partitions on this node in {}ms (run complete: {})",
+                    rebuilt.get(), result.processedHere(), System.currentTimeMillis() - started, result.complete());
+            if (result.complete()) {
+                redisTemplate.opsForValue().set(COMPLETE_KEY, result.runId());
+                complete = true;
+                log.info("[ReactionCountBackfillJob] reaction_counts backfill complete, reads switch to reaction_counts");
+            }
+        } catch (Exception e) {
+            log.error("[ReactionCountBackfillJob] Backfill failed, retrying later: {}", e.getMessage(), e);
+        }
+    }
+
+    private int backfillPartition(ContentType contentType, int partition) {
+        int rebuilt = 0;
+        Long afterId = 0L;
+        List<Long> ids;
+        do {
+            PageRequest page = PageRequest.of(0, batchSize);
+            ids = switch (contentType) {
+                case POST -> postRepository.findPartitionIds(partitions, partition, afterId, page);
+                case BLOG -> blogRepository.findPartitionIds(partitions, partition, afterId, page);
+                case COMMENT -> commentRepository.findPartitionIds(partitions, partition, afterId, page);
+                default -> List.of();
+            };
+            if (!ids.isEmpty()) {
+                List<Long> batch = ids;
+                transactionTemplate.executeWithoutResult(status -> {
+                    reactionCountRepository.lockForRebuild(contentType.name(), batch.toArray(Long[]::new));
+                    reactionCountRepository.deleteByContentIds(batch, contentType.name());
+                    reactionCountRepository.recountFromReactions(batch, contentType.name());
+                });
+                rebuilt += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == batchSize);
+        log.debug("[ReactionCountBackfillJob] Rebuilt {} {} items in partition {}/{}", rebuilt, contentType, partition, partitions);
+        return rebuilt;
+    }
+}
@@ -0,0 +1,251 @@
+package com.kaleidoscope.backend.shared.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Cross-node coordination for scheduled jobs, backed by Redis.
+ *
+ * - Leases: SET NX PX with a random owner token. Renewal and release are compare-and-set Lua
+ *   scripts, so a node can never extend or delete a lease another node now holds. Held leases
+ *   are renewed in the background at a third of their TTL until closed.
+ * - Partitioned runs: a job's work is split into hash partitions that every participating
+ *   node claims one at a time with a lease, so N nodes share a large job instead of racing on
+ *   all of it or idling behind a single lock. Nodes join the same run through a shared run id;
+ *   a partition whose owner dies is picked up once its lease expires.
+ *
+ * Partition work must be idempotent: a partition is redone if its owner dies after finishing
+ * the work but before recording it as done.
+ */
+@Component
+@Slf4j
+public class SchedulerCoordinator {
+
+    private static final String LOCK_KEY = "scheduler:lock:%s";
+    private static final String RUN_KEY = "scheduler:run:%s";
+    private static final String DONE_KEY = "scheduler:done:%s:%s";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * Outcome of this node's participation in a partitioned run.
+     */
+    public record PartitionedRunResult(String runId, int partitions, int processedHere, int failedHere, boolean complete) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration partitionLeaseTtl;
+    private final ScheduledExecutorService renewals;
+
+    public SchedulerCoordinator(StringRedisTemplate redisTemplate,
+                                @Value("${app.scheduler.partition-lease-ttl-ms:30000}") long partitionLeaseTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.partitionLeaseTtl = Duration.ofMillis(partitionLeaseTtlMs);
+        this.renewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SchedulerLeaseRenewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A held lease; renewed in the background until closed or lost.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final String key;
+        private final String token;
+        private final Duration ttl;
+        private volatile boolean held = true;
+        private volatile ScheduledFuture<?> renewal;
+
+        private Lease(String key, String token, Duration ttl) {
+            this.key = key;
+            this.token = token;
+            this.ttl = ttl;
+        }
+
+        /**
+         * False once a renewal found the lease expired or taken over; long-running work should
+         * check this between steps and stop.
+         */
+        public boolean isHeld() {
+            return held;
+        }
+
+        private void renew() {
+            try {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key), token, String.valueOf(ttl.toMillis()));
+                if (!Long.valueOf(1L).equals(renewed)) {
+                    held = false;
+                    renewal.cancel(false);
+                    log.warn("[SchedulerCoordinator] Lease {} was lost before renewal", key);
+                }
+            } catch (Exception e) {
+                // Keep trying until the TTL runs out; the lease is only lost if Redis says so
+                log.warn("[SchedulerCoordinator] Failed to renew lease {}: {}", key, e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (renewal != null) {
+                renewal.cancel(false);
+            }
+            if (!held) {
+                return;
+            }
+            held = false;
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(key), token);
+            } catch (Exception e) {
+                log.warn("[SchedulerCoordinator] Failed to release lease {}, it will expire: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Try to take the named lease; empty when another node holds it.
+     */
+    public Optional<Lease> tryAcquire(String name, Duration ttl) {
+        String key = String.format(LOCK_KEY, name);
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, token, ttl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return Optional.empty();
+        }
+        Lease lease = new Lease(key, token, ttl);
+        long renewEveryMs = Math.max(1, ttl.toMillis() / 3);
+        lease.renewal = renewals.scheduleAtFixedRate(lease::renew, renewEveryMs, renewEveryMs, TimeUnit.MILLISECONDS);
+        return Optional.of(lease);
+    }
+
+    /**
+     * Run the task on at most one node at a time.
+     *
+     * @return false when another node holds the lease and the task was skipped
+     */
+    public boolean runExclusive(String name, Duration ttl, Runnable task) {
+        Optional<Lease> lease = tryAcquire(name, ttl);
+        if (lease.isEmpty()) {
+            log.debug("[SchedulerCoordinator] {} is running on another node, skipping", name);
+            return false;
+        }
+        try (Lease ignored = lease.get()) {
+            task.run();
+            return true;
+        }
+    }
+
+    /**
+     * Take part in a partitioned run of the job. Nodes that start within {@code runTtl} of each
+     * other join the same run and split its partitions; this node keeps claiming partitions
+     * until every partition is done, the run expires, or only partitions that failed here remain.
+     */
+    public PartitionedRunResult runPartitioned(String job, int partitions, Duration runTtl, IntConsumer work) {
+        String runKey = String.format(RUN_KEY, job);
+        redisTemplate.opsForValue().setIfAbsent(runKey, UUID.randomUUID().toString(), runTtl);
+        String runId = redisTemplate.opsForValue().get(runKey);
+        if (runId == null) {
+            // Expired between the two calls; the next run picks it up
+            return new PartitionedRunResult(null, partitions, 0, 0, false);
+        }
+        String doneKey = String.format(DONE_KEY, job, runId);
+        long deadline = System.currentTimeMillis() + runTtl.toMillis();
+        int start = ThreadLocalRandom.current().nextInt(partitions);
+        int processed = 0;
+        Set<Integer> failed = new HashSet<>();
+
+        while (System.currentTimeMillis() < deadline) {
+            Set<String> done = redisTemplate.opsForSet().members(doneKey);
+            Set<Integer> remaining = new HashSet<>();
+            for (int p = 0; p < partitions; p++) {
+                if (done == null || !done.contains(String.valueOf(p))) {
+                    remaining.add(p);
+                }
+            }
+            if (remaining.isEmpty()) {
+                log.info("[SchedulerCoordinator] Run {} of {} complete; {} partitions processed on this node", runId, job, processed);
+                return new PartitionedRunResult(runId, partitions, processed, failed.size(), true);
+            }
+            if (failed.containsAll(remaining)) {
+                break;
+            }
+
+            boolean progressed = false;
+            for (int i = 0; i < partitions; i++) {
+                int partition = (start + i) % partitions;
+                if (!remaining.contains(partition) || failed.contains(partition)) {
+                    continue;
+                }
+                Optional<Lease> lease = tryAcquire(job + ":" + runId + ":" + partition, partitionLeaseTtl);
+                if (lease.isEmpty()) {
+                    continue;
+                }
+                try (Lease ignored = lease.get()) {
+                    if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(doneKey, String.valueOf(partition)))) {
+                        continue;
+                    }
+                    work.accept(partition);
+                    redisTemplate.opsForSet().add(doneKey, String.valueOf(partition));
+                    redisTemplate.expire(doneKey, runTtl);
+                    processed++;
+                    progressed = true;
+                } catch (Exception e) {
+                    failed.add(partition);
+                    log.error("[SchedulerCoordinator] Partition {}/{} of {} failed on this node: {}",
+                            partition, partitions, job, e.getMessage(), e);
+                }
+            }
+
+            if (!progressed) {
+                // Remaining partitions are held by other nodes; wait for them to finish or for a
+                // dead node's lease to expire
+                try {
+                    Thread.sleep(Math.max(50, partitionLeaseTtl.toMillis() / 4));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.warn("[SchedulerCoordinator] Left run {} of {} incomplete; {} processed, {} failed on this node",
+                runId, job, processed, failed.size());
+        return new PartitionedRunResult(runId, partitions, processed, failed.size(), false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewals.shutdownNow();
+    }
+}
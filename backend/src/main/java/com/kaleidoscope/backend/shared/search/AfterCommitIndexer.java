@@ -0,0 +1,69 @@
+package com.kaleidoscope.backend.shared.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs Elasticsearch index writes off the request path, once the surrounding transaction has
+ * committed. Failures are logged; the startup sync and stream consumers reconcile the index.
+ */
+@Component
+@Slf4j
+public class AfterCommitIndexer {
+
+    private final Executor taskExecutor;
+
+    public AfterCommitIndexer(@Qualifier("taskExecutor") Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    public void indexAfterCommit(String description, Runnable write) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Runnable task = () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                write.run();
+                log.info("[AfterCommitIndexer] Indexed {} to Elasticsearch", description);
+            } catch (Exception e) {
+                log.error("[AfterCommitIndexer] Failed to index {} to Elasticsearch: {}", description, e.getMessage(), e);
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(task, description);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(task, description);
+            }
+        });
+    }
+
+    private void submit(Runnable task, String description) {
+        try {
+            taskExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("[AfterCommitIndexer] Executor saturated, indexing {} on the calling thread", description);
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.kaleidoscope.backend.shared.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch over real-valued weights. Estimates never undercount; with width w and
+ * depth d the overcount is at most 2N/w with probability 1 - 2^-d, where N is the total
+ * weight added. Not thread-safe; callers synchronize.
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final double[][] cells;
+    private final long[] seeds;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Count-Min sketch width and depth must be positive");
+        }
+        this.width = width;
+        this.cells = new double[depth][width];
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            seeds[row] = 0x9E3779B97F4A7C15L * (row + 1);
+        }
+    }
+
+    /**
+     * Adds the weight using conservative update (only the minimal cells grow), which keeps
+     * the overcount well below the plain bound for skewed streams, and returns the new estimate.
+     */
+    public double add(String key, double weight) {
+        int[] slots = slots(key);
+        double estimate = estimate(slots) + weight;
+        for (int row = 0; row < cells.length; row++) {
+            if (cells[row][slots[row]] < estimate) {
+                cells[row][slots[row]] = estimate;
+            }
+        }
+        return estimate;
+    }
+
+    public double estimate(String key) {
+        return estimate(slots(key));
+    }
+
+    /**
+     * Multiplies every cell by the factor; used to rebase forward-decayed weights.
+     */
+    public void scale(double factor) {
+        for (double[] row : cells) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+    }
+
+    public void clear() {
+        for (double[] row : cells) {
+            Arrays.fill(row, 0d);
+        }
+    }
+
+    private double estimate(int[] slots) {
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < cells.length; row++) {
+            min = Math.min(min, cells[row][slots[row]]);
+        }
+        return min;
+    }
+
+    private int[] slots(String key) {
+        long base = hash(key.getBytes(StandardCharsets.UTF_8));
+        int[] slots = new int[cells.length];
+        for (int row = 0; row < cells.length; row++) {
+            long mixed = mix(base ^ seeds[row]);
+            slots[row] = (int) Long.remainderUnsigned(mixed, width);
+        }
+        return slots;
+    }
+
+    private static long hash(byte[] bytes) {
+        // FNV-1a 64-bit
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        // SplitMix64 finalizer, so each row sees an independent-looking hash
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,29 @@
+package com.kaleidoscope.backend.shared.search;
+
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Page of search results that also carries the opaque cursor for the next page.
+ */
+@Getter
+public class CursorPage<T> extends PageImpl<T> {
+
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, Pageable pageable, long total, String nextCursor) {
+        super(content, pageable, total);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Next cursor of a page returned by a search repository, or null for plain pages.
+     */
+    public static String nextCursorOf(Page<?> page) {
+        return page instanceof CursorPage<?> cursorPage ? cursorPage.getNextCursor() : null;
+    }
+}
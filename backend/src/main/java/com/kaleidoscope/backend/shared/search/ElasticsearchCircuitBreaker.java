@@ -0,0 +1,188 @@
+package com.kaleidoscope.backend.shared.search;
+
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Time budget and circuit breaker around Elasticsearch reads.
+ *
+ * Each call runs on a small bounded pool and is abandoned once its per-operation timeout
+ * (app.elasticsearch.timeouts.{operation}-ms, falling back to default-ms) elapses, so request
+ * threads never wait on a stalled cluster. After failure-threshold consecutive failures the
+ * breaker opens and callers get their fallback immediately; once open-duration-ms has passed a
+ * single trial call is let through and its outcome closes or re-opens the breaker.
+ *
+ * Only Elasticsearch/data-access failures and timeouts count as failures. A saturated call
+ * pool is local load, not a cluster problem: the caller gets its fallback but the breaker's
+ * state is left alone. Any other exception from the call is rethrown unchanged.
+ */
+@Component
+@Slf4j
+public class ElasticsearchCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Environment environment;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final long defaultTimeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long openedAt;
+
+    public ElasticsearchCircuitBreaker(Environment environment,
+                                       @Value("${app.elasticsearch.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                       @Value("${app.elasticsearch.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+                                       @Value("${app.elasticsearch.timeouts.default-ms:2000}") long defaultTimeoutMs,
+                                       @Value("${app.elasticsearch.circuit-breaker.max-concurrent-calls:64}") int maxConcurrentCalls) {
+        this.environment = environment;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "es-call-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Run the Elasticsearch call within the operation's time budget, or return the fallback
+     * when the breaker is open or the call fails, times out or cannot be scheduled.
+     */
+    public <T> T call(String operation, Supplier<T> elasticsearchCall, Supplier<T> fallback) {
+        if (!allowRequest()) {
+            log.debug("[ElasticsearchCircuitBreaker] Open, serving fallback for {}", operation);
+            return fallback.get();
+        }
+
+        long timeoutMs = timeoutFor(operation);
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    return elasticsearchCall.get();
+                } finally {
+                    MDC.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("[ElasticsearchCircuitBreaker] Call pool saturated, serving fallback for {}", operation);
+            releaseTrial();
+            return fallback.get();
+        }
+
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            onFailure(operation, "timed out after " + timeoutMs + "ms");
+            return fallback.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            releaseTrial();
+            return fallback.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DataAccessException || cause instanceof ElasticsearchException) {
+                onFailure(operation, cause.getMessage());
+                return fallback.get();
+            }
+            releaseTrial();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        // Half-open: exactly one trial call probes the cluster, everyone else keeps falling back
+        return state.get() == State.HALF_OPEN && trialInFlight.compareAndSet(false, true);
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("[ElasticsearchCircuitBreaker] Trial call succeeded, circuit closed");
+        }
+        trialInFlight.set(false);
+    }
+
+    private void onFailure(String operation, String reason) {
+        if (state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+            openedAt = System.currentTimeMillis();
+            trialInFlight.set(false);
+            log.warn("[ElasticsearchCircuitBreaker] Trial call for {} failed ({}), circuit re-opened", operation, reason);
+            return;
+        }
+        int failures = consecutiveFailures.incrementAndGet();
+        log.warn("[ElasticsearchCircuitBreaker] {} failed ({}), consecutive failures: {}", operation, reason, failures);
+        if (failures >= failureThreshold && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            openedAt = System.currentTimeMillis();
+            log.error("[ElasticsearchCircuitBreaker] Circuit opened after {} consecutive failures; serving fallbacks for {}ms",
+                    failures, openDurationMs);
+        }
+    }
+
+    private void releaseTrial() {
+        if (state.get() == State.HALF_OPEN) {
+            trialInFlight.set(false);
+        }
+    }
+
+    private long timeoutFor(String operation) {
+        return environment.getProperty("app.elasticsearch.timeouts." + operation + "-ms", Long.class, defaultTimeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
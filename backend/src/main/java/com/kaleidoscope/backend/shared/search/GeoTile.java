@@ -0,0 +1,132 @@
+package com.kaleidoscope.backend.shared.search;
+
+/**
+ * Geohash cell used to bucket "nearby" queries.
+ *
+ * A block of cells around the caller's cell, {@code ring} cells deep on every side, always
+ * contains the whole search circle. Precision and ring are chosen from the radius so the block
+ * is as small as possible (a 5 km radius maps to a ~25 km block instead of a coarse cell's
+ * ~120 km one). Every caller whose point falls in the same cell, with the same ring, can then
+ * share one block query and apply the exact distance filter locally.
+ */
+public record GeoTile(String geohash, double minLat, double maxLat, double minLon, double maxLon, int ring) {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final int MAX_PRECISION = 7;
+    private static final int MAX_RING = 3;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Tile whose surrounding block covers the radius with the smallest area, or null when no
+     * tile does (very large radius, or a block that would cross a pole or the antimeridian).
+     */
+    public static GeoTile covering(double latitude, double longitude, double radiusKm) {
+        GeoTile best = null;
+        for (int precision = MAX_PRECISION; precision >= 1; precision--) {
+            for (int ring = 1; ring <= MAX_RING; ring++) {
+                GeoTile tile = of(latitude, longitude, precision, ring);
+                if (tile.blockCovers(radiusKm)) {
+                    if (best == null || tile.blockAreaKm2() < best.blockAreaKm2()) {
+                        best = tile;
+                    }
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Cache key for the block: the cell plus how many cells deep it extends.
+     */
+    public String key() {
+        return geohash + ":" + ring;
+    }
+
+    static GeoTile of(double latitude, double longitude, int precision, int ring) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(ch));
+                bits = 0;
+                ch = 0;
+            }
+        }
+        return new GeoTile(hash.toString(), minLat, maxLat, minLon, maxLon, ring);
+    }
+
+    public double blockTop() {
+        return maxLat + ring * (maxLat - minLat);
+    }
+
+    public double blockBottom() {
+        return minLat - ring * (maxLat - minLat);
+    }
+
+    public double blockLeft() {
+        return minLon - ring * (maxLon - minLon);
+    }
+
+    public double blockRight() {
+        return maxLon + ring * (maxLon - minLon);
+    }
+
+    private boolean blockCovers(double radiusKm) {
+        if (blockTop() > 90 || blockBottom() < -90 || blockLeft() < -180 || blockRight() > 180) {
+            return false;
+        }
+        // Cell width shrinks towards the poles; measure it at the block's poleward edge
+        double poleward = Math.max(Math.abs(blockTop()), Math.abs(blockBottom()));
+        return ring * minSideKm(poleward) >= radiusKm;
+    }
+
+    private double minSideKm(double atLatitude) {
+        double heightKm = (maxLat - minLat) * KM_PER_DEGREE;
+        double widthKm = (maxLon - minLon) * KM_PER_DEGREE * Math.cos(Math.toRadians(Math.min(90, Math.abs(atLatitude))));
+        return Math.min(heightKm, widthKm);
+    }
+
+    private double blockAreaKm2() {
+        double side = 2 * ring + 1;
+        double heightKm = (maxLat - minLat) * KM_PER_DEGREE;
+        double widthKm = (maxLon - minLon) * KM_PER_DEGREE * Math.cos(Math.toRadians((minLat + maxLat) / 2));
+        return side * side * heightKm * widthKm;
+    }
+
+    /**
+     * Great-circle (haversine) distance in kilometres.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,330 @@
+package com.kaleidoscope.backend.shared.search;
+
+import com.kaleidoscope.backend.shared.model.Hashtag;
+import com.kaleidoscope.backend.shared.repository.HashtagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, usage-weighted prefix index for hashtag autocomplete.
+ *
+ * Names are kept in a sorted array so every prefix maps to one contiguous range, and a
+ * max segment tree over usage counts returns the top-K of that range best-first in
+ * O(K log K log n) without touching PostgreSQL. Usage changes are applied in place;
+ * hashtags created since the last rebuild live in a small overlay until the next
+ * periodic rebuild folds them into the arrays.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HashtagPrefixIndex {
+
+    private static final int DELETED = Integer.MIN_VALUE;
+
+    private final HashtagRepository hashtagRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> recentlyAdded = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    public record Entry(Long hashtagId, String name, int usageCount) {
+        Hashtag toHashtag() {
+            return Hashtag.builder().hashtagId(hashtagId).name(name).usageCount(usageCount).build();
+        }
+    }
+
+    /**
+     * Top suggestions for the prefix ordered by usage count (desc) then name, or null when
+     * the index has not been built yet and the caller should fall back to the database.
+     */
+    public List<Hashtag> suggest(String prefix, int offset, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        int wanted = offset + limit;
+        lock.readLock().lock();
+        try {
+            List<Entry> top = current.topK(prefix, wanted);
+            if (!recentlyAdded.isEmpty()) {
+                for (Entry entry : recentlyAdded.values()) {
+                    if (entry.name().startsWith(prefix)) {
+                        top.add(entry);
+                    }
+                }
+                top.sort(Comparator.comparingInt(Entry::usageCount).reversed().thenComparing(Entry::name));
+            }
+            if (offset >= top.size()) {
+                return List.of();
+            }
+            return top.subList(offset, Math.min(wanted, top.size())).stream().map(Entry::toHashtag).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live hashtags matching the prefix (used as the page total).
+     */
+    public long count(String prefix) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return 0;
+        }
+        long extra = recentlyAdded.values().stream().filter(e -> e.name().startsWith(prefix)).count();
+        return current.rangeSize(prefix) + extra;
+    }
+
+    public void add(Hashtag hashtag) {
+        if (snapshot == null || hashtag.getName() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (snapshot.indexOf(hashtag.getName()) < 0) {
+                int usage = hashtag.getUsageCount() != null ? hashtag.getUsageCount() : 0;
+                recentlyAdded.put(hashtag.getName(), new Entry(hashtag.getHashtagId(), hashtag.getName(), usage));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void applyUsageChange(String name, int change) {
+        Snapshot current = snapshot;
+        if (current == null || name == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int index = current.indexOf(name);
+            if (index >= 0) {
+                current.update(index, Math.max(0, current.usage[index] + change));
+            } else {
+                recentlyAdded.computeIfPresent(name, (n, e) ->
+                        new Entry(e.hashtagId(), n, Math.max(0, e.usageCount() + change)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String name) {
+        Snapshot current = snapshot;
+        if (current == null || name == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int index = current.indexOf(name);
+            if (index >= 0) {
+                current.update(index, DELETED);
+                current.markDeleted(index);
+            }
+            recentlyAdded.remove(name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.hashtags.prefix-index.rebuild-interval-ms:300000}",
+            initialDelayString = "${app.hashtags.prefix-index.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<Object[]> rows = hashtagRepository.findAllIdNameAndUsageCount();
+            Snapshot rebuilt = Snapshot.of(rows);
+            lock.writeLock().lock();
+            try {
+                snapshot = rebuilt;
+                recentlyAdded.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("[HashtagPrefixIndex] Rebuilt with {} hashtags in {}ms",
+                    rebuilt.names.length, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("[HashtagPrefixIndex] Rebuild failed, keeping previous index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sorted arrays plus a segment tree holding, per node, the index of the highest-usage leaf,
+     * and a Fenwick tree counting tombstones so range sizes exclude deleted names.
+     */
+    private static final class Snapshot {
+        private final String[] names;
+        private final long[] ids;
+        private final int[] usage;
+        private final int[] tree;
+        private final int[] deleted;
+        private final int size;
+
+        private Snapshot(String[] names, long[] ids, int[] usage) {
+            this.names = names;
+            this.ids = ids;
+            this.usage = usage;
+            int n = 1;
+            while (n < Math.max(1, names.length)) {
+                n <<= 1;
+            }
+            this.size = n;
+            this.tree = new int[2 * n];
+            this.deleted = new int[names.length + 1];
+            Arrays.fill(tree, -1);
+            for (int i = 0; i < names.length; i++) {
+                tree[n + i] = i;
+            }
+            for (int i = n - 1; i >= 1; i--) {
+                tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+
+        static Snapshot of(List<Object[]> rows) {
+            Object[][] sorted = rows.stream()
+                    .filter(r -> r[1] != null)
+                    .sorted(Comparator.comparing(r -> (String) r[1]))
+                    .toArray(Object[][]::new);
+            String[] names = new String[sorted.length];
+            long[] ids = new long[sorted.length];
+            int[] usage = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = ((Number) sorted[i][0]).longValue();
+                names[i] = (String) sorted[i][1];
+                usage[i] = sorted[i][2] != null ? ((Number) sorted[i][2]).intValue() : 0;
+            }
+            return new Snapshot(names, ids, usage);
+        }
+
+        int indexOf(String name) {
+            int index = Arrays.binarySearch(names, name);
+            return index >= 0 && usage[index] != DELETED ? index : -1;
+        }
+
+        void update(int index, int value) {
+            usage[index] = value;
+            for (int node = (size + index) >> 1; node >= 1; node >>= 1) {
+                tree[node] = better(tree[2 * node], tree[2 * node + 1]);
+            }
+        }
+
+        void markDeleted(int index) {
+            for (int i = index + 1; i < deleted.length; i += i & -i) {
+                deleted[i]++;
+            }
+        }
+
+        long rangeSize(String prefix) {
+            int lo = lowerBound(prefix);
+            int hi = upperBound(prefix, lo);
+            return (hi - lo) - (deletedBefore(hi) - deletedBefore(lo));
+        }
+
+        private int deletedBefore(int end) {
+            int total = 0;
+            for (int i = end; i > 0; i -= i & -i) {
+                total += deleted[i];
+            }
+            return total;
+        }
+
+        List<Entry> topK(String prefix, int k) {
+            List<Entry> result = new ArrayList<>(k);
+            int lo = lowerBound(prefix);
+            int hi = upperBound(prefix, lo) - 1;
+            if (lo > hi || k <= 0) {
+                return result;
+            }
+            // Best-first over sub-ranges: pop the range whose max is highest, emit it, split around it
+            PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) -> compare(b[2], a[2]));
+            queue.add(new int[]{lo, hi, argMax(lo, hi)});
+            while (!queue.isEmpty() && result.size() < k) {
+                int[] range = queue.poll();
+                int best = range[2];
+                if (best < 0 || usage[best] == DELETED) {
+                    break;
+                }
+                result.add(new Entry(ids[best], names[best], usage[best]));
+                if (range[0] <= best - 1) {
+                    queue.add(new int[]{range[0], best - 1, argMax(range[0], best - 1)});
+                }
+                if (best + 1 <= range[1]) {
+                    queue.add(new int[]{best + 1, range[1], argMax(best + 1, range[1])});
+                }
+            }
+            return result;
+        }
+
+        private int argMax(int from, int to) {
+            int best = -1;
+            for (int l = from + size, r = to + size + 1; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    best = better(best, tree[l++]);
+                }
+                if ((r & 1) == 1) {
+                    best = better(best, tree[--r]);
+                }
+            }
+            return best;
+        }
+
+        /** Higher usage wins; ties go to the lexicographically smaller name (lower index). */
+        private int better(int a, int b) {
+            if (a < 0) return b;
+            if (b < 0) return a;
+            int cmp = compare(a, b);
+            return cmp > 0 || (cmp == 0 && a < b) ? a : b;
+        }
+
+        private int compare(int a, int b) {
+            int byUsage = Integer.compare(usage[a], usage[b]);
+            return byUsage != 0 ? byUsage : Integer.compare(b, a);
+        }
+
+        private int lowerBound(String prefix) {
+            int lo = 0;
+            int hi = names.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (names[mid].compareTo(prefix) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int upperBound(String prefix, int from) {
+            int lo = from;
+            int hi = names.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (names[mid].startsWith(prefix)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.kaleidoscope.backend.shared.search;
+
+import com.kaleidoscope.backend.shared.model.Location;
+import com.kaleidoscope.backend.shared.repository.LocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of every location's name and coordinates, so resolving a location ID to a
+ * point does not need a PostgreSQL round trip. Locations created on another instance are
+ * read through from the repository on first use; the periodic rebuild drops deleted ones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocationIndex {
+
+    private final LocationRepository locationRepository;
+
+    private final Map<Long, IndexedLocation> locations = new ConcurrentHashMap<>();
+
+    public record IndexedLocation(Long locationId, String name, Double latitude, Double longitude) {
+        static IndexedLocation of(Location location) {
+            return new IndexedLocation(location.getLocationId(), location.getName(),
+                    location.getLatitude() != null ? location.getLatitude().doubleValue() : null,
+                    location.getLongitude() != null ? location.getLongitude().doubleValue() : null);
+        }
+
+        public boolean hasCoordinates() {
+            return latitude != null && longitude != null;
+        }
+    }
+
+    public Optional<IndexedLocation> find(Long locationId) {
+        if (locationId == null) {
+            return Optional.empty();
+        }
+        IndexedLocation cached = locations.get(locationId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<IndexedLocation> loaded = locationRepository.findById(locationId).map(IndexedLocation::of);
+        loaded.ifPresent(l -> locations.put(l.locationId(), l));
+        return loaded;
+    }
+
+    public void put(Location location) {
+        if (location.getLocationId() != null) {
+            locations.put(location.getLocationId(), IndexedLocation.of(location));
+        }
+    }
+
+    public void remove(Long locationId) {
+        locations.remove(locationId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.locations.index.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.locations.index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<Object[]> rows = locationRepository.findAllIdNameAndCoordinates();
+            Map<Long, IndexedLocation> rebuilt = new ConcurrentHashMap<>(rows.size() * 2);
+            for (Object[] row : rows) {
+                Long id = ((Number) row[0]).longValue();
+                rebuilt.put(id, new IndexedLocation(id, (String) row[1],
+                        row[2] != null ? ((Number) row[2]).doubleValue() : null,
+                        row[3] != null ? ((Number) row[3]).doubleValue() : null));
+            }
+            locations.keySet().retainAll(rebuilt.keySet());
+            locations.putAll(rebuilt);
+            log.info("[LocationIndex] Rebuilt with {} locations in {}ms",
+                    rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("[LocationIndex] Rebuild failed, keeping previous index: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.kaleidoscope.backend.shared.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Serves viewer-independent "nearby" searches from per-tile candidate lists.
+ *
+ * The candidates for the block around the caller's {@link GeoTile} are loaded once and
+ * cached briefly in {@link SearchResultCache}; the exact radius filter, distance sort and
+ * paging are then done in-process for the caller's own point. A block that holds more than
+ * max-per-tile candidates cannot be served completely from its list, so such searches (and
+ * searches with an explicit sort) go to the caller's regular geo_distance query instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NearbyTileSearch {
+
+    private final SearchResultCache searchResultCache;
+
+    @Value("${app.search-cache.nearby.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.search-cache.nearby.max-per-tile:1000}")
+    private int maxPerTile;
+
+    private record Ranked<T>(T item, double distanceKm) {
+    }
+
+    /**
+     * Page of items within radiusKm of the point, nearest first, or null when the caller should
+     * run its regular query: the radius is too large for a tile, the pageable asks for its own
+     * sort, or the tile's block is too dense to hold every candidate.
+     *
+     * @param tileLoader loads up to the given number of candidates inside the tile's block
+     * @param pointOf extracts an item's coordinates (null items are skipped)
+     */
+    public <T> Page<T> search(String namespace, double latitude, double longitude, double radiusKm,
+                              Pageable pageable, BiFunction<GeoTile, Integer, List<T>> tileLoader,
+                              Function<T, GeoPoint> pointOf) {
+        if (pageable.getSort().isSorted()) {
+            return null;
+        }
+        GeoTile tile = GeoTile.covering(latitude, longitude, radiusKm);
+        if (tile == null) {
+            return null;
+        }
+
+        // One extra candidate tells a full block apart from one that holds exactly the cap
+        List<T> candidates = searchResultCache.getOrLoad(namespace, tile.key(),
+                Duration.ofSeconds(ttlSeconds), () -> tileLoader.apply(tile, maxPerTile + 1));
+        if (candidates.size() > maxPerTile) {
+            log.info("[NearbyTileSearch] Tile {} holds more than {} candidates, using a direct geo_distance query",
+                    tile.key(), maxPerTile);
+            return null;
+        }
+
+        List<Ranked<T>> within = new ArrayList<>();
+        for (T candidate : candidates) {
+            GeoPoint point = pointOf.apply(candidate);
+            if (point == null) {
+                continue;
+            }
+            double distance = GeoTile.distanceKm(latitude, longitude, point.getLat(), point.getLon());
+            if (distance <= radiusKm) {
+                within.add(new Ranked<>(candidate, distance));
+            }
+        }
+        within.sort(Comparator.comparingDouble(Ranked::distanceKm));
+
+        int from = (int) Math.min(pageable.getOffset(), within.size());
+        int to = Math.min(from + pageable.getPageSize(), within.size());
+        List<T> content = within.subList(from, to).stream().map(Ranked::item).toList();
+        return new PageImpl<>(content, pageable, within.size());
+    }
+}
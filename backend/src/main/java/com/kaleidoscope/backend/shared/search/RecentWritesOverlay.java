@@ -0,0 +1,219 @@
+package com.kaleidoscope.backend.shared.search;
+
+import com.kaleidoscope.backend.blogs.document.BlogDocument;
+import com.kaleidoscope.backend.posts.document.PostDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Read-your-own-writes overlay for freshly created posts and blogs.
+ *
+ * Index writes for new content happen after the transaction commits, so an author may query
+ * before Elasticsearch has the document (or before the next refresh makes it searchable).
+ * The documents are kept here per author for a short TTL and merged into the first page of
+ * that author's recency-ordered listings until Elasticsearch returns them itself.
+ *
+ * Entries are recorded once the write transaction commits, so a rolled-back create never shows
+ * up; updates replace an entry the author still has, so the overlay never shows a stale copy.
+ * The overlay is local to the instance that handled the write; comments are read straight
+ * from PostgreSQL and need no overlay.
+ */
+@Component
+@Slf4j
+public class RecentWritesOverlay {
+
+    private record Entry<T>(Long id, T document, long expiresAt) {
+    }
+
+    private final Map<Long, Deque<Entry<PostDocument>>> posts = new ConcurrentHashMap<>();
+    private final Map<Long, Deque<Entry<BlogDocument>>> blogs = new ConcurrentHashMap<>();
+
+    @Value("${app.search.recent-writes.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.search.recent-writes.max-per-author:20}")
+    private int maxPerAuthor;
+
+    public void recordPost(PostDocument document) {
+        if (document.getAuthor() != null) {
+            afterCommit(() -> record(posts, document.getAuthor().getUserId(), document.getPostId(), document, false));
+        }
+    }
+
+    public void recordBlog(BlogDocument document) {
+        if (document.getAuthor() != null) {
+            afterCommit(() -> record(blogs, document.getAuthor().getUserId(), document.getBlogId(), document, false));
+        }
+    }
+
+    /**
+     * Whether the author's overlay still holds the post, so callers can skip building a document.
+     */
+    public boolean holdsPost(Long authorId, Long postId) {
+        if (authorId == null) {
+            return false;
+        }
+        boolean[] held = new boolean[1];
+        posts.computeIfPresent(authorId, (key, entries) -> {
+            held[0] = entries.stream().anyMatch(entry -> entry.id().equals(postId));
+            return entries;
+        });
+        return held[0];
+    }
+
+    /**
+     * Replaces the overlay copy of an updated post, if the author still has one.
+     */
+    public void refreshPost(PostDocument document) {
+        if (document.getAuthor() != null) {
+            afterCommit(() -> record(posts, document.getAuthor().getUserId(), document.getPostId(), document, true));
+        }
+    }
+
+    /**
+     * Replaces the overlay copy of an updated blog, if the author still has one.
+     */
+    public void refreshBlog(BlogDocument document) {
+        if (document.getAuthor() != null) {
+            afterCommit(() -> record(blogs, document.getAuthor().getUserId(), document.getBlogId(), document, true));
+        }
+    }
+
+    public void forgetPost(Long authorId, Long postId) {
+        forget(posts, authorId, postId);
+    }
+
+    public void forgetBlog(Long authorId, Long blogId) {
+        forget(blogs, authorId, blogId);
+    }
+
+    /**
+     * Only the first page of a newest-first listing can take overlay documents without
+     * reordering or duplicating results on later pages.
+     */
+    public boolean appliesTo(Pageable pageable, SearchCursor cursor) {
+        if (cursor != null || pageable.getOffset() != 0) {
+            return false;
+        }
+        Sort sort = pageable.getSort();
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        Sort.Order first = sort.iterator().next();
+        return "createdAt".equals(first.getProperty()) && first.isDescending();
+    }
+
+    public Page<PostDocument> mergePosts(Long authorId, Page<PostDocument> page, Pageable pageable,
+                                         Predicate<PostDocument> matches) {
+        return merge(posts, authorId, page, pageable, PostDocument::getPostId, matches);
+    }
+
+    public Page<BlogDocument> mergeBlogs(Long authorId, Page<BlogDocument> page, Pageable pageable,
+                                         Predicate<BlogDocument> matches) {
+        return merge(blogs, authorId, page, pageable, BlogDocument::getBlogId, matches);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private <T> void record(Map<Long, Deque<Entry<T>>> store, Long authorId, Long id, T document, boolean onlyIfPresent) {
+        if (authorId == null || id == null) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + ttlSeconds * 1000;
+        store.compute(authorId, (key, entries) -> {
+            Deque<Entry<T>> deque = entries != null ? entries : new ArrayDeque<>();
+            boolean present = deque.removeIf(entry -> entry.id().equals(id));
+            if (onlyIfPresent && !present) {
+                return entries;
+            }
+            deque.addFirst(new Entry<>(id, document, expiresAt));
+            while (deque.size() > maxPerAuthor) {
+                deque.removeLast();
+            }
+            return deque;
+        });
+    }
+
+    private <T> void forget(Map<Long, Deque<Entry<T>>> store, Long authorId, Long id) {
+        if (authorId == null) {
+            return;
+        }
+        store.computeIfPresent(authorId, (key, entries) -> {
+            entries.removeIf(entry -> entry.id().equals(id));
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private <T> Page<T> merge(Map<Long, Deque<Entry<T>>> store, Long authorId, Page<T> page, Pageable pageable,
+                              Function<T, Long> idOf, Predicate<T> matches) {
+        if (authorId == null || !store.containsKey(authorId)) {
+            return page;
+        }
+        Set<Long> returned = page.getContent().stream().map(idOf).collect(Collectors.toSet());
+        long now = System.currentTimeMillis();
+        List<T> pending = new ArrayList<>();
+        store.computeIfPresent(authorId, (key, entries) -> {
+            // Documents Elasticsearch already returns are visible there and leave the overlay
+            entries.removeIf(entry -> entry.expiresAt() <= now || returned.contains(entry.id()));
+            entries.stream().map(Entry::document).filter(matches).forEach(pending::add);
+            return entries.isEmpty() ? null : entries;
+        });
+        if (pending.isEmpty()) {
+            return page;
+        }
+
+        List<T> merged = new ArrayList<>(pending);
+        merged.addAll(page.getContent());
+        if (merged.size() > pageable.getPageSize()) {
+            merged = merged.subList(0, pageable.getPageSize());
+        }
+        log.debug("[RecentWritesOverlay] Merged {} not-yet-indexed documents for author {}", pending.size(), authorId);
+        return new PageImpl<>(merged, pageable, page.getTotalElements() + pending.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.recent-writes.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        evictExpired(posts, now);
+        evictExpired(blogs, now);
+    }
+
+    private <T> void evictExpired(Map<Long, Deque<Entry<T>>> store, long now) {
+        for (Long authorId : store.keySet()) {
+            store.computeIfPresent(authorId, (key, entries) -> {
+                entries.removeIf(entry -> entry.expiresAt() <= now);
+                return entries.isEmpty() ? null : entries;
+            });
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.kaleidoscope.backend.shared.search;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Shared search_after / point-in-time paging for the Elasticsearch search repositories.
+ * Every query is sorted on a stable key (the requested sort, or _score, plus a unique
+ * ID tiebreaker) so the sort values of the last hit can be handed out as a cursor
+ * whether the client pages by offset or by cursor.
+ */
+public final class SearchAfterSupport {
+
+    public static final Duration PIT_KEEP_ALIVE = Duration.ofMinutes(2);
+
+    private SearchAfterSupport() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Apply paging to the query: offset paging when cursor is null, search_after otherwise.
+     *
+     * @param builder query builder to decorate
+     * @param pageable requested page size and sort
+     * @param cursor decoded cursor (null for offset paging)
+     * @param tiebreakerField unique numeric field used to break sort ties
+     * @param pitId point-in-time ID to search against (null for none)
+     */
+    public static void applyPaging(NativeQueryBuilder builder, Pageable pageable, SearchCursor cursor,
+                                   String tiebreakerField, String pitId) {
+        Sort sort = stableSort(pageable.getSort(), tiebreakerField);
+        if (cursor == null) {
+            builder.withPageable(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        } else {
+            builder.withPageable(PageRequest.of(0, pageable.getPageSize()));
+            if (cursor.searchAfter() != null) {
+                builder.withSearchAfter(cursor.searchAfter());
+            }
+        }
+        builder.withSort(sort);
+        if (pitId != null) {
+            builder.withPointInTime(new Query.PointInTime(pitId, PIT_KEEP_ALIVE));
+        }
+    }
+
+    /**
+     * Open a point-in-time on the document's index when the cursor asks for one and has none yet.
+     *
+     * @return the PIT ID to search against, or null when no PIT is used
+     */
+    public static String resolvePointInTime(ElasticsearchTemplate template, SearchCursor cursor, Class<?> documentClass) {
+        if (cursor == null || !cursor.pointInTime()) {
+            return null;
+        }
+        if (cursor.pitId() != null) {
+            return cursor.pitId();
+        }
+        return template.openPointInTime(template.getIndexCoordinatesFor(documentClass), PIT_KEEP_ALIVE, false);
+    }
+
+    /**
+     * Convert search hits into a page carrying the cursor for the following page.
+     * No cursor is returned once a short page signals the end of the result set.
+     */
+    public static <T> CursorPage<T> toPage(SearchHits<T> hits, Pageable pageable, SearchCursor cursor, String pitId) {
+        List<SearchHit<T>> searchHits = hits.getSearchHits();
+        List<T> content = searchHits.stream().map(SearchHit::getContent).toList();
+
+        String nextCursor = null;
+        if (!searchHits.isEmpty() && searchHits.size() >= pageable.getPageSize()) {
+            List<Object> lastSortValues = searchHits.get(searchHits.size() - 1).getSortValues();
+            String nextPitId = hits.getPointInTimeId() != null ? hits.getPointInTimeId() : pitId;
+            nextCursor = SearchCursor.encode(lastSortValues, nextPitId);
+        }
+
+        Pageable resultPageable = cursor == null ? pageable : PageRequest.of(0, pageable.getPageSize(), pageable.getSort());
+        return new CursorPage<>(content, resultPageable, hits.getTotalHits(), nextCursor);
+    }
+
+    private static Sort stableSort(Sort requested, String tiebreakerField) {
+        Sort sort = requested.isSorted() ? requested : Sort.by(Sort.Direction.DESC, "_score");
+        if (sort.getOrderFor(tiebreakerField) == null) {
+            sort = sort.and(Sort.by(Sort.Direction.ASC, tiebreakerField));
+        }
+        return sort;
+    }
+}
@@ -0,0 +1,74 @@
+package com.kaleidoscope.backend.shared.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kaleidoscope.backend.shared.exception.other.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opaque search_after cursor handed to clients as a URL-safe token.
+ * Carries the sort values of the last hit of the previous page and, when the client
+ * asked for a consistent snapshot, the point-in-time ID the pages are read from.
+ *
+ * @param searchAfter sort values of the last returned hit (null for the first page)
+ * @param pitId point-in-time ID (null until a PIT has been opened)
+ * @param pointInTime whether the client asked for point-in-time consistency
+ */
+public record SearchCursor(List<Object> searchAfter, String pitId, boolean pointInTime) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Resolve the cursor for a request. Returns null when the client uses plain offset paging.
+     *
+     * @param token cursor token from a previous response (optional)
+     * @param pointInTime whether a point-in-time snapshot was requested for the first page
+     * @return the decoded cursor, or null for offset paging
+     */
+    public static SearchCursor of(String token, Boolean pointInTime) {
+        if (token != null && !token.isBlank()) {
+            return decode(token);
+        }
+        if (Boolean.TRUE.equals(pointInTime)) {
+            return new SearchCursor(null, null, true);
+        }
+        return null;
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            Map<String, Object> payload = MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {});
+            @SuppressWarnings("unchecked")
+            List<Object> searchAfter = (List<Object>) payload.get("sa");
+            String pitId = (String) payload.get("pit");
+            if (searchAfter == null || searchAfter.isEmpty()) {
+                throw new InvalidCursorException("Cursor has no sort values");
+            }
+            return new SearchCursor(searchAfter, pitId, pitId != null);
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidCursorException("Malformed cursor token");
+        }
+    }
+
+    public static String encode(List<Object> searchAfter, String pitId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sa", searchAfter);
+        if (pitId != null) {
+            payload.put("pit", pitId);
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.kaleidoscope.backend.shared.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for search results that are identical for every viewer in the same
+ * visibility class (e.g. public hashtag/category pages, trending hashtags).
+ *
+ * Concurrent misses on the same key are collapsed into a single loader call (single-flight),
+ * entries expire after a short TTL, and a whole namespace can be dropped when a
+ * post create/update/delete event arrives. Entries may also name the scopes they depend on
+ * (e.g. "category:7"), so a change confined to some scopes drops only the entries of those
+ * scopes plus the ones stored under ANY_SCOPE. Personal filtering must happen on the returned
+ * value so entries stay shareable.
+ */
+@Component
+@Slf4j
+public class SearchResultCache {
+
+    public static final String POST_SEARCH_NAMESPACE = "post-search";
+    public static final String NEARBY_POSTS_NAMESPACE = "nearby-posts";
+    public static final String NEARBY_BLOGS_NAMESPACE = "nearby-blogs";
+
+    /** Scope of entries that any change in their namespace can affect. */
+    public static final String ANY_SCOPE = "*";
+
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> scopeVersions = new ConcurrentHashMap<>();
+
+    @Value("${app.search-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search-cache.max-entries:2000}")
+    private int maxEntries;
+
+    private record CacheEntry(Object value, Set<String> scopes, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    public static String authorScope(Long authorId) {
+        return "author:" + authorId;
+    }
+
+    public static String categoryScope(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public static String hashtagScope(String hashtag) {
+        return "hashtag:" + hashtag.trim();
+    }
+
+    /**
+     * Return the cached value for the key, or load it once for all concurrent callers.
+     * Loader exceptions are propagated to every waiting caller and nothing is cached.
+     */
+    public <T> T getOrLoad(String namespace, String key, Duration ttl, Supplier<T> loader) {
+        return getOrLoad(namespace, key, Set.of(ANY_SCOPE), ttl, loader);
+    }
+
+    /**
+     * Same as {@link #getOrLoad(String, String, Duration, Supplier)} for an entry that only
+     * changes when one of its scopes is invalidated. A value whose scopes were invalidated
+     * while it was loading is returned but not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String namespace, String key, Set<String> scopes, Duration ttl, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        String fullKey = namespace + ":" + generation(namespace).get() + ":" + key;
+        long now = System.currentTimeMillis();
+        CacheEntry cached = entries.get(fullKey);
+        if (cached != null && !cached.isExpired(now)) {
+            log.debug("[SearchResultCache] Hit for {}", fullKey);
+            return (T) cached.value();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(fullKey, mine);
+        if (existing != null) {
+            log.debug("[SearchResultCache] Joining in-flight load for {}", fullKey);
+            return (T) await(existing);
+        }
+
+        try {
+            log.debug("[SearchResultCache] Miss for {}, loading", fullKey);
+            long versionBefore = scopeVersion(namespace, scopes);
+            T value = loader.get();
+            if (value != null && scopeVersion(namespace, scopes) == versionBefore) {
+                evictIfFull();
+                entries.put(fullKey, new CacheEntry(value, scopes, System.currentTimeMillis() + ttl.toMillis()));
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(fullKey, mine);
+        }
+    }
+
+    /**
+     * Drop the entries of the namespace stored under any of the given scopes or under
+     * ANY_SCOPE. Loads of those scopes already in flight are not cached.
+     */
+    public void invalidate(String namespace, Collection<String> scopes) {
+        Set<String> affected = new HashSet<>(scopes);
+        affected.add(ANY_SCOPE);
+        affected.forEach(scope -> scopeVersions.computeIfAbsent(namespace + ":" + scope, k -> new AtomicLong()).incrementAndGet());
+        String prefix = namespace + ":";
+        entries.entrySet().removeIf(e -> e.getKey().startsWith(prefix)
+                && e.getValue().scopes().stream().anyMatch(affected::contains));
+        log.debug("[SearchResultCache] Invalidated scopes {} of namespace {}", affected, namespace);
+    }
+
+    /**
+     * Drop every entry in the namespace. Loads already in flight finish under the old
+     * generation and are never served again.
+     */
+    public void invalidate(String namespace) {
+        generation(namespace).incrementAndGet();
+        String prefix = namespace + ":";
+        entries.keySet().removeIf(k -> k.startsWith(prefix));
+        log.debug("[SearchResultCache] Invalidated namespace {}", namespace);
+    }
+
+    private AtomicLong generation(String namespace) {
+        return generations.computeIfAbsent(namespace, ns -> new AtomicLong());
+    }
+
+    // Versions only grow, so an unchanged sum means none of the scopes was invalidated;
+    // every targeted invalidation also bumps ANY_SCOPE
+    private long scopeVersion(String namespace, Set<String> scopes) {
+        long version = 0;
+        for (String scope : scopes) {
+            AtomicLong counter = scopeVersions.get(namespace + ":" + scope);
+            version += counter != null ? counter.get() : 0;
+        }
+        return version;
+    }
+
+    private void evictIfFull() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        if (entries.size() >= maxEntries) {
+            log.info("[SearchResultCache] Cache full with {} live entries, clearing", entries.size());
+            entries.clear();
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
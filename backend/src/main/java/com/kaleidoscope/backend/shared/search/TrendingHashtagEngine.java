@@ -0,0 +1,266 @@
+package com.kaleidoscope.backend.shared.search;
+
+import com.kaleidoscope.backend.shared.exception.other.InvalidTrendingWindowException;
+import com.kaleidoscope.backend.shared.model.Hashtag;
+import com.kaleidoscope.backend.shared.repository.HashtagRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming trending-hashtag engine fed by the hashtag usage stream.
+ *
+ * Each window keeps exponentially decayed usage counts in a Count-Min sketch plus a bounded
+ * min-heap of the heaviest candidates. Decay uses a landmark (forward decay): a use at time t
+ * is added with weight 2^((t - landmark) / halfLife), so nothing has to be rewritten as time
+ * passes and relative order is preserved; the landmark is moved forward before weights grow
+ * too large.
+ *
+ * The usage stream is consumed by a group, so every node only sees part of it. Nodes
+ * periodically publish their local top-K (decayed to the publish time) into a Redis hash per
+ * window and merge all live node snapshots into the list that is served from memory.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrendingHashtagEngine {
+
+    private static final String SNAPSHOT_KEY_PREFIX = "hashtags:trending:";
+    private static final int REBASE_AFTER_HALF_LIVES = 32;
+
+    public enum Window {
+        HOUR("1h"),
+        DAY("24h");
+
+        private final String param;
+
+        Window(String param) {
+            this.param = param;
+        }
+
+        public String getParam() {
+            return param;
+        }
+
+        public static Window fromParam(String param) {
+            for (Window window : values()) {
+                if (window.param.equalsIgnoreCase(param)) {
+                    return window;
+                }
+            }
+            throw new InvalidTrendingWindowException("Unsupported trending window: " + param + " (expected 1h or 24h)");
+        }
+    }
+
+    private record Candidate(String name, double weight) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final HashtagRepository hashtagRepository;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Window, WindowState> windows = new EnumMap<>(Window.class);
+    private volatile Map<Window, List<Hashtag>> trending = Map.of();
+
+    @Value("${app.hashtags.trending.sketch-width:2048}")
+    private int sketchWidth;
+
+    @Value("${app.hashtags.trending.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${app.hashtags.trending.candidates-per-node:100}")
+    private int candidatesPerNode;
+
+    @Value("${app.hashtags.trending.max-size:50}")
+    private int maxSize;
+
+    @Value("${app.hashtags.trending.half-life.hour-ms:1200000}")
+    private long hourHalfLifeMs;
+
+    @Value("${app.hashtags.trending.half-life.day-ms:28800000}")
+    private long dayHalfLifeMs;
+
+    @Value("${app.hashtags.trending.snapshot-stale-after-ms:60000}")
+    private long snapshotStaleAfterMs;
+
+    @PostConstruct
+    void initWindows() {
+        windows.put(Window.HOUR, new WindowState(hourHalfLifeMs));
+        windows.put(Window.DAY, new WindowState(dayHalfLifeMs));
+    }
+
+    /**
+     * Records hashtag uses from the usage stream. Removals are not subtracted: trending
+     * measures the recent rate of new uses, and the sketch only supports additions.
+     */
+    public void record(String hashtagName, int uses, long eventTimeMillis) {
+        if (hashtagName == null || uses <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long eventTime = Math.min(eventTimeMillis > 0 ? eventTimeMillis : now, now);
+        for (WindowState state : windows.values()) {
+            state.record(hashtagName, uses, eventTime, now);
+        }
+    }
+
+    /**
+     * The merged trending list for the window, heaviest first; empty until the first
+     * snapshot merge has seen any usage.
+     */
+    public List<Hashtag> trending(Window window) {
+        return trending.getOrDefault(window, List.of());
+    }
+
+    @Scheduled(fixedDelayString = "${app.hashtags.trending.snapshot-interval-ms:10000}")
+    public void publishAndMerge() {
+        long now = System.currentTimeMillis();
+        Map<Window, List<Hashtag>> merged = new EnumMap<>(Window.class);
+        for (Map.Entry<Window, WindowState> entry : windows.entrySet()) {
+            Window window = entry.getKey();
+            WindowState state = entry.getValue();
+            List<Candidate> local = state.snapshot(now);
+            Map<String, Double> weights;
+            try {
+                weights = exchangeSnapshots(window, state.halfLifeMs, local, now);
+            } catch (Exception e) {
+                log.warn("[TrendingHashtagEngine] Redis snapshot exchange failed for window {}, serving local counts: {}",
+                        window.getParam(), e.getMessage());
+                weights = local.stream().collect(Collectors.toMap(Candidate::name, Candidate::weight));
+            }
+            merged.put(window, hydrate(weights));
+        }
+        trending = merged;
+    }
+
+    private Map<String, Double> exchangeSnapshots(Window window, long halfLifeMs, List<Candidate> local, long now) {
+        String key = SNAPSHOT_KEY_PREFIX + window.getParam();
+        redisTemplate.opsForHash().put(key, nodeId, encode(now, local));
+        redisTemplate.expire(key, Duration.ofMillis(snapshotStaleAfterMs * 10));
+
+        Map<String, Double> weights = new HashMap<>();
+        List<Object> staleNodes = new ArrayList<>();
+        for (Map.Entry<Object, Object> snapshot : redisTemplate.opsForHash().entries(key).entrySet()) {
+            String payload = String.valueOf(snapshot.getValue());
+            int separator = payload.indexOf('|');
+            long publishedAt = separator > 0 ? Long.parseLong(payload.substring(0, separator)) : 0L;
+            if (now - publishedAt > snapshotStaleAfterMs) {
+                staleNodes.add(snapshot.getKey());
+                continue;
+            }
+            double decay = Math.pow(2, -(double) (now - publishedAt) / halfLifeMs);
+            for (String item : payload.substring(separator + 1).split(",")) {
+                int equals = item.lastIndexOf('=');
+                if (equals > 0) {
+                    weights.merge(item.substring(0, equals), Double.parseDouble(item.substring(equals + 1)) * decay, Double::sum);
+                }
+            }
+        }
+        if (!staleNodes.isEmpty()) {
+            redisTemplate.opsForHash().delete(key, staleNodes.toArray());
+            log.debug("[TrendingHashtagEngine] Dropped {} stale node snapshots for window {}", staleNodes.size(), window.getParam());
+        }
+        return weights;
+    }
+
+    private List<Hashtag> hydrate(Map<String, Double> weights) {
+        if (weights.isEmpty()) {
+            return List.of();
+        }
+        List<String> names = weights.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxSize)
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<String, Hashtag> byName = hashtagRepository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(Hashtag::getName, Function.identity(), (a, b) -> a));
+        // Hashtags deleted since they were counted simply drop out
+        return names.stream().map(byName::get).filter(Objects::nonNull).toList();
+    }
+
+    private static String encode(long publishedAt, List<Candidate> candidates) {
+        return publishedAt + "|" + candidates.stream()
+                .map(candidate -> candidate.name() + "=" + candidate.weight())
+                .collect(Collectors.joining(","));
+    }
+
+    private final class WindowState {
+
+        private final long halfLifeMs;
+        private final CountMinSketch sketch = new CountMinSketch(sketchWidth, sketchDepth);
+        private final Map<String, Candidate> candidates = new HashMap<>();
+        private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingDouble(Candidate::weight));
+        private long landmark = System.currentTimeMillis();
+
+        private WindowState(long halfLifeMs) {
+            this.halfLifeMs = halfLifeMs;
+        }
+
+        synchronized void record(String name, int uses, long eventTime, long now) {
+            rebaseIfNeeded(now);
+            double weight = uses * Math.pow(2, (double) (eventTime - landmark) / halfLifeMs);
+            offer(name, sketch.add(name, weight));
+        }
+
+        /**
+         * Local candidates with their weights decayed to {@code now}, heaviest first.
+         */
+        synchronized List<Candidate> snapshot(long now) {
+            double decay = Math.pow(2, -(double) (now - landmark) / halfLifeMs);
+            return candidates.values().stream()
+                    .map(candidate -> new Candidate(candidate.name(), candidate.weight() * decay))
+                    .sorted(Comparator.comparingDouble(Candidate::weight).reversed())
+                    .toList();
+        }
+
+        private void offer(String name, double estimate) {
+            Candidate existing = candidates.get(name);
+            if (existing != null) {
+                heap.remove(existing);
+            } else if (candidates.size() >= candidatesPerNode) {
+                if (heap.peek().weight() >= estimate) {
+                    return;
+                }
+                candidates.remove(heap.poll().name());
+            }
+            Candidate candidate = new Candidate(name, estimate);
+            heap.add(candidate);
+            candidates.put(name, candidate);
+        }
+
+        private void rebaseIfNeeded(long now) {
+            if (now - landmark < REBASE_AFTER_HALF_LIVES * halfLifeMs) {
+                return;
+            }
+            double factor = Math.pow(2, -(double) (now - landmark) / halfLifeMs);
+            sketch.scale(factor);
+            List<Candidate> rescaled = candidates.values().stream()
+                    .map(candidate -> new Candidate(candidate.name(), candidate.weight() * factor))
+                    .toList();
+            heap.clear();
+            candidates.clear();
+            rescaled.forEach(candidate -> {
+                heap.add(candidate);
+                candidates.put(candidate.name(), candidate);
+            });
+            landmark = now;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.kaleidoscope.backend.shared.service;
+
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reaction, comment, save and view counters per content item.
+ *
+ * Counters live in one Redis hash per item, are adjusted atomically after each write commits,
+ * and are reconciled into the denormalized count columns of posts and blogs in the background.
+ * A missing hash is rebuilt from the source tables on first read.
+ */
+public interface ContentCounterService {
+
+    /**
+     * Counters of one content item; reactionsByType holds only the types with reactions.
+     */
+    record Counters(long reactions, Map<ReactionType, Long> reactionsByType, long comments, long saves, long views) {
+
+        public static final Counters EMPTY = new Counters(0, Map.of(), 0, 0, 0);
+    }
+
+    /**
+     * Counters of one content item
+     * @param contentType POST, BLOG or COMMENT
+     * @param contentId The content ID
+     * @return The item's counters, zero for unknown items
+     */
+    Counters getCounters(ContentType contentType, Long contentId);
+
+    /**
+     * Counters of several content items of one type in one Redis round trip; missing hashes are
+     * rebuilt with one grouped query per source table
+     * @param contentType POST, BLOG or COMMENT
+     * @param contentIds The content IDs
+     * @return Counters per content ID, zero for unknown items
+     */
+    Map<Long, Counters> getCounters(ContentType contentType, Collection<Long> contentIds);
+
+    /**
+     * Apply a reaction being added, removed or changed once the current transaction commits
+     * @param removed The user's previous active reaction, or null
+     * @param added The user's new reaction, or null when unreacting
+     */
+    void recordReactionChange(ContentType contentType, Long contentId, ReactionType removed, ReactionType added);
+
+    /**
+     * Adjust the comment count once the current transaction commits
+     */
+    void recordCommentChange(ContentType contentType, Long contentId, long delta);
+
+    /**
+     * Adjust the save count once the current transaction commits
+     */
+    void recordSaveChange(ContentType contentType, Long contentId, long delta);
+
+    /**
+     * Adjust the de-duplicated view count; views are persisted by the view services' own flush
+     */
+    void recordViews(ContentType contentType, Long contentId, long delta);
+
+    /**
+     * Recompute the counters of the given items from the source tables, rebuilding their
+     * reaction_counts rows and overwriting Redis and the denormalized columns
+     * @return Number of items repaired
+     */
+    int repair(ContentType contentType, Collection<Long> contentIds);
+}
@@ -0,0 +1,201 @@
+package com.kaleidoscope.backend.shared.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records content views in Redis with one atomic script call per view.
+ *
+ * Per content item it keeps a HyperLogLog of each UTC day's viewers (about 12 KB at most,
+ * far less while sparse), a raw counter of every view, and a counter of first views per
+ * viewer per day that the view services flush to the database. The same HyperLogLog
+ * replaces the old per-user-per-content marker keys for de-duplication, so no per-viewer
+ * state is kept. That de-duplication is approximate: a first view whose PFADD leaves the
+ * registers unchanged is counted as a repeat (it still reaches the raw counter). Pending
+ * counts are drained in batches for the view services' set-based flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentViewTracker {
+
+    /**
+     * KEYS[1] daily viewers HLL, KEYS[2] raw view counter, KEYS[3] pending (de-duplicated)
+     * view counter, KEYS[4] dirty set; ARGV[1] viewer id, ARGV[2] content id, ARGV[3] HLL TTL.
+     * Returns 1 when this is the viewer's first view of the content today.
+     */
+    private static final RedisScript<Long> RECORD_VIEW_SCRIPT = new DefaultRedisScript<>("""
+            local added = redis.call('PFADD', KEYS[1], ARGV[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            redis.call('INCR', KEYS[2])
+            if added == 1 then
+                redis.call('INCR', KEYS[3])
+                redis.call('SADD', KEYS[4], ARGV[2])
+            end
+            return added
+            """, Long.class);
+
+    /**
+     * Key layout for one content type. Formats take the content id (and the epoch day for
+     * the viewers key).
+     */
+    public record Keys(String pendingCountKey, String rawCountKey, String dailyViewersKey, String dirtySet) {
+    }
+
+    /**
+     * Redis-side counts for one content item: views not yet flushed to the database, all
+     * views including repeats, and approximate unique viewers over the retained days.
+     */
+    public record RedisCounts(long pendingViews, long rawViews, long uniqueViewers) {
+    }
+
+    /**
+     * Counts exposed for a content item: de-duplicated views (database plus pending), all
+     * views including repeats, and approximate unique viewers over the retained days.
+     */
+    public record ViewCounts(long viewCount, long rawViewCount, long uniqueViewerCount) {
+    }
+
+    /**
+     * One drained batch: how many dirty ids were taken, and the non-zero pending counts among them.
+     */
+    public record Drained(int taken, Map<Long, Long> deltas) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.views.unique-viewer-days:7}")
+    private int uniqueViewerDays;
+
+    /**
+     * @return true when the view counted towards the de-duplicated view count
+     */
+    public boolean recordView(Keys keys, Long contentId, Long userId) {
+        long today = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        long ttlSeconds = TimeUnit.DAYS.toSeconds(uniqueViewerDays + 1L);
+        Long added = redisTemplate.execute(RECORD_VIEW_SCRIPT,
+                List.of(String.format(keys.dailyViewersKey(), contentId, today),
+                        String.format(keys.rawCountKey(), contentId),
+                        String.format(keys.pendingCountKey(), contentId),
+                        keys.dirtySet()),
+                String.valueOf(userId), String.valueOf(contentId), String.valueOf(ttlSeconds));
+        return Long.valueOf(1L).equals(added);
+    }
+
+    /**
+     * Pending, raw and unique-viewer counts in one pipelined round trip.
+     */
+    public RedisCounts readCounts(Keys keys, Long contentId) {
+        long today = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        String[] viewerKeys = new String[uniqueViewerDays];
+        for (int i = 0; i < uniqueViewerDays; i++) {
+            viewerKeys[i] = String.format(keys.dailyViewersKey(), contentId, today - i);
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.get(String.format(keys.pendingCountKey(), contentId));
+            stringConnection.get(String.format(keys.rawCountKey(), contentId));
+            stringConnection.pfCount(viewerKeys);
+            return null;
+        });
+        return new RedisCounts(toLong(results.get(0)), toLong(results.get(1)), toLong(results.get(2)));
+    }
+
+    /**
+     * Pending (not yet flushed) view counts of several content items in one pipelined round trip.
+     */
+    public Map<Long, Long> pendingCounts(Keys keys, Collection<Long> contentIds) {
+        List<Long> ids = List.copyOf(contentIds);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (Long id : ids) {
+                stringConnection.get(String.format(keys.pendingCountKey(), id));
+            }
+            return null;
+        });
+        Map<Long, Long> pending = new HashMap<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            pending.put(ids.get(i), toLong(results.get(i)));
+        }
+        return pending;
+    }
+
+    /**
+     * Takes up to {@code batchSize} dirty ids (SPOP) and atomically reads and clears their
+     * pending counts (pipelined GETDEL). Views recorded after the GETDEL start a new pending
+     * count and re-mark the id dirty, so nothing is lost between drains. Ids whose count was
+     * already cleared are taken but left out of the deltas.
+     */
+    public Drained drainPending(Keys keys, int batchSize) {
+        List<String> ids = redisTemplate.opsForSet().pop(keys.dirtySet(), batchSize);
+        if (ids == null || ids.isEmpty()) {
+            return new Drained(0, Map.of());
+        }
+        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String id : ids) {
+                stringConnection.getDel(String.format(keys.pendingCountKey(), Long.parseLong(id)));
+            }
+            return null;
+        });
+        Map<Long, Long> deltas = new LinkedHashMap<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            long delta = toLong(counts.get(i));
+            if (delta > 0) {
+                deltas.put(Long.parseLong(ids.get(i)), delta);
+            }
+        }
+        return new Drained(ids.size(), deltas);
+    }
+
+    /**
+     * Returns drained counts to Redis after a failed flush so the next flush retries them.
+     */
+    public void restorePending(Keys keys, Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            deltas.forEach((id, delta) -> {
+                stringConnection.incrBy(String.format(keys.pendingCountKey(), id), delta);
+                stringConnection.sAdd(keys.dirtySet(), String.valueOf(id));
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Number of content items with views waiting to be flushed.
+     */
+    public long pendingBacklog(Keys keys) {
+        Long size = redisTemplate.opsForSet().size(keys.dirtySet());
+        return size != null ? size : 0L;
+    }
+
+    private static long toLong(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return Long.parseLong(value.toString());
+    }
+}
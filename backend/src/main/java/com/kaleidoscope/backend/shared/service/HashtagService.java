@@ -46,12 +46,20 @@ public interface HashtagService {
     void triggerHashtagUsageUpdate(Set<Hashtag> addedHashtags, Set<Hashtag> removedHashtags);
 
     /**
-     * Get trending hashtags ordered by usage count
+     * Get trending hashtags for the last hour
      * @param pageable Pagination parameters
      * @return Page of trending hashtags
      */
     Page<Hashtag> getTrendingHashtags(Pageable pageable);
 
+    /**
+     * Get trending hashtags ordered by time-decayed recent usage
+     * @param window Trending window ("1h" or "24h")
+     * @param pageable Pagination parameters
+     * @return Page of trending hashtags
+     */
+    Page<Hashtag> getTrendingHashtags(String window, Pageable pageable);
+
     /**
      * Get hashtag suggestions based on prefix
      * @param prefix The prefix to search for
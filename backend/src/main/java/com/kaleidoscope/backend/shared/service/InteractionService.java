@@ -1,19 +1,34 @@
 package com.kaleidoscope.backend.shared.service;
 
 import com.kaleidoscope.backend.shared.dto.request.CommentCreateRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
+import com.kaleidoscope.backend.shared.dto.response.CommentPageResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.CommentResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.ReactionResponseDTO;
 import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.enums.ReactionType;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+
+import java.util.List;
 
 public interface InteractionService {
     ReactionResponseDTO reactOrUnreact(ContentType contentType, Long contentId, ReactionType reactionType, boolean unreact);
     ReactionResponseDTO getReactionSummary(ContentType contentType, Long contentId);
+    List<BatchItemResponseDTO<ReactionResponseDTO>> getReactionSummaries(ContentType contentType, List<Long> contentIds);
 
     // Comments
     CommentResponseDTO addComment(ContentType contentType, Long contentId, CommentCreateRequestDTO requestDTO);
-    Page<CommentResponseDTO> listComments(ContentType contentType, Long contentId, Pageable pageable);
+
+    /**
+     * Keyset page of top-level comments, newest first, each with its reply count and first
+     * replyLimit replies
+     * @param cursor nextCursor of the previous page, null for the first page
+     */
+    CommentPageResponseDTO listComments(ContentType contentType, Long contentId, String cursor, int size, int replyLimit);
+
+    /**
+     * Keyset page of one thread's replies, oldest first
+     */
+    CommentPageResponseDTO listReplies(ContentType contentType, Long contentId, Long commentId, String cursor, int size);
+
     void deleteComment(Long contentId, Long commentId);
 }
\ No newline at end of file
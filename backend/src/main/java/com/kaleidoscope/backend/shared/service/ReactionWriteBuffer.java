@@ -0,0 +1,297 @@
+package com.kaleidoscope.backend.shared.service;
+
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Last-write-wins buffer of reaction toggles in Redis, used when app.reactions.buffer.enabled.
+ *
+ * One hash field per (content type, content id, user) holds the user's latest requested state,
+ * so repeated toggles within a flush window overwrite each other; a dirty set lists the fields
+ * waiting to be persisted. Being in Redis, pending toggles survive a node restart and any node
+ * can flush them.
+ *
+ * Taken toggles stay in an in-flight hash until the flush acknowledges them after its commit,
+ * so a flush that dies between taking and committing loses nothing: the next flush returns
+ * whatever is still in flight to the buffer first. Toggles that keep failing are moved to a
+ * dead-letter hash once they reach the flush's attempt limit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactionWriteBuffer {
+
+    private static final String VALUES_KEY = "reactions:buffer";
+    private static final String DIRTY_SET = "reactions:buffer:dirty";
+    private static final String IN_FLIGHT_KEY = "reactions:buffer:inflight";
+    private static final String ATTEMPTS_KEY = "reactions:buffer:attempts";
+    private static final String DEAD_LETTER_KEY = "reactions:buffer:dead";
+    private static final String REMOVED = "NONE";
+
+    /**
+     * KEYS[1] values hash, KEYS[2] dirty set; ARGV[1] field, ARGV[2] value.
+     */
+    private static final RedisScript<Long> BUFFER_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('SADD', KEYS[2], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * KEYS[1] values hash, KEYS[2] in-flight hash; ARGV fields. The value of each field, the
+     * buffered one before the in-flight one, or false.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PENDING_SCRIPT = new DefaultRedisScript<>("""
+            local result = {}
+            for i, field in ipairs(ARGV) do
+                result[i] = redis.call('HGET', KEYS[1], field) or redis.call('HGET', KEYS[2], field)
+            end
+            return result
+            """, List.class);
+
+    /**
+     * KEYS[1] values hash, KEYS[2] dirty set, KEYS[3] in-flight hash; ARGV[1] batch size. Pops
+     * dirty fields and moves their values to the in-flight hash in one step, returning field,
+     * value pairs. A toggle arriving later writes a new value and re-marks the field dirty.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            local fields = redis.call('SPOP', KEYS[2], ARGV[1])
+            if #fields == 0 then
+                return {}
+            end
+            local values = redis.call('HMGET', KEYS[1], unpack(fields))
+            redis.call('HDEL', KEYS[1], unpack(fields))
+            local result = {}
+            for i, field in ipairs(fields) do
+                if values[i] then
+                    redis.call('HSET', KEYS[3], field, values[i])
+                    result[#result + 1] = field
+                    result[#result + 1] = values[i]
+                end
+            end
+            return result
+            """, List.class);
+
+    /**
+     * KEYS[1] in-flight hash, KEYS[2] attempts hash; ARGV field, value pairs. Clears persisted
+     * entries unless the field has been taken again meanwhile.
+     */
+    private static final RedisScript<Long> ACK_SCRIPT = new DefaultRedisScript<>("""
+            local acked = 0
+            for i = 1, #ARGV, 2 do
+                if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then
+                    redis.call('HDEL', KEYS[1], ARGV[i])
+                    acked = acked + 1
+                end
+                redis.call('HDEL', KEYS[2], ARGV[i])
+            end
+            return acked
+            """, Long.class);
+
+    /**
+     * KEYS[1] values hash, KEYS[2] dirty set, KEYS[3] in-flight hash, KEYS[4] attempts hash,
+     * KEYS[5] dead-letter hash; ARGV[1] attempt limit (0 for uncounted), then field, value pairs.
+     * Puts taken entries back unless a newer toggle has been buffered for the same field
+     * meanwhile; counted entries reaching the limit go to the dead-letter hash instead. Returns
+     * the number dead-lettered.
+     */
+    private static final RedisScript<Long> RESTORE_SCRIPT = new DefaultRedisScript<>("""
+            local limit = tonumber(ARGV[1])
+            local dead = 0
+            for i = 2, #ARGV, 2 do
+                if redis.call('HGET', KEYS[3], ARGV[i]) == ARGV[i + 1] then
+                    redis.call('HDEL', KEYS[3], ARGV[i])
+                end
+                if limit > 0 and redis.call('HINCRBY', KEYS[4], ARGV[i], 1) >= limit then
+                    redis.call('HSET', KEYS[5], ARGV[i], ARGV[i + 1])
+                    redis.call('HDEL', KEYS[4], ARGV[i])
+                    dead = dead + 1
+                elseif redis.call('HSETNX', KEYS[1], ARGV[i], ARGV[i + 1]) == 1 then
+                    redis.call('SADD', KEYS[2], ARGV[i])
+                end
+            end
+            return dead
+            """, Long.class);
+
+    /**
+     * KEYS[1] values hash, KEYS[2] dirty set, KEYS[3] in-flight hash. Returns every in-flight
+     * entry to the buffer unless a newer toggle is buffered, and returns the number returned.
+     */
+    private static final RedisScript<Long> RECOVER_SCRIPT = new DefaultRedisScript<>("""
+            local entries = redis.call('HGETALL', KEYS[3])
+            local recovered = 0
+            for i = 1, #entries, 2 do
+                if redis.call('HSETNX', KEYS[1], entries[i], entries[i + 1]) == 1 then
+                    redis.call('SADD', KEYS[2], entries[i])
+                    recovered = recovered + 1
+                end
+            end
+            redis.call('DEL', KEYS[3])
+            return recovered
+            """, Long.class);
+
+    /**
+     * A user's latest requested reaction on one content item; a null reaction type means the
+     * reaction was removed.
+     */
+    public record BufferedReaction(ContentType contentType, Long contentId, Long userId,
+                                   ReactionType reactionType, long changedAtMillis) {
+
+        public String key() {
+            return key(contentType.name(), contentId, userId);
+        }
+
+        public static String key(String contentType, Long contentId, Long userId) {
+            return contentType + ":" + contentId + ":" + userId;
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void buffer(ContentType contentType, Long contentId, Long userId, ReactionType reactionType) {
+        BufferedReaction change = new BufferedReaction(contentType, contentId, userId, reactionType, System.currentTimeMillis());
+        redisTemplate.execute(BUFFER_SCRIPT, List.of(VALUES_KEY, DIRTY_SET), change.key(), encode(change));
+    }
+
+    /**
+     * The user's toggle on the item that has not been committed yet, if any.
+     */
+    public Optional<BufferedReaction> pending(ContentType contentType, Long contentId, Long userId) {
+        return Optional.ofNullable(pending(contentType, List.of(contentId), userId).get(contentId));
+    }
+
+    /**
+     * The user's uncommitted toggles on several items of one type, buffered or in flight, in one
+     * round trip.
+     */
+    public Map<Long, BufferedReaction> pending(ContentType contentType, Collection<Long> contentIds, Long userId) {
+        List<Long> ids = List.copyOf(contentIds);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        String[] fields = ids.stream()
+                .map(id -> BufferedReaction.key(contentType.name(), id, userId))
+                .toArray(String[]::new);
+        List<?> values = redisTemplate.execute(PENDING_SCRIPT, List.of(VALUES_KEY, IN_FLIGHT_KEY), (Object[]) fields);
+        Map<Long, BufferedReaction> pending = new HashMap<>();
+        for (int i = 0; values != null && i < Math.min(ids.size(), values.size()); i++) {
+            Object value = values.get(i);
+            BufferedReaction change = value != null ? decode(fields[i], value.toString()) : null;
+            if (change != null) {
+                pending.put(ids.get(i), change);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Takes up to {@code batchSize} pending toggles off the buffer; they stay in flight until
+     * acknowledged or restored.
+     */
+    public List<BufferedReaction> take(int batchSize) {
+        List<?> result = redisTemplate.execute(TAKE_SCRIPT, List.of(VALUES_KEY, DIRTY_SET, IN_FLIGHT_KEY),
+                String.valueOf(batchSize));
+        if (result == null || result.isEmpty()) {
+            return List.of();
+        }
+        List<BufferedReaction> changes = new ArrayList<>(result.size() / 2);
+        for (int i = 0; i + 1 < result.size(); i += 2) {
+            BufferedReaction change = decode(result.get(i).toString(), result.get(i + 1).toString());
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Clears taken toggles once their flush has committed.
+     */
+    public void acknowledge(List<BufferedReaction> changes) {
+        if (!changes.isEmpty()) {
+            redisTemplate.execute(ACK_SCRIPT, List.of(IN_FLIGHT_KEY, ATTEMPTS_KEY), (Object[]) entries(changes, 0));
+        }
+    }
+
+    /**
+     * Returns taken toggles after a failed flush so the next flush retries them; toggles the
+     * users made in the meantime win.
+     */
+    public void restore(List<BufferedReaction> changes) {
+        restore(changes, 0);
+    }
+
+    /**
+     * Returns taken toggles that failed on their own data, counting the attempt; those failing
+     * for the {@code maxAttempts}th time are dead-lettered. Returns the number dead-lettered.
+     */
+    public int restore(List<BufferedReaction> changes, int maxAttempts) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        String[] args = entries(changes, 1);
+        args[0] = String.valueOf(Math.max(maxAttempts, 0));
+        Long dead = redisTemplate.execute(RESTORE_SCRIPT,
+                List.of(VALUES_KEY, DIRTY_SET, IN_FLIGHT_KEY, ATTEMPTS_KEY, DEAD_LETTER_KEY), (Object[]) args);
+        return dead != null ? dead.intValue() : 0;
+    }
+
+    /**
+     * Returns toggles left in flight by a flush that never finished to the buffer. Only safe
+     * while no other flush is running.
+     */
+    public long recoverInFlight() {
+        Long recovered = redisTemplate.execute(RECOVER_SCRIPT, List.of(VALUES_KEY, DIRTY_SET, IN_FLIGHT_KEY));
+        return recovered != null ? recovered : 0L;
+    }
+
+    /**
+     * Number of (content, user) pairs waiting to be flushed.
+     */
+    public long pendingBacklog() {
+        Long size = redisTemplate.opsForSet().size(DIRTY_SET);
+        return size != null ? size : 0L;
+    }
+
+    private static String[] entries(List<BufferedReaction> changes, int offset) {
+        String[] args = new String[offset + changes.size() * 2];
+        for (int i = 0; i < changes.size(); i++) {
+            args[offset + 2 * i] = changes.get(i).key();
+            args[offset + 2 * i + 1] = encode(changes.get(i));
+        }
+        return args;
+    }
+
+    private static String encode(BufferedReaction change) {
+        String reaction = change.reactionType() != null ? change.reactionType().name() : REMOVED;
+        return reaction + "|" + change.changedAtMillis();
+    }
+
+    private static BufferedReaction decode(String field, String value) {
+        try {
+            String[] key = field.split(":");
+            String[] state = value.split("\\|");
+            ReactionType reactionType = REMOVED.equals(state[0]) ? null : ReactionType.valueOf(state[0]);
+            return new BufferedReaction(ContentType.valueOf(key[0]), Long.parseLong(key[1]), Long.parseLong(key[2]),
+                    reactionType, Long.parseLong(state[1]));
+        } catch (RuntimeException e) {
+            log.warn("[ReactionWriteBuffer] Dropping malformed buffered reaction {}={}", field, value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.kaleidoscope.backend.shared.service;
+
+import com.kaleidoscope.backend.shared.dto.response.FederatedSearchResponseDTO;
+
+public interface SearchService {
+
+    /**
+     * Search posts, blogs, users and hashtags for the global search box in one call.
+     * The Elasticsearch sections run as a single _msearch sharing one viewer-visibility context;
+     * hashtags are served from the in-memory prefix index.
+     *
+     * @param query Search text
+     * @param postsLimit Maximum posts to return (null for the default, 0 to skip the section)
+     * @param blogsLimit Maximum blogs to return (null for the default, 0 to skip the section)
+     * @param usersLimit Maximum users to return (null for the default, 0 to skip the section)
+     * @param hashtagsLimit Maximum hashtags to return (null for the default, 0 to skip the section)
+     * @return Grouped results, flagged as partial when a section failed or timed out
+     */
+    FederatedSearchResponseDTO search(String query, Integer postsLimit, Integer blogsLimit,
+                                      Integer usersLimit, Integer hashtagsLimit);
+}
@@ -7,16 +7,30 @@ import com.kaleidoscope.backend.shared.dto.response.UserTagResponseDTO;
 import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface UserTagService {
     
     /**
      * Find users that can be tagged by the current user based on search query
      * @param query Search query for username/email
      * @param pageable Pagination parameters
+     * @param cursor Opaque search_after cursor from a previous page, or null for offset paging
+     * @param pointInTime Whether to pin cursor pagination to a point-in-time snapshot
      * @return Paginated list of taggable users
      */
-    PaginatedResponse<UserDetailsSummaryResponseDTO> findTaggableUsers(String query, Pageable pageable);
+    PaginatedResponse<UserDetailsSummaryResponseDTO> findTaggableUsers(String query, Pageable pageable,
+                                                                       String cursor, Boolean pointInTime);
     
+    /**
+     * Mention typeahead: prefix suggestions ranked by follow proximity and follower count,
+     * with blocked users (in either direction) filtered out
+     * @param prefix Text typed so far
+     * @param limit Maximum number of suggestions (capped server-side)
+     * @return Ranked list of suggested users
+     */
+    List<UserDetailsSummaryResponseDTO> getTypeaheadUsers(String prefix, int limit);
+
     /**
      * Create a new user tag
      * @param requestDTO Tag creation request
@@ -0,0 +1,608 @@
+package com.kaleidoscope.backend.shared.service.impl;
+
+import com.kaleidoscope.backend.blogs.repository.BlogRepository;
+import com.kaleidoscope.backend.blogs.repository.BlogSaveRepository;
+import com.kaleidoscope.backend.blogs.service.BlogViewService;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.repository.PostSaveRepository;
+import com.kaleidoscope.backend.posts.service.PostViewService;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
+import com.kaleidoscope.backend.shared.repository.CommentRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionCountRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.scheduler.ReactionCountBackfillJob;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ContentViewTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis hash per content item (counters:{type}:{id}) with the fields reactions, reaction:{TYPE},
+ * comments, saves and views.
+ *
+ * Writes run a script after commit that increments the fields only while the hash exists and
+ * marks the item dirty; a missing hash is rebuilt from the source tables on the next read
+ * (reactions from the per-type reaction_counts rows once their backfill has completed), so a
+ * write never creates a partial hash.
+ * A rebuild first opens a marker hash ({key}:rebuild) that collects the deltas of writes applied
+ * while it reads the database; the rebuilt values are stored with those deltas re-applied, so
+ * a write committed after the read is not lost. When deltas did arrive (they may also have been
+ * part of the read) or the marker expired, the hash only lives for the short contended TTL and
+ * is rebuilt soon after; otherwise it expires after the configured TTL. Dirty posts and blogs
+ * are written to their count columns in batches of one UPDATE ... unnest and only leave the
+ * dirty set when their hash still holds the values written. A post or blog that is not dirty
+ * therefore has current columns, and its rebuild takes comments and saves from them instead of
+ * counting the source tables; views are only mirrored here, the view services keep flushing
+ * view_count themselves.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentCounterServiceImpl implements ContentCounterService {
+
+    private static final String COUNTERS_KEY = "counters:%s:%d";
+    private static final String REBUILD_KEY = "counters:%s:%d:rebuild";
+    // Placeholder field that keeps an open rebuild marker non-empty
+    private static final String REBUILD_OPEN = "_";
+    private static final String DIRTY_SET = "counters:dirty:%s";
+    private static final String REACTIONS = "reactions";
+    private static final String REACTION_PREFIX = "reaction:";
+    private static final String COMMENTS = "comments";
+    private static final String SAVES = "saves";
+    private static final String VIEWS = "views";
+    private static final List<ContentType> RECONCILED_TYPES = List.of(ContentType.POST, ContentType.BLOG);
+
+    /**
+     * KEYS[1] counters hash, KEYS[2] rebuild marker, optional KEYS[3] dirty set; ARGV[1] content
+     * id, then field/delta pairs. Deltas go to the hash when it exists, else to an open rebuild
+     * marker, else nowhere.
+     */
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>("""
+            local exists = redis.call('EXISTS', KEYS[1])
+            local target = nil
+            if exists == 1 then
+                target = KEYS[1]
+            elseif redis.call('EXISTS', KEYS[2]) == 1 then
+                target = KEYS[2]
+            end
+            if target then
+                for i = 2, #ARGV, 2 do
+                    redis.call('HINCRBY', target, ARGV[i], ARGV[i + 1])
+                end
+            end
+            if #KEYS > 2 then
+                redis.call('SADD', KEYS[3], ARGV[1])
+            end
+            return exists
+            """, Long.class);
+
+    /**
+     * KEYS[1] dirty set, then one counters hash per item; ARGV holds id, reactions, comments and
+     * saves per item as written to the count columns. Removes an item from the dirty set only
+     * while its hash still holds those values, so a write applied during the reconcile keeps it
+     * dirty.
+     */
+    private static final RedisScript<Long> CLEAR_RECONCILED_SCRIPT = new DefaultRedisScript<>("""
+            local cleared = 0
+            for i = 2, #KEYS do
+                local base = (i - 2) * 4
+                local current = redis.call('HMGET', KEYS[i], 'reactions', 'comments', 'saves')
+                if current[1] == ARGV[base + 2] and current[2] == ARGV[base + 3] and current[3] == ARGV[base + 4] then
+                    cleared = cleared + redis.call('SREM', KEYS[1], ARGV[base + 1])
+                end
+            end
+            return cleared
+            """, Long.class);
+
+    /**
+     * KEYS[1] counters hash, KEYS[2] rebuild marker; ARGV[1] marker TTL seconds. Opens the marker
+     * unless the hash exists or another rebuild already opened it. Run pipelined, hence plain text.
+     */
+    private static final String BEGIN_REBUILD_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            if redis.call('HSETNX', KEYS[2], '_', '1') == 1 then
+                redis.call('EXPIRE', KEYS[2], ARGV[1])
+            end
+            return 1
+            """;
+
+    /**
+     * KEYS[1] counters hash, KEYS[2] rebuild marker; ARGV[1] '1' to overwrite, '0' to only fill
+     * a missing hash, ARGV[2] TTL seconds, ARGV[3] contended TTL seconds, then field/value pairs.
+     * Filling re-applies the deltas collected by the marker and closes it. Run pipelined, hence
+     * plain text.
+     */
+    private static final String STORE_SCRIPT = """
+            local ttl = ARGV[2]
+            local raced = {}
+            if ARGV[1] == '1' then
+                redis.call('DEL', KEYS[1])
+            elseif redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            else
+                raced = redis.call('HGETALL', KEYS[2])
+                if #raced ~= 2 then
+                    ttl = ARGV[3]
+                end
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 4))
+            for i = 1, #raced, 2 do
+                if raced[i] ~= '_' then
+                    redis.call('HINCRBY', KEYS[1], raced[i], raced[i + 1])
+                end
+            end
+            redis.call('DEL', KEYS[2])
+            redis.call('EXPIRE', KEYS[1], ttl)
+            return 1
+            """;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ReactionCountRepository reactionCountRepository;
+    private final ReactionRepository reactionRepository;
+    private final ReactionCountBackfillJob reactionCountBackfillJob;
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final PostSaveRepository postSaveRepository;
+    private final BlogRepository blogRepository;
+    private final BlogSaveRepository blogSaveRepository;
+    private final ContentViewTracker contentViewTracker;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.counters.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.counters.contended-ttl-seconds:60}")
+    private long contendedTtlSeconds;
+
+    @Value("${app.counters.rebuild-marker-ttl-seconds:30}")
+    private long rebuildMarkerTtlSeconds;
+
+    @Value("${app.counters.reconcile.batch-size:1000}")
+    private int reconcileBatchSize;
+
+    @Value("${app.counters.reconcile.max-duration-ms:30000}")
+    private long reconcileMaxMillis;
+
+    @Override
+    public Counters getCounters(ContentType contentType, Long contentId) {
+        return getCounters(contentType, List.of(contentId)).getOrDefault(contentId, Counters.EMPTY);
+    }
+
+    @Override
+    public Map<Long, Counters> getCounters(ContentType contentType, Collection<Long> contentIds) {
+        List<Long> ids = contentIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object> hashes;
+        try {
+            hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (Long id : ids) {
+                    stringConnection.hGetAll(key(contentType, id));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[ContentCounterService] Failed to read {} {} counters from Redis, counting from the database: {}",
+                    ids.size(), contentType, e.getMessage());
+            return countFromSource(contentType, ids);
+        }
+
+        Map<Long, Counters> counters = new HashMap<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Map<String, String> hash = (Map<String, String>) hashes.get(i);
+            if (hash == null || hash.isEmpty()) {
+                missing.add(ids.get(i));
+            } else {
+                counters.put(ids.get(i), fromHash(hash));
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Counts taken inside a write transaction may include its uncommitted changes,
+            // which the after-commit increments would then count twice
+            boolean cacheable = !TransactionSynchronizationManager.isActualTransactionActive()
+                    || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            if (cacheable) {
+                beginRebuild(contentType, missing);
+            }
+            Map<Long, Counters> loaded = countForRebuild(contentType, missing);
+            if (cacheable) {
+                store(contentType, loaded, false);
+            }
+            counters.putAll(loaded);
+        }
+        return counters;
+    }
+
+    @Override
+    public void recordReactionChange(ContentType contentType, Long contentId, ReactionType removed, ReactionType added) {
+        if (removed == added) {
+            return;
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        if (removed != null) {
+            deltas.merge(REACTIONS, -1L, Long::sum);
+            deltas.put(REACTION_PREFIX + removed.name(), -1L);
+        }
+        if (added != null) {
+            deltas.merge(REACTIONS, 1L, Long::sum);
+            deltas.put(REACTION_PREFIX + added.name(), 1L);
+        }
+        applyAfterCommit(contentType, contentId, deltas);
+    }
+
+    @Override
+    public void recordCommentChange(ContentType contentType, Long contentId, long delta) {
+        applyAfterCommit(contentType, contentId, Map.of(COMMENTS, delta));
+    }
+
+    @Override
+    public void recordSaveChange(ContentType contentType, Long contentId, long delta) {
+        applyAfterCommit(contentType, contentId, Map.of(SAVES, delta));
+    }
+
+    @Override
+    public void recordViews(ContentType contentType, Long contentId, long delta) {
+        applyAfterCommit(contentType, contentId, Map.of(VIEWS, delta));
+    }
+
+    @Override
+    public int repair(ContentType contentType, Collection<Long> contentIds) {
+        List<Long> ids = contentIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            reactionCountRepository.lockForRebuild(contentType.name(), ids.toArray(Long[]::new));
+            reactionCountRepository.deleteByContentIds(ids, contentType.name());
+            reactionCountRepository.recountFromReactions(ids, contentType.name());
+        });
+        Map<Long, Counters> counters = countFromSource(contentType, ids);
+        store(contentType, counters, true);
+        if (RECONCILED_TYPES.contains(contentType)) {
+            writeSnapshots(contentType, counters);
+        }
+        log.debug("[ContentCounterService] Repaired counters of {} {} items", counters.size(), contentType);
+        return counters.size();
+    }
+
+    /**
+     * Writes the counters of dirty posts and blogs to their count columns, then clears the ones
+     * whose hash did not change meanwhile. Needs no lock: nodes that sample the same dirty ids
+     * write the same snapshots.
+     */
+    @Scheduled(fixedDelayString = "${app.counters.reconcile.interval-ms:30000}")
+    public void reconcileDirtyCounters() {
+        long started = System.currentTimeMillis();
+        for (ContentType contentType : RECONCILED_TYPES) {
+            String dirtySet = dirtySet(contentType);
+            int reconciled = 0;
+            try {
+                Set<String> taken;
+                while ((taken = redisTemplate.opsForSet().distinctRandomMembers(dirtySet, reconcileBatchSize)) != null
+                        && !taken.isEmpty()) {
+                    List<Long> ids = taken.stream().map(Long::valueOf).toList();
+                    Map<Long, Counters> counters = getCounters(contentType, ids);
+                    reconciled += writeSnapshots(contentType, counters);
+                    long cleared = clearReconciled(contentType, counters);
+                    // Nothing cleared means every sampled item keeps changing; leave them for the next run
+                    if (taken.size() < reconcileBatchSize || cleared == 0
+                            || System.currentTimeMillis() - started > reconcileMaxMillis) {
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                log.error("[ContentCounterService] Failed to reconcile {} counters: {}", contentType, e.getMessage(), e);
+            }
+            if (reconciled > 0) {
+                log.info("[ContentCounterService] Reconciled counters of {} {} items into the database in {}ms",
+                        reconciled, contentType, System.currentTimeMillis() - started);
+            }
+        }
+    }
+
+    private void applyAfterCommit(ContentType contentType, Long contentId, Map<String, Long> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(contentType, contentId, deltas);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(contentType, contentId, deltas);
+            }
+        });
+    }
+
+    private void apply(ContentType contentType, Long contentId, Map<String, Long> deltas) {
+        String key = key(contentType, contentId);
+        String rebuildKey = rebuildKey(contentType, contentId);
+        List<String> keys = RECONCILED_TYPES.contains(contentType)
+                ? List.of(key, rebuildKey, dirtySet(contentType))
+                : List.of(key, rebuildKey);
+        List<String> args = new ArrayList<>(1 + deltas.size() * 2);
+        args.add(String.valueOf(contentId));
+        deltas.forEach((field, delta) -> {
+            args.add(field);
+            args.add(String.valueOf(delta));
+        });
+        try {
+            redisTemplate.execute(APPLY_SCRIPT, keys, args.toArray());
+        } catch (Exception e) {
+            log.warn("[ContentCounterService] Failed to update counters {}, evicting them: {}", key, e.getMessage());
+            try {
+                redisTemplate.delete(key);
+                if (RECONCILED_TYPES.contains(contentType)) {
+                    // The columns miss this write, so the next rebuild must count the source tables
+                    redisTemplate.opsForSet().add(dirtySet(contentType), String.valueOf(contentId));
+                }
+            } catch (Exception evictionFailure) {
+                log.error("[ContentCounterService] Failed to evict counters {}, they may drift until they expire: {}",
+                        key, evictionFailure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Counts for missing hashes: dirty posts and blogs, and all other types, from the source
+     * tables; clean posts and blogs take comments and saves from their count columns. Checked
+     * after the rebuild markers are open, so a write that went nowhere before then is seen dirty.
+     */
+    private Map<Long, Counters> countForRebuild(ContentType contentType, List<Long> ids) {
+        if (!RECONCILED_TYPES.contains(contentType)) {
+            return countFromSource(contentType, ids);
+        }
+        List<Long> dirty = new ArrayList<>();
+        List<Long> clean = new ArrayList<>();
+        try {
+            Map<Object, Boolean> membership = redisTemplate.opsForSet()
+                    .isMember(dirtySet(contentType), ids.stream().map(String::valueOf).toArray());
+            ids.forEach(id -> (Boolean.TRUE.equals(membership.get(String.valueOf(id))) ? dirty : clean).add(id));
+        } catch (Exception e) {
+            log.warn("[ContentCounterService] Failed to read dirty {} items, counting from the source tables: {}",
+                    contentType, e.getMessage());
+            return countFromSource(contentType, ids);
+        }
+        Map<Long, Counters> counters = new HashMap<>(ids.size());
+        if (!dirty.isEmpty()) {
+            counters.putAll(countFromSource(contentType, dirty));
+        }
+        if (!clean.isEmpty()) {
+            List<Object[]> snapshots = contentType == ContentType.POST
+                    ? postRepository.findCounterSnapshots(clean)
+                    : blogRepository.findCounterSnapshots(clean);
+            Map<Long, Long> comments = new HashMap<>(snapshots.size());
+            Map<Long, Long> saves = new HashMap<>(snapshots.size());
+            for (Object[] row : snapshots) {
+                comments.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+                saves.put(((Number) row[0]).longValue(), ((Number) row[2]).longValue());
+            }
+            counters.putAll(count(contentType, clean, comments, saves));
+        }
+        return counters;
+    }
+
+    private Map<Long, Counters> countFromSource(ContentType contentType, List<Long> ids) {
+        Map<Long, Long> comments = contentType == ContentType.COMMENT
+                ? Map.of()
+                : toCountMap(commentRepository.countByContentIdsGrouped(ids, contentType));
+        Map<Long, Long> saves = switch (contentType) {
+            case POST -> toCountMap(postSaveRepository.countByPostIds(ids));
+            case BLOG -> toCountMap(blogSaveRepository.countByBlogIds(ids));
+            default -> Map.of();
+        };
+        return count(contentType, ids, comments, saves);
+    }
+
+    private Map<Long, Counters> count(ContentType contentType, List<Long> ids, Map<Long, Long> comments,
+                                      Map<Long, Long> saves) {
+        Map<Long, Map<ReactionType, Long>> reactions = new HashMap<>();
+        List<Object[]> reactionRows = reactionCountBackfillJob.isComplete()
+                ? reactionCountRepository.sumByContentIds(ids, contentType)
+                : reactionRepository.countReactionsByContentIdsGroupedByType(ids, contentType);
+        for (Object[] row : reactionRows) {
+            long count = ((Number) row[2]).longValue();
+            if (count > 0) {
+                reactions.computeIfAbsent((Long) row[0], id -> new EnumMap<>(ReactionType.class))
+                        .put((ReactionType) row[1], count);
+            }
+        }
+        Map<Long, Long> views = countViews(contentType, ids);
+
+        Map<Long, Counters> counters = new HashMap<>(ids.size());
+        for (Long id : ids) {
+            Map<ReactionType, Long> byType = reactions.getOrDefault(id, Map.of());
+            long reactionTotal = byType.values().stream().mapToLong(Long::longValue).sum();
+            counters.put(id, new Counters(reactionTotal, byType, comments.getOrDefault(id, 0L),
+                    saves.getOrDefault(id, 0L), views.getOrDefault(id, 0L)));
+        }
+        return counters;
+    }
+
+    private Map<Long, Long> countViews(ContentType contentType, List<Long> ids) {
+        List<Object[]> rows;
+        ContentViewTracker.Keys viewKeys;
+        switch (contentType) {
+            case POST -> {
+                rows = postRepository.findViewCounts(ids);
+                viewKeys = PostViewService.VIEW_KEYS;
+            }
+            case BLOG -> {
+                rows = blogRepository.findViewCounts(ids);
+                viewKeys = BlogViewService.VIEW_KEYS;
+            }
+            default -> {
+                return Map.of();
+            }
+        }
+        Map<Long, Long> views = toCountMap(rows);
+        try {
+            contentViewTracker.pendingCounts(viewKeys, views.keySet()).forEach((id, pending) -> views.merge(id, pending, Long::sum));
+        } catch (Exception e) {
+            log.warn("[ContentCounterService] Failed to read pending {} views, using database counts: {}", contentType, e.getMessage());
+        }
+        return views;
+    }
+
+    private void beginRebuild(ContentType contentType, List<Long> ids) {
+        String markerTtl = String.valueOf(rebuildMarkerTtlSeconds);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                ids.forEach(id -> stringConnection.eval(BEGIN_REBUILD_SCRIPT, ReturnType.INTEGER, 2,
+                        key(contentType, id), rebuildKey(contentType, id), markerTtl));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[ContentCounterService] Failed to open rebuild markers for {} {} items: {}",
+                    ids.size(), contentType, e.getMessage());
+        }
+    }
+
+    private void store(ContentType contentType, Map<Long, Counters> counters, boolean overwrite) {
+        String ttlSeconds = String.valueOf(TimeUnit.HOURS.toSeconds(ttlHours));
+        String contendedTtl = String.valueOf(contendedTtlSeconds);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                counters.forEach((id, value) -> {
+                    List<String> keysAndArgs = new ArrayList<>();
+                    keysAndArgs.add(key(contentType, id));
+                    keysAndArgs.add(rebuildKey(contentType, id));
+                    keysAndArgs.add(overwrite ? "1" : "0");
+                    keysAndArgs.add(ttlSeconds);
+                    keysAndArgs.add(contendedTtl);
+                    toFields(value).forEach((field, count) -> {
+                        keysAndArgs.add(field);
+                        keysAndArgs.add(String.valueOf(count));
+                    });
+                    stringConnection.eval(STORE_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs.toArray(String[]::new));
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[ContentCounterService] Failed to cache counters of {} {} items: {}",
+                    counters.size(), contentType, e.getMessage());
+        }
+    }
+
+    private int writeSnapshots(ContentType contentType, Map<Long, Counters> counters) {
+        if (counters.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = counters.keySet().toArray(Long[]::new);
+        Long[] reactions = new Long[ids.length];
+        Long[] comments = new Long[ids.length];
+        Long[] saves = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Counters value = counters.get(ids[i]);
+            reactions[i] = value.reactions();
+            comments[i] = value.comments();
+            saves[i] = value.saves();
+        }
+        return switch (contentType) {
+            case POST -> postRepository.applyCounterSnapshots(ids, reactions, comments, saves);
+            case BLOG -> blogRepository.applyCounterSnapshots(ids, reactions, comments, saves);
+            default -> 0;
+        };
+    }
+
+    private long clearReconciled(ContentType contentType, Map<Long, Counters> counters) {
+        List<String> keys = new ArrayList<>(counters.size() + 1);
+        List<String> args = new ArrayList<>(counters.size() * 4);
+        keys.add(dirtySet(contentType));
+        counters.forEach((id, value) -> {
+            keys.add(key(contentType, id));
+            args.add(String.valueOf(id));
+            args.add(String.valueOf(value.reactions()));
+            args.add(String.valueOf(value.comments()));
+            args.add(String.valueOf(value.saves()));
+        });
+        Long cleared = redisTemplate.execute(CLEAR_RECONCILED_SCRIPT, keys, args.toArray());
+        return cleared != null ? cleared : 0L;
+    }
+
+    private static Map<String, Long> toFields(Counters counters) {
+        Map<String, Long> fields = new LinkedHashMap<>();
+        fields.put(REACTIONS, counters.reactions());
+        fields.put(COMMENTS, counters.comments());
+        fields.put(SAVES, counters.saves());
+        fields.put(VIEWS, counters.views());
+        counters.reactionsByType().forEach((type, count) -> fields.put(REACTION_PREFIX + type.name(), count));
+        return fields;
+    }
+
+    private static Counters fromHash(Map<String, String> hash) {
+        Map<ReactionType, Long> byType = new EnumMap<>(ReactionType.class);
+        hash.forEach((field, value) -> {
+            if (field.startsWith(REACTION_PREFIX)) {
+                long count = parse(value);
+                if (count > 0) {
+                    try {
+                        byType.put(ReactionType.valueOf(field.substring(REACTION_PREFIX.length())), count);
+                    } catch (IllegalArgumentException e) {
+                        log.debug("[ContentCounterService] Ignoring counter of unknown reaction type {}", field);
+                    }
+                }
+            }
+        });
+        return new Counters(parse(hash.get(REACTIONS)), byType, parse(hash.get(COMMENTS)),
+                parse(hash.get(SAVES)), parse(hash.get(VIEWS)));
+    }
+
+    private static Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>(rows.size());
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private static long parse(String value) {
+        // A delta re-applied onto a rebuild that already counted it can leave a counter below
+        // zero until the contended TTL expires
+        return value == null ? 0L : Math.max(0L, Long.parseLong(value));
+    }
+
+    private static String key(ContentType contentType, Long contentId) {
+        return String.format(COUNTERS_KEY, contentType.name().toLowerCase(), contentId);
+    }
+
+    private static String dirtySet(ContentType contentType) {
+        return String.format(DIRTY_SET, contentType.name().toLowerCase());
+    }
+
+    private static String rebuildKey(ContentType contentType, Long contentId) {
+        return String.format(REBUILD_KEY, contentType.name().toLowerCase(), contentId);
+    }
+}
@@ -9,6 +9,8 @@ import com.kaleidoscope.backend.shared.model.Hashtag;
 import com.kaleidoscope.backend.shared.model.PostHashtag;
 import com.kaleidoscope.backend.shared.repository.HashtagRepository;
 import com.kaleidoscope.backend.shared.repository.PostHashtagRepository;
+import com.kaleidoscope.backend.shared.search.HashtagPrefixIndex;
+import com.kaleidoscope.backend.shared.search.TrendingHashtagEngine;
 import com.kaleidoscope.backend.shared.service.HashtagService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +20,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
 import java.util.regex.Matcher;
@@ -33,6 +37,8 @@ public class HashtagServiceImpl implements HashtagService {
     private final PostHashtagRepository postHashtagRepository;
     private final RedisStreamPublisher redisStreamPublisher;
     private final JwtUtils jwtUtils;
+    private final HashtagPrefixIndex hashtagPrefixIndex;
+    private final TrendingHashtagEngine trendingHashtagEngine;
 
     private static final Pattern HASHTAG_PATTERN = Pattern.compile("#([a-zA-Z0-9_]+)");
     private static final String HASHTAG_USAGE_SYNC_STREAM = "hashtag-usage-sync-stream";
@@ -88,6 +94,7 @@ public class HashtagServiceImpl implements HashtagService {
 
         if (!newHashtags.isEmpty()) {
             newHashtags = hashtagRepository.saveAll(newHashtags);
+            newHashtags.forEach(hashtagPrefixIndex::add);
             log.info("Created {} new hashtags", newHashtags.size());
         }
 
@@ -166,17 +173,24 @@ public class HashtagServiceImpl implements HashtagService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<Hashtag> getTrendingHashtags(Pageable pageable) {
-        log.info("Fetching trending hashtags with pagination: {}", pageable);
-        List<Hashtag> allHashtags = hashtagRepository.findAllOrderByUsageCountDesc();
+        return getTrendingHashtags(TrendingHashtagEngine.Window.HOUR.getParam(), pageable);
+    }
 
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), allHashtags.size());
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Hashtag> getTrendingHashtags(String window, Pageable pageable) {
+        log.info("Fetching trending hashtags for window {} with pagination: {}", window, pageable);
 
-        List<Hashtag> pageContent = allHashtags.subList(start, end);
+        // Served from the in-memory streaming engine; all-time usage only until it has recent usage
+        List<Hashtag> trending = trendingHashtagEngine.trending(TrendingHashtagEngine.Window.fromParam(window));
+        if (trending.isEmpty()) {
+            return hashtagRepository.findAllByOrderByUsageCountDescNameAsc(pageable);
+        }
 
-        return new PageImpl<>(pageContent, pageable, allHashtags.size());
+        int start = (int) Math.min(pageable.getOffset(), trending.size());
+        int end = Math.min(start + pageable.getPageSize(), trending.size());
+        return new PageImpl<>(trending.subList(start, end), pageable, trending.size());
     }
 
     @Override
@@ -194,6 +208,12 @@ public class HashtagServiceImpl implements HashtagService {
             normalizedPrefix = normalizedPrefix.substring(1);
         }
 
+        // Served from the in-memory prefix index; the database is only used until the index is built
+        List<Hashtag> indexed = hashtagPrefixIndex.suggest(normalizedPrefix, (int) pageable.getOffset(), pageable.getPageSize());
+        if (indexed != null) {
+            return new PageImpl<>(indexed, pageable, hashtagPrefixIndex.count(normalizedPrefix));
+        }
+
         List<Hashtag> suggestions = hashtagRepository.findByNameStartingWithIgnoreCaseOrderByUsageCountDesc(
                 normalizedPrefix, pageable);
 
@@ -232,6 +252,13 @@ public class HashtagServiceImpl implements HashtagService {
         // Then delete the hashtag itself
         log.info("Deleting hashtag: {}", hashtag.getName());
         hashtagRepository.delete(hashtag);
+        String name = hashtag.getName();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hashtagPrefixIndex.remove(name);
+            }
+        });
 
         log.info("Successfully deleted hashtag with ID: {}", hashtagId);
     }
@@ -1,45 +1,68 @@
 package com.kaleidoscope.backend.shared.service.impl;
 
 import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.blogs.enums.BlogStatus;
 import com.kaleidoscope.backend.blogs.repository.BlogRepository;
 import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
 import com.kaleidoscope.backend.async.streaming.ProducerStreamConstants;
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
 import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.service.PostAccessResolver;
+import com.kaleidoscope.backend.posts.service.PostAnalyticsService;
 import com.kaleidoscope.backend.shared.dto.request.CommentCreateRequestDTO;
+import com.kaleidoscope.backend.shared.dto.request.CommentCursor;
 import com.kaleidoscope.backend.shared.dto.request.CreateUserTagRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
+import com.kaleidoscope.backend.shared.dto.response.CommentPageResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.CommentResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.ReactionResponseDTO;
 import com.kaleidoscope.backend.shared.dto.response.UserTagResponseDTO;
+import com.kaleidoscope.backend.shared.enums.BatchItemStatus;
 import com.kaleidoscope.backend.shared.enums.ContentType;
 import com.kaleidoscope.backend.shared.enums.ReactionType;
 import com.kaleidoscope.backend.shared.exception.Comments.CommentNotFoundException;
 import com.kaleidoscope.backend.shared.exception.Comments.CommentPostMismatchException;
 import com.kaleidoscope.backend.shared.exception.Comments.CommentUnauthorizedException;
 import com.kaleidoscope.backend.shared.exception.other.ContentNotFoundException;
+import com.kaleidoscope.backend.shared.exception.other.UnsupportedContentTypeException;
 import com.kaleidoscope.backend.shared.mapper.InteractionMapper;
 import com.kaleidoscope.backend.shared.mapper.UserTagMapper;
 import com.kaleidoscope.backend.shared.model.Comment;
 import com.kaleidoscope.backend.shared.model.Reaction;
 import com.kaleidoscope.backend.shared.model.UserTag;
 import com.kaleidoscope.backend.shared.repository.CommentRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionCountRepository;
 import com.kaleidoscope.backend.shared.repository.ReactionRepository;
 import com.kaleidoscope.backend.shared.repository.UserTagRepository;
+import com.kaleidoscope.backend.shared.scheduler.ReactionCountBackfillJob;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
 import com.kaleidoscope.backend.shared.service.InteractionService;
+import com.kaleidoscope.backend.shared.service.ReactionWriteBuffer;
 import com.kaleidoscope.backend.shared.service.UserTagService;
 import com.kaleidoscope.backend.users.model.User;
+import com.kaleidoscope.backend.users.repository.UserBlockRepository;
 import com.kaleidoscope.backend.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
@@ -58,6 +81,28 @@ public class InteractionServiceImpl implements InteractionService {
     private final UserTagRepository userTagRepository;
     private final UserTagMapper userTagMapper;
     private final RedisStreamPublisher redisStreamPublisher;
+    private final ContentCounterService contentCounterService;
+    private final ReactionCountRepository reactionCountRepository;
+    private final ReactionCountBackfillJob reactionCountBackfillJob;
+    private final PostAnalyticsService postAnalyticsService;
+    private final ReactionWriteBuffer reactionWriteBuffer;
+    private final PostAccessResolver postAccessResolver;
+    private final UserBlockRepository userBlockRepository;
+
+    private static final Comparator<CommentResponseDTO> OLDEST_FIRST =
+            Comparator.comparing(CommentResponseDTO::getCreatedAt).thenComparing(CommentResponseDTO::getCommentId);
+
+    @Value("${app.reactions.count-slots:8}")
+    private int reactionCountSlots;
+
+    @Value("${app.reactions.buffer.enabled:false}")
+    private boolean reactionBufferEnabled;
+
+    @Value("${app.comments.max-page-size:100}")
+    private int maxCommentPageSize;
+
+    @Value("${app.comments.max-replies-per-thread:10}")
+    private int maxRepliesPerThread;
 
     private void validateContentExists(ContentType contentType, Long contentId) {
         log.debug("[validateContentExists] Checking existence for contentType: {} and contentId: {}", contentType, contentId);
@@ -74,7 +119,7 @@ public class InteractionServiceImpl implements InteractionService {
                 break;
             default:
                 log.error("[validateContentExists] Unsupported content type: {}", contentType);
-                throw new IllegalArgumentException("Content type not supported for interactions: " + contentType);
+                throw new UnsupportedContentTypeException("Content type not supported for interactions: " + contentType);
         }
         if (!exists) {
             log.warn("[validateContentExists] Content not found for contentType: {} and contentId: {}", contentType, contentId);
@@ -90,12 +135,20 @@ public class InteractionServiceImpl implements InteractionService {
         validateContentExists(contentType, contentId);
         Long currentUserId = jwtUtils.getUserIdFromContext();
         log.debug("[reactOrUnreact] Current userId: {}", currentUserId);
+        if (reactionBufferEnabled) {
+            return bufferReaction(contentType, contentId, currentUserId, unreact ? null : reactionType);
+        }
         User currentUser = userRepository.findByUserId(currentUserId);
         if (currentUser == null) {
             log.error("[reactOrUnreact] Authenticated user not found for ID: {}", currentUserId);
             throw new IllegalStateException("Authenticated user not found for ID: " + currentUserId);
         }
         var existingOpt = reactionRepository.findAnyByContentAndUserIncludeDeleted(contentId, contentType.name(), currentUserId);
+        ReactionType previousReaction = existingOpt
+                .filter(existing -> existing.getDeletedAt() == null)
+                .map(Reaction::getReactionType)
+                .orElse(null);
+        ReactionType newReaction = unreact ? null : reactionType;
         if (unreact) {
             existingOpt.ifPresent(existing -> {
                 existing.setDeletedAt(LocalDateTime.now());
@@ -206,7 +259,73 @@ public class InteractionServiceImpl implements InteractionService {
             }
         }
 
-        return getReactionSummary(contentType, contentId);
+        if (previousReaction != newReaction) {
+            if (previousReaction != null) {
+                adjustReactionCount(contentType, contentId, previousReaction, -1);
+            }
+            if (newReaction != null) {
+                adjustReactionCount(contentType, contentId, newReaction, 1);
+            }
+            contentCounterService.recordReactionChange(contentType, contentId, previousReaction, newReaction);
+            // Changing the reaction type is not a net change for insights
+            if (contentType == ContentType.POST && (previousReaction == null || newReaction == null)) {
+                postAnalyticsService.recordEvent(contentId, PostAnalyticsMetric.REACTIONS, newReaction != null ? 1 : -1);
+            }
+        }
+
+        // Read back inside the transaction so the response includes this change
+        Map<ReactionType, Long> counts = new EnumMap<>(ReactionType.class);
+        List<Object[]> rows = reactionCountBackfillJob.isComplete()
+                ? reactionCountRepository.sumByContentIds(List.of(contentId), contentType)
+                : reactionRepository.countReactionsByContentIdsGroupedByType(List.of(contentId), contentType);
+        for (Object[] row : rows) {
+            counts.put((ReactionType) row[1], ((Number) row[2]).longValue());
+        }
+        return interactionMapper.toReactionSummary(contentId, contentType, newReaction, counts);
+    }
+
+    /**
+     * Buffered mode: records the toggle as the user's latest state and answers optimistically
+     * from the persisted reaction and counters. ReactionBufferFlushJob persists the final state,
+     * counts, notifications and sync events.
+     */
+    private ReactionResponseDTO bufferReaction(ContentType contentType, Long contentId, Long currentUserId, ReactionType newReaction) {
+        ReactionType persistedReaction = reactionRepository
+                .findByContentAndUser(contentId, contentType, currentUserId)
+                .map(Reaction::getReactionType)
+                .orElse(null);
+        reactionWriteBuffer.buffer(contentType, contentId, currentUserId, newReaction);
+        log.info("[reactOrUnreact] Buffered reaction {} for user {} on content {}:{}", newReaction, currentUserId, contentType, contentId);
+
+        Map<ReactionType, Long> counts = withToggle(
+                contentCounterService.getCounters(contentType, contentId).reactionsByType(), persistedReaction, newReaction);
+        return interactionMapper.toReactionSummary(contentId, contentType, newReaction, counts);
+    }
+
+    /**
+     * Counts as they will be once the user's toggle from {@code persisted} to {@code pending}
+     * is flushed.
+     */
+    private static Map<ReactionType, Long> withToggle(Map<ReactionType, Long> reactionsByType,
+                                                      ReactionType persisted, ReactionType pending) {
+        if (persisted == pending) {
+            return reactionsByType;
+        }
+        Map<ReactionType, Long> counts = new EnumMap<>(ReactionType.class);
+        counts.putAll(reactionsByType);
+        if (persisted != null) {
+            counts.merge(persisted, -1L, (count, delta) -> Math.max(0L, count + delta));
+        }
+        if (pending != null) {
+            counts.merge(pending, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    private void adjustReactionCount(ContentType contentType, Long contentId, ReactionType reactionType, long delta) {
+        reactionCountRepository.lockForWrite(contentType.name(), new Long[]{contentId});
+        int slot = ThreadLocalRandom.current().nextInt(reactionCountSlots);
+        reactionCountRepository.applyDelta(contentType.name(), contentId, reactionType.name(), slot, delta);
     }
 
     @Override
@@ -220,11 +339,140 @@ public class InteractionServiceImpl implements InteractionService {
                 .findByContentAndUser(contentId, contentType, currentUserId)
                 .map(Reaction::getReactionType)
                 .orElse(null);
-        List<Object[]> counts = reactionRepository.countReactionsByContentGroupedByType(contentId, contentType);
+        Map<ReactionType, Long> counts = contentCounterService.getCounters(contentType, contentId).reactionsByType();
+        if (reactionBufferEnabled) {
+            // A toggle waiting for the next flush is the user's current reaction and counted as made
+            var pending = reactionWriteBuffer.pending(contentType, contentId, currentUserId);
+            if (pending.isPresent()) {
+                counts = withToggle(counts, currentUserReaction, pending.get().reactionType());
+                currentUserReaction = pending.get().reactionType();
+            }
+        }
         log.debug("[getReactionSummary] Reaction counts: {}", counts);
         return interactionMapper.toReactionSummary(contentId, contentType, currentUserReaction, counts);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BatchItemResponseDTO<ReactionResponseDTO>> getReactionSummaries(ContentType contentType, List<Long> contentIds) {
+        List<Long> ids = contentIds.stream().distinct().toList();
+        Long currentUserId = jwtUtils.getUserIdFromContext();
+        boolean isAdmin = jwtUtils.isAdminFromContext();
+        log.info("[getReactionSummaries] Fetching reaction summaries for {} {} items", ids.size(), contentType);
+        Map<Long, BatchItemStatus> statuses = resolveAccess(contentType, ids, currentUserId, isAdmin);
+        List<Long> visibleIds = ids.stream()
+                .filter(id -> statuses.get(id) == BatchItemStatus.OK)
+                .toList();
+        if (visibleIds.isEmpty()) {
+            return ids.stream()
+                    .map(id -> BatchItemResponseDTO.<ReactionResponseDTO>of(id, statuses.get(id)))
+                    .toList();
+        }
+
+        Map<Long, ContentCounterService.Counters> counters = contentCounterService.getCounters(contentType, visibleIds);
+        Map<Long, ReactionType> userReactions = new HashMap<>();
+        for (Object[] row : reactionRepository.findUserReactionsByContentIds(visibleIds, contentType, currentUserId)) {
+            userReactions.put((Long) row[0], (ReactionType) row[1]);
+        }
+        Map<Long, Map<ReactionType, Long>> counts = new HashMap<>();
+        visibleIds.forEach(id -> counts.put(id, counters.getOrDefault(id, ContentCounterService.Counters.EMPTY).reactionsByType()));
+        if (reactionBufferEnabled) {
+            reactionWriteBuffer.pending(contentType, visibleIds, currentUserId).forEach((id, pending) -> {
+                counts.put(id, withToggle(counts.get(id), userReactions.get(id), pending.reactionType()));
+                userReactions.put(id, pending.reactionType());
+            });
+        }
+        return ids.stream()
+                .map(id -> statuses.get(id) == BatchItemStatus.OK
+                        ? BatchItemResponseDTO.ok(id, interactionMapper.toReactionSummary(id, contentType, userReactions.get(id),
+                                counts.get(id)))
+                        : BatchItemResponseDTO.<ReactionResponseDTO>of(id, statuses.get(id)))
+                .toList();
+    }
+
+    /**
+     * Batch form of validateContentExists plus the view rules of the content's own read
+     * endpoint; items by users in a block relationship with the viewer are NOT_FOUND. Comments
+     * also take the status of the post or blog they are on.
+     */
+    private Map<Long, BatchItemStatus> resolveAccess(ContentType contentType, List<Long> ids, Long currentUserId, boolean isAdmin) {
+        return switch (contentType) {
+            case POST -> postAccessResolver.resolve(ids, currentUserId, isAdmin).statuses();
+            case BLOG -> resolveBlogAccess(ids, currentUserId, isAdmin);
+            case COMMENT -> resolveCommentAccess(ids, currentUserId, isAdmin);
+            default -> {
+                log.error("[getReactionSummaries] Unsupported content type: {}", contentType);
+                throw new UnsupportedContentTypeException("Content type not supported for interactions: " + contentType);
+            }
+        };
+    }
+
+    private Map<Long, BatchItemStatus> resolveBlogAccess(Collection<Long> ids, Long currentUserId, boolean isAdmin) {
+        Map<Long, Long> owners = new HashMap<>();
+        Set<Long> unpublished = new HashSet<>();
+        blogRepository.findAllById(ids).forEach(blog -> {
+            owners.put(blog.getBlogId(), blog.getUser().getUserId());
+            if (blog.getBlogStatus() != BlogStatus.PUBLISHED) {
+                unpublished.add(blog.getBlogId());
+            }
+        });
+        Set<Long> blocked = isAdmin || owners.isEmpty() ? Set.of() : userBlockRepository.findBlockRelatedUserIds(currentUserId);
+        Map<Long, BatchItemStatus> statuses = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Long ownerId = owners.get(id);
+            boolean isOwner = ownerId != null && ownerId.equals(currentUserId);
+            if (ownerId == null || (!isOwner && blocked.contains(ownerId))) {
+                statuses.put(id, BatchItemStatus.NOT_FOUND);
+            } else if (!isAdmin && !isOwner && unpublished.contains(id)) {
+                statuses.put(id, BatchItemStatus.FORBIDDEN);
+            } else {
+                statuses.put(id, BatchItemStatus.OK);
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * A comment is visible when the post or blog it is on is, and its author is not in a block
+     * relationship with the viewer; parents are resolved in one batch per content type.
+     */
+    private Map<Long, BatchItemStatus> resolveCommentAccess(List<Long> ids, Long currentUserId, boolean isAdmin) {
+        Map<Long, Comment> comments = new HashMap<>();
+        Map<ContentType, Set<Long>> parentIds = new EnumMap<>(ContentType.class);
+        for (Comment comment : commentRepository.findAllById(ids)) {
+            comments.put(comment.getCommentId(), comment);
+            parentIds.computeIfAbsent(comment.getContentType(), type -> new LinkedHashSet<>()).add(comment.getContentId());
+        }
+        Map<ContentType, Map<Long, BatchItemStatus>> parentStatuses = new EnumMap<>(ContentType.class);
+        parentIds.forEach((type, parents) -> {
+            switch (type) {
+                case POST -> parentStatuses.put(type, postAccessResolver.resolve(parents, currentUserId, isAdmin).statuses());
+                case BLOG -> parentStatuses.put(type, resolveBlogAccess(parents, currentUserId, isAdmin));
+                default -> log.warn("[getReactionSummaries] Comments on unsupported content type {}", type);
+            }
+        });
+        Set<Long> blocked = isAdmin || comments.isEmpty() ? Set.of() : userBlockRepository.findBlockRelatedUserIds(currentUserId);
+        Map<Long, BatchItemStatus> statuses = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Comment comment = comments.get(id);
+            if (comment == null) {
+                statuses.put(id, BatchItemStatus.NOT_FOUND);
+                continue;
+            }
+            BatchItemStatus parentStatus = parentStatuses.getOrDefault(comment.getContentType(), Map.of())
+                    .getOrDefault(comment.getContentId(), BatchItemStatus.NOT_FOUND);
+            Long authorId = comment.getUser().getUserId();
+            if (parentStatus != BatchItemStatus.OK) {
+                statuses.put(id, parentStatus);
+            } else if (!authorId.equals(currentUserId) && blocked.contains(authorId)) {
+                statuses.put(id, BatchItemStatus.NOT_FOUND);
+            } else {
+                statuses.put(id, BatchItemStatus.OK);
+            }
+        }
+        return statuses;
+    }
+
     @Override
     @Transactional
     public CommentResponseDTO addComment(ContentType contentType, Long contentId, CommentCreateRequestDTO requestDTO) {
@@ -237,14 +485,30 @@ public class InteractionServiceImpl implements InteractionService {
             log.error("[addComment] Authenticated user not found for ID: {}", currentUserId);
             throw new IllegalStateException("Authenticated user not found for ID: " + currentUserId);
         }
+        Long parentCommentId = null;
+        if (requestDTO.parentCommentId() != null) {
+            Comment parent = commentRepository.findById(requestDTO.parentCommentId())
+                    .orElseThrow(() -> new CommentNotFoundException(requestDTO.parentCommentId()));
+            if (parent.getContentType() != contentType || !parent.getContentId().equals(contentId)) {
+                log.error("[addComment] Parent comment mismatch: parentCommentId={}, contentId={}", parent.getCommentId(), contentId);
+                throw new CommentPostMismatchException(parent.getCommentId(), contentId);
+            }
+            // Threads are one level deep: a reply to a reply joins its top-level comment's thread
+            parentCommentId = parent.getParentCommentId() != null ? parent.getParentCommentId() : parent.getCommentId();
+        }
         Comment comment = Comment.builder()
                 .contentType(contentType)
                 .contentId(contentId)
                 .user(currentUser)
+                .parentCommentId(parentCommentId)
                 .body(requestDTO.body())
                 .build();
         Comment savedComment = commentRepository.save(comment);
         log.info("[addComment] Saved comment with ID: {} for user: {}", savedComment.getCommentId(), currentUserId);
+        contentCounterService.recordCommentChange(contentType, contentId, 1);
+        if (contentType == ContentType.POST) {
+            postAnalyticsService.recordEvent(contentId, PostAnalyticsMetric.COMMENTS, 1);
+        }
 
         // Publish notification event for NEW_COMMENT
         try {
@@ -343,23 +607,122 @@ public class InteractionServiceImpl implements InteractionService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<CommentResponseDTO> listComments(ContentType contentType, Long contentId, Pageable pageable) {
+    public CommentPageResponseDTO listComments(ContentType contentType, Long contentId, String cursor, int size, int replyLimit) {
         log.info("[listComments] Listing comments for contentType: {} and contentId: {}", contentType, contentId);
         validateContentExists(contentType, contentId);
-        Page<Comment> page = commentRepository.findAll(
-                (root, q, cb) -> cb.and(
-                        cb.equal(root.get("contentType"), contentType),
-                        cb.equal(root.get("contentId"), contentId)
-                ), pageable);
-        log.debug("[listComments] Fetched {} comments", page.getTotalElements());
-        return page.map(comment -> {
-            Set<UserTagResponseDTO> tags = userTagRepository.findByContentTypeAndContentId(ContentType.COMMENT, comment.getCommentId(), Pageable.unpaged())
-                .stream()
-                .map(userTagMapper::toDTO)
-                .collect(Collectors.toSet());
-            log.debug("[listComments] Fetched {} tags for comment {}", tags.size(), comment.getCommentId());
-            return interactionMapper.toCommentDTO(comment, tags);
-        });
+        int pageSize = Math.max(1, Math.min(size, maxCommentPageSize));
+        int perThread = Math.max(0, Math.min(replyLimit, maxRepliesPerThread));
+        CommentCursor after = CommentCursor.decode(cursor);
+
+        // One row past the page tells whether there is a next page without counting
+        List<Long> ids = after == null
+                ? commentRepository.findTopLevelIds(contentType.name(), contentId, pageSize + 1)
+                : commentRepository.findTopLevelIdsBefore(contentType.name(), contentId,
+                        after.createdAt(), after.commentId(), pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new CommentPageResponseDTO(List.of(), null, false);
+        }
+
+        List<Long> replyIds = perThread > 0
+                ? commentRepository.findFirstReplyIds(pageIds.toArray(Long[]::new), perThread)
+                : List.of();
+        List<Long> allIds = new ArrayList<>(pageIds.size() + replyIds.size());
+        allIds.addAll(pageIds);
+        allIds.addAll(replyIds);
+        Map<Long, CommentResponseDTO> dtos = toCommentDTOs(allIds);
+
+        Map<Long, Long> replyCounts = new HashMap<>();
+        for (Object[] row : commentRepository.countRepliesByParentIds(pageIds)) {
+            replyCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        List<CommentResponseDTO> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            CommentResponseDTO dto = dtos.get(id);
+            if (dto != null) {
+                dto.setReplyCount(replyCounts.getOrDefault(id, 0L));
+                dto.setReplies(new ArrayList<>());
+                content.add(dto);
+            }
+        }
+        for (Long replyId : replyIds) {
+            CommentResponseDTO reply = dtos.get(replyId);
+            CommentResponseDTO parent = reply != null ? dtos.get(reply.getParentCommentId()) : null;
+            if (parent != null && parent.getReplies() != null) {
+                parent.getReplies().add(reply);
+            }
+        }
+        content.forEach(dto -> dto.getReplies().sort(OLDEST_FIRST));
+        log.debug("[listComments] Fetched {} comments and {} replies, hasMore: {}", content.size(), replyIds.size(), hasMore);
+        return toCommentPage(content, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageResponseDTO listReplies(ContentType contentType, Long contentId, Long commentId, String cursor, int size) {
+        log.info("[listReplies] Listing replies of comment {} for contentType: {} and contentId: {}", commentId, contentType, contentId);
+        Comment parent = commentRepository.findById(commentId)
+                .orElseThrow(() -> new CommentNotFoundException(commentId));
+        if (parent.getContentType() != contentType || !parent.getContentId().equals(contentId)) {
+            log.error("[listReplies] Comment content mismatch: commentId={}, contentId={}", commentId, contentId);
+            throw new CommentPostMismatchException(commentId, contentId);
+        }
+        int pageSize = Math.max(1, Math.min(size, maxCommentPageSize));
+        CommentCursor after = CommentCursor.decode(cursor);
+
+        List<Long> ids = after == null
+                ? commentRepository.findReplyIds(commentId, pageSize + 1)
+                : commentRepository.findReplyIdsAfter(commentId, after.createdAt(), after.commentId(), pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        Map<Long, CommentResponseDTO> dtos = pageIds.isEmpty() ? Map.of() : toCommentDTOs(pageIds);
+        List<CommentResponseDTO> content = pageIds.stream()
+                .map(dtos::get)
+                .filter(Objects::nonNull)
+                .toList();
+        log.debug("[listReplies] Fetched {} replies, hasMore: {}", content.size(), hasMore);
+        return toCommentPage(content, hasMore);
+    }
+
+    /**
+     * Hydrates comments with their authors, tags, reaction counts and the current user's reaction
+     * in a fixed number of queries for the whole batch.
+     */
+    private Map<Long, CommentResponseDTO> toCommentDTOs(List<Long> commentIds) {
+        List<Comment> comments = commentRepository.findAllWithUserByIdIn(commentIds);
+
+        Map<Long, Set<UserTagResponseDTO>> tagsByComment = new HashMap<>();
+        for (UserTag tag : userTagRepository.findAllByContentTypeAndContentIdIn(ContentType.COMMENT, commentIds)) {
+            tagsByComment.computeIfAbsent(tag.getContentId(), id -> new HashSet<>()).add(userTagMapper.toDTO(tag));
+        }
+        Map<Long, ContentCounterService.Counters> counters = contentCounterService.getCounters(ContentType.COMMENT, commentIds);
+        Map<Long, ReactionType> userReactions = new HashMap<>();
+        Long currentUserId = jwtUtils.getUserIdFromContext();
+        if (currentUserId != null) {
+            for (Object[] row : reactionRepository.findUserReactionsByContentIds(commentIds, ContentType.COMMENT, currentUserId)) {
+                userReactions.put((Long) row[0], (ReactionType) row[1]);
+            }
+        }
+
+        Map<Long, CommentResponseDTO> dtos = new HashMap<>();
+        for (Comment comment : comments) {
+            Long id = comment.getCommentId();
+            dtos.put(id, interactionMapper.toCommentDTO(comment,
+                    tagsByComment.getOrDefault(id, new HashSet<>()),
+                    counters.getOrDefault(id, ContentCounterService.Counters.EMPTY).reactions(),
+                    userReactions.get(id)));
+        }
+        return dtos;
+    }
+
+    private static CommentPageResponseDTO toCommentPage(List<CommentResponseDTO> content, boolean hasMore) {
+        String nextCursor = null;
+        if (hasMore && !content.isEmpty()) {
+            CommentResponseDTO last = content.get(content.size() - 1);
+            nextCursor = new CommentCursor(last.getCreatedAt(), last.getCommentId()).encode();
+        }
+        return new CommentPageResponseDTO(content, nextCursor, hasMore);
     }
 
     @Override
@@ -379,13 +742,26 @@ public class InteractionServiceImpl implements InteractionService {
             log.error("[deleteComment] Unauthorized delete attempt by user {} for comment {}", currentUserId, commentId);
             throw new CommentUnauthorizedException(commentId);
         }
-        List<UserTag> tagsToDelete = userTagRepository.findByContentTypeAndContentId(ContentType.COMMENT, commentId, Pageable.unpaged()).getContent();
+        // Replies go with their thread, in the same transaction
+        List<Long> replyIds = comment.getParentCommentId() == null
+                ? commentRepository.findAllReplyIds(commentId)
+                : List.of();
+        List<Long> deletedIds = new ArrayList<>(replyIds.size() + 1);
+        deletedIds.add(commentId);
+        deletedIds.addAll(replyIds);
+        List<UserTag> tagsToDelete = userTagRepository.findAllByContentTypeAndContentIdIn(ContentType.COMMENT, deletedIds);
         if (!tagsToDelete.isEmpty()) {
             userTagRepository.deleteAll(tagsToDelete);
-            log.info("[deleteComment] Deleted {} associated user tags for comment ID: {}", tagsToDelete.size(), commentId);
+            log.info("[deleteComment] Deleted {} associated user tags for comment ID: {} and its replies", tagsToDelete.size(), commentId);
         }
+        int repliesDeleted = replyIds.isEmpty() ? 0 : commentRepository.softDeleteByIds(replyIds, LocalDateTime.now());
         commentRepository.delete(comment);
-        log.info("[deleteComment] Deleted comment with ID: {}", commentId);
+        log.info("[deleteComment] Deleted comment with ID: {} and {} replies", commentId, repliesDeleted);
+        long removed = 1L + repliesDeleted;
+        contentCounterService.recordCommentChange(comment.getContentType(), contentId, -removed);
+        if (comment.getContentType() == ContentType.POST) {
+            postAnalyticsService.recordEvent(contentId, PostAnalyticsMetric.COMMENTS, -removed);
+        }
 
         // Trigger Elasticsearch sync for POST comments only
         if (comment.getContentType() == ContentType.POST) {
@@ -7,6 +7,7 @@ import com.kaleidoscope.backend.shared.exception.locationException.LocationNotFo
 import com.kaleidoscope.backend.shared.mapper.LocationMapper;
 import com.kaleidoscope.backend.shared.model.Location;
 import com.kaleidoscope.backend.shared.repository.LocationRepository;
+import com.kaleidoscope.backend.shared.search.LocationIndex;
 import com.kaleidoscope.backend.shared.service.LocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,7 @@ public class LocationServiceImpl implements LocationService {
 
     private final LocationRepository locationRepository;
     private final LocationMapper locationMapper;
+    private final LocationIndex locationIndex;
 
     @Override
     @Transactional
@@ -35,6 +37,7 @@ public class LocationServiceImpl implements LocationService {
         }
         Location location = locationMapper.toEntity(locationRequestDTO);
         Location savedLocation = locationRepository.save(location);
+        locationIndex.put(savedLocation);
         log.info("Created new location with ID: {}", savedLocation.getLocationId());
         return locationMapper.toDTO(savedLocation);
     }
@@ -69,6 +72,7 @@ public class LocationServiceImpl implements LocationService {
         Location location = locationRepository.findById(locationId)
                 .orElseThrow(() -> new LocationNotFoundException(locationId));
         locationRepository.delete(location);
+        locationIndex.remove(locationId);
         log.info("Location deleted: {}", locationId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.kaleidoscope.backend.shared.service.impl;
+
+import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.blogs.document.BlogDocument;
+import com.kaleidoscope.backend.blogs.dto.response.BlogSummaryResponseDTO;
+import com.kaleidoscope.backend.blogs.mapper.BlogMapper;
+import com.kaleidoscope.backend.blogs.repository.search.BlogSearchRepository;
+import com.kaleidoscope.backend.posts.document.PostDocument;
+import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
+import com.kaleidoscope.backend.posts.mapper.PostMapper;
+import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.shared.dto.response.FederatedSearchResponseDTO;
+import com.kaleidoscope.backend.shared.dto.response.HashtagResponseDTO;
+import com.kaleidoscope.backend.shared.mapper.HashtagMapper;
+import com.kaleidoscope.backend.shared.repository.search.FederatedSearchRepository;
+import com.kaleidoscope.backend.shared.repository.search.FederatedSearchRepository.Section;
+import com.kaleidoscope.backend.shared.service.HashtagService;
+import com.kaleidoscope.backend.shared.service.SearchService;
+import com.kaleidoscope.backend.users.document.UserDocument;
+import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
+import com.kaleidoscope.backend.users.mapper.UserMapper;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import com.kaleidoscope.backend.users.repository.search.UserSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchServiceImpl implements SearchService {
+
+    private static final String POSTS = "posts";
+    private static final String BLOGS = "blogs";
+    private static final String USERS = "users";
+    private static final String HASHTAGS = "hashtags";
+
+    private final JwtUtils jwtUtils;
+    private final FollowRepository followRepository;
+    private final FederatedSearchRepository federatedSearchRepository;
+    private final PostSearchRepository postSearchRepository;
+    private final BlogSearchRepository blogSearchRepository;
+    private final UserSearchRepository userSearchRepository;
+    private final HashtagService hashtagService;
+    private final PostMapper postMapper;
+    private final BlogMapper blogMapper;
+    private final HashtagMapper hashtagMapper;
+
+    @Value("${app.search.federated.default-section-size:5}")
+    private int defaultSectionSize;
+
+    @Value("${app.search.federated.max-section-size:20}")
+    private int maxSectionSize;
+
+    @Value("${app.search.federated.section-timeout:300ms}")
+    private String sectionTimeout;
+
+    @Override
+    public FederatedSearchResponseDTO search(String query, Integer postsLimit, Integer blogsLimit,
+                                             Integer usersLimit, Integer hashtagsLimit) {
+        if (query == null || query.isBlank()) {
+            return new FederatedSearchResponseDTO(List.of(), List.of(), List.of(), List.of(), false, List.of());
+        }
+        String text = query.trim();
+        Long currentUserId = jwtUtils.getUserIdFromContext();
+        boolean isAdmin = jwtUtils.isAdminFromContext();
+        List<String> incomplete = new ArrayList<>();
+
+        // Viewer context is resolved once and shared by every section
+        Set<Long> followingIds = currentUserId != null ? followRepository.findFollowingIdsByFollowerId(currentUserId) : Set.of();
+
+        List<Section<?>> sections = new ArrayList<>();
+        Section<PostDocument> postSection = null;
+        int postSize = sectionSize(postsLimit);
+        if (postSize > 0) {
+            postSection = new Section<>(POSTS, PostDocument.class,
+                    postSearchRepository.buildVisibleTextQuery(currentUserId, isAdmin ? null : followingIds, text), postSize);
+            sections.add(postSection);
+        }
+
+        Section<BlogDocument> blogSection = null;
+        int blogSize = sectionSize(blogsLimit);
+        if (blogSize > 0) {
+            blogSection = new Section<>(BLOGS, BlogDocument.class,
+                    blogSearchRepository.buildVisibleTextQuery(currentUserId, isAdmin, text), blogSize);
+            sections.add(blogSection);
+        }
+
+        Section<UserDocument> userSection = null;
+        int userSize = sectionSize(usersLimit);
+        if (userSize > 0) {
+            try {
+                Optional<UserDocument> viewer = currentUserId != null
+                        ? userSearchRepository.findById(currentUserId.toString()) : Optional.empty();
+                userSection = new Section<>(USERS, UserDocument.class,
+                        userSearchRepository.buildTypeaheadQuery(currentUserId, text, followingIds,
+                                viewer.map(UserDocument::getBlockedUserIds).orElse(null),
+                                viewer.map(UserDocument::getBlockedByUserIds).orElse(null)),
+                        userSize);
+                sections.add(userSection);
+            } catch (Exception e) {
+                // Without the block lists the section cannot be filtered safely, so it is skipped
+                log.warn("Could not load block lists for user {}, skipping user section: {}", currentUserId, e.getMessage());
+                incomplete.add(USERS);
+            }
+        }
+
+        FederatedSearchRepository.Results results = federatedSearchRepository.multiSearch(sections, sectionTimeout);
+        incomplete.addAll(results.incompleteSections());
+
+        List<PostSummaryResponseDTO> posts = postSection == null ? List.of()
+                : results.get(postSection).documents().stream().map(postMapper::toPostSummaryDTO).toList();
+        List<BlogSummaryResponseDTO> blogs = blogSection == null ? List.of()
+                : results.get(blogSection).documents().stream().map(blogMapper::toBlogSummaryDTO).toList();
+        List<UserDetailsSummaryResponseDTO> users = userSection == null ? List.of()
+                : results.get(userSection).documents().stream().map(UserMapper::toUserDetailsSummaryResponseDTO).toList();
+
+        List<HashtagResponseDTO> hashtags = List.of();
+        int hashtagSize = sectionSize(hashtagsLimit);
+        if (hashtagSize > 0) {
+            try {
+                hashtags = hashtagService.suggestHashtags(text, PageRequest.of(0, hashtagSize))
+                        .map(hashtagMapper::toResponseDTO)
+                        .getContent();
+            } catch (Exception e) {
+                log.warn("Hashtag section of federated search failed: {}", e.getMessage());
+                incomplete.add(HASHTAGS);
+            }
+        }
+
+        log.info("Federated search for user {} returned {} posts, {} blogs, {} users, {} hashtags (incomplete: {})",
+                currentUserId, posts.size(), blogs.size(), users.size(), hashtags.size(), incomplete);
+        return new FederatedSearchResponseDTO(posts, blogs, users, hashtags, !incomplete.isEmpty(), incomplete);
+    }
+
+    private int sectionSize(Integer requested) {
+        if (requested == null) {
+            return defaultSectionSize;
+        }
+        return Math.max(0, Math.min(requested, maxSectionSize));
+    }
+}
@@ -11,17 +11,21 @@ import com.kaleidoscope.backend.shared.mapper.UserTagMapper;
 import com.kaleidoscope.backend.shared.model.UserTag;
 import com.kaleidoscope.backend.shared.repository.UserTagRepository;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.shared.search.CursorPage;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
 import com.kaleidoscope.backend.shared.service.UserTagService;
 import com.kaleidoscope.backend.users.document.UserDocument;
 import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
 import com.kaleidoscope.backend.users.mapper.UserMapper;
 import com.kaleidoscope.backend.users.model.User;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
 import com.kaleidoscope.backend.users.repository.UserBlockRepository;
 import com.kaleidoscope.backend.users.repository.UserPreferencesRepository;
 import com.kaleidoscope.backend.users.repository.UserRepository;
 import com.kaleidoscope.backend.users.repository.search.UserSearchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -32,6 +36,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -46,12 +51,19 @@ public class UserTagServiceImpl implements UserTagService {
     private final JwtUtils jwtUtils;
     private final UserSearchRepository userSearchRepository;
     private final RedisStreamPublisher redisStreamPublisher;
+    private final FollowRepository followRepository;
+
+    @Value("${app.users.typeahead.max-limit:20}")
+    private int typeaheadMaxLimit;
 
     @Override
     @Transactional(readOnly = true)
-    public PaginatedResponse<UserDetailsSummaryResponseDTO> findTaggableUsers(String query, Pageable pageable) {
+    public PaginatedResponse<UserDetailsSummaryResponseDTO> findTaggableUsers(String query, Pageable pageable,
+                                                                              String cursor, Boolean pointInTime) {
         Long currentUserId = jwtUtils.getUserIdFromContext();
         log.info("Finding taggable users for user {} with query: {}", currentUserId, query);
+        // Decode outside the try so a malformed cursor surfaces as a 400 instead of an empty page
+        SearchCursor searchCursor = SearchCursor.of(cursor, pointInTime);
 
         try {
             // Fetch current user's document to get block lists
@@ -76,14 +88,15 @@ public class UserTagServiceImpl implements UserTagService {
                     blockedUserIds,
                     blockedByUserIds,
                     query,
-                    pageable
+                    pageable,
+                    searchCursor
             );
 
             // Map to DTOs
             Page<UserDetailsSummaryResponseDTO> dtoPage = userDocumentPage.map(UserMapper::toUserDetailsSummaryResponseDTO);
 
             log.info("Successfully found {} taggable users using custom repository for user {}", dtoPage.getTotalElements(), currentUserId);
-            return PaginatedResponse.fromPage(dtoPage);
+            return PaginatedResponse.fromPage(dtoPage, CursorPage.nextCursorOf(userDocumentPage));
 
         } catch (Exception e) {
             log.error("Failed to find taggable users from Elasticsearch for user {}, returning empty page", currentUserId, e);
@@ -91,6 +104,31 @@ public class UserTagServiceImpl implements UserTagService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDetailsSummaryResponseDTO> getTypeaheadUsers(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        Long currentUserId = jwtUtils.getUserIdFromContext();
+        int effectiveLimit = Math.max(1, Math.min(limit, typeaheadMaxLimit));
+
+        try {
+            Optional<UserDocument> currentUserDocOpt = userSearchRepository.findById(currentUserId.toString());
+            List<Long> blockedUserIds = currentUserDocOpt.map(UserDocument::getBlockedUserIds).orElse(null);
+            List<Long> blockedByUserIds = currentUserDocOpt.map(UserDocument::getBlockedByUserIds).orElse(null);
+            Set<Long> followingIds = followRepository.findFollowingIdsByFollowerId(currentUserId);
+
+            List<UserDocument> users = userSearchRepository.findTypeaheadUsers(
+                    currentUserId, prefix, followingIds, blockedUserIds, blockedByUserIds, effectiveLimit);
+            log.debug("Typeahead for user {} with prefix '{}' returned {} users", currentUserId, prefix, users.size());
+            return users.stream().map(UserMapper::toUserDetailsSummaryResponseDTO).toList();
+        } catch (Exception e) {
+            log.error("Failed to run user typeahead for user {}, returning empty list", currentUserId, e);
+            return List.of();
+        }
+    }
+
     @Override
     @Transactional
     public UserTagResponseDTO createUserTag(CreateUserTagRequestDTO requestDTO) {
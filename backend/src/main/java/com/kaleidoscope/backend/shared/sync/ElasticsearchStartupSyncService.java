@@ -34,7 +34,9 @@ import com.kaleidoscope.backend.users.document.UserFaceEmbeddingDocument;
 import com.kaleidoscope.backend.users.document.FaceSearchDocument;
 
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 
 import jakarta.annotation.PostConstruct;
@@ -134,6 +136,10 @@ public class ElasticsearchStartupSyncService {
             // 0. Clean orphaned data
             cleanOrphanedData();
 
+            // 0.1 Push additive mapping changes (new sub-fields) to existing indices;
+            // the full sync below then re-indexes documents so the new fields are populated
+            updateIndexMappings();
+
             // Sync in order: Users first (as Posts reference Users)
             syncAllUsers();
             syncAllPosts();
@@ -214,6 +220,17 @@ public class ElasticsearchStartupSyncService {
         }
     }
 
+    private void updateIndexMappings() {
+        try {
+            if (elasticsearchOperations.indexOps(UserDocument.class).exists()) {
+                elasticsearchOperations.indexOps(UserDocument.class).putMapping();
+                log.info("✅ Updated mapping for users index");
+            }
+        } catch (Exception e) {
+            log.error("Failed to update users index mapping: {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * Cleans up orphaned data in Elasticsearch and PostgreSQL Read Models.
      * Removes ES documents that have been hard/soft deleted from PostgreSQL.
@@ -286,10 +303,11 @@ public class ElasticsearchStartupSyncService {
         try (SearchHitsIterator<T> stream = elasticsearchOperations.searchForStream(
                 NativeQuery.builder().withQuery(q -> q.matchAll(m -> m)).build(), docClass)) {
             while (stream.hasNext()) {
-                T doc = stream.next().getContent();
-                Long docId = idExtractor.apply(doc);
+                SearchHit<T> hit = stream.next();
+                Long docId = idExtractor.apply(hit.getContent());
                 if (docId != null && !validIds.contains(docId)) {
-                    elasticsearchOperations.delete(doc);
+                    // Delete from the concrete index of the hit; aliases (feed_items) only route writes to their write index
+                    elasticsearchOperations.delete(hit.getId(), IndexCoordinates.of(hit.getIndex()));
                     deletedCount++;
                 }
             }
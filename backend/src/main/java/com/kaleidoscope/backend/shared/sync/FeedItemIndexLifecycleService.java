@@ -0,0 +1,338 @@
+package com.kaleidoscope.backend.shared.sync;
+
+import co.elastic.clients.elasticsearch.indices.GetIndexResponse;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import com.kaleidoscope.backend.posts.document.FeedItemDocument;
+import com.kaleidoscope.backend.shared.scheduler.SchedulerCoordinator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Weekly partitions for feed_items behind aliases, with a local lifecycle job.
+ *
+ * Documents live in feed_items-{week-based-year}.w{week} indices (ISO weeks, UTC). The
+ * feed_items alias spans every retained partition so the repository, author propagation and
+ * startup cleanup keep working unchanged; its write index (and the feed_items_write alias) is
+ * the current week's partition. Windowed feed queries use {@link #readIndicesFor} to hit only
+ * the partitions their time range needs.
+ *
+ * The lifecycle job rolls the write aliases over at the week boundary, force-merges partitions
+ * older than warm-after-weeks (tagging them with the feed_items_warm alias so each is merged
+ * once), and deletes partitions older than retention-weeks. Warm partitions stay writable:
+ * author propagation and startup cleanup still update and delete documents in them by
+ * concrete index. Partitions are created with a single shard by default, so no shrink step is
+ * needed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FeedItemIndexLifecycleService {
+
+    public static final String READ_ALIAS = "feed_items";
+    public static final String WRITE_ALIAS = "feed_items_write";
+    private static final String WARM_ALIAS = "feed_items_warm";
+    private static final String PARTITION_PREFIX = "feed_items-";
+    // Writes may land in the previous partition until the hourly rollover has run
+    private static final long ROLLOVER_LAG_HOURS = 1;
+    private static final int MIGRATION_BATCH_SIZE = 500;
+    private static final String LIFECYCLE_JOB = "feed-items-lifecycle";
+    private static final Duration LIFECYCLE_LEASE_TTL = Duration.ofMinutes(2);
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+    private final SchedulerCoordinator schedulerCoordinator;
+
+    private final NavigableSet<String> partitions = new ConcurrentSkipListSet<>();
+
+    @Value("${app.feed-items.index.partition-shards:1}")
+    private int partitionShards;
+
+    @Value("${app.feed-items.index.partition-replicas:1}")
+    private int partitionReplicas;
+
+    @Value("${app.feed-items.index.warm-after-weeks:2}")
+    private int warmAfterWeeks;
+
+    @Value("${app.feed-items.index.retention-weeks:26}")
+    private int retentionWeeks;
+
+    public static String partitionFor(LocalDate date) {
+        return PARTITION_PREFIX + date.get(IsoFields.WEEK_BASED_YEAR)
+                + ".w" + String.format("%02d", date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    /**
+     * Existing partitions overlapping [since, until]; empty when none of them exist yet.
+     */
+    public List<String> readIndicesFor(OffsetDateTime since, OffsetDateTime until) {
+        LocalDate week = since.minusHours(ROLLOVER_LAG_HOURS).withOffsetSameInstant(ZoneOffset.UTC).toLocalDate()
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate last = until.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+        List<String> indices = new ArrayList<>();
+        while (!week.isAfter(last)) {
+            String partition = partitionFor(week);
+            if (partitions.contains(partition)) {
+                indices.add(partition);
+            }
+            week = week.plusWeeks(1);
+        }
+        return indices;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        try {
+            boolean ran = schedulerCoordinator.runExclusive(LIFECYCLE_JOB, LIFECYCLE_LEASE_TTL, () -> {
+                migrateLegacyIndex();
+                applyLifecycle();
+            });
+            if (!ran) {
+                refreshPartitions();
+            }
+        } catch (Exception e) {
+            log.error("[FeedItemIndexLifecycle] Bootstrap failed, will retry on the next lifecycle run: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs on one node at a time so index and alias changes never interleave; the other nodes
+     * only refresh their view of the partitions.
+     */
+    @Scheduled(cron = "${app.feed-items.index.lifecycle-cron:0 5 * * * *}")
+    public void runLifecycle() {
+        if (!schedulerCoordinator.runExclusive(LIFECYCLE_JOB, LIFECYCLE_LEASE_TTL, this::applyLifecycle)) {
+            refreshPartitions();
+        }
+    }
+
+    private void applyLifecycle() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        refreshPartitions();
+
+        String current = partitionFor(today);
+        ensurePartition(current);
+        rollWriteAliasTo(current);
+        // Pre-create next week's partition so the rollover itself is only an alias swap
+        ensurePartition(partitionFor(today.plusWeeks(1)));
+
+        LocalDate warmBefore = today.minusWeeks(Math.max(1, warmAfterWeeks)).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate deleteBefore = today.minusWeeks(Math.max(warmAfterWeeks + 1, retentionWeeks)).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Map<String, IndexState> states = loadPartitionStates();
+        for (Map.Entry<String, IndexState> entry : states.entrySet()) {
+            String partition = entry.getKey();
+            if (partition.compareTo(partitionFor(deleteBefore)) < 0) {
+                deletePartition(partition);
+                continue;
+            }
+            if (isWriteBlocked(entry.getValue())) {
+                liftWriteBlock(partition);
+            } else if (partition.compareTo(partitionFor(warmBefore)) < 0 && !entry.getValue().aliases().containsKey(WARM_ALIAS)) {
+                warmPartition(partition);
+            }
+        }
+        refreshPartitions();
+        log.debug("[FeedItemIndexLifecycle] Lifecycle run complete, {} partitions retained", partitions.size());
+    }
+
+    private void ensurePartition(String partition) {
+        if (partitions.contains(partition)) {
+            return;
+        }
+        createPartitionIfMissing(partition);
+        elasticsearchTemplate.execute(client -> client.indices().updateAliases(u -> u
+                .actions(a -> a.add(add -> add.index(partition).alias(READ_ALIAS)))));
+        partitions.add(partition);
+    }
+
+    private void createPartitionIfMissing(String partition) {
+        var indexOps = elasticsearchTemplate.indexOps(IndexCoordinates.of(partition));
+        if (indexOps.exists()) {
+            return;
+        }
+        Settings settings = new Settings();
+        settings.put("index.number_of_shards", partitionShards);
+        settings.put("index.number_of_replicas", partitionReplicas);
+        Document mapping = elasticsearchTemplate.indexOps(FeedItemDocument.class).createMapping(FeedItemDocument.class);
+        indexOps.create(settings, mapping);
+        log.info("[FeedItemIndexLifecycle] Created partition {}", partition);
+    }
+
+    private void rollWriteAliasTo(String current) {
+        List<String> previous = new ArrayList<>();
+        boolean currentIsWriteIndex = false;
+        for (Map.Entry<String, IndexState> entry : loadPartitionStates().entrySet()) {
+            if (!entry.getValue().aliases().containsKey(WRITE_ALIAS)) {
+                continue;
+            }
+            if (entry.getKey().equals(current)) {
+                currentIsWriteIndex = true;
+            } else {
+                previous.add(entry.getKey());
+            }
+        }
+        if (currentIsWriteIndex && previous.isEmpty()) {
+            return;
+        }
+        // One atomic alias update so writers never see a missing or doubled write index
+        elasticsearchTemplate.execute(client -> client.indices().updateAliases(u -> {
+            for (String old : previous) {
+                u.actions(a -> a.remove(r -> r.index(old).alias(WRITE_ALIAS)));
+                u.actions(a -> a.add(add -> add.index(old).alias(READ_ALIAS).isWriteIndex(false)));
+            }
+            u.actions(a -> a.add(add -> add.index(current).alias(WRITE_ALIAS)));
+            u.actions(a -> a.add(add -> add.index(current).alias(READ_ALIAS).isWriteIndex(true)));
+            return u;
+        }));
+        if (!previous.isEmpty()) {
+            log.info("[FeedItemIndexLifecycle] Rolled write aliases from {} to {}", previous, current);
+        }
+    }
+
+    private void warmPartition(String partition) {
+        try {
+            elasticsearchTemplate.execute(client -> client.indices().forcemerge(f -> f
+                    .index(partition)
+                    .maxNumSegments(1L)));
+            elasticsearchTemplate.execute(client -> client.indices().updateAliases(u -> u
+                    .actions(a -> a.add(add -> add.index(partition).alias(WARM_ALIAS)))));
+            log.info("[FeedItemIndexLifecycle] Force-merged partition {}", partition);
+        } catch (Exception e) {
+            log.warn("[FeedItemIndexLifecycle] Failed to warm partition {}: {}", partition, e.getMessage());
+        }
+    }
+
+    /**
+     * Partitions warmed by earlier versions were write-blocked, which breaks author propagation
+     * and cleanup on them; the block is removed and the partition counts as warm.
+     */
+    private void liftWriteBlock(String partition) {
+        try {
+            elasticsearchTemplate.execute(client -> client.indices().putSettings(p -> p
+                    .index(partition)
+                    .settings(s -> s.blocks(b -> b.write(false)))));
+            elasticsearchTemplate.execute(client -> client.indices().updateAliases(u -> u
+                    .actions(a -> a.add(add -> add.index(partition).alias(WARM_ALIAS)))));
+            log.info("[FeedItemIndexLifecycle] Lifted write block on partition {}", partition);
+        } catch (Exception e) {
+            log.warn("[FeedItemIndexLifecycle] Failed to lift write block on partition {}: {}", partition, e.getMessage());
+        }
+    }
+
+    private void deletePartition(String partition) {
+        try {
+            elasticsearchTemplate.execute(client -> client.indices().delete(d -> d.index(partition)));
+            partitions.remove(partition);
+            log.info("[FeedItemIndexLifecycle] Deleted partition {} past retention", partition);
+        } catch (Exception e) {
+            log.warn("[FeedItemIndexLifecycle] Failed to delete partition {}: {}", partition, e.getMessage());
+        }
+    }
+
+    /**
+     * A concrete feed_items index from before partitioning is copied into weekly partitions by
+     * createdAt and then replaced by the alias of the same name.
+     */
+    private void migrateLegacyIndex() {
+        boolean isConcreteIndex = elasticsearchTemplate.indexOps(IndexCoordinates.of(READ_ALIAS)).exists()
+                && !elasticsearchTemplate.execute(client -> client.indices().existsAlias(e -> e.name(READ_ALIAS))).value();
+        if (!isConcreteIndex) {
+            return;
+        }
+        log.info("[FeedItemIndexLifecycle] Migrating legacy {} index into weekly partitions", READ_ALIAS);
+        refreshPartitions();
+
+        Map<String, List<FeedItemDocument>> batches = new HashMap<>();
+        int migrated = 0;
+        try (SearchHitsIterator<FeedItemDocument> stream = elasticsearchTemplate.searchForStream(
+                NativeQuery.builder().withQuery(q -> q.matchAll(m -> m))
+                        .withPageable(PageRequest.of(0, MIGRATION_BATCH_SIZE)).build(),
+                FeedItemDocument.class, IndexCoordinates.of(READ_ALIAS))) {
+            while (stream.hasNext()) {
+                FeedItemDocument document = stream.next().getContent();
+                LocalDate createdOn = document.getCreatedAt() != null
+                        ? document.getCreatedAt().withOffsetSameInstant(ZoneOffset.UTC).toLocalDate()
+                        : LocalDate.now(ZoneOffset.UTC);
+                String partition = partitionFor(createdOn);
+                List<FeedItemDocument> batch = batches.computeIfAbsent(partition, p -> new ArrayList<>());
+                batch.add(document);
+                if (batch.size() >= MIGRATION_BATCH_SIZE) {
+                    migrated += flushMigrationBatch(partition, batch);
+                }
+            }
+        }
+        for (Map.Entry<String, List<FeedItemDocument>> entry : batches.entrySet()) {
+            migrated += flushMigrationBatch(entry.getKey(), entry.getValue());
+        }
+
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(READ_ALIAS)).delete();
+        // Partitions were created while the legacy index held the name, so alias them now
+        partitions.forEach(partition -> elasticsearchTemplate.execute(client -> client.indices().updateAliases(u -> u
+                .actions(a -> a.add(add -> add.index(partition).alias(READ_ALIAS))))));
+        log.info("[FeedItemIndexLifecycle] Migrated {} documents from legacy index into {} partitions",
+                migrated, partitions.size());
+    }
+
+    private int flushMigrationBatch(String partition, List<FeedItemDocument> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        if (partitions.add(partition)) {
+            createPartitionIfMissing(partition);
+        }
+        elasticsearchTemplate.save(batch, IndexCoordinates.of(partition));
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
+    private void refreshPartitions() {
+        partitions.clear();
+        partitions.addAll(loadPartitionStates().keySet());
+    }
+
+    private Map<String, IndexState> loadPartitionStates() {
+        GetIndexResponse response = elasticsearchTemplate.execute(client -> client.indices().get(g -> g
+                .index(PARTITION_PREFIX + "*")
+                .allowNoIndices(true)
+                .ignoreUnavailable(true)));
+        return response.result();
+    }
+
+    private static boolean isWriteBlocked(IndexState state) {
+        IndexSettings settings = state.settings();
+        if (settings == null) {
+            return false;
+        }
+        IndexSettings nested = settings.index();
+        if (nested != null && nested.blocks() != null && Boolean.TRUE.equals(nested.blocks().write())) {
+            return true;
+        }
+        return settings.blocks() != null && Boolean.TRUE.equals(settings.blocks().write());
+    }
+}
@@ -1,6 +1,11 @@
 package com.kaleidoscope.backend.users.controller;
 
 import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.dto.response.AuthorInsightsResponseDTO;
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
+import com.kaleidoscope.backend.posts.service.PostAnalyticsService;
+import com.kaleidoscope.backend.shared.dto.request.BatchIdsRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
 import com.kaleidoscope.backend.shared.response.AppResponse;
 import com.kaleidoscope.backend.users.controller.api.UserApi;
 import com.kaleidoscope.backend.users.dto.request.UpdateUserProfileRequestDTO;
@@ -17,12 +22,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @Slf4j
 @RequestMapping
@@ -31,6 +40,7 @@ public class UserController implements UserApi {
 
     private final UserService userService;
     private final JwtUtils jwtUtils;
+    private final PostAnalyticsService postAnalyticsService;
 
     @Override
     @PutMapping(value = UserRoutes.UPDATE_USER_PROFILE, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -132,4 +142,42 @@ public class UserController implements UserApi {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @Override
+    @PostMapping(UserRoutes.GET_USERS_BATCH)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<List<BatchItemResponseDTO<UserDetailsSummaryResponseDTO>>>> getUsersBatch(
+            @Valid @RequestBody BatchIdsRequestDTO requestDTO) {
+
+        log.info("Fetching {} user summaries in one batch", requestDTO.ids().size());
+        List<BatchItemResponseDTO<UserDetailsSummaryResponseDTO>> users = userService.getUserSummaries(requestDTO.ids());
+
+        AppResponse<List<BatchItemResponseDTO<UserDetailsSummaryResponseDTO>>> response = AppResponse.success(
+                users,
+                "Users retrieved successfully",
+                UserRoutes.GET_USERS_BATCH
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    @GetMapping(UserRoutes.MY_INSIGHTS)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AppResponse<AuthorInsightsResponseDTO>> getMyInsights(
+            @RequestParam(required = false) RollupGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("Fetching insights for the current user");
+        AuthorInsightsResponseDTO insights = postAnalyticsService.getMyInsights(granularity, from, to);
+
+        AppResponse<AuthorInsightsResponseDTO> response = AppResponse.success(
+                insights,
+                "Insights retrieved successfully",
+                UserRoutes.MY_INSIGHTS
+        );
+
+        return ResponseEntity.ok(response);
+    }
+}
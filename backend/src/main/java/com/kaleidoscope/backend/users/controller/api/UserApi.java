@@ -1,5 +1,9 @@
 package com.kaleidoscope.backend.users.controller.api;
 
+import com.kaleidoscope.backend.posts.dto.response.AuthorInsightsResponseDTO;
+import com.kaleidoscope.backend.posts.enums.RollupGranularity;
+import com.kaleidoscope.backend.shared.dto.request.BatchIdsRequestDTO;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
 import com.kaleidoscope.backend.shared.response.AppResponse;
 import com.kaleidoscope.backend.users.dto.request.UpdateUserProfileRequestDTO;
 import com.kaleidoscope.backend.users.dto.request.UpdateUserProfileStatusRequestDTO;
@@ -13,10 +17,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -24,6 +30,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Tag(name = "User", description = "APIs for managing user profiles and accounts")
 public interface UserApi {
 
@@ -89,4 +98,30 @@ public interface UserApi {
             @PathVariable Long userId,
             @Parameter(hidden = true)
             @PageableDefault(size = 12, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable);
+
+    @Operation(summary = "Get users by IDs", description = "Returns summaries of up to 100 users in request order, each with its own status; missing users, users in a block relationship with the viewer and inactive accounts are NOT_FOUND.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AppResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    ResponseEntity<AppResponse<List<BatchItemResponseDTO<UserDetailsSummaryResponseDTO>>>> getUsersBatch(
+            @Valid @RequestBody BatchIdsRequestDTO requestDTO);
+
+    @Operation(summary = "Get my insights", description = "Returns the views, reactions, comments and saves of all the authenticated user's posts per UTC hour or day, as net changes, with the most viewed posts in the range.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Insights retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = AppResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    ResponseEntity<AppResponse<AuthorInsightsResponseDTO>> getMyInsights(
+            @Parameter(description = "HOUR (default) or DAY")
+            @RequestParam(required = false) RollupGranularity granularity,
+            @Parameter(description = "Inclusive UTC start (ISO date-time)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive UTC end (ISO date-time), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to);
 }
@@ -6,6 +6,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,7 +23,15 @@ public class UserDocument {
     @Field(type = FieldType.Long)
     private Long userId;
 
-    @Field(type = FieldType.Keyword)
+    // Keyword for exact lookups; the search_as_you_type sub-field backs prefix typeahead and the
+    // wildcard sub-field backs substring matches without a leading-wildcard term scan
+    @MultiField(
+            mainField = @Field(type = FieldType.Keyword),
+            otherFields = {
+                    @InnerField(suffix = "typeahead", type = FieldType.Search_As_You_Type),
+                    @InnerField(suffix = "infix", type = FieldType.Wildcard)
+            }
+    )
     private String username;
 
     @Field(type = FieldType.Keyword)
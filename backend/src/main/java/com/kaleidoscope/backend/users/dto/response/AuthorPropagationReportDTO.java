@@ -0,0 +1,21 @@
+package com.kaleidoscope.backend.users.dto.response;
+
+import java.util.List;
+
+/**
+ * Completion report for a propagation of a user's profile into every Elasticsearch
+ * index that embeds denormalized author data.
+ */
+public record AuthorPropagationReportDTO(Long userId, List<IndexResult> results, long tookMillis) {
+
+    public record IndexResult(String index, String field, long matched, long updated, long noops,
+                              long versionConflicts, long failures, boolean fallbackUsed) {}
+
+    public long totalUpdated() {
+        return results.stream().mapToLong(IndexResult::updated).sum();
+    }
+
+    public long totalFailures() {
+        return results.stream().mapToLong(IndexResult::failures).sum();
+    }
+}
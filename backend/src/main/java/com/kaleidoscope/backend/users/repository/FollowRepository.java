@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -32,6 +34,15 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     @Query("SELECT f.following.userId FROM Follow f WHERE f.follower.userId IN :followerIds")
     Set<Long> findFollowingIdsByFollowerIds(@Param("followerIds") Set<Long> followerIds);
 
+    // Which of the given users the follower follows
+    @Query("SELECT f.following.userId FROM Follow f WHERE f.follower.userId = :followerId AND f.following.userId IN :userIds")
+    Set<Long> findFollowedAmong(@Param("followerId") Long followerId, @Param("userIds") Collection<Long> userIds);
+
+    // Keyset page of follower IDs, used to fan posts out to followers' timelines in batches
+    @Query("SELECT f.follower.userId FROM Follow f WHERE f.following.userId = :followingId " +
+           "AND f.follower.userId > :afterId ORDER BY f.follower.userId ASC")
+    List<Long> findFollowerIdsAfter(@Param("followingId") Long followingId, @Param("afterId") Long afterId, Pageable pageable);
+
     // Method to check if a user follows another user (for post access control)
     boolean existsByFollower_UserIdAndFollowing_UserId(Long followerId, Long followingId);
 
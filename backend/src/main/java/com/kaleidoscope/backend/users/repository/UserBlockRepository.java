@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserBlockRepository extends JpaRepository<UserBlock, Long> {
@@ -41,4 +42,11 @@ public interface UserBlockRepository extends JpaRepository<UserBlock, Long> {
            "WHERE (ub.blocker.userId = :userId1 AND ub.blocked.userId = :userId2) " +
            "OR (ub.blocker.userId = :userId2 AND ub.blocked.userId = :userId1)")
     boolean existsBlockRelationship(@Param("userId1") Long userId1, @Param("userId2") Long userId2);
+
+    /**
+     * IDs of every user on the other side of a block with the given user, in either direction
+     */
+    @Query("SELECT CASE WHEN ub.blocker.userId = :userId THEN ub.blocked.userId ELSE ub.blocker.userId END " +
+           "FROM UserBlock ub WHERE ub.blocker.userId = :userId OR ub.blocked.userId = :userId")
+    Set<Long> findBlockRelatedUserIds(@Param("userId") Long userId);
 }
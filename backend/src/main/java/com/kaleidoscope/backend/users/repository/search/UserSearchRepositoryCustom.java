@@ -1,5 +1,7 @@
 package com.kaleidoscope.backend.users.repository.search;
 
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
 import com.kaleidoscope.backend.users.document.UserDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -33,9 +35,33 @@ public interface UserSearchRepositoryCustom {
      * @param blockedByUserIds List of user IDs who blocked current user
      * @param query Text search query across username and email (optional)
      * @param pageable Pagination and sorting parameters
-     * @return Page of UserDocument that are taggable
+     * @param cursor search_after cursor from a previous page (null for offset paging)
+     * @return Page of UserDocument that are taggable, carrying the next cursor
      */
-    Page<UserDocument> findTaggableUsers(Long currentUserId, List<Long> blockedUserIds, List<Long> blockedByUserIds, String query, Pageable pageable);
+    Page<UserDocument> findTaggableUsers(Long currentUserId, List<Long> blockedUserIds, List<Long> blockedByUserIds, String query, Pageable pageable, SearchCursor cursor);
+
+    /**
+     * Typeahead for mentions: prefix match on the username search_as_you_type field,
+     * ranked by follow proximity and follower count, excluding blocked users in both directions
+     * and users whose tagging preference is not PUBLIC
+     *
+     * @param currentUserId ID of the authenticated user (excluded from results)
+     * @param prefix Text typed so far
+     * @param followingIds User IDs the current user follows (boosted)
+     * @param blockedUserIds List of user IDs blocked by current user
+     * @param blockedByUserIds List of user IDs who blocked current user
+     * @param limit Maximum number of suggestions
+     * @return Ranked UserDocuments with only summary fields loaded
+     */
+    List<UserDocument> findTypeaheadUsers(Long currentUserId, String prefix, Set<Long> followingIds,
+                                          List<Long> blockedUserIds, List<Long> blockedByUserIds, int limit);
+
+    /**
+     * Build the ranked typeahead query used by {@link #findTypeaheadUsers} without executing it,
+     * so it can be batched with other entity searches in one _msearch
+     */
+    Query buildTypeaheadQuery(Long currentUserId, String prefix, Set<Long> followingIds,
+                              List<Long> blockedUserIds, List<Long> blockedByUserIds);
 
     /**
      * Find users by their IDs (used for fetching blocked users)
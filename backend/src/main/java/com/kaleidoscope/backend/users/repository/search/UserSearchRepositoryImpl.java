@@ -4,17 +4,22 @@ import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch._types.query_dsl.*;
 import com.kaleidoscope.backend.shared.enums.AccountStatus;
 import com.kaleidoscope.backend.shared.enums.Role;
+import com.kaleidoscope.backend.shared.search.SearchAfterSupport;
+import com.kaleidoscope.backend.shared.search.SearchCursor;
 import com.kaleidoscope.backend.users.document.UserDocument;
 import com.kaleidoscope.backend.users.enums.Visibility; // Added import
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
@@ -31,6 +36,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserSearchRepositoryImpl implements UserSearchRepositoryCustom {
 
+    // Shorter substrings match too many usernames to be useful next to the prefix match
+    private static final int MIN_INFIX_LENGTH = 3;
+
+    private static final String[] TYPEAHEAD_SOURCE_FIELDS = {
+            "userId", "username", "email", "showEmail", "accountStatus", "profilePictureUrl"
+    };
+
     private final ElasticsearchTemplate elasticsearchTemplate;
 
     @Override
@@ -99,7 +111,7 @@ public class UserSearchRepositoryImpl implements UserSearchRepositoryCustom {
     }
 
     @Override
-    public Page<UserDocument> findTaggableUsers(Long currentUserId, List<Long> blockedUserIds, List<Long> blockedByUserIds, String query, Pageable pageable) {
+    public Page<UserDocument> findTaggableUsers(Long currentUserId, List<Long> blockedUserIds, List<Long> blockedByUserIds, String query, Pageable pageable, SearchCursor cursor) {
         log.info("[findTaggableUsers] Starting query - currentUserId: {}, searchQuery: '{}', blockedUserIds: {}, blockedByUserIds: {}, page: {}, size: {}",
                 currentUserId, query,
                 blockedUserIds != null ? blockedUserIds.size() : 0,
@@ -175,22 +187,27 @@ public class UserSearchRepositoryImpl implements UserSearchRepositoryCustom {
             BoolQuery.Builder searchQueryBuilder = new BoolQuery.Builder();
             searchQueryBuilder.minimumShouldMatch("1");
 
-            // Search in username field
-            searchQueryBuilder.should(Query.of(q -> q.wildcard(w -> w
-                    .field("username")
-                    .value("*" + normalizedSearch.toLowerCase() + "*")
-                    .caseInsensitive(true)
-            )));
+            // Prefix match on the username typeahead sub-field (no leading-wildcard term scan)
+            searchQueryBuilder.should(usernameTypeaheadQuery(normalizedSearch));
 
-            // Search in email field
+            // Substring match on the wildcard-typed sub-field, which answers *term* from an n-gram index
+            if (normalizedSearch.length() >= MIN_INFIX_LENGTH) {
+                searchQueryBuilder.should(WildcardQuery.of(w -> w
+                        .field("username.infix")
+                        .value("*" + normalizedSearch + "*")
+                        .caseInsensitive(true)
+                        .boost(0.5f))._toQuery());
+            }
+
+            // Prefix match on email, only for users who expose it
             searchQueryBuilder.should(Query.of(q -> q.bool(b -> b
                     .must(Query.of(mq -> mq.term(t -> t
                             .field("showEmail")
                             .value(true)
                     )))
-                    .must(Query.of(mq -> mq.wildcard(w -> w
+                    .must(Query.of(mq -> mq.prefix(p -> p
                             .field("email")
-                            .value("*" + normalizedSearch.toLowerCase() + "*")
+                            .value(normalizedSearch.toLowerCase())
                             .caseInsensitive(true)
                     )))
             )));
@@ -199,21 +216,20 @@ public class UserSearchRepositoryImpl implements UserSearchRepositoryCustom {
             log.debug("[findTaggableUsers] Added search filter for query: '{}'", normalizedSearch);
         }
 
-        // Build the native query with pagination
-        NativeQuery nativeQuery = NativeQuery.builder()
-                .withQuery(Query.of(q -> q.bool(boolQueryBuilder.build())))
-                .withPageable(pageable)
-                .build();
+        // Build the native query with offset or search_after pagination on a stable sort
+        String pitId = SearchAfterSupport.resolvePointInTime(elasticsearchTemplate, cursor, UserDocument.class);
+        NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                .withQuery(Query.of(q -> q.bool(boolQueryBuilder.build())));
+        SearchAfterSupport.applyPaging(queryBuilder, pageable, cursor, "userId", pitId);
 
-        log.debug("[findTaggableUsers] Executing Elasticsearch query");
+        log.debug("[findTaggableUsers] Executing Elasticsearch query (cursor={}, pit={})", cursor != null, pitId != null);
 
         // Execute search
-        SearchHits<UserDocument> searchHits = elasticsearchTemplate.search(nativeQuery, UserDocument.class);
+        SearchHits<UserDocument> searchHits = elasticsearchTemplate.search(queryBuilder.build(), UserDocument.class);
 
-        // Convert SearchHits to Page<UserDocument>
-        List<UserDocument> userDocuments = searchHits.getSearchHits().stream()
-                .map(SearchHit::getContent)
-                .collect(Collectors.toList());
+        // Convert SearchHits to a cursor-aware Page<UserDocument>
+        Page<UserDocument> page = SearchAfterSupport.toPage(searchHits, pageable, cursor, pitId);
+        List<UserDocument> userDocuments = page.getContent();
 
         log.info("[findTaggableUsers] Query completed - returned {} taggable users out of {} total hits for currentUserId: {}",
                 userDocuments.size(), searchHits.getTotalHits(), currentUserId);
@@ -225,7 +241,94 @@ public class UserSearchRepositoryImpl implements UserSearchRepositoryCustom {
                             .collect(Collectors.joining(", ")));
         }
 
-        return new PageImpl<>(userDocuments, pageable, searchHits.getTotalHits());
+        return page;
+    }
+
+    @Override
+    public List<UserDocument> findTypeaheadUsers(Long currentUserId, String prefix, Set<Long> followingIds,
+                                                 List<Long> blockedUserIds, List<Long> blockedByUserIds, int limit) {
+        log.debug("[findTypeaheadUsers] prefix: '{}', following: {}, blocked: {}, blockedBy: {}, limit: {}",
+                prefix, followingIds != null ? followingIds.size() : 0,
+                blockedUserIds != null ? blockedUserIds.size() : 0,
+                blockedByUserIds != null ? blockedByUserIds.size() : 0, limit);
+
+        // Mentions only suggest users who accept tags, as findTaggableUsers does
+        Query query = BoolQuery.of(b -> b
+                .must(buildTypeaheadQuery(currentUserId, prefix, followingIds, blockedUserIds, blockedByUserIds))
+                .filter(Query.of(q -> q.match(m -> m
+                        .field("allowTagging")
+                        .query(Visibility.PUBLIC.name())))))._toQuery();
+
+        NativeQuery nativeQuery = NativeQuery.builder()
+                .withQuery(query)
+                .withSourceFilter(new FetchSourceFilter(TYPEAHEAD_SOURCE_FIELDS, null))
+                .withPageable(PageRequest.of(0, limit))
+                .withTrackTotalHits(false)
+                .build();
+
+        SearchHits<UserDocument> searchHits = elasticsearchTemplate.search(nativeQuery, UserDocument.class);
+        return searchHits.getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Query buildTypeaheadQuery(Long currentUserId, String prefix, Set<Long> followingIds,
+                                     List<Long> blockedUserIds, List<Long> blockedByUserIds) {
+        BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder()
+                .must(usernameTypeaheadQuery(prefix))
+                .filter(TermQuery.of(t -> t.field("accountStatus").value(AccountStatus.ACTIVE.name()))._toQuery())
+                .filter(TermQuery.of(t -> t.field("role").value(Role.USER.name()))._toQuery())
+                .mustNot(TermQuery.of(t -> t.field("searchDiscoverable").value(false))._toQuery())
+                .mustNot(TermQuery.of(t -> t.field("profileVisibility").value(Visibility.NO_ONE.name()))._toQuery());
+
+        if (currentUserId != null) {
+            boolQueryBuilder.mustNot(TermQuery.of(t -> t.field("userId").value(currentUserId))._toQuery());
+        }
+
+        List<FieldValue> excluded = new ArrayList<>();
+        if (blockedUserIds != null) {
+            blockedUserIds.forEach(id -> excluded.add(FieldValue.of(id)));
+        }
+        if (blockedByUserIds != null) {
+            blockedByUserIds.forEach(id -> excluded.add(FieldValue.of(id)));
+        }
+        if (!excluded.isEmpty()) {
+            boolQueryBuilder.mustNot(TermsQuery.of(t -> t.field("userId").terms(ts -> ts.value(excluded)))._toQuery());
+        }
+
+        // Rank by text match + follow proximity + popularity
+        List<FunctionScore> functions = new ArrayList<>();
+        if (followingIds != null && !followingIds.isEmpty()) {
+            functions.add(FunctionScore.of(f -> f
+                    .filter(TermsQuery.of(t -> t
+                            .field("userId")
+                            .terms(ts -> ts.value(followingIds.stream().map(FieldValue::of).collect(Collectors.toList())))
+                    )._toQuery())
+                    .weight(10.0)));
+        }
+        functions.add(FunctionScore.of(f -> f
+                .fieldValueFactor(fvf -> fvf
+                        .field("followerCount")
+                        .modifier(FieldValueFactorModifier.Log1p)
+                        .missing(0.0))));
+
+        return FunctionScoreQuery.of(fs -> fs
+                .query(boolQueryBuilder.build()._toQuery())
+                .functions(functions)
+                .scoreMode(FunctionScoreMode.Sum)
+                .boostMode(FunctionBoostMode.Sum))._toQuery();
+    }
+
+    /**
+     * bool_prefix over the search_as_you_type shingles: the last term is matched as a prefix,
+     * earlier terms as whole words, without scanning the term dictionary.
+     */
+    private Query usernameTypeaheadQuery(String prefix) {
+        return Query.of(q -> q.multiMatch(m -> m
+                .query(prefix.trim())
+                .type(TextQueryType.BoolPrefix)
+                .fields("username.typeahead", "username.typeahead._2gram", "username.typeahead._3gram")));
     }
 
     @Override
@@ -13,4 +13,6 @@ public final class UserRoutes {
     public static final String UPDATE_USER_PROFILE_STATUS = BASE_API + "/profile-status";
     public static final String UPDATE_USER_PROFILE = BASE_API + "/profile";
     public static final String GET_USER_PROFILE = BASE_API + "/profile" + USER_ID_PATH;
+    public static final String GET_USERS_BATCH = BASE_API + "/batch";
+    public static final String MY_INSIGHTS = BASE_API + "/me/insights";
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.kaleidoscope.backend.users.service;
+
+import com.kaleidoscope.backend.users.dto.response.AuthorPropagationReportDTO;
+import com.kaleidoscope.backend.users.model.User;
+
+/**
+ * Service interface for propagating a user's profile into the author fields that are
+ * denormalized across Elasticsearch indices
+ */
+public interface AuthorDenormalizationService {
+
+    /**
+     * Propagate author data into posts and the post-derived indices (feed items, media search, follows)
+     *
+     * @param user The user whose profile changed
+     * @return Per-index completion report
+     */
+    AuthorPropagationReportDTO propagatePostAuthorData(User user);
+
+    /**
+     * Propagate author and reviewer data into blogs
+     *
+     * @param user The user whose profile changed
+     * @return Per-index completion report
+     */
+    AuthorPropagationReportDTO propagateBlogAuthorData(User user);
+}
@@ -1,5 +1,6 @@
 package com.kaleidoscope.backend.users.service;
 
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
 import com.kaleidoscope.backend.users.dto.request.UpdateUserProfileRequestDTO;
 import com.kaleidoscope.backend.users.dto.response.UpdateUserProfileResponseDTO;
 import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
@@ -9,6 +10,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.List;
+
 /**
  * Service interface for user management operations
  */
@@ -83,4 +86,14 @@ public interface UserService {
      * @return UserProfileResponseDTO containing all necessary profile data.
      */
     UserProfileResponseDTO getUserProfile(Long profileUserId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Gets summaries of several users with one Elasticsearch multi-get, for clients rehydrating
+     * cached screens. Missing users, users in a block relationship with the viewer and inactive
+     * accounts come back as NOT_FOUND; emails only when the user shows them.
+     *
+     * @param userIds Up to 100 user IDs.
+     * @return One item per distinct ID, in request order.
+     */
+    List<BatchItemResponseDTO<UserDetailsSummaryResponseDTO>> getUserSummaries(List<Long> userIds);
+}
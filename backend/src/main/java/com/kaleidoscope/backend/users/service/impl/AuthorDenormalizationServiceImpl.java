@@ -0,0 +1,243 @@
+package com.kaleidoscope.backend.users.service.impl;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.TermQuery;
+import com.kaleidoscope.backend.blogs.document.BlogDocument;
+import com.kaleidoscope.backend.posts.document.FeedItemDocument;
+import com.kaleidoscope.backend.posts.document.MediaAiInsightsDocument;
+import com.kaleidoscope.backend.posts.document.MediaSearchDocument;
+import com.kaleidoscope.backend.posts.document.PostDocument;
+import com.kaleidoscope.backend.posts.document.SearchAssetDocument;
+import com.kaleidoscope.backend.users.document.FaceSearchDocument;
+import com.kaleidoscope.backend.users.document.FollowDocument;
+import com.kaleidoscope.backend.users.dto.response.AuthorPropagationReportDTO;
+import com.kaleidoscope.backend.users.model.User;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import com.kaleidoscope.backend.users.service.AuthorDenormalizationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.ByQueryResponse;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Propagates user profile changes into every index that embeds author data.
+ * Each target is updated server-side with a sliced, throttled _update_by_query; if that
+ * call fails the target falls back to a scroll over matching IDs plus _bulk partial updates.
+ * Post-side targets cover posts, feed items, media search, search assets, media AI insights,
+ * face search (uploader, identified and suggested user) and follows. Comments are not indexed
+ * in Elasticsearch, so they always read author data from PostgreSQL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorDenormalizationServiceImpl implements AuthorDenormalizationService {
+
+    /**
+     * Copies params.fields into the embedded object at params.path, creating it when absent,
+     * and turns the update into a noop when nothing changed so unchanged documents are not reindexed.
+     * Numbers are compared by value: _source may hold an Integer where the param is a Long.
+     */
+    private static final String MERGE_SCRIPT =
+            "def target = ctx._source[params.path];"
+                    + " if (target == null) { target = [:]; ctx._source[params.path] = target; }"
+                    + " boolean changed = false;"
+                    + " for (def entry : params.fields.entrySet()) {"
+                    + "   def current = target[entry.getKey()];"
+                    + "   def value = entry.getValue();"
+                    + "   boolean same;"
+                    + "   if (current == null || value == null) { same = current === value; }"
+                    + "   else if (current instanceof Number && value instanceof Number) { same = ((Number) current).longValue() == ((Number) value).longValue(); }"
+                    + "   else { same = current.equals(value); }"
+                    + "   if (!same) { target[entry.getKey()] = value; changed = true; }"
+                    + " }"
+                    + " if (!changed) { ctx.op = 'noop'; }";
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final FollowRepository followRepository;
+
+    @Value("${app.elasticsearch.author-propagation.slices:2}")
+    private int slices;
+
+    @Value("${app.elasticsearch.author-propagation.requests-per-second:500}")
+    private float requestsPerSecond;
+
+    @Value("${app.elasticsearch.author-propagation.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public AuthorPropagationReportDTO propagatePostAuthorData(User user) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> authorFields = authorFields(user);
+
+        Map<String, Object> summaryFields = new LinkedHashMap<>();
+        summaryFields.put("username", user.getUsername());
+        summaryFields.put("profilePictureUrl", user.getProfilePictureUrl());
+
+        Map<String, Object> uploaderInfoFields = new LinkedHashMap<>();
+        uploaderInfoFields.put("username", user.getUsername());
+
+        Map<String, Object> usernameFields = Map.of("username", user.getUsername());
+        Map<String, Object> uploaderUsernameFields = Map.of("uploaderUsername", user.getUsername());
+
+        List<AuthorPropagationReportDTO.IndexResult> results = new ArrayList<>();
+        results.add(propagate(PostDocument.class, "author.userId", "author", user.getUserId(), authorFields));
+        results.add(propagate(FeedItemDocument.class, "uploaderId", "uploader", user.getUserId(), summaryFields));
+        results.add(propagate(MediaSearchDocument.class, "uploaderInfo.userId", "uploaderInfo", user.getUserId(), uploaderInfoFields));
+        results.add(propagate(SearchAssetDocument.class, "uploaderInfo.userId", "uploaderInfo", user.getUserId(), summaryFields));
+        results.add(propagate(MediaAiInsightsDocument.class, "postContext.userId", "postContext", user.getUserId(), usernameFields));
+        results.add(propagate(FaceSearchDocument.class, "postContext.uploaderId", "postContext", user.getUserId(), uploaderUsernameFields));
+        results.add(propagate(FaceSearchDocument.class, "identifiedUser.userId", "identifiedUser", user.getUserId(), usernameFields));
+        results.add(propagate(FaceSearchDocument.class, "suggestedUser.userId", "suggestedUser", user.getUserId(), usernameFields));
+        results.add(propagate(FollowDocument.class, "follower.userId", "follower", user.getUserId(), summaryFields));
+        results.add(propagate(FollowDocument.class, "following.userId", "following", user.getUserId(), summaryFields));
+
+        return report(user.getUserId(), results, start);
+    }
+
+    @Override
+    public AuthorPropagationReportDTO propagateBlogAuthorData(User user) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> reviewerFields = authorFields(user);
+
+        Map<String, Object> blogAuthorFields = new LinkedHashMap<>(reviewerFields);
+        blogAuthorFields.put("followerCount", (int) followRepository.countByFollowing_UserId(user.getUserId()));
+
+        List<AuthorPropagationReportDTO.IndexResult> results = new ArrayList<>();
+        results.add(propagate(BlogDocument.class, "author.userId", "author", user.getUserId(), blogAuthorFields));
+        results.add(propagate(BlogDocument.class, "reviewer.userId", "reviewer", user.getUserId(), reviewerFields));
+
+        return report(user.getUserId(), results, start);
+    }
+
+    private Map<String, Object> authorFields(User user) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("userId", user.getUserId());
+        fields.put("username", user.getUsername());
+        fields.put("profilePictureUrl", user.getProfilePictureUrl());
+        fields.put("email", user.getEmail());
+        fields.put("accountStatus", user.getAccountStatus() != null ? user.getAccountStatus().name() : null);
+        return fields;
+    }
+
+    private AuthorPropagationReportDTO.IndexResult propagate(Class<?> documentClass, String userIdField,
+                                                             String objectPath, Long userId, Map<String, Object> fields) {
+        IndexCoordinates index = elasticsearchOperations.getIndexCoordinatesFor(documentClass);
+        Map<String, Object> params = Map.of("path", objectPath, "fields", fields);
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(TermQuery.of(t -> t.field(userIdField).value(userId))._toQuery())
+                .build();
+
+        try {
+            UpdateQuery updateQuery = UpdateQuery.builder(query)
+                    .withScript(MERGE_SCRIPT)
+                    .withLang("painless")
+                    .withParams(params)
+                    .withAbortOnVersionConflict(false)
+                    .withSlices(slices)
+                    .withRequestsPerSecond(requestsPerSecond)
+                    .withBatchSize(batchSize)
+                    .build();
+
+            ByQueryResponse response = elasticsearchOperations.updateByQuery(updateQuery, index);
+            log.debug("[AuthorDenormalization] update_by_query on {}.{} for user {}: total={}, updated={}, noops={}, conflicts={}",
+                    index.getIndexName(), objectPath, userId, response.getTotal(), response.getUpdated(),
+                    response.getNoops(), response.getVersionConflicts());
+
+            return new AuthorPropagationReportDTO.IndexResult(index.getIndexName(), objectPath,
+                    response.getTotal(), response.getUpdated(), response.getNoops(),
+                    response.getVersionConflicts(), response.getFailures().size(), false);
+        } catch (Exception e) {
+            log.warn("[AuthorDenormalization] update_by_query failed on {}.{} for user {} - falling back to scroll+bulk: {}",
+                    index.getIndexName(), objectPath, userId, e.getMessage());
+            return propagateWithScrollAndBulk(documentClass, index, userIdField, objectPath, query, params);
+        }
+    }
+
+    /**
+     * Fallback path: streams matching document IDs through a scroll and applies the same
+     * merge script with _bulk scripted updates, one batch at a time. Updates are sent to each
+     * hit's concrete index, since by-id writes through an alias (feed_items) only reach its
+     * write index.
+     */
+    private AuthorPropagationReportDTO.IndexResult propagateWithScrollAndBulk(Class<?> documentClass, IndexCoordinates index,
+                                                                           String userIdField, String objectPath,
+                                                                           NativeQuery matchQuery, Map<String, Object> params) {
+        NativeQuery scrollQuery = NativeQuery.builder()
+                .withQuery(matchQuery.getQuery())
+                .withSourceFilter(new FetchSourceFilter(new String[]{userIdField}, null))
+                .withPageable(PageRequest.of(0, batchSize))
+                .build();
+
+        long matched = 0;
+        long updated = 0;
+        long failures = 0;
+        Map<String, List<UpdateQuery>> batches = new LinkedHashMap<>();
+
+        try (SearchHitsIterator<?> stream = elasticsearchOperations.searchForStream(scrollQuery, documentClass, index)) {
+            while (stream.hasNext()) {
+                SearchHit<?> hit = stream.next();
+                matched++;
+                String concreteIndex = hit.getIndex() != null ? hit.getIndex() : index.getIndexName();
+                List<UpdateQuery> batch = batches.computeIfAbsent(concreteIndex, name -> new ArrayList<>(batchSize));
+                batch.add(UpdateQuery.builder(hit.getId())
+                        .withScript(MERGE_SCRIPT)
+                        .withLang("painless")
+                        .withParams(params)
+                        .withRetryOnConflict(3)
+                        .build());
+
+                if (batch.size() >= batchSize) {
+                    long flushed = flushBatch(batch, IndexCoordinates.of(concreteIndex), objectPath);
+                    updated += flushed;
+                    failures += batch.size() - flushed;
+                    batch.clear();
+                }
+            }
+            for (Map.Entry<String, List<UpdateQuery>> entry : batches.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    long flushed = flushBatch(entry.getValue(), IndexCoordinates.of(entry.getKey()), objectPath);
+                    updated += flushed;
+                    failures += entry.getValue().size() - flushed;
+                }
+            }
+        } catch (Exception e) {
+            log.error("[AuthorDenormalization] Scroll fallback failed on {}.{}: {}",
+                    index.getIndexName(), objectPath, e.getMessage(), e);
+            failures += Math.max(1, matched - updated);
+        }
+
+        return new AuthorPropagationReportDTO.IndexResult(index.getIndexName(), objectPath,
+                matched, updated, 0, 0, failures, true);
+    }
+
+    private long flushBatch(List<UpdateQuery> batch, IndexCoordinates index, String objectPath) {
+        try {
+            elasticsearchOperations.bulkUpdate(batch, index);
+            return batch.size();
+        } catch (Exception e) {
+            log.error("[AuthorDenormalization] Bulk update of {} documents failed on {}.{}: {}",
+                    batch.size(), index.getIndexName(), objectPath, e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    private AuthorPropagationReportDTO report(Long userId, List<AuthorPropagationReportDTO.IndexResult> results, long start) {
+        AuthorPropagationReportDTO report = new AuthorPropagationReportDTO(userId, results, System.currentTimeMillis() - start);
+        log.info("[AuthorDenormalization] Propagation for user {} completed in {}ms: {} documents updated, {} failures across {} targets",
+                userId, report.tookMillis(), report.totalUpdated(), report.totalFailures(), results.size());
+        return report;
+    }
+}
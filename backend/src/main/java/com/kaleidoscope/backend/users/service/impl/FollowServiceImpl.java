@@ -2,6 +2,7 @@ package com.kaleidoscope.backend.users.service.impl;
 
 import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
 import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.service.HomeTimelineService;
 import com.kaleidoscope.backend.shared.enums.AccountStatus;
 import com.kaleidoscope.backend.shared.enums.Role;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
@@ -50,6 +51,7 @@ public class FollowServiceImpl implements FollowService {
     private final FollowRequestRepository followRequestRepository;
     private final UserPreferencesRepository userPreferencesRepository;
     private final RedisStreamPublisher redisStreamPublisher;
+    private final HomeTimelineService homeTimelineService;
 
     private Map<Long, Boolean> resolveShowEmailMap(Collection<Long> userIds) {
         if (userIds == null || userIds.isEmpty()) {
@@ -100,6 +102,7 @@ public class FollowServiceImpl implements FollowService {
         // Sync to Elasticsearch
         userDocumentSyncService.syncOnFollowChange(follower.getUserId(), following.getUserId(), true);
         followDocumentSyncService.syncOnFollow(follow);
+        homeTimelineService.publishFollowChange(follower.getUserId(), following.getUserId(), true);
 
         log.info("Direct follow created: User {} is now following User {}", follower.getUserId(), following.getUserId());
 
@@ -255,6 +258,7 @@ public class FollowServiceImpl implements FollowService {
             // Sync to Elasticsearch
             userDocumentSyncService.syncOnFollowChange(currentUserId, targetUserId, false);
             followDocumentSyncService.syncOnUnfollow(currentUserId, targetUserId);
+            homeTimelineService.publishFollowChange(currentUserId, targetUserId, false);
             log.info("User {} unfollowed User {}", currentUserId, targetUserId);
         }
 
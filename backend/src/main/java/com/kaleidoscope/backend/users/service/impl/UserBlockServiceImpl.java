@@ -1,6 +1,7 @@
 package com.kaleidoscope.backend.users.service.impl;
 
 import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.service.HomeTimelineService;
 import com.kaleidoscope.backend.users.document.UserDocument;
 import com.kaleidoscope.backend.users.dto.request.BlockUserRequestDTO;
 import com.kaleidoscope.backend.users.dto.request.UnblockUserRequestDTO;
@@ -46,6 +47,7 @@ public class UserBlockServiceImpl implements UserBlockService {
     private final FollowRepository followRepository;
     private final UserDocumentSyncService userDocumentSyncService;
     private final UserSearchRepository userSearchRepository;
+    private final HomeTimelineService homeTimelineService;
 
     @Override
     public UserBlockResponseDTO blockUser(BlockUserRequestDTO blockUserRequestDTO) {
@@ -75,6 +77,7 @@ public class UserBlockServiceImpl implements UserBlockService {
 
             // Sync Elasticsearch UserDocument with block information
             userDocumentSyncService.syncOnBlockChange(currentUserId, userIdToBlock, true);
+            homeTimelineService.publishBlock(currentUserId, userIdToBlock);
 
             log.info("User {} successfully blocked user {} and removed follow relationships", currentUserId, userIdToBlock);
             return userBlockMapper.toUserBlockResponseDTO(savedBlock);
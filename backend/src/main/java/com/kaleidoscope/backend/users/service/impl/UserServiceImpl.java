@@ -8,7 +8,9 @@ import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
 import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
 import com.kaleidoscope.backend.posts.enums.PostStatus;
 import com.kaleidoscope.backend.posts.service.PostService;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
 import com.kaleidoscope.backend.shared.enums.AccountStatus;
+import com.kaleidoscope.backend.shared.enums.BatchItemStatus;
 import com.kaleidoscope.backend.shared.exception.other.UserNotFoundException;
 import com.kaleidoscope.backend.shared.response.PaginatedResponse;
 import com.kaleidoscope.backend.shared.service.ImageStorageService;
@@ -38,6 +40,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -318,7 +321,9 @@ public class UserServiceImpl implements UserService {
                     null,          // No hashtag
                     null,          // No locationId
                     null,          // No nearbyLocationId
-                    null           // No radius
+                    null,          // No radius
+                    null,          // Offset paging (no cursor)
+                    null           // No point-in-time
             );
         } else {
             // Create an empty paginated response so the JSON field isn't null
@@ -341,4 +346,39 @@ public class UserServiceImpl implements UserService {
                 .posts(posts)
                 .build();
     }
+
+    @Override
+    public List<BatchItemResponseDTO<UserDetailsSummaryResponseDTO>> getUserSummaries(List<Long> userIds) {
+        final Long viewingUserId = jwtUtils.getUserIdFromContext();
+        final boolean isAdmin = jwtUtils.isAdminFromContext();
+        List<Long> ids = userIds.stream().distinct().toList();
+
+        Map<Long, UserDocument> documents = new HashMap<>();
+        userSearchRepository.findAllById(ids.stream().map(String::valueOf).toList())
+                .forEach(doc -> documents.put(doc.getUserId(), doc));
+
+        return ids.stream()
+                .map(id -> {
+                    UserDocument doc = documents.get(id);
+                    boolean isSelf = id.equals(viewingUserId);
+                    if (doc == null || (!isAdmin && !isSelf && isHiddenFrom(doc, viewingUserId))) {
+                        return BatchItemResponseDTO.<UserDetailsSummaryResponseDTO>of(id, BatchItemStatus.NOT_FOUND);
+                    }
+                    boolean canShowEmail = isSelf || isAdmin || Boolean.TRUE.equals(doc.getShowEmail());
+                    return BatchItemResponseDTO.ok(id, new UserDetailsSummaryResponseDTO(
+                            doc.getUserId(),
+                            canShowEmail ? doc.getEmail() : null,
+                            doc.getUsername(),
+                            doc.getAccountStatus(),
+                            doc.getProfilePictureUrl()));
+                })
+                .toList();
+    }
+
+    // Blocks in either direction and inactive accounts hide a user from others
+    private static boolean isHiddenFrom(UserDocument doc, Long viewingUserId) {
+        return !AccountStatus.ACTIVE.name().equals(doc.getAccountStatus())
+                || (doc.getBlockedUserIds() != null && doc.getBlockedUserIds().contains(viewingUserId))
+                || (doc.getBlockedByUserIds() != null && doc.getBlockedByUserIds().contains(viewingUserId));
+    }
 }
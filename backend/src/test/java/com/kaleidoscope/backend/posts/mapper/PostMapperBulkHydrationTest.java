@@ -0,0 +1,133 @@
+package com.kaleidoscope.backend.posts.mapper;
+
+import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
+import com.kaleidoscope.backend.posts.model.Post;
+import com.kaleidoscope.backend.posts.model.PostMedia;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.repository.PostSaveRepository;
+import com.kaleidoscope.backend.posts.service.PostViewService;
+import com.kaleidoscope.backend.shared.enums.AccountStatus;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
+import com.kaleidoscope.backend.shared.mapper.UserTagMapper;
+import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.repository.UserTagRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.users.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Maps a page of posts in bulk with mocked repositories: counts and viewer state land on the
+ * right posts, counters come from one read for the whole page, and authors already loaded with
+ * the posts are not fetched again.
+ */
+class PostMapperBulkHydrationTest {
+
+    private static final long VIEWER_ID = 7L;
+
+    private UserTagRepository userTagRepository;
+    private PostViewService postViewService;
+    private ContentCounterService contentCounterService;
+    private PostRepository postRepository;
+    private ReactionRepository reactionRepository;
+    private PostSaveRepository postSaveRepository;
+    private PostMapper postMapper;
+
+    @BeforeEach
+    void setUp() {
+        userTagRepository = mock(UserTagRepository.class);
+        postViewService = mock(PostViewService.class);
+        contentCounterService = mock(ContentCounterService.class);
+        postRepository = mock(PostRepository.class);
+        reactionRepository = mock(ReactionRepository.class);
+        postSaveRepository = mock(PostSaveRepository.class);
+        postMapper = new PostMapper(userTagRepository, mock(UserTagMapper.class), postViewService, contentCounterService,
+                postRepository, reactionRepository, postSaveRepository);
+    }
+
+    @Test
+    void readsCountersOnceForThePage() {
+        List<Post> posts = posts(100);
+        stub(posts);
+
+        assertEquals(100, postMapper.toPostSummaryDTOs(posts, VIEWER_ID).size());
+
+        // Counters come from one pipelined Redis read for the whole page
+        Mockito.verify(contentCounterService).getCounters(eq(ContentType.POST), anyCollection());
+        Mockito.verify(contentCounterService, Mockito.never()).getCounters(any(ContentType.class), anyLong());
+        Mockito.verifyNoInteractions(userTagRepository, postViewService);
+    }
+
+    @Test
+    void fetchesOnlyTheMediaWhenTheAuthorsAreLoaded() {
+        List<Post> posts = posts(3);
+        stub(posts);
+
+        postMapper.toPostSummaryDTOs(posts, VIEWER_ID);
+
+        Mockito.verify(postRepository).fetchMedia(anyCollection());
+        Mockito.verify(postRepository, Mockito.never()).fetchUsersAndMedia(anyCollection());
+    }
+
+    @Test
+    void mapsCountsAndViewerState() {
+        List<Post> posts = posts(3);
+        stub(posts);
+
+        List<PostSummaryResponseDTO> page = postMapper.toPostSummaryDTOs(posts, VIEWER_ID);
+
+        assertEquals(3, page.size());
+        assertEquals(10L, page.get(0).getReactionCount());
+        assertEquals(ReactionType.LIKE, page.get(0).getCurrentUserReaction());
+        assertNull(page.get(1).getCurrentUserReaction());
+        assertTrue(page.get(0).getSavedByCurrentUser());
+        assertEquals(Boolean.FALSE, page.get(1).getSavedByCurrentUser());
+        assertEquals("https://cdn.example.com/1-0.jpg", page.get(0).getThumbnailUrl());
+    }
+
+    private void stub(List<Post> posts) {
+        Map<Long, ContentCounterService.Counters> counters = new HashMap<>();
+        for (Post post : posts) {
+            counters.put(post.getPostId(), new ContentCounterService.Counters(10, Map.of(ReactionType.LIKE, 10L), 2, 1, 100));
+        }
+        when(postRepository.fetchUsersAndMedia(anyCollection())).thenReturn(posts);
+        when(postRepository.fetchMedia(anyCollection())).thenReturn(posts);
+        when(postRepository.fetchCategories(anyCollection())).thenReturn(posts);
+        when(postRepository.fetchHashtags(anyCollection())).thenReturn(posts);
+        when(contentCounterService.getCounters(eq(ContentType.POST), anyCollection())).thenReturn(counters);
+        List<Object[]> reactions = new ArrayList<>();
+        reactions.add(new Object[]{posts.get(0).getPostId(), ReactionType.LIKE});
+        when(reactionRepository.findUserReactionsByContentIds(anyCollection(), eq(ContentType.POST), eq(VIEWER_ID)))
+                .thenReturn(reactions);
+        when(postSaveRepository.findSavedPostIds(anyCollection(), eq(VIEWER_ID)))
+                .thenReturn(List.of(posts.get(0).getPostId()));
+    }
+
+    private static List<Post> posts(int count) {
+        List<Post> posts = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            User author = User.builder().userId(100 + id).username("author" + id).accountStatus(AccountStatus.ACTIVE).build();
+            Post post = Post.builder().postId(id).title("Post " + id).user(author).build();
+            post.addMedia(PostMedia.builder().mediaUrl("https://cdn.example.com/" + id + "-0.jpg").position(0).build());
+            posts.add(post);
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,79 @@
+package com.kaleidoscope.backend.posts.service;
+
+import com.kaleidoscope.backend.posts.enums.PostStatus;
+import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.posts.model.Post;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.shared.enums.BatchItemStatus;
+import com.kaleidoscope.backend.users.model.User;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import com.kaleidoscope.backend.users.repository.UserBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statuses come back one per requested id in request order: missing posts and posts by blocked
+ * users are NOT_FOUND, unpublished posts and FOLLOWERS posts of unfollowed authors FORBIDDEN.
+ */
+class PostAccessResolverTest {
+
+    private static final long VIEWER_ID = 1L;
+    private static final long FOLLOWED_ID = 2L;
+    private static final long STRANGER_ID = 3L;
+    private static final long BLOCKED_ID = 4L;
+
+    private PostAccessResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        PostRepository postRepository = mock(PostRepository.class);
+        when(postRepository.findAllById(any())).thenReturn(List.of(
+                post(1L, STRANGER_ID, PostStatus.PUBLISHED, PostVisibility.PUBLIC),
+                post(2L, STRANGER_ID, PostStatus.ARCHIVED, PostVisibility.PUBLIC),
+                post(4L, STRANGER_ID, PostStatus.PUBLISHED, PostVisibility.FOLLOWERS),
+                post(5L, BLOCKED_ID, PostStatus.PUBLISHED, PostVisibility.PUBLIC),
+                post(6L, FOLLOWED_ID, PostStatus.PUBLISHED, PostVisibility.FOLLOWERS),
+                post(7L, VIEWER_ID, PostStatus.SCHEDULED, PostVisibility.FOLLOWERS)));
+        FollowRepository followRepository = mock(FollowRepository.class);
+        when(followRepository.findFollowedAmong(VIEWER_ID, Set.of(STRANGER_ID, FOLLOWED_ID))).thenReturn(Set.of(FOLLOWED_ID));
+        UserBlockRepository userBlockRepository = mock(UserBlockRepository.class);
+        when(userBlockRepository.findBlockRelatedUserIds(VIEWER_ID)).thenReturn(Set.of(BLOCKED_ID));
+        resolver = new PostAccessResolver(postRepository, followRepository, userBlockRepository);
+    }
+
+    @Test
+    void reportsEachRequestedPostInRequestOrder() {
+        PostAccessResolver.Resolution resolution = resolver.resolve(List.of(3L, 6L, 5L, 2L, 1L, 4L, 7L), VIEWER_ID, false);
+
+        assertEquals(List.of(3L, 6L, 5L, 2L, 1L, 4L, 7L), List.copyOf(resolution.statuses().keySet()));
+        assertEquals(List.of(BatchItemStatus.NOT_FOUND, BatchItemStatus.OK, BatchItemStatus.NOT_FOUND, BatchItemStatus.FORBIDDEN,
+                        BatchItemStatus.OK, BatchItemStatus.FORBIDDEN, BatchItemStatus.OK),
+                List.copyOf(resolution.statuses().values()));
+        assertEquals(List.of(6L, 1L, 7L), resolution.visible().stream().map(Post::getPostId).toList());
+    }
+
+    @Test
+    void letsAdminsSeeEveryExistingPost() {
+        PostAccessResolver.Resolution resolution = resolver.resolve(List.of(2L, 3L, 5L), VIEWER_ID, true);
+
+        assertEquals(List.of(BatchItemStatus.OK, BatchItemStatus.NOT_FOUND, BatchItemStatus.OK),
+                List.copyOf(resolution.statuses().values()));
+    }
+
+    private static Post post(long postId, long authorId, PostStatus status, PostVisibility visibility) {
+        return Post.builder()
+                .postId(postId)
+                .user(User.builder().userId(authorId).build())
+                .status(status)
+                .visibility(visibility)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.kaleidoscope.backend.posts.service;
+
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ContentViewTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A flush keeps draining while full batches are taken, even when some taken ids had no
+ * pending count left and were dropped from the deltas.
+ */
+class PostViewServiceTest {
+
+    @Test
+    void keepsDrainingWhenAFullBatchHadClearedCounts() {
+        ContentViewTracker contentViewTracker = mock(ContentViewTracker.class);
+        when(contentViewTracker.drainPending(eq(PostViewService.VIEW_KEYS), anyInt())).thenReturn(
+                new ContentViewTracker.Drained(2, Map.of(1L, 3L)),
+                new ContentViewTracker.Drained(2, Map.of()),
+                new ContentViewTracker.Drained(1, Map.of(4L, 1L)),
+                new ContentViewTracker.Drained(0, Map.of()));
+        PostRepository postRepository = mock(PostRepository.class);
+        when(postRepository.applyViewCountDeltas(any(), any())).thenReturn(List.of());
+
+        PostViewService service = new PostViewService(mock(StringRedisTemplate.class), contentViewTracker,
+                mock(ContentCounterService.class), postRepository, mock(ElasticsearchOperations.class),
+                mock(PostAnalyticsService.class));
+        ReflectionTestUtils.setField(service, "flushBatchSize", 2);
+        ReflectionTestUtils.setField(service, "maxFlushMillis", 60_000L);
+        ReflectionTestUtils.setField(service, "minFlushIntervalMs", 10_000L);
+        ReflectionTestUtils.setField(service, "maxFlushIntervalMs", 300_000L);
+        ReflectionTestUtils.setField(service, "backlogHighWater", 10_000L);
+
+        service.syncViewsToDatabase();
+
+        // The third batch is short, so the empty fourth drain is never issued
+        verify(contentViewTracker, times(3)).drainPending(eq(PostViewService.VIEW_KEYS), anyInt());
+        verify(postRepository, times(2)).applyViewCountDeltas(any(), any());
+    }
+}
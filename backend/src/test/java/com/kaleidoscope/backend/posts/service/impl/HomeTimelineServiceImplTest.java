@@ -0,0 +1,118 @@
+package com.kaleidoscope.backend.posts.service.impl;
+
+import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
+import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.document.PostDocument;
+import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
+import com.kaleidoscope.backend.posts.enums.PostStatus;
+import com.kaleidoscope.backend.posts.enums.PostVisibility;
+import com.kaleidoscope.backend.posts.mapper.PostMapper;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import com.kaleidoscope.backend.users.repository.UserBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Timeline pages are refilled from further entries when hydration drops posts that are gone
+ * or no longer visible, and follows and blocks are read from the cached relations snapshot.
+ */
+class HomeTimelineServiceImplTest {
+
+    private static final long VIEWER_ID = 1L;
+    private static final long AUTHOR_ID = 2L;
+    private static final int ENTRIES = 30;
+    private static final String HOME_KEY = "timeline:home:" + VIEWER_ID;
+
+    private FollowRepository followRepository;
+    private UserBlockRepository userBlockRepository;
+    private HomeTimelineServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.hasKey(HOME_KEY)).thenReturn(true);
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet(eq("timeline:relations:" + VIEWER_ID), anyCollection()))
+                .thenReturn(List.of(String.valueOf(AUTHOR_ID), ""));
+        SetOperations<String, String> setOperations = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.isMember(anyString(), any(Object[].class))).thenReturn(Map.of());
+        ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRangeWithScores(eq(HOME_KEY), anyLong(), anyLong()))
+                .thenAnswer(invocation -> home(invocation.getArgument(2)));
+
+        // Two out of three timeline posts have since been deleted
+        PostSearchRepository postSearchRepository = mock(PostSearchRepository.class);
+        when(postSearchRepository.findAllById(any())).thenAnswer(invocation ->
+                StreamSupport.stream(invocation.<Iterable<String>>getArgument(0).spliterator(), false)
+                        .map(Long::valueOf)
+                        .filter(postId -> postId % 3 == 0)
+                        .map(postId -> PostDocument.builder().id(String.valueOf(postId)).postId(postId)
+                                .status(PostStatus.PUBLISHED).visibility(PostVisibility.PUBLIC).build())
+                        .toList());
+        PostMapper postMapper = mock(PostMapper.class);
+        when(postMapper.toPostSummaryDTO(any(PostDocument.class))).thenAnswer(invocation ->
+                PostSummaryResponseDTO.builder().postId(invocation.<PostDocument>getArgument(0).getPostId()).build());
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.getUserIdFromContext()).thenReturn(VIEWER_ID);
+
+        followRepository = mock(FollowRepository.class);
+        userBlockRepository = mock(UserBlockRepository.class);
+        service = new HomeTimelineServiceImpl(redisTemplate, mock(RedisStreamPublisher.class), jwtUtils,
+                followRepository, userBlockRepository, mock(PostRepository.class), postSearchRepository, postMapper);
+        ReflectionTestUtils.setField(service, "timelineTtlDays", 14L);
+    }
+
+    @Test
+    void refillsThePageWhenHydrationDropsPosts() {
+        PaginatedResponse<PostSummaryResponseDTO> page = service.getHomeTimeline(PageRequest.of(0, 10));
+
+        assertEquals(List.of(30L, 27L, 24L, 21L, 18L, 15L, 12L, 9L, 6L, 3L),
+                page.getContent().stream().map(PostSummaryResponseDTO::getPostId).toList());
+        assertEquals(ENTRIES / 3, page.getTotalElements());
+        verify(followRepository, never()).findFollowingIdsByFollowerId(VIEWER_ID);
+        verify(userBlockRepository, never()).findBlockRelatedUserIds(VIEWER_ID);
+    }
+
+    private static Set<TypedTuple<String>> home(long end) {
+        Set<TypedTuple<String>> tuples = new LinkedHashSet<>();
+        LongStream.iterate(ENTRIES, postId -> postId - 1)
+                .limit(ENTRIES)
+                .forEach(postId -> tuples.add(new DefaultTypedTuple<>(postId + ":" + AUTHOR_ID, (double) postId)));
+        tuples.add(new DefaultTypedTuple<>("0:0", 0d));
+        return tuples.stream().limit(end + 1).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,72 @@
+package com.kaleidoscope.backend.posts.service.impl;
+
+import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
+import com.kaleidoscope.backend.posts.mapper.PostMapper;
+import com.kaleidoscope.backend.posts.model.Post;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.posts.service.PostAccessResolver;
+import com.kaleidoscope.backend.posts.service.PostCommandService;
+import com.kaleidoscope.backend.posts.service.PostViewService;
+import com.kaleidoscope.backend.posts.service.ViewedPostExclusionService;
+import com.kaleidoscope.backend.readmodels.service.ReadModelFallbackService;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
+import com.kaleidoscope.backend.shared.enums.BatchItemStatus;
+import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.search.ElasticsearchCircuitBreaker;
+import com.kaleidoscope.backend.shared.search.LocationIndex;
+import com.kaleidoscope.backend.shared.search.NearbyTileSearch;
+import com.kaleidoscope.backend.shared.search.RecentWritesOverlay;
+import com.kaleidoscope.backend.shared.search.SearchResultCache;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The batch post read answers every distinct requested id once, in request order, with the
+ * resolver's status and a summary only for visible posts.
+ */
+class PostServiceImplTest {
+
+    private static final long VIEWER_ID = 1L;
+
+    @Test
+    void answersEachRequestedPostInRequestOrder() {
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.getUserIdFromContext()).thenReturn(VIEWER_ID);
+        Post visible = Post.builder().postId(2L).build();
+        Map<Long, BatchItemStatus> statuses = new LinkedHashMap<>();
+        statuses.put(3L, BatchItemStatus.FORBIDDEN);
+        statuses.put(2L, BatchItemStatus.OK);
+        statuses.put(9L, BatchItemStatus.NOT_FOUND);
+        PostAccessResolver postAccessResolver = mock(PostAccessResolver.class);
+        when(postAccessResolver.resolve(List.of(3L, 2L, 9L), VIEWER_ID, false))
+                .thenReturn(new PostAccessResolver.Resolution(statuses, List.of(visible)));
+        PostMapper postMapper = mock(PostMapper.class);
+        when(postMapper.toPostSummaryDTOs(List.of(visible), VIEWER_ID))
+                .thenReturn(List.of(PostSummaryResponseDTO.builder().postId(2L).build()));
+
+        PostServiceImpl service = new PostServiceImpl(mock(PostRepository.class), postMapper, mock(ReactionRepository.class),
+                jwtUtils, mock(FollowRepository.class), mock(PostCommandService.class), mock(PostViewService.class),
+                mock(PostSearchRepository.class), mock(ViewedPostExclusionService.class), mock(SearchResultCache.class),
+                mock(NearbyTileSearch.class), mock(LocationIndex.class), mock(ElasticsearchCircuitBreaker.class),
+                mock(ReadModelFallbackService.class), mock(RecentWritesOverlay.class), postAccessResolver);
+
+        List<BatchItemResponseDTO<PostSummaryResponseDTO>> posts = service.getPostsByIds(List.of(3L, 2L, 3L, 9L));
+
+        assertEquals(List.of(3L, 2L, 9L), posts.stream().map(BatchItemResponseDTO::id).toList());
+        assertEquals(List.of(BatchItemStatus.FORBIDDEN, BatchItemStatus.OK, BatchItemStatus.NOT_FOUND),
+                posts.stream().map(BatchItemResponseDTO::status).toList());
+        assertNull(posts.get(0).data());
+        assertEquals(2L, posts.get(1).data().getPostId());
+    }
+}
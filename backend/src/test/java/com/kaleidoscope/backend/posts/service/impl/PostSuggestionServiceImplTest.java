@@ -0,0 +1,163 @@
+package com.kaleidoscope.backend.posts.service.impl;
+
+import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.document.PostDocument;
+import com.kaleidoscope.backend.posts.dto.response.PostSummaryResponseDTO;
+import com.kaleidoscope.backend.posts.mapper.PostMapper;
+import com.kaleidoscope.backend.posts.repository.search.PostSearchRepository;
+import com.kaleidoscope.backend.posts.service.ViewedPostExclusionService;
+import com.kaleidoscope.backend.readmodels.service.ReadModelFallbackService;
+import com.kaleidoscope.backend.shared.response.PaginatedResponse;
+import com.kaleidoscope.backend.shared.search.ElasticsearchCircuitBreaker;
+import com.kaleidoscope.backend.shared.service.HashtagService;
+import com.kaleidoscope.backend.users.document.UserDocument;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import com.kaleidoscope.backend.users.repository.search.UserSearchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Suggestion pages with posts viewed outside the recent window filtered out: the page is refilled
+ * from further candidates and the total only drops by the views actually found. Context lookups
+ * that miss their budget are cancelled.
+ */
+class PostSuggestionServiceImplTest {
+
+    private static final long USER_ID = 3L;
+    private static final int CANDIDATES = 100;
+
+    private PostSearchRepository postSearchRepository;
+    private FollowRepository followRepository;
+    private ViewedPostExclusionService viewedPostExclusionService;
+    private ExecutorService executor;
+    private PostSuggestionServiceImpl service;
+    private final Set<Long> olderViews = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.getUserIdFromContext()).thenReturn(USER_ID);
+        UserSearchRepository userSearchRepository = mock(UserSearchRepository.class);
+        when(userSearchRepository.findById(String.valueOf(USER_ID)))
+                .thenReturn(Optional.of(UserDocument.builder().userId(USER_ID).build()));
+        followRepository = mock(FollowRepository.class);
+        when(followRepository.findFollowingIdsByFollowerId(USER_ID)).thenReturn(Set.of());
+        PostMapper postMapper = mock(PostMapper.class);
+        when(postMapper.toPostSummaryDTO(any(PostDocument.class))).thenAnswer(invocation ->
+                PostSummaryResponseDTO.builder().postId(invocation.<PostDocument>getArgument(0).getPostId()).build());
+        viewedPostExclusionService = mock(ViewedPostExclusionService.class);
+        when(viewedPostExclusionService.getRecentlyViewedPostIds(USER_ID)).thenReturn(List.of());
+        when(viewedPostExclusionService.findViewed(eq(USER_ID), anyCollection())).thenAnswer(invocation -> {
+            Set<Long> viewed = new HashSet<>(invocation.<Collection<Long>>getArgument(1));
+            viewed.retainAll(olderViews);
+            return viewed;
+        });
+        HashtagService hashtagService = mock(HashtagService.class);
+        when(hashtagService.getTrendingHashtags(any(Pageable.class))).thenReturn(Page.empty());
+        ElasticsearchCircuitBreaker circuitBreaker = mock(ElasticsearchCircuitBreaker.class);
+        when(circuitBreaker.call(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        postSearchRepository = mock(PostSearchRepository.class);
+        when(postSearchRepository.findPostSuggestions(anyLong(), anySet(), anyList(), anyList(), anyList(), anyList(),
+                anyList(), any(Pageable.class))).thenAnswer(invocation -> candidates(invocation.getArgument(7)));
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        service = new PostSuggestionServiceImpl(jwtUtils, userSearchRepository, followRepository, postSearchRepository,
+                postMapper, viewedPostExclusionService, hashtagService, circuitBreaker,
+                mock(ReadModelFallbackService.class), executor);
+        ReflectionTestUtils.setField(service, "overFetchFactor", 3);
+        ReflectionTestUtils.setField(service, "maxCandidates", 500);
+        ReflectionTestUtils.setField(service, "userDocumentTimeoutMs", 2500L);
+        ReflectionTestUtils.setField(service, "followingTimeoutMs", 2500L);
+        ReflectionTestUtils.setField(service, "recentlyViewedTimeoutMs", 2500L);
+        ReflectionTestUtils.setField(service, "trendingHashtagsTimeoutMs", 2500L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void refillsThePageWhenOlderViewsAreFilteredOut() {
+        // Every candidate of the first chunk except two was viewed
+        LongStream.rangeClosed(1, 28).filter(id -> id != 5 && id != 17).forEach(olderViews::add);
+
+        PaginatedResponse<PostSummaryResponseDTO> page = service.getPostSuggestions(PageRequest.of(0, 10));
+
+        assertEquals(List.of(5L, 17L, 29L, 30L, 31L, 32L, 33L, 34L, 35L, 36L),
+                page.getContent().stream().map(PostSummaryResponseDTO::getPostId).toList());
+        assertEquals(CANDIDATES - olderViews.size(), page.getTotalElements());
+    }
+
+    @Test
+    void reportsTheExactTotalOnceTheCandidatesAreExhausted() {
+        LongStream.rangeClosed(1, CANDIDATES).filter(id -> id % 2 == 0).forEach(olderViews::add);
+
+        PaginatedResponse<PostSummaryResponseDTO> page = service.getPostSuggestions(PageRequest.of(4, 10));
+
+        assertEquals(List.of(81L, 83L, 85L, 87L, 89L, 91L, 93L, 95L, 97L, 99L),
+                page.getContent().stream().map(PostSummaryResponseDTO::getPostId).toList());
+        assertEquals(CANDIDATES / 2, page.getTotalElements());
+    }
+
+    @Test
+    void cancelsALookupThatMissesItsBudget() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(followRepository.findFollowingIdsByFollowerId(USER_ID)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Set.of();
+        });
+        ReflectionTestUtils.setField(service, "followingTimeoutMs", 50L);
+
+        PaginatedResponse<PostSummaryResponseDTO> page = service.getPostSuggestions(PageRequest.of(0, 10));
+
+        assertEquals(10, page.getContent().size());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private static Page<PostDocument> candidates(Pageable pageable) {
+        List<PostDocument> content = LongStream.rangeClosed(1, CANDIDATES)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .mapToObj(id -> PostDocument.builder().id(String.valueOf(id)).postId(id).build())
+                .toList();
+        return new PageImpl<>(content, pageable, CANDIDATES);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kaleidoscope.backend.shared.dto.request;
+
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The batch post, user and reaction summary requests take between 1 and 100 ids.
+ */
+class BatchRequestValidationTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void acceptsUpToOneHundredIds() {
+        assertTrue(validator.validate(new BatchIdsRequestDTO(ids(100))).isEmpty());
+        assertTrue(validator.validate(new ReactionSummaryBatchRequestDTO(ContentType.POST, ids(100))).isEmpty());
+    }
+
+    @Test
+    void rejectsMoreThanOneHundredIds() {
+        assertCapped(validator.validate(new BatchIdsRequestDTO(ids(101))));
+        assertCapped(validator.validate(new ReactionSummaryBatchRequestDTO(ContentType.POST, ids(101))));
+    }
+
+    @Test
+    void rejectsAnEmptyBatch() {
+        assertEquals(1, validator.validate(new BatchIdsRequestDTO(List.of())).size());
+        assertEquals(1, validator.validate(new ReactionSummaryBatchRequestDTO(ContentType.POST, List.of())).size());
+    }
+
+    private static <T> void assertCapped(Set<ConstraintViolation<T>> violations) {
+        assertEquals(1, violations.size());
+        assertEquals("At most 100 ids per batch", violations.iterator().next().getMessage());
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}
@@ -0,0 +1,213 @@
+package com.kaleidoscope.backend.shared.scheduler;
+
+import com.kaleidoscope.backend.async.dto.NotificationEventDTO;
+import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
+import com.kaleidoscope.backend.blogs.repository.BlogRepository;
+import com.kaleidoscope.backend.posts.model.Post;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.service.PostAnalyticsService;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
+import com.kaleidoscope.backend.shared.repository.CommentRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionCountRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ReactionWriteBuffer;
+import com.kaleidoscope.backend.shared.service.ReactionWriteBuffer.BufferedReaction;
+import com.kaleidoscope.backend.users.model.User;
+import com.kaleidoscope.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Buffered toggles are persisted as transitions from the rows' current states: toggles ending
+ * where they started write nothing, count changes are netted per item and type, notifications
+ * only go out for created rows, and taken toggles are acknowledged after commit, returned on
+ * transient failures and dead-lettered when they fail on their own.
+ */
+class ReactionBufferFlushJobTest {
+
+    private static final long POST_ID = 10L;
+    private static final long OWNER_ID = 9L;
+    private static final long CHANGED_AT = 1_700_000_000_000L;
+
+    private ReactionWriteBuffer reactionWriteBuffer;
+    private ReactionRepository reactionRepository;
+    private ReactionCountRepository reactionCountRepository;
+    private ContentCounterService contentCounterService;
+    private PostRepository postRepository;
+    private UserRepository userRepository;
+    private RedisStreamPublisher redisStreamPublisher;
+    private ReactionBufferFlushJob job;
+
+    @BeforeEach
+    void setUp() {
+        reactionWriteBuffer = mock(ReactionWriteBuffer.class);
+        reactionRepository = mock(ReactionRepository.class);
+        reactionCountRepository = mock(ReactionCountRepository.class);
+        contentCounterService = mock(ContentCounterService.class);
+        postRepository = mock(PostRepository.class);
+        userRepository = mock(UserRepository.class);
+        redisStreamPublisher = mock(RedisStreamPublisher.class);
+
+        SchedulerCoordinator schedulerCoordinator = mock(SchedulerCoordinator.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        }).when(schedulerCoordinator).runExclusive(any(), any(Duration.class), any());
+        // Runs the callback as a transaction that commits unless the callback throws
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                Object result = invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class));
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                return result;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+
+        job = new ReactionBufferFlushJob(reactionWriteBuffer, reactionRepository, reactionCountRepository,
+                contentCounterService, mock(PostAnalyticsService.class), postRepository, mock(BlogRepository.class),
+                mock(CommentRepository.class), userRepository, redisStreamPublisher, schedulerCoordinator,
+                transactionTemplate);
+        ReflectionTestUtils.setField(job, "enabled", true);
+        ReflectionTestUtils.setField(job, "batchSize", 1000);
+        ReflectionTestUtils.setField(job, "maxFlushMillis", 10_000L);
+        ReflectionTestUtils.setField(job, "maxAttempts", 5);
+        ReflectionTestUtils.setField(job, "reactionCountSlots", 8);
+    }
+
+    @Test
+    void writesNothingForAToggleThatEndsWhereItStarted() {
+        List<BufferedReaction> batch = List.of(toggle(5L, ReactionType.LIKE));
+        when(reactionWriteBuffer.take(1000)).thenReturn(batch);
+        rows(row(100L, 5L, ReactionType.LIKE, false));
+
+        job.flush();
+
+        verify(reactionRepository, never()).applyBufferedUpdates(any(), any(), any());
+        verify(reactionRepository, never()).insertBuffered(any(), any(), any(), any(), any());
+        verify(reactionCountRepository, never()).applyDeltas(any(), any(), any(), any(), any());
+        verify(reactionWriteBuffer).acknowledge(batch);
+    }
+
+    @Test
+    void reactivatesASoftDeletedRowAndCountsItAsNew() {
+        when(reactionWriteBuffer.take(1000)).thenReturn(List.of(toggle(5L, ReactionType.LIKE)));
+        rows(row(100L, 5L, ReactionType.LIKE, true));
+
+        job.flush();
+
+        verify(reactionRepository).applyBufferedUpdates(new Long[]{100L}, new String[]{"LIKE"}, new Long[]{CHANGED_AT});
+        verify(reactionRepository, never()).insertBuffered(any(), any(), any(), any(), any());
+        verify(reactionCountRepository).applyDeltas(eq(new String[]{"POST"}), eq(new Long[]{POST_ID}),
+                eq(new String[]{"LIKE"}), any(), eq(new Long[]{1L}));
+        verify(contentCounterService).recordReactionChange(ContentType.POST, POST_ID, null, ReactionType.LIKE);
+        verify(redisStreamPublisher, never()).publish(eq("notification-events"), any());
+    }
+
+    @Test
+    void netsCountChangesPerItemAndReactionType() {
+        // One user switches from LIKE to CELEBRATE while another adds a LIKE: LIKE nets to zero
+        when(reactionWriteBuffer.take(1000)).thenReturn(List.of(toggle(5L, ReactionType.CELEBRATE), toggle(6L, ReactionType.LIKE)));
+        rows(row(100L, 5L, ReactionType.LIKE, false));
+
+        job.flush();
+
+        verify(reactionCountRepository).lockForWrite("POST", new Long[]{POST_ID});
+        verify(reactionCountRepository).applyDeltas(eq(new String[]{"POST"}), eq(new Long[]{POST_ID}),
+                eq(new String[]{"CELEBRATE"}), any(), eq(new Long[]{1L}));
+    }
+
+    @Test
+    void notifiesOnlyForCreatedReactions() {
+        when(reactionWriteBuffer.take(1000)).thenReturn(List.of(toggle(5L, ReactionType.CELEBRATE), toggle(6L, ReactionType.LIKE)));
+        rows(row(100L, 5L, ReactionType.LIKE, false));
+        when(postRepository.findAllById(any())).thenReturn(List.of(
+                Post.builder().postId(POST_ID).user(User.builder().userId(OWNER_ID).build()).build()));
+        when(userRepository.findAllById(any())).thenReturn(List.of(User.builder().userId(6L).username("reactor").build()));
+
+        job.flush();
+
+        verify(reactionRepository).insertBuffered(new String[]{"POST"}, new Long[]{POST_ID}, new Long[]{6L},
+                new String[]{"LIKE"}, new Long[]{CHANGED_AT});
+        verify(redisStreamPublisher).publish(eq("notification-events"), argThat(event ->
+                event instanceof NotificationEventDTO notification
+                        && notification.actorUserId() == 6L && notification.recipientUserId() == OWNER_ID));
+        verify(redisStreamPublisher, never()).publish(eq("notification-events"), argThat(event ->
+                event instanceof NotificationEventDTO notification && notification.actorUserId() == 5L));
+    }
+
+    @Test
+    void returnsABatchThatFailedTransientlyWithoutCountingAnAttempt() {
+        List<BufferedReaction> batch = List.of(toggle(5L, ReactionType.LIKE), toggle(6L, ReactionType.LIKE));
+        when(reactionWriteBuffer.take(1000)).thenReturn(batch);
+        when(reactionRepository.findLatestByContentAndUsers(any(), any(), any()))
+                .thenThrow(new QueryTimeoutException("statement timeout"));
+
+        job.flush();
+
+        verify(reactionWriteBuffer).restore(batch);
+        verify(reactionWriteBuffer, never()).restore(anyList(), anyInt());
+        verify(reactionWriteBuffer, never()).acknowledge(any());
+    }
+
+    @Test
+    void retriesAFailedBatchOneByOneAndCountsTheFailingToggle() {
+        BufferedReaction good = toggle(5L, ReactionType.LIKE);
+        BufferedReaction bad = toggle(6L, ReactionType.LIKE);
+        when(reactionWriteBuffer.take(1000)).thenReturn(List.of(good, bad));
+        rows();
+        when(reactionRepository.insertBuffered(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            if (Arrays.asList(invocation.<Long[]>getArgument(2)).contains(6L)) {
+                throw new DataIntegrityViolationException("user 6 is gone");
+            }
+            return 1;
+        });
+
+        job.flush();
+
+        verify(reactionWriteBuffer).acknowledge(List.of(good));
+        verify(reactionWriteBuffer).restore(List.of(bad), 5);
+        verify(reactionWriteBuffer, never()).acknowledge(List.of(good, bad));
+    }
+
+    private void rows(Object[]... rows) {
+        when(reactionRepository.findLatestByContentAndUsers(any(), any(), any())).thenReturn(List.of(rows));
+    }
+
+    private static BufferedReaction toggle(long userId, ReactionType reactionType) {
+        return new BufferedReaction(ContentType.POST, POST_ID, userId, reactionType, CHANGED_AT);
+    }
+
+    private static Object[] row(long reactionId, long userId, ReactionType reactionType, boolean deleted) {
+        return new Object[]{reactionId, "POST", POST_ID, userId, reactionType.name(),
+                deleted ? new Timestamp(CHANGED_AT - 60_000L) : null};
+    }
+}
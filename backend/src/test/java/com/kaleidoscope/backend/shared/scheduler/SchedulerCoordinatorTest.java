@@ -0,0 +1,179 @@
+package com.kaleidoscope.backend.shared.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs several coordinators as simulated nodes against a local Redis (REDIS_HOST/REDIS_PORT,
+ * default localhost:6379). Skipped when no Redis is reachable.
+ */
+class SchedulerCoordinatorTest {
+
+    private static final int NODES = 3;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private final List<SchedulerCoordinator> nodes = new ArrayList<>();
+    private String job;
+
+    @BeforeEach
+    void setUp() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+                Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+        try {
+            redis.opsForValue().get("scheduler:test:ping");
+        } catch (Exception e) {
+            connectionFactory.destroy();
+            connectionFactory = null;
+            assumeTrue(false, "No local Redis available: " + e.getMessage());
+        }
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SchedulerCoordinator(new StringRedisTemplate(connectionFactory), 600));
+        }
+        job = "test-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory == null) {
+            return;
+        }
+        nodes.forEach(SchedulerCoordinator::shutdown);
+        Set<String> keys = redis.keys("scheduler:*" + job + "*");
+        if (keys != null && !keys.isEmpty()) {
+            redis.delete(keys);
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void onlyOneNodeHoldsALeaseAndOthersCannotReleaseIt() {
+        Optional<SchedulerCoordinator.Lease> first = nodes.get(0).tryAcquire(job, Duration.ofSeconds(5));
+        assertTrue(first.isPresent());
+        assertFalse(nodes.get(1).tryAcquire(job, Duration.ofSeconds(5)).isPresent());
+
+        // A node whose lease expired must not delete the lease another node now holds
+        redis.delete("scheduler:lock:" + job);
+        Optional<SchedulerCoordinator.Lease> second = nodes.get(1).tryAcquire(job, Duration.ofSeconds(5));
+        assertTrue(second.isPresent());
+        first.get().close();
+        assertTrue(redis.hasKey("scheduler:lock:" + job));
+        assertFalse(nodes.get(2).tryAcquire(job, Duration.ofSeconds(5)).isPresent());
+
+        second.get().close();
+        assertFalse(redis.hasKey("scheduler:lock:" + job));
+    }
+
+    @Test
+    void heldLeaseIsRenewedPastItsTtl() throws InterruptedException {
+        try (SchedulerCoordinator.Lease lease = nodes.get(0).tryAcquire(job, Duration.ofMillis(300)).orElseThrow()) {
+            Thread.sleep(1000);
+            assertTrue(lease.isHeld());
+            assertFalse(nodes.get(1).tryAcquire(job, Duration.ofMillis(300)).isPresent());
+        }
+        assertTrue(nodes.get(1).tryAcquire(job, Duration.ofMillis(300)).isPresent());
+    }
+
+    @Test
+    void runExclusiveSkipsWhileAnotherNodeRuns() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(NODES);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (SchedulerCoordinator node : nodes) {
+                results.add(executor.submit(() -> node.runExclusive(job, Duration.ofSeconds(5), () -> {
+                    runs.incrementAndGet();
+                    sleep(300);
+                })));
+            }
+            int ran = 0;
+            for (Future<Boolean> result : results) {
+                ran += result.get() ? 1 : 0;
+            }
+            assertEquals(1, ran);
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nodesSplitPartitionsAndProcessEachExactlyOnce() throws Exception {
+        int partitions = 24;
+        Map<Integer, AtomicInteger> processed = new ConcurrentHashMap<>();
+        Map<Integer, AtomicInteger> perNode = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(NODES);
+        try {
+            List<Future<SchedulerCoordinator.PartitionedRunResult>> results = new ArrayList<>();
+            for (int i = 0; i < NODES; i++) {
+                int node = i;
+                results.add(executor.submit(() -> nodes.get(node).runPartitioned(job, partitions, Duration.ofSeconds(30),
+                        partition -> {
+                            processed.computeIfAbsent(partition, p -> new AtomicInteger()).incrementAndGet();
+                            perNode.computeIfAbsent(node, n -> new AtomicInteger()).incrementAndGet();
+                            sleep(20);
+                        })));
+            }
+            for (Future<SchedulerCoordinator.PartitionedRunResult> result : results) {
+                assertTrue(result.get().complete());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(partitions, processed.size());
+        processed.values().forEach(count -> assertEquals(1, count.get()));
+        assertTrue(perNode.size() > 1, "work was not shared: " + perNode);
+    }
+
+    @Test
+    void partitionOfADeadNodeIsTakenOverAfterItsLeaseExpires() {
+        int partitions = 4;
+        // Simulate a node that claimed partition 0 of the run and then died without renewing
+        redis.opsForValue().set("scheduler:run:" + job, "run-1", Duration.ofSeconds(30));
+        redis.opsForValue().set("scheduler:lock:" + job + ":run-1:0", "dead-node", Duration.ofMillis(500));
+
+        Set<Integer> processed = ConcurrentHashMap.newKeySet();
+        SchedulerCoordinator.PartitionedRunResult result = nodes.get(1).runPartitioned(job, partitions,
+                Duration.ofSeconds(30), processed::add);
+
+        assertTrue(result.complete());
+        assertEquals(Set.of(0, 1, 2, 3), processed);
+        redis.delete("scheduler:done:" + job + ":run-1");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.kaleidoscope.backend.shared.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Simulates a slow or failing cluster with stub suppliers and checks that callers get
+ * their fallback within the time budget and that the breaker opens and recovers.
+ */
+class ElasticsearchCircuitBreakerTest {
+
+    private static final String OPERATION = "post-search";
+
+    private ElasticsearchCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.elasticsearch.timeouts.post-search-ms", "100");
+        breaker = new ElasticsearchCircuitBreaker(environment, 3, 200, 1000, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        breaker.shutdown();
+    }
+
+    @Test
+    void slowCallFallsBackWithinOperationTimeout() {
+        long start = System.nanoTime();
+        String result = breaker.call(OPERATION, latency(2000, "es"), () -> "fallback");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("fallback", result);
+        assertEquals(true, elapsedMs < 1000, "fallback took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void opensAfterThresholdAndSkipsElasticsearch() {
+        AtomicInteger esCalls = new AtomicInteger();
+        Supplier<String> failing = () -> {
+            esCalls.incrementAndGet();
+            throw new DataAccessResourceFailureException("connection refused");
+        };
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("fallback", breaker.call(OPERATION, failing, () -> "fallback"));
+        }
+        assertEquals(ElasticsearchCircuitBreaker.State.OPEN, breaker.getState());
+
+        assertEquals("fallback", breaker.call(OPERATION, failing, () -> "fallback"));
+        assertEquals(3, esCalls.get());
+    }
+
+    @Test
+    void halfOpenTrialClosesCircuitOnSuccess() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            breaker.call(OPERATION, latency(500, "es"), () -> "fallback");
+        }
+        assertEquals(ElasticsearchCircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(250);
+        assertEquals("es", breaker.call(OPERATION, latency(0, "es"), () -> "fallback"));
+        assertEquals(ElasticsearchCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenTrialReopensCircuitOnFailure() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            breaker.call(OPERATION, latency(500, "es"), () -> "fallback");
+        }
+        Thread.sleep(250);
+
+        assertEquals("fallback", breaker.call(OPERATION, latency(500, "es"), () -> "fallback"));
+        assertEquals(ElasticsearchCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void nonElasticsearchExceptionsAreRethrown() {
+        assertThrows(IllegalArgumentException.class, () -> breaker.call(OPERATION,
+                () -> {
+                    throw new IllegalArgumentException("bad request");
+                },
+                () -> "fallback"));
+        assertEquals(ElasticsearchCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void saturatedPoolFallsBackWithoutOpeningCircuit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(8);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 8; i++) {
+                callers.submit(() -> breaker.call("slow-op", () -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "es";
+                }, () -> "fallback"));
+            }
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals("fallback", breaker.call(OPERATION, latency(0, "es"), () -> "fallback"));
+            }
+            assertEquals(ElasticsearchCircuitBreaker.State.CLOSED, breaker.getState());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    private static Supplier<String> latency(long millis, String value) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        };
+    }
+}
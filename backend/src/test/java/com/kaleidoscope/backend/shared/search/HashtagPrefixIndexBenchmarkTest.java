@@ -0,0 +1,119 @@
+package com.kaleidoscope.backend.shared.search;
+
+import com.kaleidoscope.backend.shared.model.Hashtag;
+import com.kaleidoscope.backend.shared.repository.HashtagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks HashtagPrefixIndex against a brute-force scan and times prefix lookups.
+ *
+ * The correctness checks always run on 20k random hashtags. The timing run over 1M hashtags
+ * is opt-in (-Dbenchmarks=true) and fails when an average top-10 lookup exceeds 1ms; on one
+ * core it measured about 10us per lookup for 1-3 character prefixes.
+ */
+@Slf4j
+class HashtagPrefixIndexBenchmarkTest {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    private static final double MAX_LOOKUP_MICROS = 1_000;
+
+    @Test
+    void topKAndCountMatchBruteForce() {
+        List<Object[]> rows = randomHashtags(20_000, new Random(42));
+        HashtagPrefixIndex index = build(rows);
+
+        Set<String> removed = new HashSet<>();
+        for (int i = 0; i < rows.size(); i += 7) {
+            String name = (String) rows.get(i)[1];
+            index.remove(name);
+            removed.add(name);
+        }
+
+        for (String prefix : List.of("a", "ab", "k", "zz", "mno", "q")) {
+            List<Object[]> expected = rows.stream()
+                    .filter(row -> ((String) row[1]).startsWith(prefix) && !removed.contains((String) row[1]))
+                    .sorted(Comparator.<Object[]>comparingInt(row -> (Integer) row[2]).reversed()
+                            .thenComparing(row -> (String) row[1]))
+                    .toList();
+
+            assertEquals(expected.size(), index.count(prefix), "count for " + prefix);
+            List<Hashtag> top = index.suggest(prefix, 0, 10);
+            List<String> expectedNames = expected.stream().limit(10).map(row -> (String) row[1]).toList();
+            assertEquals(expectedNames, top.stream().map(Hashtag::getName).toList(), "top-10 for " + prefix);
+        }
+    }
+
+    @Test
+    void prefixLookupLatencyOverOneMillionHashtags() {
+        assumeTrue(Boolean.getBoolean("benchmarks"), "Benchmarks are opt-in (-Dbenchmarks=true)");
+        Random random = new Random(7);
+        List<Object[]> rows = randomHashtags(1_000_000, random);
+        long buildStarted = System.nanoTime();
+        HashtagPrefixIndex index = build(rows);
+        log.info("[HashtagPrefixIndexBenchmark] build of 1000000 hashtags: {}ms",
+                (System.nanoTime() - buildStarted) / 1_000_000);
+
+        for (int prefixLength = 1; prefixLength <= 3; prefixLength++) {
+            List<String> prefixes = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                prefixes.add(randomName(random, prefixLength));
+            }
+            // Warm up, then measure
+            for (int round = 0; round < 5; round++) {
+                prefixes.forEach(prefix -> index.suggest(prefix, 0, 10));
+            }
+            int lookups = 50_000;
+            long started = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                index.suggest(prefixes.get(i % prefixes.size()), 0, 10);
+            }
+            double micros = (System.nanoTime() - started) / 1e3 / lookups;
+            log.info("[HashtagPrefixIndexBenchmark] prefix length {}: {}us per top-10 lookup",
+                    prefixLength, String.format("%.1f", micros));
+            assertTrue(micros < MAX_LOOKUP_MICROS, "top-10 lookup took " + micros + "us for prefix length " + prefixLength);
+        }
+    }
+
+    private static HashtagPrefixIndex build(List<Object[]> rows) {
+        HashtagRepository repository = mock(HashtagRepository.class);
+        when(repository.findAllIdNameAndUsageCount()).thenReturn(rows);
+        HashtagPrefixIndex index = new HashtagPrefixIndex(repository);
+        index.rebuild();
+        return index;
+    }
+
+    private static List<Object[]> randomHashtags(int count, Random random) {
+        Set<String> names = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>(count);
+        long id = 1;
+        while (rows.size() < count) {
+            String name = randomName(random, 4 + random.nextInt(8));
+            if (names.add(name)) {
+                rows.add(new Object[]{id++, name, random.nextInt(100_000)});
+            }
+        }
+        return rows;
+    }
+
+    private static String randomName(Random random, int length) {
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.kaleidoscope.backend.shared.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Scoped entries are only dropped by invalidations of their own scopes; unscoped entries by any.
+ */
+class SearchResultCacheTest {
+
+    private static final String NAMESPACE = SearchResultCache.POST_SEARCH_NAMESPACE;
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private SearchResultCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+    }
+
+    @Test
+    void dropsOnlyTheEntriesOfTheChangedScopes() {
+        load("category-7", SearchResultCache.categoryScope(7L));
+        load("category-8", SearchResultCache.categoryScope(8L));
+        load("unscoped", SearchResultCache.ANY_SCOPE);
+
+        cache.invalidate(NAMESPACE, List.of(SearchResultCache.categoryScope(7L), SearchResultCache.authorScope(3L)));
+
+        load("category-7", SearchResultCache.categoryScope(7L));
+        load("category-8", SearchResultCache.categoryScope(8L));
+        load("unscoped", SearchResultCache.ANY_SCOPE);
+        // category-7 and the unscoped entry are reloaded, category-8 is still cached
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void doesNotCacheALoadWhoseScopeChangedMeanwhile() {
+        String scope = SearchResultCache.hashtagScope("sunset");
+        cache.getOrLoad(NAMESPACE, "hashtag", Set.of(scope), TTL, () -> {
+            cache.invalidate(NAMESPACE, List.of(scope));
+            return loads.incrementAndGet();
+        });
+
+        load("hashtag", scope);
+        assertEquals(2, loads.get());
+    }
+
+    private void load(String key, String scope) {
+        cache.getOrLoad(NAMESPACE, key, Set.of(scope), TTL, loads::incrementAndGet);
+    }
+}
@@ -0,0 +1,137 @@
+package com.kaleidoscope.backend.shared.service.impl;
+
+import com.kaleidoscope.backend.blogs.repository.BlogRepository;
+import com.kaleidoscope.backend.blogs.repository.BlogSaveRepository;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.repository.PostSaveRepository;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.repository.CommentRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionCountRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.scheduler.ReactionCountBackfillJob;
+import com.kaleidoscope.backend.shared.service.ContentCounterService.Counters;
+import com.kaleidoscope.backend.shared.service.ContentViewTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Missing counters of clean posts are seeded from the reconciled count columns, dirty ones are
+ * counted from the source tables, reconciled snapshots are written to the columns, and repairs
+ * lock the items' count rows before rebuilding them.
+ */
+class ContentCounterServiceImplTest {
+
+    private static final String DIRTY_POSTS = "counters:dirty:post";
+
+    private StringRedisTemplate redisTemplate;
+    private SetOperations<String, String> setOperations;
+    private CommentRepository commentRepository;
+    private PostRepository postRepository;
+    private PostSaveRepository postSaveRepository;
+    private ReactionCountRepository reactionCountRepository;
+    private ContentCounterServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        // No hash is cached: every HGETALL of the read comes back empty
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(Map.of(), Map.of()));
+        setOperations = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.isMember(eq(DIRTY_POSTS), any(Object[].class))).thenReturn(Map.of("1", false, "2", true));
+
+        ReactionRepository reactionRepository = mock(ReactionRepository.class);
+        when(reactionRepository.countReactionsByContentIdsGroupedByType(anyCollection(), eq(ContentType.POST)))
+                .thenReturn(List.of());
+        commentRepository = mock(CommentRepository.class);
+        when(commentRepository.countByContentIdsGrouped(List.of(2L), ContentType.POST))
+                .thenReturn(List.<Object[]>of(new Object[]{2L, 7L}));
+        postSaveRepository = mock(PostSaveRepository.class);
+        when(postSaveRepository.countByPostIds(List.of(2L))).thenReturn(List.<Object[]>of(new Object[]{2L, 1L}));
+        postRepository = mock(PostRepository.class);
+        when(postRepository.findCounterSnapshots(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, 4L, 2L}));
+        when(postRepository.findViewCounts(anyCollection())).thenReturn(List.of());
+        ContentViewTracker contentViewTracker = mock(ContentViewTracker.class);
+        when(contentViewTracker.pendingCounts(any(), anyCollection())).thenReturn(Map.of());
+
+        reactionCountRepository = mock(ReactionCountRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        service = new ContentCounterServiceImpl(redisTemplate, reactionCountRepository, reactionRepository,
+                mock(ReactionCountBackfillJob.class), commentRepository, postRepository, postSaveRepository,
+                mock(BlogRepository.class), mock(BlogSaveRepository.class), contentViewTracker, transactionTemplate);
+        ReflectionTestUtils.setField(service, "ttlHours", 24L);
+        ReflectionTestUtils.setField(service, "contendedTtlSeconds", 60L);
+        ReflectionTestUtils.setField(service, "rebuildMarkerTtlSeconds", 30L);
+        ReflectionTestUtils.setField(service, "reconcileBatchSize", 1000);
+        ReflectionTestUtils.setField(service, "reconcileMaxMillis", 30_000L);
+    }
+
+    @Test
+    void seedsCleanPostsFromTheCountColumnsAndCountsDirtyOnes() {
+        Map<Long, Counters> counters = service.getCounters(ContentType.POST, List.of(1L, 2L));
+
+        assertEquals(4L, counters.get(1L).comments());
+        assertEquals(2L, counters.get(1L).saves());
+        assertEquals(7L, counters.get(2L).comments());
+        assertEquals(1L, counters.get(2L).saves());
+        verify(commentRepository, never()).countByContentIdsGrouped(List.of(1L, 2L), ContentType.POST);
+        verify(postSaveRepository, never()).countByPostIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void repairTakesTheRebuildLocksBeforeDeletingTheCountRows() {
+        service.repair(ContentType.POST, List.of(2L));
+
+        InOrder inOrder = inOrder(reactionCountRepository);
+        inOrder.verify(reactionCountRepository).lockForRebuild("POST", new Long[]{2L});
+        inOrder.verify(reactionCountRepository).deleteByContentIds(List.of(2L), "POST");
+        inOrder.verify(reactionCountRepository).recountFromReactions(List.of(2L), "POST");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesReconciledSnapshotsToTheCountColumns() {
+        when(setOperations.distinctRandomMembers(eq(DIRTY_POSTS), eq(1000L))).thenReturn(Set.of("2"));
+        when(setOperations.distinctRandomMembers(eq("counters:dirty:blog"), eq(1000L))).thenReturn(Set.of());
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(Map.of()));
+        when(setOperations.isMember(eq(DIRTY_POSTS), any(Object[].class))).thenReturn(Map.of("2", true));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        service.reconcileDirtyCounters();
+
+        verify(postRepository).applyCounterSnapshots(new Long[]{2L}, new Long[]{0L}, new Long[]{7L}, new Long[]{1L});
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of(DIRTY_POSTS, "counters:post:2")), eq("2"), eq("0"), eq("7"), eq("1"));
+    }
+}
@@ -0,0 +1,180 @@
+package com.kaleidoscope.backend.shared.service.impl;
+
+import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
+import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.blogs.enums.BlogStatus;
+import com.kaleidoscope.backend.blogs.model.Blog;
+import com.kaleidoscope.backend.blogs.repository.BlogRepository;
+import com.kaleidoscope.backend.posts.enums.PostAnalyticsMetric;
+import com.kaleidoscope.backend.posts.repository.PostRepository;
+import com.kaleidoscope.backend.posts.service.PostAccessResolver;
+import com.kaleidoscope.backend.posts.service.PostAnalyticsService;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
+import com.kaleidoscope.backend.shared.enums.BatchItemStatus;
+import com.kaleidoscope.backend.shared.enums.ContentType;
+import com.kaleidoscope.backend.shared.enums.ReactionType;
+import com.kaleidoscope.backend.shared.mapper.InteractionMapper;
+import com.kaleidoscope.backend.shared.mapper.UserTagMapper;
+import com.kaleidoscope.backend.shared.model.Comment;
+import com.kaleidoscope.backend.shared.model.Reaction;
+import com.kaleidoscope.backend.shared.repository.CommentRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionCountRepository;
+import com.kaleidoscope.backend.shared.repository.ReactionRepository;
+import com.kaleidoscope.backend.shared.repository.UserTagRepository;
+import com.kaleidoscope.backend.shared.scheduler.ReactionCountBackfillJob;
+import com.kaleidoscope.backend.shared.service.ContentCounterService;
+import com.kaleidoscope.backend.shared.service.ReactionWriteBuffer;
+import com.kaleidoscope.backend.shared.service.ReactionWriteBuffer.BufferedReaction;
+import com.kaleidoscope.backend.shared.service.UserTagService;
+import com.kaleidoscope.backend.users.model.User;
+import com.kaleidoscope.backend.users.repository.UserBlockRepository;
+import com.kaleidoscope.backend.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deleting a comment takes its replies with it and moves the comment counter by all of them,
+ * reaction summaries count a toggle still waiting in the buffer as made, and batch summaries of
+ * comments take the access status of the post or blog each comment is on.
+ */
+class InteractionServiceImplTest {
+
+    private static final long POST_ID = 10L;
+    private static final long AUTHOR_ID = 3L;
+    private static final long BLOCKED_ID = 6L;
+
+    private CommentRepository commentRepository;
+    private UserTagRepository userTagRepository;
+    private ContentCounterService contentCounterService;
+    private PostAnalyticsService postAnalyticsService;
+    private ReactionRepository reactionRepository;
+    private ReactionWriteBuffer reactionWriteBuffer;
+    private InteractionMapper interactionMapper;
+    private BlogRepository blogRepository;
+    private PostAccessResolver postAccessResolver;
+    private UserBlockRepository userBlockRepository;
+    private InteractionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.getUserIdFromContext()).thenReturn(AUTHOR_ID);
+        commentRepository = mock(CommentRepository.class);
+        userTagRepository = mock(UserTagRepository.class);
+        when(userTagRepository.findAllByContentTypeAndContentIdIn(eq(ContentType.COMMENT), any())).thenReturn(List.of());
+        contentCounterService = mock(ContentCounterService.class);
+        postAnalyticsService = mock(PostAnalyticsService.class);
+        reactionRepository = mock(ReactionRepository.class);
+        reactionWriteBuffer = mock(ReactionWriteBuffer.class);
+        interactionMapper = mock(InteractionMapper.class);
+        blogRepository = mock(BlogRepository.class);
+        postAccessResolver = mock(PostAccessResolver.class);
+        userBlockRepository = mock(UserBlockRepository.class);
+
+        service = new InteractionServiceImpl(mock(PostRepository.class), blogRepository,
+                reactionRepository, commentRepository, mock(UserRepository.class), jwtUtils,
+                interactionMapper, mock(UserTagService.class), userTagRepository, mock(UserTagMapper.class),
+                mock(RedisStreamPublisher.class), contentCounterService, mock(ReactionCountRepository.class),
+                mock(ReactionCountBackfillJob.class), postAnalyticsService, reactionWriteBuffer,
+                postAccessResolver, userBlockRepository);
+    }
+
+    @Test
+    void deletingAParentSoftDeletesItsRepliesAndCountsThem() {
+        Comment parent = comment(1L, null);
+        when(commentRepository.findById(1L)).thenReturn(Optional.of(parent));
+        when(commentRepository.findAllReplyIds(1L)).thenReturn(List.of(2L, 3L));
+        when(commentRepository.softDeleteByIds(eq(List.of(2L, 3L)), any())).thenReturn(2);
+
+        service.deleteComment(POST_ID, 1L);
+
+        verify(userTagRepository).findAllByContentTypeAndContentIdIn(ContentType.COMMENT, List.of(1L, 2L, 3L));
+        verify(commentRepository).softDeleteByIds(eq(List.of(2L, 3L)), any());
+        verify(commentRepository).delete(parent);
+        verify(contentCounterService).recordCommentChange(ContentType.POST, POST_ID, -3);
+        verify(postAnalyticsService).recordEvent(POST_ID, PostAnalyticsMetric.COMMENTS, -3);
+    }
+
+    @Test
+    void deletingAReplyLeavesItsSiblings() {
+        Comment reply = comment(2L, 1L);
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(reply));
+
+        service.deleteComment(POST_ID, 2L);
+
+        verify(commentRepository, never()).findAllReplyIds(any());
+        verify(commentRepository, never()).softDeleteByIds(any(), any());
+        verify(commentRepository).delete(reply);
+        verify(contentCounterService).recordCommentChange(ContentType.POST, POST_ID, -1);
+    }
+
+    @Test
+    void summaryCountsAPendingToggleAsMade() {
+        ReflectionTestUtils.setField(service, "reactionBufferEnabled", true);
+        when(commentRepository.existsById(1L)).thenReturn(true);
+        when(reactionRepository.findByContentAndUser(1L, ContentType.COMMENT, AUTHOR_ID))
+                .thenReturn(Optional.of(Reaction.builder().reactionType(ReactionType.LIKE).build()));
+        when(reactionWriteBuffer.pending(ContentType.COMMENT, 1L, AUTHOR_ID)).thenReturn(Optional.of(
+                new BufferedReaction(ContentType.COMMENT, 1L, AUTHOR_ID, ReactionType.CELEBRATE, 0L)));
+        when(contentCounterService.getCounters(ContentType.COMMENT, 1L)).thenReturn(new ContentCounterService.Counters(
+                3, Map.of(ReactionType.LIKE, 3L), 0, 0, 0));
+
+        service.getReactionSummary(ContentType.COMMENT, 1L);
+
+        verify(interactionMapper).toReactionSummary(1L, ContentType.COMMENT, ReactionType.CELEBRATE,
+                Map.of(ReactionType.LIKE, 2L, ReactionType.CELEBRATE, 1L));
+    }
+
+    @Test
+    void batchSummariesOfCommentsFollowTheirParentsAccess() {
+        // 21 is on a visible post, 22 on a forbidden one, 23 on an unpublished blog,
+        // 24 is by a blocked user on the visible post and 25 does not exist
+        when(commentRepository.findAllById(any())).thenReturn(List.of(
+                comment(21L, ContentType.POST, POST_ID, AUTHOR_ID), comment(22L, ContentType.POST, 11L, 8L),
+                comment(23L, ContentType.BLOG, 30L, 8L), comment(24L, ContentType.POST, POST_ID, BLOCKED_ID)));
+        when(postAccessResolver.resolve(eq(Set.of(POST_ID, 11L)), eq(AUTHOR_ID), eq(false))).thenReturn(
+                new PostAccessResolver.Resolution(Map.of(POST_ID, BatchItemStatus.OK, 11L, BatchItemStatus.FORBIDDEN), List.of()));
+        when(blogRepository.findAllById(Set.of(30L))).thenReturn(List.of(Blog.builder().blogId(30L)
+                .user(User.builder().userId(8L).build()).blogStatus(BlogStatus.DRAFT).build()));
+        when(userBlockRepository.findBlockRelatedUserIds(AUTHOR_ID)).thenReturn(Set.of(BLOCKED_ID));
+
+        var summaries = service.getReactionSummaries(ContentType.COMMENT, List.of(25L, 24L, 23L, 22L, 21L));
+
+        assertEquals(List.of(25L, 24L, 23L, 22L, 21L), summaries.stream().map(BatchItemResponseDTO::id).toList());
+        assertEquals(List.of(BatchItemStatus.NOT_FOUND, BatchItemStatus.NOT_FOUND, BatchItemStatus.FORBIDDEN,
+                BatchItemStatus.FORBIDDEN, BatchItemStatus.OK), summaries.stream().map(BatchItemResponseDTO::status).toList());
+    }
+
+    private static Comment comment(Long commentId, ContentType contentType, Long contentId, Long authorId) {
+        return Comment.builder()
+                .commentId(commentId)
+                .contentId(contentId)
+                .contentType(contentType)
+                .user(User.builder().userId(authorId).build())
+                .build();
+    }
+
+    private static Comment comment(Long commentId, Long parentCommentId) {
+        return Comment.builder()
+                .commentId(commentId)
+                .contentId(POST_ID)
+                .contentType(ContentType.POST)
+                .parentCommentId(parentCommentId)
+                .user(User.builder().userId(AUTHOR_ID).build())
+                .build();
+    }
+}
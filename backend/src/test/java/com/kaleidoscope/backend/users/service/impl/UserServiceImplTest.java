@@ -0,0 +1,86 @@
+package com.kaleidoscope.backend.users.service.impl;
+
+import com.kaleidoscope.backend.async.service.RedisStreamPublisher;
+import com.kaleidoscope.backend.auth.security.jwt.JwtUtils;
+import com.kaleidoscope.backend.posts.service.PostService;
+import com.kaleidoscope.backend.shared.dto.response.BatchItemResponseDTO;
+import com.kaleidoscope.backend.shared.enums.AccountStatus;
+import com.kaleidoscope.backend.shared.enums.BatchItemStatus;
+import com.kaleidoscope.backend.shared.service.ImageStorageService;
+import com.kaleidoscope.backend.users.document.UserDocument;
+import com.kaleidoscope.backend.users.dto.response.UserDetailsSummaryResponseDTO;
+import com.kaleidoscope.backend.users.repository.FollowRepository;
+import com.kaleidoscope.backend.users.repository.FollowRequestRepository;
+import com.kaleidoscope.backend.users.repository.UserRepository;
+import com.kaleidoscope.backend.users.repository.search.UserSearchRepository;
+import com.kaleidoscope.backend.users.service.UserDocumentSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The batch user read answers every distinct requested id once, in request order: missing and
+ * inactive users and users in a block relationship with the viewer are NOT_FOUND to others.
+ */
+class UserServiceImplTest {
+
+    private static final long VIEWER_ID = 1L;
+
+    private JwtUtils jwtUtils;
+    private UserServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.getUserIdFromContext()).thenReturn(VIEWER_ID);
+        UserSearchRepository userSearchRepository = mock(UserSearchRepository.class);
+        when(userSearchRepository.findAllById(any())).thenReturn(List.of(
+                user(VIEWER_ID, AccountStatus.ACTIVE, List.of()),
+                user(2L, AccountStatus.ACTIVE, List.of()),
+                user(3L, AccountStatus.SUSPENDED, List.of()),
+                user(4L, AccountStatus.ACTIVE, List.of(VIEWER_ID))));
+        service = new UserServiceImpl(mock(UserRepository.class), mock(ImageStorageService.class),
+                mock(RedisStreamPublisher.class), mock(UserDocumentSyncService.class), userSearchRepository, jwtUtils,
+                mock(FollowRepository.class), mock(FollowRequestRepository.class), mock(PostService.class));
+    }
+
+    @Test
+    void answersEachRequestedUserInRequestOrder() {
+        List<BatchItemResponseDTO<UserDetailsSummaryResponseDTO>> users =
+                service.getUserSummaries(List.of(4L, 9L, 2L, 3L, 2L, VIEWER_ID));
+
+        assertEquals(List.of(4L, 9L, 2L, 3L, VIEWER_ID), users.stream().map(BatchItemResponseDTO::id).toList());
+        assertEquals(List.of(BatchItemStatus.NOT_FOUND, BatchItemStatus.NOT_FOUND, BatchItemStatus.OK, BatchItemStatus.NOT_FOUND,
+                BatchItemStatus.OK), users.stream().map(BatchItemResponseDTO::status).toList());
+        assertNull(users.get(2).data().email());
+        assertEquals("user" + VIEWER_ID + "@example.com", users.get(4).data().email());
+    }
+
+    @Test
+    void letsAdminsSeeInactiveAndBlockingUsers() {
+        when(jwtUtils.isAdminFromContext()).thenReturn(true);
+
+        List<BatchItemResponseDTO<UserDetailsSummaryResponseDTO>> users = service.getUserSummaries(List.of(3L, 4L));
+
+        assertEquals(List.of(BatchItemStatus.OK, BatchItemStatus.OK), users.stream().map(BatchItemResponseDTO::status).toList());
+    }
+
+    private static UserDocument user(long userId, AccountStatus accountStatus, List<Long> blockedUserIds) {
+        return UserDocument.builder()
+                .id(String.valueOf(userId))
+                .userId(userId)
+                .username("user" + userId)
+                .email("user" + userId + "@example.com")
+                .accountStatus(accountStatus.name())
+                .blockedUserIds(blockedUserIds)
+                .showEmail(false)
+                .build();
+    }
+}